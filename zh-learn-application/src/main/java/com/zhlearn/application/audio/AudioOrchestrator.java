@@ -3,7 +3,7 @@ package com.zhlearn.application.audio;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -12,18 +12,19 @@ import org.slf4j.LoggerFactory;
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.provider.AudioProvider;
-import com.zhlearn.infrastructure.audio.AudioDownloadExecutor;
+import com.zhlearn.infrastructure.jfr.TraceContext;
+import com.zhlearn.infrastructure.metrics.Metrics;
+import com.zhlearn.infrastructure.metrics.Stage;
 
 public class AudioOrchestrator {
     private static final Logger log = LoggerFactory.getLogger(AudioOrchestrator.class);
 
     private final List<AudioProvider> audioProviders;
-    private final ExecutorService executorService;
+    private final Executor executor;
 
-    public AudioOrchestrator(
-            List<AudioProvider> audioProviders, AudioDownloadExecutor audioExecutor) {
+    public AudioOrchestrator(List<AudioProvider> audioProviders, Executor executor) {
         this.audioProviders = audioProviders;
-        this.executorService = audioExecutor.getExecutor();
+        this.executor = executor;
     }
 
     public List<PronunciationCandidate> candidatesFor(Hanzi word, Pinyin pinyin) {
@@ -41,7 +42,7 @@ public class AudioOrchestrator {
                                                 () ->
                                                         getCandidatesFromProvider(
                                                                 provider, word, pinyin),
-                                                executorService))
+                                                executor))
                         .toList();
 
         List<PronunciationCandidate> allCandidates =
@@ -61,30 +62,39 @@ public class AudioOrchestrator {
 
     private List<PronunciationCandidate> getCandidatesFromProvider(
             AudioProvider provider, Hanzi word, Pinyin pinyin) {
-        long startTime = System.currentTimeMillis();
-        log.info("[Audio] Starting provider '{}' for '{}'", provider.getName(), word.characters());
-
-        List<PronunciationCandidate> candidates =
-                provider.getPronunciationsWithDescriptions(word, pinyin).stream()
-                        .map(
-                                desc ->
-                                        new PronunciationCandidate(
-                                                provider.getName(),
-                                                validateAbsolutePath(
-                                                        provider.getName(), desc.path()),
-                                                desc.description()))
-                        .filter(candidate -> candidate.file() != null)
-                        .collect(Collectors.toList());
-
-        long duration = System.currentTimeMillis() - startTime;
-        log.info(
-                "[Audio] Provider '{}' completed for '{}' in {}ms - {} candidates",
-                provider.getName(),
-                word.characters(),
-                duration,
-                candidates.size());
-
-        return candidates;
+        TraceContext previous = TraceContext.enter(word.characters(), provider.getName());
+        try {
+            long startTime = System.nanoTime();
+            log.info(
+                    "[Audio] Starting provider '{}' for '{}'",
+                    provider.getName(),
+                    word.characters());
+
+            List<PronunciationCandidate> candidates =
+                    provider.getPronunciationsWithDescriptions(word, pinyin).stream()
+                            .map(
+                                    desc ->
+                                            new PronunciationCandidate(
+                                                    provider.getName(),
+                                                    validateAbsolutePath(
+                                                            provider.getName(), desc.path()),
+                                                    desc.description()))
+                            .filter(candidate -> candidate.file() != null)
+                            .collect(Collectors.toList());
+
+            long duration = System.nanoTime() - startTime;
+            Metrics.recordLatency(Stage.AUDIO_CANDIDATES, provider.getName(), duration);
+            log.info(
+                    "[Audio] Provider '{}' completed for '{}' in {}ms - {} candidates",
+                    provider.getName(),
+                    word.characters(),
+                    duration / 1_000_000,
+                    candidates.size());
+
+            return candidates;
+        } finally {
+            previous.restore();
+        }
     }
 
     static Path validateAbsolutePath(String providerName, Path provided) {
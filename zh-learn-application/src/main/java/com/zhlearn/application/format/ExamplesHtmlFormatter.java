@@ -37,20 +37,7 @@ public class ExamplesHtmlFormatter {
             }
             html.append("<ul>\n");
             for (Example.Usage u : list) {
-                html.append("<li class=\"example\">\n");
-                html.append("<span class=\"hanzi\">").append(nz(u.sentence())).append("</span>\n");
-                html.append("<span class=\"pinyin\">").append(nz(u.pinyin())).append("</span>\n");
-                if (u.translation() != null && !u.translation().isBlank()) {
-                    html.append("<span class=\"translation\">- ")
-                            .append(u.translation())
-                            .append("</span>\n");
-                }
-                if (u.breakdown() != null && !u.breakdown().isBlank()) {
-                    html.append("<span class=\"breakdown\">")
-                            .append(prefixBreakdown(u.breakdown()))
-                            .append("</span>\n");
-                }
-                html.append("</li>\n");
+                appendUsage(html, u);
             }
             html.append("</ul>\n\n");
         }
@@ -65,6 +52,64 @@ public class ExamplesHtmlFormatter {
         return html.toString().trim();
     }
 
+    /**
+     * Formats the usages from index {@code from} on, for output printed while examples are still
+     * arriving. The heading of the first group is left out when it continues the group of the usage
+     * before {@code from}. The phonetic series is not included; see {@link
+     * #formatPhoneticSeries(Example)}.
+     */
+    public String formatUsagesFrom(Example example, int from) {
+        List<Example.Usage> usages = example.usages();
+        StringBuilder html = new StringBuilder();
+        String currentContext = from > 0 ? contextOf(usages.get(from - 1)) : null;
+        boolean listOpen = false;
+        for (int i = from; i < usages.size(); i++) {
+            Example.Usage usage = usages.get(i);
+            String context = contextOf(usage);
+            if (!listOpen || !context.equals(currentContext)) {
+                if (listOpen) {
+                    html.append("</ul>\n\n");
+                }
+                if (!context.equals(currentContext) && !context.isEmpty()) {
+                    html.append("<h4>").append(context).append("</h4>\n");
+                }
+                html.append("<ul>\n");
+                listOpen = true;
+                currentContext = context;
+            }
+            appendUsage(html, usage);
+        }
+        if (listOpen) {
+            html.append("</ul>\n");
+        }
+        return html.toString().trim();
+    }
+
+    public String formatPhoneticSeries(Example example) {
+        return formatPhoneticSeriesOnly(example).trim();
+    }
+
+    private void appendUsage(StringBuilder html, Example.Usage u) {
+        html.append("<li class=\"example\">\n");
+        html.append("<span class=\"hanzi\">").append(nz(u.sentence())).append("</span>\n");
+        html.append("<span class=\"pinyin\">").append(nz(u.pinyin())).append("</span>\n");
+        if (u.translation() != null && !u.translation().isBlank()) {
+            html.append("<span class=\"translation\">- ")
+                    .append(u.translation())
+                    .append("</span>\n");
+        }
+        if (u.breakdown() != null && !u.breakdown().isBlank()) {
+            html.append("<span class=\"breakdown\">")
+                    .append(prefixBreakdown(u.breakdown()))
+                    .append("</span>\n");
+        }
+        html.append("</li>\n");
+    }
+
+    private static String contextOf(Example.Usage usage) {
+        return usage.context() == null ? "" : usage.context();
+    }
+
     private String formatPhoneticSeriesOnly(Example example) {
         if (example == null
                 || example.phoneticSeries() == null
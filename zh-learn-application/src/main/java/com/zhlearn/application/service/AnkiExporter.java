@@ -1,5 +1,6 @@
 package com.zhlearn.application.service;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.charset.StandardCharsets;
@@ -13,6 +14,8 @@ import com.zhlearn.application.audio.AnkiMediaLocator;
 import com.zhlearn.application.export.AnkiExportEntry;
 import com.zhlearn.application.format.ExamplesHtmlFormatter;
 import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.infrastructure.metrics.Metrics;
+import com.zhlearn.infrastructure.metrics.Stage;
 
 /**
  * Service for exporting WordAnalysis results to Anki-compatible TSV format. Generates files
@@ -33,37 +36,24 @@ public class AnkiExporter {
      * converted to an AnkiExportEntry and written as a tab-separated line.
      */
     public void exportToFile(List<WordAnalysis> analyses, Path outputFile) throws IOException {
-        try (PrintWriter writer =
-                new PrintWriter(Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8))) {
-            // Write Anki TSV headers
-            writeAnkiHeaders(writer);
-            Optional<Path> ankiMediaDir = ankiMediaLocator.locate();
-
-            // Write data rows
+        try (ExportWriter writer = openWriter(outputFile)) {
             for (WordAnalysis analysis : analyses) {
-                String examplesHtml = examplesHtmlFormatter.format(analysis.examples());
-                String soundNotation = buildSoundNotation(analysis.pronunciation(), ankiMediaDir);
-
-                AnkiExportEntry entry =
-                        new AnkiExportEntry(
-                                "Chinese 2",
-                                analysis.word().characters(),
-                                analysis.pinyin().pinyin(),
-                                soundNotation,
-                                analysis.definition().meaning(),
-                                examplesHtml,
-                                analysis.explanation().explanation(),
-                                analysis.structuralDecomposition().decomposition(),
-                                "", // similar
-                                "y", // passive
-                                "", // alternatePronunciations
-                                "y" // noHearing
-                                );
-                writer.println(formatAsTabSeparated(entry));
+                writer.write(analysis);
             }
         }
     }
 
+    /**
+     * Open an Anki-compatible TSV file for incremental export. The headers are written immediately
+     * and each {@link ExportWriter#write(WordAnalysis)} appends and flushes one row, so callers can
+     * stream results without holding them in memory.
+     */
+    public ExportWriter openWriter(Path outputFile) throws IOException {
+        return new ExportWriter(
+                new PrintWriter(Files.newBufferedWriter(outputFile, StandardCharsets.UTF_8)),
+                ankiMediaLocator.locate());
+    }
+
     /**
      * Export a list of WordAnalysis objects to an Anki-compatible TSV file. Convenience method that
      * takes a string filename.
@@ -72,6 +62,57 @@ public class AnkiExporter {
         exportToFile(analyses, Path.of(filename));
     }
 
+    /** Incremental writer returned by {@link #openWriter(Path)}. Not thread-safe. */
+    public final class ExportWriter implements Closeable {
+        private final PrintWriter writer;
+        private final Optional<Path> ankiMediaDir;
+        private int written;
+
+        private ExportWriter(PrintWriter writer, Optional<Path> ankiMediaDir) {
+            this.writer = writer;
+            this.ankiMediaDir = ankiMediaDir;
+            writeAnkiHeaders(writer);
+        }
+
+        public void write(WordAnalysis analysis) throws IOException {
+            long start = System.nanoTime();
+            String examplesHtml = examplesHtmlFormatter.format(analysis.examples());
+            String soundNotation = buildSoundNotation(analysis.pronunciation(), ankiMediaDir);
+
+            AnkiExportEntry entry =
+                    new AnkiExportEntry(
+                            "Chinese 2",
+                            analysis.word().characters(),
+                            analysis.pinyin().pinyin(),
+                            soundNotation,
+                            analysis.definition().meaning(),
+                            examplesHtml,
+                            analysis.explanation().explanation(),
+                            analysis.structuralDecomposition().decomposition(),
+                            "", // similar
+                            "y", // passive
+                            "", // alternatePronunciations
+                            "y" // noHearing
+                            );
+            writer.println(formatAsTabSeparated(entry));
+            writer.flush();
+            if (writer.checkError()) {
+                throw new IOException("Failed to write Anki export row for " + entry.simplified());
+            }
+            written++;
+            Metrics.recordLatency(Stage.EXPORT, "anki", System.nanoTime() - start);
+        }
+
+        public int written() {
+            return written;
+        }
+
+        @Override
+        public void close() {
+            writer.close();
+        }
+    }
+
     private String buildSoundNotation(Optional<Path> pronunciation, Optional<Path> ankiMediaDir)
             throws IOException {
         if (pronunciation.isEmpty()) {
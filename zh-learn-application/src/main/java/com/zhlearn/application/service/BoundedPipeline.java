@@ -0,0 +1,177 @@
+package com.zhlearn.application.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Three-stage streaming pipeline: one producer pulls items from a source, a pool of workers
+ * transforms them, and the calling thread consumes the results. Stages are joined by bounded
+ * queues, so a slow consumer blocks the workers and a slow worker pool blocks the producer; at most
+ * {@code 2 * queueCapacity + workers + 1} items are in memory at any time.
+ *
+ * <p>Results are consumed in completion order. The first failure in any stage stops the pipeline
+ * and is rethrown from {@link #run}.
+ *
+ * <p>The producer and workers run on the given executor, which must be able to run {@code workers +
+ * 1} tasks at once; they are cancelled when {@link #run} returns.
+ */
+public final class BoundedPipeline<I, O> {
+
+    /** Consumer stage, run on the thread that called {@link #run}. */
+    @FunctionalInterface
+    public interface Sink<O> {
+        void accept(O result) throws IOException;
+    }
+
+    private final Executor executor;
+    private final int workers;
+    private final int queueCapacity;
+
+    /** Pipeline that starts a dedicated daemon thread per stage task. */
+    public BoundedPipeline(int workers, int queueCapacity) {
+        this(task -> Thread.ofPlatform().daemon().start(task), workers, queueCapacity);
+    }
+
+    public BoundedPipeline(Executor executor, int workers, int queueCapacity) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Pipeline needs at least one worker: " + workers);
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        this.executor = executor;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Run the pipeline to completion.
+     *
+     * @param source items to process; iterated on a dedicated producer thread
+     * @param stage transformation applied by the worker pool
+     * @param sink consumer of the results, called on the current thread
+     * @return number of results consumed
+     */
+    public int run(Iterator<I> source, Function<I, O> stage, Sink<O> sink) throws IOException {
+        BlockingQueue<Envelope<I>> input = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Envelope<O>> output = new ArrayBlockingQueue<>(queueCapacity);
+        List<FutureTask<Void>> tasks = new ArrayList<>(workers + 1);
+        try {
+            FutureTask<Void> producer =
+                    start(tasks, new FutureTask<>(() -> produce(source, input)));
+            for (int i = 0; i < workers; i++) {
+                start(tasks, new FutureTask<>(() -> work(stage, input, output)));
+            }
+
+            int consumed = 0;
+            int finishedWorkers = 0;
+            while (finishedWorkers < workers) {
+                Envelope<O> next = output.take();
+                if (next.isEnd()) {
+                    finishedWorkers++;
+                    continue;
+                }
+                if (next.failure() != null) {
+                    throw unchecked(next.failure());
+                }
+                sink.accept(next.item());
+                consumed++;
+            }
+            await(producer);
+            return consumed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Pipeline interrupted", e);
+        } finally {
+            tasks.forEach(task -> task.cancel(true));
+        }
+    }
+
+    private FutureTask<Void> start(List<FutureTask<Void>> tasks, FutureTask<Void> task) {
+        tasks.add(task);
+        executor.execute(task);
+        return task;
+    }
+
+    private Void produce(Iterator<I> source, BlockingQueue<Envelope<I>> input)
+            throws InterruptedException {
+        try {
+            while (source.hasNext()) {
+                input.put(Envelope.of(source.next()));
+            }
+            return null;
+        } finally {
+            // Release the workers even when the source fails; the failure surfaces through the
+            // producer future once the items read so far have been consumed
+            for (int i = 0; i < workers; i++) {
+                input.put(Envelope.end());
+            }
+        }
+    }
+
+    private Void work(
+            Function<I, O> stage,
+            BlockingQueue<Envelope<I>> input,
+            BlockingQueue<Envelope<O>> output)
+            throws InterruptedException {
+        while (true) {
+            Envelope<I> next = input.take();
+            if (next.isEnd()) {
+                output.put(Envelope.end());
+                return null;
+            }
+            Envelope<O> result;
+            // A failed item travels to the consumer, which rethrows it
+            // CHECKSTYLE:OFF
+            try {
+                result = Envelope.of(stage.apply(next.item()));
+            } catch (RuntimeException | Error e) {
+                result = Envelope.failed(e);
+            }
+            // CHECKSTYLE:ON
+            output.put(result);
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unchecked(e.getCause());
+        }
+    }
+
+    /** The failure of a stage as thrown to the caller of {@link #run}; errors are rethrown. */
+    private static RuntimeException unchecked(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException("Pipeline stage failed: " + failure.getMessage(), failure);
+    }
+
+    private record Envelope<T>(T item, Throwable failure, boolean isEnd) {
+        static <T> Envelope<T> of(T item) {
+            return new Envelope<>(item, null, false);
+        }
+
+        static <T> Envelope<T> failed(Throwable failure) {
+            return new Envelope<>(null, failure, false);
+        }
+
+        static <T> Envelope<T> end() {
+            return new Envelope<>(null, null, true);
+        }
+    }
+}
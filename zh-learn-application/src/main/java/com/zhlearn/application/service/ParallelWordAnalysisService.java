@@ -1,34 +1,38 @@
 package com.zhlearn.application.service;
 
 import java.nio.file.Path;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import com.zhlearn.domain.model.*;
 import com.zhlearn.domain.provider.*;
+import com.zhlearn.domain.service.AnalysisListener;
 import com.zhlearn.domain.service.WordAnalysisService;
 
 /**
  * Parallel implementation of WordAnalysisService that executes AI provider calls concurrently for
- * better performance. Non-AI providers (like pleco-export, pinyin4j) are called synchronously.
+ * better performance. Each analysis is submitted to a {@link StageScheduler} as a small graph in
+ * which only examples wait for the definition and only the pronunciation waits for the pinyin;
+ * every other provider call starts immediately. Analyses of different words share the scheduler,
+ * its per-provider concurrency caps and its critical-path-first ordering.
  */
 public class ParallelWordAnalysisService implements WordAnalysisService {
 
-    private static final int DEFAULT_THREAD_POOL_SIZE = 10;
-
     private final WordAnalysisService delegate;
-    private final ExecutorService executorService;
+    private final StageScheduler scheduler;
 
-    public ParallelWordAnalysisService(WordAnalysisService delegate, int threadPoolSize) {
+    public ParallelWordAnalysisService(WordAnalysisService delegate, StageScheduler scheduler) {
         this.delegate = delegate;
-        this.executorService = Executors.newFixedThreadPool(threadPoolSize);
+        this.scheduler = scheduler;
     }
 
-    public ParallelWordAnalysisService(WordAnalysisService delegate) {
-        this(delegate, DEFAULT_THREAD_POOL_SIZE);
+    public ParallelWordAnalysisService(WordAnalysisService delegate, Executor executor) {
+        this(delegate, new StageScheduler(executor, Map.of()));
     }
 
     @Override
@@ -56,6 +60,12 @@ public class ParallelWordAnalysisService implements WordAnalysisService {
         return delegate.getExamples(word, providerName, definition);
     }
 
+    @Override
+    public Example getExamples(
+            Hanzi word, String providerName, String definition, Consumer<Example> partialExamples) {
+        return delegate.getExamples(word, providerName, definition, partialExamples);
+    }
+
     @Override
     public Explanation getExplanation(Hanzi word, String providerName) {
         return delegate.getExplanation(word, providerName);
@@ -73,49 +83,14 @@ public class ParallelWordAnalysisService implements WordAnalysisService {
 
     @Override
     public WordAnalysis getCompleteAnalysis(Hanzi word, ProviderConfiguration config) {
-        // Call pinyin and definition providers synchronously first as they're needed by other
-        // providers
-        Definition definition = getDefinition(word, config.getDefinitionProvider());
-        Pinyin pinyin = getPinyin(word, config.getPinyinProvider());
-
-        // Run remaining providers in parallel - let fast providers complete quickly
-        CompletableFuture<StructuralDecomposition> decompositionFuture =
-                CompletableFuture.supplyAsync(
-                        () -> getStructuralDecomposition(word, config.getDecompositionProvider()),
-                        executorService);
-
-        CompletableFuture<Example> examplesFuture =
-                CompletableFuture.supplyAsync(
-                        () -> getExamples(word, config.getExampleProvider(), definition.meaning()),
-                        executorService);
-
-        CompletableFuture<Explanation> explanationFuture =
-                CompletableFuture.supplyAsync(
-                        () -> getExplanation(word, config.getExplanationProvider()),
-                        executorService);
-
-        CompletableFuture<Optional<Path>> pronunciationFuture =
-                CompletableFuture.supplyAsync(
-                        () -> getPronunciation(word, pinyin, config.getAudioProvider()),
-                        executorService);
-
-        // Wait for all providers to complete
+        return getCompleteAnalysis(word, config, AnalysisListener.NONE);
+    }
+
+    @Override
+    public WordAnalysis getCompleteAnalysis(
+            Hanzi word, ProviderConfiguration config, AnalysisListener listener) {
         try {
-            CompletableFuture.allOf(
-                            decompositionFuture,
-                            examplesFuture,
-                            explanationFuture,
-                            pronunciationFuture)
-                    .join();
-
-            return new WordAnalysis(
-                    word,
-                    pinyin,
-                    definition,
-                    decompositionFuture.get(),
-                    examplesFuture.get(),
-                    explanationFuture.get(),
-                    pronunciationFuture.get());
+            return analyze(word, config, listener).get();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Parallel word analysis interrupted", e);
@@ -125,11 +100,102 @@ public class ParallelWordAnalysisService implements WordAnalysisService {
         }
     }
 
+    /** Submit the provider calls for one word without waiting for them. */
+    public CompletableFuture<WordAnalysis> analyze(Hanzi word, ProviderConfiguration config) {
+        return analyze(word, config, AnalysisListener.NONE);
+    }
+
+    /**
+     * Submit the provider calls for one word without waiting for them; each part is reported to
+     * {@code listener} as soon as its call completes.
+     */
+    public CompletableFuture<WordAnalysis> analyze(
+            Hanzi word, ProviderConfiguration config, AnalysisListener listener) {
+        StageScheduler.Graph graph = scheduler.newGraph();
+        StageScheduler.Node<Pinyin> pinyin =
+                graph.add(
+                        "pinyin",
+                        config.getPinyinProvider(),
+                        reporting(
+                                () -> getPinyin(word, config.getPinyinProvider()),
+                                listener::onPinyin));
+        StageScheduler.Node<Definition> definition =
+                graph.add(
+                        "definition",
+                        definitionStageProvider(config),
+                        reporting(
+                                () -> getDefinition(word, config.getDefinitionProvider()),
+                                listener::onDefinition));
+        StageScheduler.Node<StructuralDecomposition> decomposition =
+                graph.add(
+                        "decomposition",
+                        config.getDecompositionProvider(),
+                        reporting(
+                                () ->
+                                        getStructuralDecomposition(
+                                                word, config.getDecompositionProvider()),
+                                listener::onStructuralDecomposition));
+        StageScheduler.Node<Example> examples =
+                graph.add(
+                        "examples",
+                        config.getExampleProvider(),
+                        reporting(
+                                () ->
+                                        getExamples(
+                                                word,
+                                                config.getExampleProvider(),
+                                                definition.get().meaning(),
+                                                listener::onPartialExamples),
+                                listener::onExamples),
+                        definition);
+        StageScheduler.Node<Explanation> explanation =
+                graph.add(
+                        "explanation",
+                        config.getExplanationProvider(),
+                        reporting(
+                                () -> getExplanation(word, config.getExplanationProvider()),
+                                listener::onExplanation));
+        StageScheduler.Node<Optional<Path>> pronunciation =
+                graph.add(
+                        "pronunciation",
+                        config.getAudioProvider(),
+                        () -> getPronunciation(word, pinyin.get(), config.getAudioProvider()),
+                        pinyin);
+        graph.submit();
+
+        return CompletableFuture.allOf(
+                        pinyin.result(),
+                        definition.result(),
+                        decomposition.result(),
+                        examples.result(),
+                        explanation.result(),
+                        pronunciation.result())
+                .thenApply(
+                        ignored ->
+                                new WordAnalysis(
+                                        word,
+                                        pinyin.get(),
+                                        definition.get(),
+                                        decomposition.get(),
+                                        examples.get(),
+                                        explanation.get(),
+                                        pronunciation.get()));
+    }
+
+    private static <T> Supplier<T> reporting(Supplier<T> work, Consumer<T> listener) {
+        return () -> {
+            T value = work.get();
+            listener.accept(value);
+            return value;
+        };
+    }
+
     /**
-     * Shutdown the executor service when done. Should be called when the service is no longer
-     * needed.
+     * The definition stage is dominated by the formatter call when one is configured, so its cap is
+     * the formatter's.
      */
-    public void shutdown() {
-        executorService.shutdown();
+    private static String definitionStageProvider(ProviderConfiguration config) {
+        String formatter = config.getDefinitionFormatterProvider();
+        return formatter != null ? formatter : config.getDefinitionProvider();
     }
 }
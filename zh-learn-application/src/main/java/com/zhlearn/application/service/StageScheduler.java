@@ -0,0 +1,286 @@
+package com.zhlearn.application.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dependency-graph scheduler for provider calls. Each call is a {@link Node} that declares the
+ * nodes whose results it needs; a node becomes ready as soon as its inputs have completed, so
+ * independent calls never wait on each other.
+ *
+ * <p>Graphs from many callers share one scheduler. Ready nodes are started on the shared executor
+ * right away, unless their provider was given a concurrency cap and is at it: requests to a
+ * provider are otherwise bounded by its rate limiter and the process-wide in-flight cap, which also
+ * let a batching provider see every word that is ready. When several nodes are waiting, the one
+ * with the longest estimated remaining chain (its own cost plus its slowest path of dependants)
+ * goes first, then the oldest. Cost estimates are a moving average of observed durations per stage
+ * and provider.
+ */
+public final class StageScheduler {
+
+    private static final double INITIAL_ESTIMATE_MILLIS = 1000.0;
+    private static final double ESTIMATE_WEIGHT = 0.2;
+
+    private final Executor executor;
+    private final Map<String, Integer> providerLimits;
+    private final Map<String, Double> estimatesMillis = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Node<?>> ready =
+            new PriorityQueue<>(
+                    Comparator.<Node<?>>comparingDouble(node -> -node.rank)
+                            .thenComparingLong(node -> node.sequence));
+    private final Map<String, Integer> running = new HashMap<>();
+
+    /**
+     * @param providerLimits concurrency caps of the providers that need one; other providers are
+     *     not capped here
+     */
+    public StageScheduler(Executor executor, Map<String, Integer> providerLimits) {
+        providerLimits.forEach(
+                (provider, limit) -> {
+                    if (limit < 1) {
+                        throw new IllegalArgumentException(
+                                "Provider limit must be positive: " + provider + "=" + limit);
+                    }
+                });
+        this.executor = executor;
+        this.providerLimits = Map.copyOf(providerLimits);
+    }
+
+    /**
+     * Parse per-provider limits written as {@code provider=limit} pairs separated by commas, e.g.
+     * {@code deepseek-chat=4,qwen-tts=2}.
+     */
+    public static Map<String, Integer> parseLimits(String value) {
+        Map<String, Integer> limits = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new IllegalArgumentException(
+                        "Invalid provider limit '" + pair.trim() + "', expected provider=limit");
+            }
+            String provider = pair.substring(0, separator).trim();
+            String limit = pair.substring(separator + 1).trim();
+            try {
+                limits.put(provider, Integer.parseInt(limit));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(
+                        "Invalid provider limit '" + pair.trim() + "', expected provider=limit", e);
+            }
+        }
+        return Map.copyOf(limits);
+    }
+
+    /** Start building a graph; nothing runs until {@link Graph#submit()}. */
+    public Graph newGraph() {
+        return new Graph();
+    }
+
+    /** Number of ready nodes waiting for a free slot of their provider. */
+    public int queued() {
+        synchronized (lock) {
+            return ready.size();
+        }
+    }
+
+    int limitFor(String provider) {
+        return providerLimits.getOrDefault(provider, Integer.MAX_VALUE);
+    }
+
+    double estimateMillis(String stage, String provider) {
+        return estimatesMillis.getOrDefault(stage + "/" + provider, INITIAL_ESTIMATE_MILLIS);
+    }
+
+    /** The nodes of one caller's work, e.g. all provider calls for one word. */
+    public final class Graph {
+        private final List<Node<?>> nodes = new ArrayList<>();
+        private boolean submitted;
+
+        /**
+         * Add a provider call.
+         *
+         * @param stage name of the stage, used for cost estimates
+         * @param provider provider whose concurrency cap, if any, applies; the stage name when null
+         * @param work the call; may {@link Node#get()} any of its inputs
+         * @param inputs nodes that must complete before this one starts
+         */
+        public <T> Node<T> add(String stage, String provider, Supplier<T> work, Node<?>... inputs) {
+            if (submitted) {
+                throw new IllegalStateException("Graph already submitted");
+            }
+            Node<T> node =
+                    new Node<>(
+                            stage,
+                            Objects.requireNonNullElse(provider, stage),
+                            work,
+                            inputs.length);
+            for (Node<?> input : inputs) {
+                if (!nodes.contains(input)) {
+                    throw new IllegalArgumentException(
+                            "Input " + input.stage + " does not belong to this graph");
+                }
+                input.dependants.add(node);
+            }
+            nodes.add(node);
+            return node;
+        }
+
+        /** Rank the nodes and start every node that has no inputs. */
+        public void submit() {
+            if (submitted) {
+                throw new IllegalStateException("Graph already submitted");
+            }
+            submitted = true;
+            // Inputs are always added before their dependants, so reverse insertion order visits
+            // every dependant before the nodes it depends on
+            for (int i = nodes.size() - 1; i >= 0; i--) {
+                Node<?> node = nodes.get(i);
+                double downstream = 0;
+                for (Node<?> dependant : node.dependants) {
+                    downstream = Math.max(downstream, dependant.rank);
+                }
+                node.rank = estimateMillis(node.stage, node.provider) + downstream;
+            }
+            synchronized (lock) {
+                for (Node<?> node : nodes) {
+                    if (node.pendingInputs == 0) {
+                        ready.add(node);
+                    }
+                }
+            }
+            dispatch();
+        }
+    }
+
+    /** One provider call with its result. */
+    public final class Node<T> {
+        private final String stage;
+        private final String provider;
+        private final Supplier<T> work;
+        private final long sequence;
+        private final List<Node<?>> dependants = new ArrayList<>();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private int pendingInputs;
+        private double rank;
+
+        private Node(String stage, String provider, Supplier<T> work, int pendingInputs) {
+            this.stage = stage;
+            this.provider = provider;
+            this.work = work;
+            this.pendingInputs = pendingInputs;
+            this.sequence = StageScheduler.this.sequence.getAndIncrement();
+        }
+
+        public CompletableFuture<T> result() {
+            return result;
+        }
+
+        /**
+         * Result of a completed node. Intended for dependants, which only run once their inputs
+         * have completed successfully.
+         */
+        public T get() {
+            return result.join();
+        }
+
+        /**
+         * Run the call; its value or failure, whatever it is, completes {@link #result()} and is
+         * passed on to the dependants.
+         */
+        private void run() {
+            long start = System.nanoTime();
+            T value;
+            // CHECKSTYLE:OFF
+            try {
+                value = work.get();
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+                finish(this, e);
+                return;
+            }
+            // CHECKSTYLE:ON
+            recordDuration(this, System.nanoTime() - start);
+            result.complete(value);
+            finish(this, null);
+        }
+    }
+
+    private void recordDuration(Node<?> node, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        estimatesMillis.merge(
+                node.stage + "/" + node.provider,
+                millis,
+                (previous, latest) -> previous + ESTIMATE_WEIGHT * (latest - previous));
+    }
+
+    /**
+     * Release the provider slot and resolve the dependants: with a failure they fail too, otherwise
+     * those whose last input this was become ready.
+     */
+    private void finish(Node<?> node, Throwable failure) {
+        List<Node<?>> failed = new ArrayList<>();
+        synchronized (lock) {
+            running.merge(node.provider, -1, Integer::sum);
+            for (Node<?> dependant : node.dependants) {
+                if (failure != null) {
+                    collectFailed(dependant, failed);
+                } else if (--dependant.pendingInputs == 0) {
+                    ready.add(dependant);
+                }
+            }
+        }
+        for (Node<?> dependant : failed) {
+            dependant.result.completeExceptionally(failure);
+        }
+        dispatch();
+    }
+
+    private static void collectFailed(Node<?> node, List<Node<?>> failed) {
+        if (failed.contains(node)) {
+            return;
+        }
+        // Never queued: a failed input means it can no longer become ready
+        node.pendingInputs = -1;
+        failed.add(node);
+        for (Node<?> dependant : node.dependants) {
+            collectFailed(dependant, failed);
+        }
+    }
+
+    private void dispatch() {
+        List<Node<?>> toStart = new ArrayList<>();
+        synchronized (lock) {
+            List<Node<?>> blocked = new ArrayList<>();
+            while (!ready.isEmpty()) {
+                Node<?> node = ready.poll();
+                int active = running.getOrDefault(node.provider, 0);
+                if (active >= limitFor(node.provider)) {
+                    blocked.add(node);
+                    continue;
+                }
+                running.put(node.provider, active + 1);
+                toStart.add(node);
+            }
+            ready.addAll(blocked);
+        }
+        for (Node<?> node : toStart) {
+            executor.execute(node::run);
+        }
+    }
+}
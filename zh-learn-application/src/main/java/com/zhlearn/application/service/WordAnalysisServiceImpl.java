@@ -2,9 +2,11 @@ package com.zhlearn.application.service;
 
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.zhlearn.domain.model.*;
 import com.zhlearn.domain.provider.*;
+import com.zhlearn.domain.service.AnalysisListener;
 import com.zhlearn.domain.service.WordAnalysisService;
 
 public class WordAnalysisServiceImpl implements WordAnalysisService {
@@ -79,6 +81,12 @@ public class WordAnalysisServiceImpl implements WordAnalysisService {
         return exampleProvider.getExamples(word, Optional.of(definition));
     }
 
+    @Override
+    public Example getExamples(
+            Hanzi word, String providerName, String definition, Consumer<Example> partialExamples) {
+        return exampleProvider.getExamples(word, Optional.of(definition), partialExamples);
+    }
+
     @Override
     public Explanation getExplanation(Hanzi word, String providerName) {
         return explanationProvider.getExplanation(word);
@@ -119,4 +127,33 @@ public class WordAnalysisServiceImpl implements WordAnalysisService {
                 getExplanation(word, config.getExplanationProvider()),
                 getPronunciation(word, pinyin, config.getAudioProvider()));
     }
+
+    @Override
+    public WordAnalysis getCompleteAnalysis(
+            Hanzi word, ProviderConfiguration config, AnalysisListener listener) {
+        Definition definition = getDefinition(word, config.getDefinitionProvider());
+        listener.onDefinition(definition);
+        Pinyin pinyin = getPinyin(word, config.getPinyinProvider());
+        listener.onPinyin(pinyin);
+        StructuralDecomposition decomposition =
+                getStructuralDecomposition(word, config.getDecompositionProvider());
+        listener.onStructuralDecomposition(decomposition);
+        Example examples =
+                getExamples(
+                        word,
+                        config.getExampleProvider(),
+                        definition.meaning(),
+                        listener::onPartialExamples);
+        listener.onExamples(examples);
+        Explanation explanation = getExplanation(word, config.getExplanationProvider());
+        listener.onExplanation(explanation);
+        return new WordAnalysis(
+                word,
+                pinyin,
+                definition,
+                decomposition,
+                examples,
+                explanation,
+                getPronunciation(word, pinyin, config.getAudioProvider()));
+    }
 }
@@ -14,7 +14,8 @@ import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.model.ProviderInfo.ProviderType;
 import com.zhlearn.domain.provider.AudioProvider;
-import com.zhlearn.infrastructure.audio.AudioDownloadExecutor;
+import com.zhlearn.infrastructure.concurrent.ExecutorMode;
+import com.zhlearn.infrastructure.concurrent.SharedExecutor;
 
 class AudioOrchestratorParallelTest {
 
@@ -27,7 +28,7 @@ class AudioOrchestratorParallelTest {
         AudioProvider slowProvider1 = new SlowAudioProvider("slow1", callCount, 1000);
         AudioProvider slowProvider2 = new SlowAudioProvider("slow2", callCount, 1000);
 
-        AudioDownloadExecutor executor = new AudioDownloadExecutor();
+        SharedExecutor executor = new SharedExecutor(ExecutorMode.PLATFORM);
         AudioOrchestrator orchestrator =
                 new AudioOrchestrator(List.of(slowProvider1, slowProvider2), executor);
 
@@ -48,7 +49,7 @@ class AudioOrchestratorParallelTest {
         // Should have candidates from both providers
         assertThat(candidates).hasSize(2);
 
-        executor.shutdown();
+        executor.close();
     }
 
     private static class SlowAudioProvider implements AudioProvider {
@@ -0,0 +1,140 @@
+package com.zhlearn.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class BoundedPipelineTest {
+
+    @Test
+    @Timeout(10)
+    void shouldProcessEveryItem() throws Exception {
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>(4, 8);
+        List<Integer> results = new ArrayList<>();
+
+        int consumed =
+                pipeline.run(IntStream.range(0, 100).boxed().iterator(), i -> i * 2, results::add);
+
+        assertThat(consumed).isEqualTo(100);
+        assertThat(results)
+                .containsExactlyInAnyOrderElementsOf(
+                        IntStream.range(0, 100).map(i -> i * 2).boxed().toList());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRunStagesOnProvidedExecutor() throws Exception {
+        List<Boolean> ranOnVirtualThread = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            BoundedPipeline<Integer, Boolean> pipeline = new BoundedPipeline<>(executor, 3, 4);
+
+            pipeline.run(
+                    IntStream.range(0, 20).boxed().iterator(),
+                    i -> Thread.currentThread().isVirtual(),
+                    ranOnVirtualThread::add);
+        }
+
+        assertThat(ranOnVirtualThread).hasSize(20).containsOnly(true);
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldKeepOrderWithSingleWorker() throws Exception {
+        BoundedPipeline<Integer, String> pipeline = new BoundedPipeline<>(1, 2);
+        List<String> results = new ArrayList<>();
+
+        pipeline.run(List.of(1, 2, 3).iterator(), String::valueOf, results::add);
+
+        assertThat(results).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldApplyBackpressureToProducer() throws Exception {
+        AtomicInteger produced = new AtomicInteger();
+        Iterator<Integer> source =
+                new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return produced.get() < 1000;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        return produced.incrementAndGet();
+                    }
+                };
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>(2, 4);
+        List<Integer> inFlightAtConsume = new ArrayList<>();
+        AtomicInteger consumed = new AtomicInteger();
+
+        pipeline.run(
+                source,
+                i -> i,
+                result -> {
+                    inFlightAtConsume.add(produced.get() - consumed.incrementAndGet());
+                });
+
+        // Two queues of 4 plus one item per worker plus the one the producer is about to put
+        assertThat(inFlightAtConsume).allMatch(inFlight -> inFlight <= 2 * 4 + 2 + 1);
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRethrowWorkerFailure() {
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>(3, 4);
+
+        assertThatThrownBy(
+                        () ->
+                                pipeline.run(
+                                        IntStream.range(0, 50).boxed().iterator(),
+                                        i -> {
+                                            if (i == 10) {
+                                                throw new IllegalStateException("boom");
+                                            }
+                                            return i;
+                                        },
+                                        result -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRethrowSourceFailureAfterDrainingReadItems() {
+        Iterator<Integer> source =
+                new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return true;
+                    }
+
+                    @Override
+                    public Integer next() {
+                        if (next == 5) {
+                            throw new IllegalArgumentException("bad record");
+                        }
+                        return next++;
+                    }
+                };
+        BoundedPipeline<Integer, Integer> pipeline = new BoundedPipeline<>(2, 4);
+        List<Integer> results = new ArrayList<>();
+
+        assertThatThrownBy(() -> pipeline.run(source, i -> i, results::add))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad record");
+        assertThat(results).hasSize(5);
+    }
+}
@@ -0,0 +1,157 @@
+package com.zhlearn.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.ProviderConfiguration;
+import com.zhlearn.domain.model.StructuralDecomposition;
+import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.domain.service.AnalysisListener;
+import com.zhlearn.domain.service.WordAnalysisService;
+
+class ParallelWordAnalysisServiceTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldOnlyHoldExamplesBackForTheDefinition() throws Exception {
+        Hanzi word = new Hanzi("学习");
+        CountDownLatch releaseDefinition = new CountDownLatch(1);
+        WordAnalysisService delegate = mock(WordAnalysisService.class);
+        when(delegate.getDefinition(eq(word), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            releaseDefinition.await();
+                            return new Definition("to study");
+                        });
+        when(delegate.getPinyin(eq(word), anyString())).thenReturn(new Pinyin("xuéxí"));
+        when(delegate.getStructuralDecomposition(eq(word), anyString()))
+                .thenReturn(new StructuralDecomposition("学 + 习"));
+        when(delegate.getExplanation(eq(word), anyString()))
+                .thenReturn(new Explanation("explanation"));
+        when(delegate.getExamples(eq(word), anyString(), eq("to study"), any()))
+                .thenReturn(new Example(List.of(), List.of()));
+        when(delegate.getPronunciation(eq(word), any(Pinyin.class), anyString()))
+                .thenReturn(Optional.of(Path.of("xuexi.mp3")));
+        ParallelWordAnalysisService service =
+                new ParallelWordAnalysisService(delegate, new StageScheduler(executor, Map.of()));
+
+        CompletableFuture<WordAnalysis> analysis =
+                service.analyze(word, new ProviderConfiguration("dummy"));
+
+        verify(delegate, timeout(5000)).getStructuralDecomposition(eq(word), anyString());
+        verify(delegate, timeout(5000)).getExplanation(eq(word), anyString());
+        verify(delegate, timeout(5000)).getPronunciation(eq(word), any(Pinyin.class), anyString());
+        verify(delegate, never()).getExamples(any(), anyString(), anyString(), any());
+        assertThat(analysis).isNotDone();
+
+        releaseDefinition.countDown();
+        WordAnalysis result = analysis.get(5, TimeUnit.SECONDS);
+
+        assertThat(result.definition().meaning()).isEqualTo("to study");
+        assertThat(result.pinyin().pinyin()).isEqualTo("xuéxí");
+        assertThat(result.structuralDecomposition().decomposition()).isEqualTo("学 + 习");
+        assertThat(result.pronunciation()).contains(Path.of("xuexi.mp3"));
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldReportPartsAsTheyComplete() throws Exception {
+        Hanzi word = new Hanzi("学习");
+        CountDownLatch releaseExplanation = new CountDownLatch(1);
+        Example partial = new Example(List.of(usage("我在学习")), List.of());
+        Example complete = new Example(List.of(usage("我在学习"), usage("学习中文")), List.of());
+        WordAnalysisService delegate = mock(WordAnalysisService.class);
+        when(delegate.getDefinition(eq(word), anyString())).thenReturn(new Definition("to study"));
+        when(delegate.getPinyin(eq(word), anyString())).thenReturn(new Pinyin("xuéxí"));
+        when(delegate.getStructuralDecomposition(eq(word), anyString()))
+                .thenReturn(new StructuralDecomposition("学 + 习"));
+        when(delegate.getExplanation(eq(word), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            releaseExplanation.await();
+                            return new Explanation("explanation");
+                        });
+        when(delegate.getExamples(eq(word), anyString(), eq("to study"), any()))
+                .thenAnswer(
+                        invocation -> {
+                            Consumer<Example> partialExamples = invocation.getArgument(3);
+                            partialExamples.accept(partial);
+                            return complete;
+                        });
+        when(delegate.getPronunciation(eq(word), any(Pinyin.class), anyString()))
+                .thenReturn(Optional.empty());
+        ParallelWordAnalysisService service =
+                new ParallelWordAnalysisService(delegate, new StageScheduler(executor, Map.of()));
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        AnalysisListener listener =
+                new AnalysisListener() {
+                    @Override
+                    public void onStructuralDecomposition(StructuralDecomposition decomposition) {
+                        events.add("decomposition");
+                    }
+
+                    @Override
+                    public void onPartialExamples(Example examples) {
+                        events.add("partial examples " + examples.usages().size());
+                    }
+
+                    @Override
+                    public void onExamples(Example examples) {
+                        events.add("examples " + examples.usages().size());
+                    }
+
+                    @Override
+                    public void onExplanation(Explanation explanation) {
+                        events.add("explanation");
+                    }
+                };
+
+        CompletableFuture<WordAnalysis> analysis =
+                service.analyze(word, new ProviderConfiguration("dummy"), listener);
+
+        verify(delegate, timeout(5000)).getExamples(eq(word), anyString(), anyString(), any());
+        Thread.sleep(100);
+        assertThat(events)
+                .containsExactlyInAnyOrder("decomposition", "partial examples 1", "examples 2");
+        assertThat(events.indexOf("partial examples 1")).isLessThan(events.indexOf("examples 2"));
+
+        releaseExplanation.countDown();
+        analysis.get(5, TimeUnit.SECONDS);
+        assertThat(events).endsWith("explanation");
+    }
+
+    private static Example.Usage usage(String sentence) {
+        return new Example.Usage(sentence, "xuéxí", "studying", "to study", null);
+    }
+}
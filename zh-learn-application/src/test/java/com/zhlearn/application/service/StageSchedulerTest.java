@@ -0,0 +1,204 @@
+package com.zhlearn.application.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class StageSchedulerTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldStartIndependentNodesWithoutWaitingForSlowOnes() throws Exception {
+        StageScheduler scheduler = new StageScheduler(executor, Map.of());
+        CountDownLatch releaseDefinition = new CountDownLatch(1);
+
+        StageScheduler.Graph graph = scheduler.newGraph();
+        StageScheduler.Node<String> definition =
+                graph.add("definition", "llm", () -> await(releaseDefinition, "meaning"));
+        StageScheduler.Node<String> examples =
+                graph.add("examples", "llm", () -> "examples of " + definition.get(), definition);
+        StageScheduler.Node<String> explanation =
+                graph.add("explanation", "llm", () -> "explanation");
+        graph.submit();
+
+        assertThat(explanation.result().get(5, TimeUnit.SECONDS)).isEqualTo("explanation");
+        assertThat(examples.result()).isNotDone();
+
+        releaseDefinition.countDown();
+        assertThat(examples.result().get(5, TimeUnit.SECONDS)).isEqualTo("examples of meaning");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRespectPerProviderLimitAcrossGraphs() {
+        StageScheduler scheduler = new StageScheduler(executor, Map.of("llm", 2));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<StageScheduler.Node<Integer>> nodes = new CopyOnWriteArrayList<>();
+
+        for (int word = 0; word < 5; word++) {
+            StageScheduler.Graph graph = scheduler.newGraph();
+            for (int stage = 0; stage < 3; stage++) {
+                nodes.add(
+                        graph.add(
+                                "stage-" + stage,
+                                "llm",
+                                () -> {
+                                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                                    sleep(20);
+                                    active.decrementAndGet();
+                                    return 1;
+                                }));
+            }
+            graph.submit();
+        }
+
+        int completed = nodes.stream().mapToInt(node -> node.result().join()).sum();
+
+        assertThat(completed).isEqualTo(15);
+        assertThat(maxActive.get()).isEqualTo(2);
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldNotCapProvidersWithoutLimit() throws Exception {
+        StageScheduler scheduler = new StageScheduler(executor, Map.of());
+        CountDownLatch allStarted = new CountDownLatch(40);
+        List<StageScheduler.Node<Integer>> nodes = new CopyOnWriteArrayList<>();
+
+        // Ten words of four stages on one provider; each call only returns once all have started
+        for (int word = 0; word < 10; word++) {
+            StageScheduler.Graph graph = scheduler.newGraph();
+            for (int stage = 0; stage < 4; stage++) {
+                nodes.add(
+                        graph.add(
+                                "stage-" + stage,
+                                "llm",
+                                () -> {
+                                    allStarted.countDown();
+                                    return await(allStarted, 1);
+                                }));
+            }
+            graph.submit();
+        }
+
+        assertThat(nodes.stream().mapToInt(node -> node.result().join()).sum()).isEqualTo(40);
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldStartLongestChainFirst() {
+        StageScheduler scheduler = new StageScheduler(executor, Map.of("llm", 1));
+        List<String> started = new CopyOnWriteArrayList<>();
+        CountDownLatch releaseBlocker = new CountDownLatch(1);
+
+        // Occupy the only slot so that every node below is queued before any of them runs
+        StageScheduler.Graph blockerGraph = scheduler.newGraph();
+        StageScheduler.Node<String> blocker =
+                blockerGraph.add("blocker", "llm", () -> await(releaseBlocker, "done"));
+        blockerGraph.submit();
+
+        StageScheduler.Graph graph = scheduler.newGraph();
+        StageScheduler.Node<String> leaf = graph.add("leaf", "llm", () -> record(started, "leaf"));
+        StageScheduler.Node<String> head = graph.add("head", "llm", () -> record(started, "head"));
+        StageScheduler.Node<String> tail =
+                graph.add("tail", "llm", () -> record(started, "tail"), head);
+        graph.submit();
+
+        releaseBlocker.countDown();
+        blocker.result().join();
+        leaf.result().join();
+        tail.result().join();
+
+        assertThat(started).containsExactly("head", "leaf", "tail");
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldFailDependantsWhenInputFails() {
+        StageScheduler scheduler = new StageScheduler(executor, Map.of());
+        AtomicInteger dependantRuns = new AtomicInteger();
+
+        StageScheduler.Graph graph = scheduler.newGraph();
+        StageScheduler.Node<String> definition =
+                graph.add(
+                        "definition",
+                        "llm",
+                        () -> {
+                            throw new IllegalStateException("provider down");
+                        });
+        StageScheduler.Node<String> examples =
+                graph.add(
+                        "examples",
+                        "llm",
+                        () -> {
+                            dependantRuns.incrementAndGet();
+                            return definition.get();
+                        },
+                        definition);
+        StageScheduler.Node<String> explanation =
+                graph.add("explanation", "llm", () -> "explanation");
+        graph.submit();
+
+        assertThatThrownBy(() -> examples.result().join())
+                .isInstanceOf(CompletionException.class)
+                .hasRootCauseMessage("provider down");
+        assertThat(explanation.result().join()).isEqualTo("explanation");
+        assertThat(dependantRuns).hasValue(0);
+    }
+
+    @Test
+    void shouldParseProviderLimits() {
+        assertThat(StageScheduler.parseLimits("deepseek-chat=4, qwen-tts=2"))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("deepseek-chat", 4, "qwen-tts", 2));
+        assertThatThrownBy(() -> StageScheduler.parseLimits("deepseek-chat"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected provider=limit");
+        assertThatThrownBy(() -> new StageScheduler(executor, Map.of("qwen-tts", 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static <T> T await(CountDownLatch latch, T value) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return value;
+    }
+
+    private static String record(List<String> started, String name) {
+        started.add(name);
+        return name;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
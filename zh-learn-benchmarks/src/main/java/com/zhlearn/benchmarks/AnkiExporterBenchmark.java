@@ -0,0 +1,70 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.application.audio.AnkiMediaLocator;
+import com.zhlearn.application.format.ExamplesHtmlFormatter;
+import com.zhlearn.application.service.AnkiExporter;
+import com.zhlearn.domain.model.WordAnalysis;
+
+/**
+ * Writing a whole Anki export of fully analyzed words, examples HTML included. Words carry no
+ * pronunciation, so no audio is copied and the result is formatting and file output only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnkiExporterBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private AnkiExporter exporter;
+    private List<WordAnalysis> analyses;
+    private Path output;
+
+    @Setup
+    public void setUp() throws IOException {
+        AnkiMediaLocator noMediaDirectory =
+                new AnkiMediaLocator() {
+                    @Override
+                    public Optional<Path> locate() {
+                        return Optional.empty();
+                    }
+                };
+        exporter = new AnkiExporter(new ExamplesHtmlFormatter(), noMediaDirectory);
+        analyses = SyntheticData.wordAnalyses(rows);
+        output = Files.createTempFile("zh-learn-export-bench", ".tsv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @Benchmark
+    public void exportToFile() throws IOException {
+        exporter.exportToFile(analyses, output);
+    }
+}
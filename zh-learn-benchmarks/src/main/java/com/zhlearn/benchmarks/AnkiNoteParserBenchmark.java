@@ -0,0 +1,50 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.infrastructure.anki.AnkiNote;
+import com.zhlearn.infrastructure.anki.AnkiNoteParser;
+
+/** Parsing a whole Anki collection export, whose rows carry the examples HTML, from memory. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnkiNoteParserBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private final AnkiNoteParser parser = new AnkiNoteParser();
+    private String export;
+
+    @Setup
+    public void setUp() throws IOException {
+        export = SyntheticData.ankiExport(rows);
+        if (parseFromReader().isEmpty()) {
+            throw new IllegalStateException("Synthetic Anki export has no Chinese 2 notes");
+        }
+    }
+
+    @Benchmark
+    public List<AnkiNote> parseFromReader() throws IOException {
+        return parser.parseFromReader(new StringReader(export));
+    }
+}
@@ -0,0 +1,27 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.Main;
+
+/**
+ * Entry point of benchmarks.jar. Takes the usual JMH options and writes results as JSON to {@code
+ * jmh-result.json} unless {@code -rf} picks another format, so runs of different releases can be
+ * compared.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws IOException {
+        List<String> arguments = new ArrayList<>();
+        if (!List.of(args).contains("-rf")) {
+            arguments.add("-rf");
+            arguments.add("json");
+        }
+        arguments.addAll(List.of(args));
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
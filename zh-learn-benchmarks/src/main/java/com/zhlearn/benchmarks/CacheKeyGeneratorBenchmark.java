@@ -0,0 +1,39 @@
+package com.zhlearn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.infrastructure.cache.CacheKeyGenerator;
+
+/** Hashing a full examples prompt, done for every LLM call before the cache is consulted. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheKeyGeneratorBenchmark {
+    private final CacheKeyGenerator generator = new CacheKeyGenerator();
+    private String prompt;
+
+    @Setup
+    public void setUp() {
+        prompt = SyntheticData.examplesPrompt("青");
+    }
+
+    @Benchmark
+    public String generateKey() {
+        return generator.generateKey(
+                prompt, "https://api.deepseek.com/v1", "deepseek-chat", 0.3, 8000);
+    }
+}
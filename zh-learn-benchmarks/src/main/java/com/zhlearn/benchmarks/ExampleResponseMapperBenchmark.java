@@ -0,0 +1,48 @@
+package com.zhlearn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.infrastructure.common.ExampleResponseMapper;
+import com.zhlearn.infrastructure.common.MultiCharExampleResponseMapper;
+
+/** Parsing examples responses of the size the LLMs return, code fence included. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExampleResponseMapperBenchmark {
+    private final ExampleResponseMapper singleChar = new ExampleResponseMapper();
+    private final MultiCharExampleResponseMapper multiChar = new MultiCharExampleResponseMapper();
+    private String singleCharYaml;
+    private String multiCharYaml;
+
+    @Setup
+    public void setUp() {
+        singleCharYaml = SyntheticData.singleCharExamplesYaml();
+        multiCharYaml = SyntheticData.multiCharExamplesYaml();
+    }
+
+    @Benchmark
+    public Example singleChar() {
+        return singleChar.apply(singleCharYaml);
+    }
+
+    @Benchmark
+    public Example multiChar() {
+        return multiChar.apply(multiCharYaml);
+    }
+}
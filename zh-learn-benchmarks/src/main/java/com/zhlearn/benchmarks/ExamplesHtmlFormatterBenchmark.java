@@ -0,0 +1,39 @@
+package com.zhlearn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.application.format.ExamplesHtmlFormatter;
+import com.zhlearn.domain.model.Example;
+
+/** Rendering one word's examples to the HTML shown in the terminal and exported to Anki. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExamplesHtmlFormatterBenchmark {
+    private final ExamplesHtmlFormatter formatter = new ExamplesHtmlFormatter();
+    private Example example;
+
+    @Setup
+    public void setUp() {
+        example = SyntheticData.example();
+    }
+
+    @Benchmark
+    public String format() {
+        return formatter.format(example);
+    }
+}
@@ -0,0 +1,93 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.infrastructure.cache.CacheKeyGenerator;
+import com.zhlearn.infrastructure.cache.FileSystemCache;
+
+/**
+ * Reads and writes of examples responses in a cache directory holding as many entries as a 10k-row
+ * export leaves behind. Writes cycle over a fixed key set so the directory stops growing after the
+ * first pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileSystemCacheBenchmark {
+    private static final int ENTRIES = 10_000;
+    private static final long TTL_SECONDS = TimeUnit.DAYS.toSeconds(7);
+
+    private Path directory;
+    private FileSystemCache cache;
+    private String response;
+    private List<String> storedKeys;
+    private List<String> freshKeys;
+    private int nextGet;
+    private int nextPut;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("zh-learn-cache-bench");
+        cache = new FileSystemCache(directory, TTL_SECONDS);
+        response = SyntheticData.singleCharExamplesYaml();
+        CacheKeyGenerator generator = new CacheKeyGenerator();
+        storedKeys = new ArrayList<>(ENTRIES);
+        freshKeys = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            String key = generator.generateKey("stored " + i, "bench", "bench", 0.3, 8000);
+            cache.put(key, response);
+            storedKeys.add(key);
+            freshKeys.add(generator.generateKey("fresh " + i, "bench", "bench", 0.3, 8000));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<String> getHit() {
+        nextGet = (nextGet + 1) % ENTRIES;
+        return cache.get(storedKeys.get(nextGet));
+    }
+
+    @Benchmark
+    public Optional<String> getMiss() {
+        nextGet = (nextGet + 1) % ENTRIES;
+        return cache.get(freshKeys.get(nextGet));
+    }
+
+    @Benchmark
+    public void put() {
+        nextPut = (nextPut + 1) % ENTRIES;
+        cache.put(freshKeys.get(nextPut), response);
+    }
+}
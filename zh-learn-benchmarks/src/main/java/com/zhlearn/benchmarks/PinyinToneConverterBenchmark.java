@@ -0,0 +1,45 @@
+package com.zhlearn.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.zhlearn.pinyin.PinyinToneConverter;
+
+/** Tone mark conversion of one word, the per-row cost of parsing a Pleco export. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PinyinToneConverterBenchmark {
+    private static final int WORDS = 1024;
+
+    private List<String> words;
+
+    @Setup
+    public void setUp() {
+        words = SyntheticData.numberedPinyin(WORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void convertToToneMarks(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(PinyinToneConverter.convertToToneMarks(word));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.infrastructure.pleco.PlecoEntry;
+import com.zhlearn.infrastructure.pleco.PlecoExportParser;
+
+/** Parsing a whole Pleco export held in memory, so disk speed does not enter the result. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlecoExportParserBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private final PlecoExportParser parser = new PlecoExportParser();
+    private String export;
+
+    @Setup
+    public void setUp() throws IOException {
+        export = SyntheticData.plecoExport(rows);
+        int parsed = parseFromReader().size();
+        if (parsed != rows) {
+            throw new IllegalStateException("Parsed " + parsed + " of " + rows + " rows");
+        }
+    }
+
+    @Benchmark
+    public List<PlecoEntry> parseFromReader() throws IOException {
+        return parser.parseFromReader(new StringReader(export));
+    }
+}
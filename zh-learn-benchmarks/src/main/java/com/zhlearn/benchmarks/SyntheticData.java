@@ -0,0 +1,286 @@
+package com.zhlearn.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.StructuralDecomposition;
+import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.pinyin.PinyinToneConverter;
+
+/**
+ * Deterministic inputs shaped like the real ones: Pleco and Anki exports with multi-syllable words
+ * in numbered pinyin, and LLM responses the size of the prompts' own few-shot examples. The same
+ * seed always yields the same data, so runs stay comparable between releases.
+ */
+public final class SyntheticData {
+    private static final long SEED = 20_240_601L;
+
+    /** Common characters with their numbered pinyin, including the ü spellings Pleco uses. */
+    private static final String[][] SYLLABLES = {
+        {"学", "xue2"}, {"习", "xi2"}, {"工", "gong1"}, {"作", "zuo4"}, {"中", "zhong1"},
+        {"国", "guo2"}, {"人", "ren2"}, {"大", "da4"}, {"小", "xiao3"}, {"生", "sheng1"},
+        {"女", "nv3"}, {"绿", "lv4"}, {"好", "hao3"}, {"们", "men5"}, {"是", "shi4"},
+        {"我", "wo3"}, {"你", "ni3"}, {"他", "ta1"}, {"说", "shuo1"}, {"话", "hua4"},
+        {"吃", "chi1"}, {"饭", "fan4"}, {"喝", "he1"}, {"水", "shui3"}, {"电", "dian4"},
+        {"脑", "nao3"}, {"朋", "peng2"}, {"友", "you5"}, {"老", "lao3"}, {"师", "shi1"},
+        {"家", "jia1"}, {"天", "tian1"}, {"气", "qi4"}, {"时", "shi2"}, {"间", "jian1"},
+        {"爱", "ai4"}, {"看", "kan4"}, {"书", "shu1"}, {"写", "xie3"}, {"字", "zi4"},
+        {"汉", "han4"}, {"语", "yu3"}, {"英", "ying1"}, {"文", "wen2"}, {"月", "yue4"},
+        {"年", "nian2"}, {"星", "xing1"}, {"期", "qi1"}, {"医", "yi1"}, {"院", "yuan4"},
+        {"坐", "zuo4"}, {"车", "che1"}, {"路", "lu4"}, {"旅", "lv3"}, {"游", "you2"},
+        {"略", "lve4"}, {"追", "zhui1"}, {"求", "qiu2"}, {"青", "qing1"}, {"清", "qing1"},
+        {"情", "qing2"}, {"晴", "qing2"}, {"请", "qing3"}, {"估", "gu1"}, {"计", "ji4"}
+    };
+
+    private static final String[] GLOSSES = {
+        "to study; to learn", "to practice; habit", "work; labor; worker", "to do; to make",
+        "middle; center; China", "country; nation; state", "person; people", "big; large; great",
+        "small; young", "to be born; life; raw", "green", "good; well; proper"
+    };
+
+    private SyntheticData() {}
+
+    /** Words in numbered pinyin, one to four syllables each, e.g. {@code "lv3 you2"}. */
+    public static List<String> numberedPinyin(int count) {
+        Random random = new Random(SEED);
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(word(random).numberedPinyin());
+        }
+        return words;
+    }
+
+    /** A Pleco flashcard export: hanzi, numbered pinyin and a definition per tab-separated row. */
+    public static String plecoExport(int rows) {
+        Random random = new Random(SEED);
+        StringBuilder tsv = new StringBuilder(rows * 96);
+        for (int i = 0; i < rows; i++) {
+            Word word = word(random);
+            tsv.append(word.hanzi())
+                    .append('\t')
+                    .append(word.numberedPinyin())
+                    .append('\t')
+                    .append(definition(random))
+                    .append('\n');
+        }
+        return tsv.toString();
+    }
+
+    /**
+     * An Anki collection export of "Chinese 2" notes with the header lines Anki writes. Every tenth
+     * row belongs to another note type, which the parser skips.
+     */
+    public static String ankiExport(int rows) {
+        Random random = new Random(SEED);
+        String examplesHtml = "\"" + examplesHtml().replace("\"", "\"\"").replace("\n", "") + "\"";
+        StringBuilder tsv = new StringBuilder(rows * 1024);
+        tsv.append("#separator:tab\n#html:true\n#notetype column:1\n");
+        for (int i = 0; i < rows; i++) {
+            Word word = word(random);
+            String pinyin = PinyinToneConverter.convertToToneMarks(word.numberedPinyin());
+            tsv.append(i % 10 == 9 ? "Basic" : "Chinese 2")
+                    .append('\t')
+                    .append(word.hanzi())
+                    .append('\t')
+                    .append(pinyin)
+                    .append('\t')
+                    .append("[sound:")
+                    .append(pinyin.replace(" ", ""))
+                    .append(".mp3]\t")
+                    .append(definition(random))
+                    .append('\t')
+                    .append(examplesHtml)
+                    .append("\t\t\t\ty\t\ty\n");
+        }
+        return tsv.toString();
+    }
+
+    /** Examples response for a single character, as the single-char examples prompt asks for. */
+    public static String singleCharExamplesYaml() {
+        return examplesYaml(true);
+    }
+
+    /** Examples response for a multi-character word; no per-example breakdown. */
+    public static String multiCharExamplesYaml() {
+        return examplesYaml(false);
+    }
+
+    /** The usages and phonetic series of {@link #singleCharExamplesYaml()}. */
+    public static Example example() {
+        List<Example.Usage> usages = new ArrayList<>();
+        for (int group = 0; group < 3; group++) {
+            String context = GLOSSES[group] + " (qīng)";
+            for (int i = 0; i < 4; i++) {
+                String[] second = SYLLABLES[(group * 4 + i) % SYLLABLES.length];
+                usages.add(
+                        new Example.Usage(
+                                "青" + second[0],
+                                "qīng" + PinyinToneConverter.convertToToneMarks(second[1]),
+                                GLOSSES[(group + i) % GLOSSES.length],
+                                context,
+                                "青 conveys "
+                                        + GLOSSES[group]
+                                        + "; "
+                                        + second[0]
+                                        + " adds its own"
+                                        + " sense, together → "
+                                        + GLOSSES[i]));
+            }
+        }
+        List<Example.SeriesItem> series = new ArrayList<>();
+        for (int i = 59; i < 63; i++) {
+            series.add(
+                    new Example.SeriesItem(
+                            SYLLABLES[i][0],
+                            PinyinToneConverter.convertToToneMarks(SYLLABLES[i][1]),
+                            GLOSSES[i % GLOSSES.length]));
+        }
+        return new Example(usages, series);
+    }
+
+    /** Fully analyzed words without pronunciation, as the export receives them. */
+    public static List<WordAnalysis> wordAnalyses(int count) {
+        Random random = new Random(SEED);
+        Example example = example();
+        Explanation explanation =
+                new Explanation(resource("/single-char/explanation/examples/example-01.html"));
+        StructuralDecomposition decomposition =
+                new StructuralDecomposition(
+                        resource("/multi-char/structural-decomposition/examples/example-01.html"));
+        List<WordAnalysis> analyses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Word word = word(random);
+            analyses.add(
+                    new WordAnalysis(
+                            new Hanzi(word.hanzi()),
+                            new Pinyin(
+                                    PinyinToneConverter.convertToToneMarks(word.numberedPinyin())),
+                            new Definition(definition(random)),
+                            decomposition,
+                            example,
+                            explanation,
+                            Optional.empty()));
+        }
+        return analyses;
+    }
+
+    /**
+     * The single-character examples prompt with its few-shot examples filled in and the word's
+     * request appended, the largest prompt a word analysis sends.
+     */
+    public static String examplesPrompt(String word) {
+        List<String> examples = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            examples.add(resource("/single-char/examples/examples/example-0" + i + ".html"));
+        }
+        return resource("/single-char/examples/prompt-template.md")
+                        .replace("{EXAMPLES}", String.join("\n\n", examples))
+                + "\n\nWord: **"
+                + word
+                + "**\n";
+    }
+
+    /** A classpath resource of the modules under benchmark, such as a prompt template. */
+    public static String resource(String path) {
+        try (InputStream in = SyntheticData.class.getResourceAsStream(path)) {
+            return new String(
+                    Objects.requireNonNull(in, path).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read resource " + path, e);
+        }
+    }
+
+    private static String examplesHtml() {
+        StringBuilder html = new StringBuilder("<ul>");
+        for (Example.Usage usage : example().usages()) {
+            html.append("<li><span class=\"hanzi\">")
+                    .append(usage.sentence())
+                    .append("</span> (")
+                    .append(usage.pinyin())
+                    .append(") - ")
+                    .append(usage.translation())
+                    .append("</li>");
+        }
+        return html.append("</ul>").toString();
+    }
+
+    private static String examplesYaml(boolean breakdown) {
+        Example example = example();
+        StringBuilder yaml = new StringBuilder("```yaml\nwords:\n");
+        String context = null;
+        for (Example.Usage usage : example.usages()) {
+            if (!usage.context().equals(context)) {
+                context = usage.context();
+                String meaning = context.substring(0, context.lastIndexOf(" ("));
+                yaml.append("  - meaning: \"")
+                        .append(meaning)
+                        .append("\"\n    pinyin: \"qīng\"\n    examples:\n");
+            }
+            yaml.append("      - hanzi: \"")
+                    .append(usage.sentence())
+                    .append("\"\n        pinyin: \"")
+                    .append(usage.pinyin())
+                    .append("\"\n        translation: \"")
+                    .append(usage.translation())
+                    .append("\"\n");
+            if (breakdown) {
+                yaml.append("        breakdown: \"").append(usage.breakdown()).append("\"\n");
+            }
+        }
+        yaml.append("phonetic_series:\n");
+        for (Example.SeriesItem item : example.phoneticSeries()) {
+            yaml.append("  - hanzi: \"")
+                    .append(item.hanzi())
+                    .append("\"\n    pinyin: \"")
+                    .append(item.pinyin())
+                    .append("\"\n    meaning: \"")
+                    .append(item.meaning())
+                    .append("\"\n");
+        }
+        return yaml.append("```\n").toString();
+    }
+
+    private static Word word(Random random) {
+        int syllables = 1 + random.nextInt(random.nextInt(4) + 1);
+        StringBuilder hanzi = new StringBuilder();
+        StringBuilder pinyin = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            String[] syllable = SYLLABLES[random.nextInt(SYLLABLES.length)];
+            hanzi.append(syllable[0]);
+            if (i > 0) {
+                pinyin.append(' ');
+            }
+            pinyin.append(syllable[1]);
+        }
+        return new Word(hanzi.toString(), pinyin.toString());
+    }
+
+    /** One to three glosses, sometimes with a quoted usage note as Pleco writes them. */
+    private static String definition(Random random) {
+        StringBuilder definition = new StringBuilder();
+        int glosses = 1 + random.nextInt(3);
+        for (int i = 0; i < glosses; i++) {
+            if (i > 0) {
+                definition.append(' ').append(i + 1).append(". ");
+            }
+            definition.append(GLOSSES[random.nextInt(GLOSSES.length)]);
+        }
+        if (random.nextInt(5) == 0) {
+            definition.append(" (used in 'formal' writing, e.g. 学术)");
+        }
+        return definition.toString();
+    }
+
+    private record Word(String hanzi, String numberedPinyin) {}
+}
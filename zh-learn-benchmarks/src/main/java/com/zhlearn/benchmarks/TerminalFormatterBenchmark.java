@@ -0,0 +1,57 @@
+package com.zhlearn.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.cli.TerminalFormatter;
+
+/**
+ * Boxing the sections of a word analysis for the terminal. The content is the ANSI output of the
+ * examples and explanation sections, with the wide characters and escape sequences the line
+ * wrapping has to measure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TerminalFormatterBenchmark {
+
+    @Param({"80", "120"})
+    public int width;
+
+    private final TerminalFormatter formatter = new TerminalFormatter();
+    private String examples;
+    private String explanation;
+
+    @Setup
+    public void setUp() {
+        examples = formatter.formatExamples(SyntheticData.example());
+        explanation =
+                formatter.convertHtmlToAnsi(
+                        SyntheticData.resource(
+                                "/single-char/explanation/examples/example-01.html"));
+    }
+
+    @Benchmark
+    public String examplesBox() {
+        return formatter.createBox("Examples", examples, width);
+    }
+
+    @Benchmark
+    public String explanationBox() {
+        return formatter.createBox("Explanation", explanation, width);
+    }
+}
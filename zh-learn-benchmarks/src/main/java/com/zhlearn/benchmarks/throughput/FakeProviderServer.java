@@ -0,0 +1,203 @@
+package com.zhlearn.benchmarks.throughput;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.head;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformerV2;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.zhlearn.benchmarks.SyntheticData;
+
+/**
+ * In-process stand-ins for an OpenAI-compatible chat endpoint and the MiniMax TTS endpoint, served
+ * by WireMock like the e2e stubs. Examples prompts get the YAML their parser expects, every other
+ * prompt gets filler text of the configured size, and speech is a WAV tone of the configured length
+ * that normalizes without ffmpeg. Each endpoint answers after a log-normal delay and with HTTP 429
+ * at the configured rate.
+ */
+final class FakeProviderServer implements AutoCloseable {
+    private static final String CHAT_PATH = ".*/chat/completions";
+    private static final String TTS_PATH = ".*/v1/t2a_v2.*";
+    private static final String RATE_LIMIT_PARAMETER = "rateLimitRate";
+    private static final int SAMPLE_RATE = 16_000;
+    private static final int PROMPT_TOKENS = 1500;
+
+    /** Delay and rate-limit behaviour of one endpoint. */
+    record Endpoint(double medianLatencyMillis, double latencySigma, double rateLimitRate) {}
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final RateLimitInjector rateLimits = new RateLimitInjector();
+    private final WireMockServer server;
+
+    FakeProviderServer(
+            Endpoint chat, Endpoint tts, int chatPayloadChars, int ttsClipMillis, int threads) {
+        server =
+                new WireMockServer(
+                        WireMockConfiguration.options()
+                                .dynamicPort()
+                                .containerThreads(threads)
+                                .asynchronousResponseEnabled(true)
+                                .asynchronousResponseThreads(threads)
+                                .disableRequestJournal()
+                                .extensions(rateLimits));
+        server.start();
+        server.stubFor(
+                post(urlPathMatching(CHAT_PATH))
+                        .atPriority(1)
+                        .withRequestBody(containing("Generate word examples"))
+                        .willReturn(
+                                response(
+                                        chat,
+                                        chatCompletion(SyntheticData.singleCharExamplesYaml()))));
+        server.stubFor(
+                post(urlPathMatching(CHAT_PATH))
+                        .atPriority(1)
+                        .withRequestBody(containing("Generate sentence examples"))
+                        .willReturn(
+                                response(
+                                        chat,
+                                        chatCompletion(SyntheticData.multiCharExamplesYaml()))));
+        server.stubFor(
+                post(urlPathMatching(CHAT_PATH))
+                        .atPriority(10)
+                        .willReturn(response(chat, chatCompletion(filler(chatPayloadChars)))));
+        // Connection warm-up of the shared HTTP client
+        server.stubFor(head(anyUrl()).willReturn(aResponse().withStatus(200)));
+        server.stubFor(
+                post(urlPathMatching(TTS_PATH)).willReturn(response(tts, speech(ttsClipMillis))));
+    }
+
+    String baseUrl() {
+        return server.baseUrl();
+    }
+
+    long requests() {
+        return rateLimits.requests.get();
+    }
+
+    long rateLimited() {
+        return rateLimits.rateLimited.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+
+    private static ResponseDefinitionBuilder response(Endpoint endpoint, String body) {
+        return aResponse()
+                .withStatus(200)
+                .withHeader("Content-Type", "application/json")
+                .withBody(body)
+                .withLogNormalRandomDelay(endpoint.medianLatencyMillis(), endpoint.latencySigma())
+                .withTransformerParameter(RATE_LIMIT_PARAMETER, endpoint.rateLimitRate());
+    }
+
+    private String chatCompletion(String content) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("id", "chatcmpl-throughput");
+        root.put("object", "chat.completion");
+        root.put("created", 1_700_000_000L);
+        root.put("model", "deepseek-chat");
+        ObjectNode choice = root.putArray("choices").addObject();
+        choice.put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        int completionTokens = content.length() / 4;
+        root.putObject("usage")
+                .put("prompt_tokens", PROMPT_TOKENS)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", PROMPT_TOKENS + completionTokens);
+        return root.toString();
+    }
+
+    private String speech(int clipMillis) {
+        ObjectNode root = mapper.createObjectNode();
+        root.put("trace_id", "throughput");
+        root.putObject("base_resp").put("status_code", 0).put("status_msg", "success");
+        root.putObject("data").put("audio", HexFormat.of().formatHex(wav(clipMillis)));
+        return root.toString();
+    }
+
+    /** Explanation HTML repeated and cut to {@code chars} characters. */
+    private static String filler(int chars) {
+        String html = SyntheticData.resource("/single-char/explanation/examples/example-01.html");
+        return html.repeat(chars / html.length() + 1).substring(0, chars);
+    }
+
+    /** A 16 kHz mono 440 Hz tone at half scale. */
+    private static byte[] wav(int clipMillis) {
+        int frames = SAMPLE_RATE * clipMillis / 1000;
+        byte[] pcm = new byte[frames * 2];
+        for (int i = 0; i < frames; i++) {
+            short sample = (short) (Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE) * 16_000);
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 1, true, false);
+        ByteArrayOutputStream wav = new ByteArrayOutputStream(pcm.length + 64);
+        try (AudioInputStream audio =
+                new AudioInputStream(new ByteArrayInputStream(pcm), format, frames)) {
+            AudioSystem.write(audio, AudioFileFormat.Type.WAVE, wav);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode fake speech", e);
+        }
+        return wav.toByteArray();
+    }
+
+    /** Turns a stubbed response into a 429 with the probability its stub asks for. */
+    private static final class RateLimitInjector implements ResponseDefinitionTransformerV2 {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong rateLimited = new AtomicLong();
+
+        @Override
+        public String getName() {
+            return "rate-limit-injector";
+        }
+
+        @Override
+        public ResponseDefinition transform(ServeEvent serveEvent) {
+            ResponseDefinition response = serveEvent.getResponseDefinition();
+            Parameters parameters = response.getTransformerParameters();
+            if (parameters == null
+                    || !(parameters.get(RATE_LIMIT_PARAMETER) instanceof Number rate)) {
+                return response;
+            }
+            requests.incrementAndGet();
+            if (ThreadLocalRandom.current().nextDouble() >= rate.doubleValue()) {
+                return response;
+            }
+            rateLimited.incrementAndGet();
+            return ResponseDefinitionBuilder.like(response)
+                    .but()
+                    .withStatus(429)
+                    .withBody(
+                            "{\"error\":{\"message\":\"Rate limit reached\","
+                                    + "\"type\":\"rate_limit_exceeded\"}}")
+                    .build();
+        }
+    }
+}
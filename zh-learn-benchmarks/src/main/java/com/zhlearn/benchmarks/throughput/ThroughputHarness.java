@@ -0,0 +1,437 @@
+package com.zhlearn.benchmarks.throughput;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.zhlearn.application.audio.AnkiMediaLocator;
+import com.zhlearn.application.audio.AudioOrchestrator;
+import com.zhlearn.application.audio.PronunciationCandidate;
+import com.zhlearn.application.format.ExamplesHtmlFormatter;
+import com.zhlearn.application.service.AnkiExporter;
+import com.zhlearn.application.service.BoundedPipeline;
+import com.zhlearn.application.service.ParallelWordAnalysisService;
+import com.zhlearn.application.service.StageScheduler;
+import com.zhlearn.application.service.WordAnalysisServiceImpl;
+import com.zhlearn.benchmarks.SyntheticData;
+import com.zhlearn.cli.ApplicationContext;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.ProviderConfiguration;
+import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.domain.provider.AudioProvider;
+import com.zhlearn.domain.service.AnalysisListener;
+import com.zhlearn.infrastructure.common.AIProviderFactory;
+import com.zhlearn.infrastructure.concurrent.ExecutorMode;
+import com.zhlearn.infrastructure.concurrent.SharedExecutor;
+import com.zhlearn.infrastructure.dictionary.DictionaryDefinitionProvider;
+import com.zhlearn.infrastructure.dictionary.DictionaryPinyinProvider;
+import com.zhlearn.infrastructure.dictionary.PlecoExportDictionary;
+import com.zhlearn.infrastructure.pleco.PlecoEntry;
+import com.zhlearn.infrastructure.pleco.PlecoExportParser;
+import com.zhlearn.infrastructure.ratelimit.RateLimiterConfig;
+import com.zhlearn.infrastructure.ratelimit.RateLimiterRegistry;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Runs synthetic Pleco words through the parse-pleco pipeline, from {@link
+ * ParallelWordAnalysisService} over {@link AudioOrchestrator} to the {@link AnkiExporter}, with the
+ * production providers pointed at a {@link FakeProviderServer}. Chat calls go to deepseek-chat and
+ * speech to minimax-tts, each behind its real rate limiter, and the first audio candidate is
+ * exported as if picked with {@code --audio-selections}. Caches and audio live in a fresh directory
+ * so every call misses.
+ *
+ * <p>Reports words per second, per-word latency from the start of the analysis to the audio
+ * candidates, and the peak heap of the measured run, which includes the in-process fake server.
+ */
+@Command(
+        name = "throughput",
+        mixinStandardHelpOptions = true,
+        description = "Measure batch throughput against stand-in LLM and TTS endpoints")
+public class ThroughputHarness implements Runnable {
+    private static final String CHAT_PROVIDER = "deepseek-chat";
+    private static final String AUDIO_PROVIDER = "minimax-tts";
+    private static final String DICTIONARY = "pleco-export";
+
+    @Option(
+            names = "--words",
+            description = "Words measured (default: ${DEFAULT-VALUE})",
+            defaultValue = "200")
+    private int words;
+
+    @Option(
+            names = "--warmup-words",
+            description = "Words run before measuring (default: ${DEFAULT-VALUE})",
+            defaultValue = "20")
+    private int warmupWords;
+
+    @Option(
+            names = "--parallel-threads",
+            description = "Number of words analyzed concurrently (default: ${DEFAULT-VALUE})",
+            defaultValue = "4")
+    private int parallelThreads;
+
+    @Option(
+            names = "--provider-concurrency",
+            paramLabel = "LIMITS",
+            description =
+                    "Per-provider cap on concurrent calls, e.g. deepseek-chat=4,minimax-tts=2")
+    private String providerConcurrency;
+
+    @Option(
+            names = "--max-in-flight",
+            paramLabel = "N",
+            description = "Process-wide cap on LLM and TTS requests in flight")
+    private Integer maxInFlight;
+
+    @Option(
+            names = "--executor",
+            paramLabel = "MODE",
+            description = "Threads for provider calls: platform or virtual")
+    private String executor;
+
+    @Option(
+            names = "--llm-latency",
+            paramLabel = "MS",
+            description = "Median chat response time (default: ${DEFAULT-VALUE})",
+            defaultValue = "800")
+    private double llmLatency;
+
+    @Option(
+            names = "--llm-latency-sigma",
+            description =
+                    "Spread of the log-normal chat response time, 0 for a fixed delay (default:"
+                            + " ${DEFAULT-VALUE})",
+            defaultValue = "0.5")
+    private double llmLatencySigma;
+
+    @Option(
+            names = "--llm-429-rate",
+            description =
+                    "Fraction of chat calls answered with HTTP 429 (default: ${DEFAULT-VALUE})",
+            defaultValue = "0")
+    private double llm429Rate;
+
+    @Option(
+            names = "--llm-payload",
+            paramLabel = "CHARS",
+            description =
+                    "Size of the explanation, decomposition and definition responses (default:"
+                            + " ${DEFAULT-VALUE})",
+            defaultValue = "4000")
+    private int llmPayload;
+
+    @Option(
+            names = "--llm-rate",
+            description = "Base requests per second of the deepseek-llm limiter")
+    private Double llmRate;
+
+    @Option(names = "--llm-burst", description = "Burst size of the deepseek-llm limiter")
+    private Integer llmBurst;
+
+    @Option(
+            names = "--tts-latency",
+            paramLabel = "MS",
+            description = "Median speech response time (default: ${DEFAULT-VALUE})",
+            defaultValue = "600")
+    private double ttsLatency;
+
+    @Option(
+            names = "--tts-latency-sigma",
+            description =
+                    "Spread of the log-normal speech response time (default: ${DEFAULT-VALUE})",
+            defaultValue = "0.3")
+    private double ttsLatencySigma;
+
+    @Option(
+            names = "--tts-429-rate",
+            description =
+                    "Fraction of speech calls answered with HTTP 429 (default: ${DEFAULT-VALUE})",
+            defaultValue = "0")
+    private double tts429Rate;
+
+    @Option(
+            names = "--tts-clip",
+            paramLabel = "MS",
+            description = "Length of the synthesized clips (default: ${DEFAULT-VALUE})",
+            defaultValue = "1500")
+    private int ttsClip;
+
+    @Option(
+            names = "--tts-rate",
+            description = "Base requests per second of the minimax-tts limiter")
+    private Double ttsRate;
+
+    @Option(names = "--tts-burst", description = "Burst size of the minimax-tts limiter")
+    private Integer ttsBurst;
+
+    public static void main(String[] args) {
+        System.exit(new CommandLine(new ThroughputHarness()).execute(args));
+    }
+
+    @Override
+    public void run() {
+        List<PlecoEntry> entries = entries(warmupWords + words);
+        Path home = isolatedHome();
+        try (FakeProviderServer server =
+                new FakeProviderServer(
+                        new FakeProviderServer.Endpoint(llmLatency, llmLatencySigma, llm429Rate),
+                        new FakeProviderServer.Endpoint(ttsLatency, ttsLatencySigma, tts429Rate),
+                        llmPayload,
+                        ttsClip,
+                        Math.max(64, parallelThreads * 16))) {
+            System.setProperty("DEEPSEEK_BASE_URL", server.baseUrl() + "/v1");
+            System.setProperty("DEEPSEEK_API_KEY", "throughput");
+            System.setProperty("MINIMAX_BASE_URL", server.baseUrl());
+            System.setProperty("MINIMAX_API_KEY", "throughput");
+            System.setProperty("MINIMAX_GROUP_ID", "throughput");
+
+            try (ApplicationContext context = ApplicationContext.create()) {
+                SharedExecutor sharedExecutor = context.getSharedExecutor();
+                if (executor != null) {
+                    sharedExecutor.configure(ExecutorMode.fromName(executor));
+                }
+                configureRateLimits(context.getRateLimiterRegistry());
+
+                PlecoExportDictionary dictionary = new PlecoExportDictionary();
+                AudioProvider audioProvider = context.getAudioProviders().get(AUDIO_PROVIDER).get();
+                AIProviderFactory factory = context.getAiProviderFactory();
+                ParallelWordAnalysisService analysis =
+                        new ParallelWordAnalysisService(
+                                new WordAnalysisServiceImpl(
+                                        factory.createExampleProvider(CHAT_PROVIDER),
+                                        factory.createExplanationProvider(CHAT_PROVIDER),
+                                        factory.createDecompositionProvider(CHAT_PROVIDER),
+                                        new DictionaryPinyinProvider(dictionary),
+                                        new DictionaryDefinitionProvider(dictionary),
+                                        factory.createDefinitionFormatterProvider(CHAT_PROVIDER),
+                                        factory.createDefinitionGeneratorProvider(CHAT_PROVIDER),
+                                        audioProvider),
+                                new StageScheduler(
+                                        sharedExecutor,
+                                        providerConcurrency != null
+                                                ? StageScheduler.parseLimits(providerConcurrency)
+                                                : Map.of()));
+                Pipeline pipeline =
+                        new Pipeline(
+                                analysis,
+                                new AudioOrchestrator(List.of(audioProvider), sharedExecutor),
+                                dictionary,
+                                sharedExecutor,
+                                new AnkiExporter(new ExamplesHtmlFormatter(), mediaLocator(home)));
+
+                if (warmupWords > 0) {
+                    pipeline.run(entries.subList(0, warmupWords), home.resolve("warmup.tsv"));
+                }
+                long requestsBefore = server.requests();
+                long rateLimitedBefore = server.rateLimited();
+                List<MemoryPoolMXBean> heapPools = heapPools();
+                heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+                long start = System.nanoTime();
+                long[] latencies =
+                        pipeline.run(
+                                entries.subList(warmupWords, entries.size()),
+                                home.resolve("export.tsv"));
+                long elapsed = System.nanoTime() - start;
+                long peakHeap =
+                        heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+                report(
+                        latencies,
+                        elapsed,
+                        peakHeap,
+                        server.requests() - requestsBefore,
+                        server.rateLimited() - rateLimitedBefore,
+                        home);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Throughput run failed", e);
+        }
+    }
+
+    /** Distinct synthetic words with their Pleco pinyin and definitions. */
+    private static List<PlecoEntry> entries(int count) {
+        Map<String, PlecoEntry> distinct = new LinkedHashMap<>();
+        try {
+            for (PlecoEntry entry :
+                    new PlecoExportParser()
+                            .parseFromReader(
+                                    new StringReader(SyntheticData.plecoExport(count * 4)))) {
+                distinct.putIfAbsent(entry.hanzi(), entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse synthetic Pleco export", e);
+        }
+        if (distinct.size() < count) {
+            throw new IllegalArgumentException(
+                    "Only " + distinct.size() + " distinct synthetic words, asked for " + count);
+        }
+        return new ArrayList<>(distinct.values()).subList(0, count);
+    }
+
+    /** Points the caches and audio directories at a new temporary directory. */
+    private static Path isolatedHome() {
+        try {
+            Path home = Files.createTempDirectory("zh-learn-throughput");
+            System.setProperty("user.home", home.toString());
+            System.setProperty("zhlearn.home", home.resolve(".zh-learn").toString());
+            return home;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create throughput run directory", e);
+        }
+    }
+
+    private static AnkiMediaLocator mediaLocator(Path home) throws IOException {
+        Path media = Files.createDirectories(home.resolve("collection.media"));
+        return new AnkiMediaLocator() {
+            @Override
+            public Optional<Path> locate() {
+                return Optional.of(media);
+            }
+        };
+    }
+
+    /** Registers the limiters the providers will look up, with any rate or burst overridden. */
+    private void configureRateLimits(RateLimiterRegistry registry) {
+        if (maxInFlight != null) {
+            registry.configureMaxInFlight(maxInFlight);
+        }
+        registry.getOrCreate(
+                "deepseek-llm", tuned(RateLimiterConfig.forDeepSeek(), llmRate, llmBurst));
+        registry.getOrCreate(
+                AUDIO_PROVIDER, tuned(RateLimiterConfig.forMiniMax(), ttsRate, ttsBurst));
+    }
+
+    private static RateLimiterConfig tuned(RateLimiterConfig config, Double rate, Integer burst) {
+        double baseRate = rate != null ? rate : config.baseRate();
+        return new RateLimiterConfig(
+                burst != null ? burst : config.maxBurst(),
+                baseRate,
+                Math.min(config.minRate(), baseRate),
+                config.backoffMultiplier(),
+                config.recoveryMultiplier(),
+                config.defaultBackoff(),
+                config.tokensPerMinute());
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+
+    private void report(
+            long[] latencies,
+            long elapsedNanos,
+            long peakHeap,
+            long requests,
+            long rateLimited,
+            Path home) {
+        Arrays.sort(latencies);
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf(
+                "Words:            %d (after %d warm-up)%n", latencies.length, warmupWords);
+        System.out.printf("Parallel threads: %d%n", parallelThreads);
+        System.out.printf("Elapsed:          %.2fs%n", seconds);
+        System.out.printf("Throughput:       %.2f words/s%n", latencies.length / seconds);
+        System.out.printf(
+                "Per-word latency: p50 %.0f ms, p99 %.0f ms, max %.0f ms%n",
+                percentile(latencies, 0.50) / 1e6,
+                percentile(latencies, 0.99) / 1e6,
+                latencies[latencies.length - 1] / 1e6);
+        System.out.printf("Peak heap:        %.1f MiB%n", peakHeap / (1024.0 * 1024.0));
+        System.out.printf("Fake requests:    %d (%d answered with 429)%n", requests, rateLimited);
+        System.out.println("Run directory:    " + home);
+    }
+
+    /** Nearest-rank percentile of sorted values. */
+    private static long percentile(long[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /** Analysis, audio candidates and export of a list of words, as parse-pleco runs them. */
+    private final class Pipeline {
+        private final ParallelWordAnalysisService analysis;
+        private final AudioOrchestrator audio;
+        private final PlecoExportDictionary dictionary;
+        private final SharedExecutor executor;
+        private final AnkiExporter exporter;
+        private final ProviderConfiguration config =
+                new ProviderConfiguration(
+                        CHAT_PROVIDER,
+                        DICTIONARY,
+                        DICTIONARY,
+                        CHAT_PROVIDER,
+                        CHAT_PROVIDER,
+                        CHAT_PROVIDER,
+                        CHAT_PROVIDER,
+                        AUDIO_PROVIDER);
+
+        Pipeline(
+                ParallelWordAnalysisService analysis,
+                AudioOrchestrator audio,
+                PlecoExportDictionary dictionary,
+                SharedExecutor executor,
+                AnkiExporter exporter) {
+            this.analysis = analysis;
+            this.audio = audio;
+            this.dictionary = dictionary;
+            this.executor = executor;
+            this.exporter = exporter;
+        }
+
+        /** Per-word latencies in nanoseconds, in completion order. */
+        long[] run(List<PlecoEntry> entries, Path exportFile) throws IOException {
+            long[] latencies = new long[entries.size()];
+            int[] completed = {0};
+            try (AnkiExporter.ExportWriter writer = exporter.openWriter(exportFile)) {
+                new BoundedPipeline<PlecoEntry, TimedWord>(
+                                executor, parallelThreads, parallelThreads * 2)
+                        .run(
+                                entries.stream().peek(dictionary::add).iterator(),
+                                this::process,
+                                result -> {
+                                    writer.write(result.analysis());
+                                    latencies[completed[0]++] = result.nanos();
+                                });
+            }
+            return latencies;
+        }
+
+        private TimedWord process(PlecoEntry entry) {
+            long start = System.nanoTime();
+            Hanzi word = new Hanzi(entry.hanzi());
+            WordAnalysis analyzed =
+                    analysis.getCompleteAnalysis(word, config, AnalysisListener.NONE);
+            List<PronunciationCandidate> candidates = audio.candidatesFor(word, analyzed.pinyin());
+            WordAnalysis selected =
+                    candidates.isEmpty()
+                            ? analyzed
+                            : new WordAnalysis(
+                                    analyzed.word(),
+                                    analyzed.pinyin(),
+                                    analyzed.definition(),
+                                    analyzed.structuralDecomposition(),
+                                    analyzed.examples(),
+                                    analyzed.explanation(),
+                                    Optional.of(candidates.getFirst().file().toAbsolutePath()));
+            return new TimedWord(selected, System.nanoTime() - start);
+        }
+    }
+
+    private record TimedWord(WordAnalysis analysis, long nanos) {}
+}
@@ -0,0 +1,126 @@
+package com.zhlearn.infrastructure.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.zhlearn.benchmarks.SyntheticData;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.infrastructure.cache.CachedChatModel;
+import com.zhlearn.infrastructure.cache.ResponseCache;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Prompt building of the examples provider: rendering the shared instructions when a provider is
+ * created, building the per-word request, and a whole call answered from a warm in-memory cache,
+ * which adds the cache key and response parsing. Lives in the provider's package to reach the
+ * request builder and the constructor that takes the chat model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenericChatModelProviderBenchmark {
+    private static final String DEFINITION = "blue-green; youthful; verdant";
+
+    private ProviderConfig<Example> config;
+    private CachedChatModel chatModel;
+    private GenericChatModelProvider<Example> provider;
+    private List<Hanzi> words;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SingleCharExampleProviderConfig examples = new SingleCharExampleProviderConfig();
+        config =
+                new ProviderConfig<>(
+                        "benchmark",
+                        "http://localhost",
+                        "benchmark-model",
+                        examples.defaultTemperature(),
+                        examples.defaultMaxTokens(),
+                        examples.templatePath(),
+                        examples.examplesDirectory(),
+                        examples.responseMapper(),
+                        "benchmark",
+                        "Failed to get examples");
+        String response = SyntheticData.singleCharExamplesYaml();
+        ChatModel model =
+                new ChatModel() {
+                    @Override
+                    public ChatResponse doChat(ChatRequest request) {
+                        return ChatResponse.builder().aiMessage(AiMessage.from(response)).build();
+                    }
+                };
+        chatModel =
+                new CachedChatModel(
+                        model,
+                        new InMemoryCache(),
+                        config.getBaseUrl(),
+                        config.getModelName(),
+                        config.getTemperature(),
+                        config.getMaxTokens());
+        provider = new GenericChatModelProvider<>(config, chatModel, 1);
+        words =
+                SyntheticData.wordAnalyses(256).stream()
+                        .map(WordAnalysis::word)
+                        .distinct()
+                        .toList();
+        words.forEach(word -> provider.process(word, Optional.of(DEFINITION)));
+    }
+
+    @Benchmark
+    public GenericChatModelProvider<Example> renderInstructions() {
+        return new GenericChatModelProvider<>(config, chatModel, 1);
+    }
+
+    @Benchmark
+    public String buildRequest() {
+        return GenericChatModelProvider.buildRequest(nextWord().characters(), DEFINITION);
+    }
+
+    @Benchmark
+    public Example processCached() {
+        return provider.process(nextWord(), Optional.of(DEFINITION));
+    }
+
+    private Hanzi nextWord() {
+        next = (next + 1) % words.size();
+        return words.get(next);
+    }
+
+    private static final class InMemoryCache implements ResponseCache {
+        private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<String> get(String cacheKey) {
+            return Optional.ofNullable(entries.get(cacheKey));
+        }
+
+        @Override
+        public void put(String cacheKey, String response) {
+            entries.put(cacheKey, response);
+        }
+    }
+}
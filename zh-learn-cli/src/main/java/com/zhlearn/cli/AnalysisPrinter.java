@@ -1,8 +1,16 @@
 package com.zhlearn.cli;
 
+import java.util.List;
+
 import com.zhlearn.application.format.ExamplesHtmlFormatter;
+import com.zhlearn.domain.model.Definition;
 import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.StructuralDecomposition;
 import com.zhlearn.domain.model.WordAnalysis;
+import com.zhlearn.domain.service.AnalysisListener;
 
 /**
  * Shared printing utility for WordAnalysis in CLI. Used by both the single-word and batch commands
@@ -21,57 +29,94 @@ public class AnalysisPrinter {
     public void printFormatted(WordAnalysis analysis) {
         int width = terminalFormatter.getTerminalWidth();
 
+        printWordBoxes(analysis.word(), analysis.pinyin(), width);
+        printDefinitionBox(analysis.definition(), width);
+        printDecompositionBox(analysis.structuralDecomposition(), width);
+
+        String examplesHtml = examplesHtmlFormatter.format(analysis.examples());
+        String formattedExamples = terminalFormatter.convertHtmlToAnsi(examplesHtml);
+        System.out.println(terminalFormatter.createBox("Examples", formattedExamples, width));
+        System.out.println();
+
+        printExplanationBox(analysis.explanation(), width);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(TerminalFormatter::shutdown));
+    }
+
+    public void printRaw(WordAnalysis analysis) {
+        printRawWord(analysis.word(), analysis.pinyin());
+        printRawDefinition(analysis.definition());
+        printRawDecomposition(analysis.structuralDecomposition());
+
+        System.out.println("Examples:");
+        printRawUsages(analysis.examples().usages());
+        printRawPhoneticSeries(analysis.examples());
+        System.out.println();
+
+        printRawExplanation(analysis.explanation());
+    }
+
+    /**
+     * Listener that prints an analysis while it is being produced, with the same layout as {@link
+     * #printFormatted} or {@link #printRaw}. Sections are printed in their usual order as soon as
+     * they and every section before them are available; examples are printed usage by usage as they
+     * are parsed.
+     */
+    public AnalysisListener progressive(Hanzi word, boolean raw) {
+        return new ProgressivePrinter(word, raw);
+    }
+
+    private void printWordBoxes(Hanzi word, Pinyin pinyin, int width) {
         String wordContent =
-                terminalFormatter.formatChineseWord(
-                        analysis.word().characters(), analysis.pinyin().pinyin());
+                terminalFormatter.formatChineseWord(word.characters(), pinyin.pinyin());
         System.out.println(terminalFormatter.createBox("Chinese Word", wordContent, width));
         System.out.println();
 
-        String pinyinContent =
-                terminalFormatter.formatChineseWord("拼音", analysis.pinyin().pinyin());
+        String pinyinContent = terminalFormatter.formatChineseWord("拼音", pinyin.pinyin());
         System.out.println(terminalFormatter.createBox("Pinyin", pinyinContent, width));
         System.out.println();
+    }
 
-        String defContent = terminalFormatter.formatDefinition(analysis.definition().meaning());
+    private void printDefinitionBox(Definition definition, int width) {
+        String defContent = terminalFormatter.formatDefinition(definition.meaning());
         System.out.println(terminalFormatter.createBox("Definition", defContent, width));
         System.out.println();
+    }
 
+    private void printDecompositionBox(StructuralDecomposition decomposition, int width) {
         String decompositionContent =
-                terminalFormatter.formatStructuralDecomposition(
-                        analysis.structuralDecomposition().decomposition());
+                terminalFormatter.formatStructuralDecomposition(decomposition.decomposition());
         System.out.println(
                 terminalFormatter.createBox(
                         "Structural Decomposition", decompositionContent, width));
         System.out.println();
+    }
 
-        String examplesHtml = examplesHtmlFormatter.format(analysis.examples());
-        String formattedExamples = terminalFormatter.convertHtmlToAnsi(examplesHtml);
-        System.out.println(terminalFormatter.createBox("Examples", formattedExamples, width));
-        System.out.println();
-
-        String explanationContent =
-                terminalFormatter.convertHtmlToAnsi(analysis.explanation().explanation());
+    private void printExplanationBox(Explanation explanation, int width) {
+        String explanationContent = terminalFormatter.convertHtmlToAnsi(explanation.explanation());
         System.out.println(terminalFormatter.createBox("Explanation", explanationContent, width));
-
-        Runtime.getRuntime().addShutdownHook(new Thread(TerminalFormatter::shutdown));
     }
 
-    public void printRaw(WordAnalysis analysis) {
-        System.out.println("Chinese Word: " + analysis.word().characters());
+    private static void printRawWord(Hanzi word, Pinyin pinyin) {
+        System.out.println("Chinese Word: " + word.characters());
         System.out.println();
 
-        System.out.println("Pinyin: " + analysis.pinyin().pinyin());
+        System.out.println("Pinyin: " + pinyin.pinyin());
         System.out.println();
+    }
 
-        System.out.println("Definition: " + analysis.definition().meaning());
+    private static void printRawDefinition(Definition definition) {
+        System.out.println("Definition: " + definition.meaning());
         System.out.println();
+    }
 
-        System.out.println(
-                "Structural Decomposition: " + analysis.structuralDecomposition().decomposition());
+    private static void printRawDecomposition(StructuralDecomposition decomposition) {
+        System.out.println("Structural Decomposition: " + decomposition.decomposition());
         System.out.println();
+    }
 
-        System.out.println("Examples:");
-        for (Example.Usage usage : analysis.examples().usages()) {
+    private static void printRawUsages(List<Example.Usage> usages) {
+        for (Example.Usage usage : usages) {
             System.out.println("  Chinese: " + usage.sentence());
             System.out.println("  Pinyin: " + usage.pinyin());
             System.out.println("  English: " + usage.translation());
@@ -79,11 +124,13 @@ public class AnalysisPrinter {
                 System.out.println("  Context: " + usage.context());
             }
         }
+    }
+
+    private static void printRawPhoneticSeries(Example examples) {
         // No standalone sentences section
-        if (analysis.examples().phoneticSeries() != null
-                && !analysis.examples().phoneticSeries().isEmpty()) {
+        if (examples.phoneticSeries() != null && !examples.phoneticSeries().isEmpty()) {
             System.out.println("  Phonetic series:");
-            for (Example.SeriesItem item : analysis.examples().phoneticSeries()) {
+            for (Example.SeriesItem item : examples.phoneticSeries()) {
                 String pinyin = item.pinyin() == null ? "" : (" " + item.pinyin());
                 String meaning =
                         item.meaning() == null || item.meaning().isBlank()
@@ -92,8 +139,193 @@ public class AnalysisPrinter {
                 System.out.println("    • " + item.hanzi() + pinyin + meaning);
             }
         }
-        System.out.println();
+    }
+
+    private static void printRawExplanation(Explanation explanation) {
+        System.out.println("Explanation: " + explanation.explanation());
+    }
+
+    private final class ProgressivePrinter implements AnalysisListener {
+        private static final int WORD = 0;
+        private static final int DEFINITION = 1;
+        private static final int DECOMPOSITION = 2;
+        private static final int EXAMPLES = 3;
+        private static final int EXPLANATION = 4;
+
+        private final Hanzi word;
+        private final boolean raw;
+        private final int width;
+
+        private Pinyin pinyin;
+        private Definition definition;
+        private StructuralDecomposition decomposition;
+        private Example partialExamples;
+        private Example examples;
+        private Explanation explanation;
+
+        private int nextSection = WORD;
+        private boolean examplesStarted;
+        private int printedUsages;
+
+        private ProgressivePrinter(Hanzi word, boolean raw) {
+            this.word = word;
+            this.raw = raw;
+            this.width = raw ? 0 : terminalFormatter.getTerminalWidth();
+        }
+
+        @Override
+        public synchronized void onPinyin(Pinyin pinyin) {
+            this.pinyin = pinyin;
+            flush();
+        }
+
+        @Override
+        public synchronized void onDefinition(Definition definition) {
+            this.definition = definition;
+            flush();
+        }
+
+        @Override
+        public synchronized void onStructuralDecomposition(StructuralDecomposition decomposition) {
+            this.decomposition = decomposition;
+            flush();
+        }
+
+        @Override
+        public synchronized void onPartialExamples(Example examples) {
+            this.partialExamples = examples;
+            flush();
+        }
 
-        System.out.println("Explanation: " + analysis.explanation().explanation());
+        @Override
+        public synchronized void onExamples(Example examples) {
+            this.examples = examples;
+            flush();
+        }
+
+        @Override
+        public synchronized void onExplanation(Explanation explanation) {
+            this.explanation = explanation;
+            flush();
+        }
+
+        private void flush() {
+            while (printNext()) {
+                nextSection++;
+            }
+        }
+
+        /** Print the next section if it is available; false when it has to wait. */
+        private boolean printNext() {
+            switch (nextSection) {
+                case WORD -> {
+                    if (pinyin == null) {
+                        return false;
+                    }
+                    if (raw) {
+                        printRawWord(word, pinyin);
+                    } else {
+                        printWordBoxes(word, pinyin, width);
+                    }
+                }
+                case DEFINITION -> {
+                    if (definition == null) {
+                        return false;
+                    }
+                    if (raw) {
+                        printRawDefinition(definition);
+                    } else {
+                        printDefinitionBox(definition, width);
+                    }
+                }
+                case DECOMPOSITION -> {
+                    if (decomposition == null) {
+                        return false;
+                    }
+                    if (raw) {
+                        printRawDecomposition(decomposition);
+                    } else {
+                        printDecompositionBox(decomposition, width);
+                    }
+                }
+                case EXAMPLES -> {
+                    if (examples == null) {
+                        if (partialExamples != null) {
+                            printNewUsages(partialExamples);
+                        }
+                        return false;
+                    }
+                    finishExamples();
+                }
+                case EXPLANATION -> {
+                    if (explanation == null) {
+                        return false;
+                    }
+                    if (raw) {
+                        printRawExplanation(explanation);
+                    } else {
+                        printExplanationBox(explanation, width);
+                        Runtime.getRuntime()
+                                .addShutdownHook(new Thread(TerminalFormatter::shutdown));
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void printNewUsages(Example received) {
+            List<Example.Usage> usages = received.usages();
+            if (usages.size() <= printedUsages) {
+                return;
+            }
+            if (!examplesStarted) {
+                System.out.print(
+                        raw ? "Examples:\n" : terminalFormatter.createBoxTop("Examples", width));
+                examplesStarted = true;
+            }
+            if (raw) {
+                printRawUsages(usages.subList(printedUsages, usages.size()));
+            } else {
+                String html = examplesHtmlFormatter.formatUsagesFrom(received, printedUsages);
+                System.out.print(
+                        terminalFormatter.createBoxLines(
+                                terminalFormatter.convertHtmlToAnsi(html), width));
+            }
+            System.out.flush();
+            printedUsages = usages.size();
+        }
+
+        private void finishExamples() {
+            if (!examplesStarted) {
+                if (raw) {
+                    System.out.println("Examples:");
+                    printRawUsages(examples.usages());
+                    printRawPhoneticSeries(examples);
+                } else {
+                    String formatted =
+                            terminalFormatter.convertHtmlToAnsi(
+                                    examplesHtmlFormatter.format(examples));
+                    System.out.println(terminalFormatter.createBox("Examples", formatted, width));
+                }
+                System.out.println();
+                return;
+            }
+            printNewUsages(examples);
+            if (raw) {
+                printRawPhoneticSeries(examples);
+            } else {
+                String series = examplesHtmlFormatter.formatPhoneticSeries(examples);
+                if (!series.isEmpty()) {
+                    System.out.print(
+                            terminalFormatter.createBoxLines(
+                                    terminalFormatter.convertHtmlToAnsi(series), width));
+                }
+                System.out.println(terminalFormatter.createBoxBottom(width));
+            }
+            System.out.println();
+        }
     }
 }
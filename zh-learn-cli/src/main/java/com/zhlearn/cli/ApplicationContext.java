@@ -1,7 +1,10 @@
 package com.zhlearn.cli;
 
-import java.net.http.HttpClient;
-import java.util.List;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import com.zhlearn.application.audio.AnkiMediaLocator;
 import com.zhlearn.application.format.ExamplesHtmlFormatter;
@@ -10,90 +13,143 @@ import com.zhlearn.cli.audio.PrePlayback;
 import com.zhlearn.domain.provider.AudioProvider;
 import com.zhlearn.infrastructure.anki.AnkiPronunciationProvider;
 import com.zhlearn.infrastructure.audio.AudioCache;
-import com.zhlearn.infrastructure.audio.AudioDownloadExecutor;
 import com.zhlearn.infrastructure.audio.AudioNormalizer;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.audio.TtsStages;
+import com.zhlearn.infrastructure.cache.ResponseCaches;
 import com.zhlearn.infrastructure.common.AIProviderFactory;
+import com.zhlearn.infrastructure.concurrent.SharedExecutor;
 import com.zhlearn.infrastructure.forvo.ForvoAudioProvider;
+import com.zhlearn.infrastructure.http.SharedHttpClient;
 import com.zhlearn.infrastructure.minimax.MiniMaxAudioProvider;
 import com.zhlearn.infrastructure.qwen.QwenAudioProvider;
-import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 import com.zhlearn.infrastructure.ratelimit.RateLimiterConfig;
 import com.zhlearn.infrastructure.ratelimit.RateLimiterRegistry;
 import com.zhlearn.infrastructure.tencent.TencentAudioProvider;
 
 /**
  * Application context for centralized dependency injection and bean management. Provides explicit,
- * compile-time dependency injection without runtime reflection.
+ * compile-time dependency injection without runtime reflection. Every bean is created on first use,
+ * so a command only pays for the providers it actually uses. Closing the context stops the
+ * executors it created.
  */
-public class ApplicationContext {
-
-    private final TerminalFormatter terminalFormatter;
-    private final ExamplesHtmlFormatter examplesHtmlFormatter;
-    private final AnalysisPrinter analysisPrinter;
-    private final AnkiMediaLocator ankiMediaLocator;
-    private final AnkiExporter ankiExporter;
-    private final AudioPaths audioPaths;
-    private final AudioNormalizer audioNormalizer;
-    private final AudioCache audioCache;
-    private final PrePlayback prePlayback;
-    private final AIProviderFactory aiProviderFactory;
-    private final AudioDownloadExecutor audioExecutor;
-    private final RateLimiterRegistry rateLimiterRegistry;
-    private final List<AudioProvider> audioProviders;
+public class ApplicationContext implements AutoCloseable {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Lazy<TerminalFormatter> terminalFormatter;
+    private final Lazy<ExamplesHtmlFormatter> examplesHtmlFormatter;
+    private final Lazy<AnalysisPrinter> analysisPrinter;
+    private final Lazy<AnkiMediaLocator> ankiMediaLocator;
+    private final Lazy<AnkiExporter> ankiExporter;
+    private final Lazy<AudioPaths> audioPaths;
+    private final Lazy<AudioNormalizer> audioNormalizer;
+    private final Lazy<AudioCache> audioCache;
+    private final Lazy<PrePlayback> prePlayback;
+    private final Lazy<AIProviderFactory> aiProviderFactory;
+    private final Lazy<SharedExecutor> sharedExecutor;
+    private final Lazy<TtsStages> ttsStages;
+    private final Lazy<RateLimiterRegistry> rateLimiterRegistry;
+    private final Map<String, Supplier<AudioProvider>> audioProviders;
 
     private ApplicationContext() {
-        // Initialize core singleton services
-        this.terminalFormatter = new TerminalFormatter();
-        this.examplesHtmlFormatter = new ExamplesHtmlFormatter();
-        this.ankiMediaLocator = new AnkiMediaLocator();
-        this.analysisPrinter = new AnalysisPrinter(examplesHtmlFormatter, terminalFormatter);
-        this.ankiExporter = new AnkiExporter(examplesHtmlFormatter, ankiMediaLocator);
-
-        // Initialize audio utilities
-        this.audioPaths = new AudioPaths();
-        this.audioNormalizer = new AudioNormalizer();
-        this.audioCache = new AudioCache(audioPaths, audioNormalizer);
-        this.prePlayback = new PrePlayback(audioCache, audioPaths);
-
-        // Initialize AI provider factory
-        this.aiProviderFactory = new AIProviderFactory();
-
-        // Initialize rate limiter registry for per-provider rate limiting
-        this.rateLimiterRegistry = new RateLimiterRegistry();
-        ProviderRateLimiter qwenRateLimiter =
-                rateLimiterRegistry.getOrCreate("qwen-tts", RateLimiterConfig.forQwen());
-        ProviderRateLimiter tencentRateLimiter =
-                rateLimiterRegistry.getOrCreate("tencent-tts", RateLimiterConfig.forTencent());
-        ProviderRateLimiter minimaxRateLimiter =
-                rateLimiterRegistry.getOrCreate("minimax-tts", RateLimiterConfig.forMiniMax());
-
-        // Initialize audio executor and providers
-        this.audioExecutor = new AudioDownloadExecutor();
-        this.audioProviders =
-                List.of(
+        // Core singleton services
+        this.terminalFormatter = Lazy.of("terminalFormatter", TerminalFormatter::new);
+        this.examplesHtmlFormatter = Lazy.of("examplesHtmlFormatter", ExamplesHtmlFormatter::new);
+        this.ankiMediaLocator = Lazy.of("ankiMediaLocator", AnkiMediaLocator::new);
+        this.analysisPrinter =
+                Lazy.of(
+                        "analysisPrinter",
+                        () ->
+                                new AnalysisPrinter(
+                                        examplesHtmlFormatter.get(), terminalFormatter.get()));
+        this.ankiExporter =
+                Lazy.of(
+                        "ankiExporter",
+                        () ->
+                                new AnkiExporter(
+                                        examplesHtmlFormatter.get(), ankiMediaLocator.get()));
+
+        // Audio utilities
+        this.audioPaths = Lazy.of("audioPaths", AudioPaths::new);
+        this.audioNormalizer = Lazy.of("audioNormalizer", AudioNormalizer::new);
+        this.audioCache =
+                Lazy.of(
+                        "audioCache",
+                        () -> new AudioCache(audioPaths.get(), audioNormalizer.get()));
+        this.prePlayback =
+                Lazy.of("prePlayback", () -> new PrePlayback(audioCache.get(), audioPaths.get()));
+
+        // Shared executor for all blocking provider work; threads start on first use so the
+        // command line can still choose the executor mode
+        this.sharedExecutor = Lazy.of("sharedExecutor", SharedExecutor::new);
+
+        // Fetch and normalize stages of the TTS providers, bounded views of the shared executor
+        this.ttsStages = Lazy.of("ttsStages", () -> new TtsStages(sharedExecutor.get()));
+
+        // Rate limiter registry for per-provider rate limiting and the process-wide in-flight cap
+        this.rateLimiterRegistry = Lazy.of("rateLimiterRegistry", RateLimiterRegistry::new);
+
+        // AI provider factory; every chat model is throttled by its vendor's limiter
+        this.aiProviderFactory =
+                Lazy.of(
+                        "aiProviderFactory",
+                        () -> new AIProviderFactory(rateLimiterRegistry.get()));
+
+        // Audio providers, in the order they are offered for selection
+        this.audioProviders = new LinkedHashMap<>();
+        audioProvider(
+                "minimax-tts",
+                () ->
                         new MiniMaxAudioProvider(
-                                audioCache,
-                                audioPaths,
-                                audioExecutor.getExecutor(),
-                                HttpClient.newHttpClient(),
+                                audioCache.get(),
+                                audioPaths.get(),
+                                ttsStages.get(),
+                                SharedHttpClient.get(),
                                 null,
-                                minimaxRateLimiter),
-                        new AnkiPronunciationProvider(),
-                        new ForvoAudioProvider(),
+                                rateLimiterRegistry
+                                        .get()
+                                        .getOrCreate(
+                                                "minimax-tts", RateLimiterConfig.forMiniMax())));
+        audioProvider("anki", AnkiPronunciationProvider::new);
+        audioProvider(
+                "forvo",
+                () ->
+                        new ForvoAudioProvider(
+                                audioCache.get(),
+                                audioPaths.get(),
+                                sharedExecutor.get(),
+                                rateLimiterRegistry
+                                        .get()
+                                        .getOrCreate("forvo", RateLimiterConfig.forForvo())));
+        audioProvider(
+                "qwen-tts",
+                () ->
                         new QwenAudioProvider(
-                                audioCache,
-                                audioPaths,
-                                audioExecutor.getExecutor(),
-                                HttpClient.newHttpClient(),
+                                audioCache.get(),
+                                audioPaths.get(),
+                                ttsStages.get(),
+                                SharedHttpClient.get(),
                                 null,
-                                qwenRateLimiter),
+                                rateLimiterRegistry
+                                        .get()
+                                        .getOrCreate("qwen-tts", RateLimiterConfig.forQwen())));
+        audioProvider(
+                "tencent-tts",
+                () ->
                         new TencentAudioProvider(
-                                audioCache,
-                                audioPaths,
-                                audioExecutor.getExecutor(),
+                                audioCache.get(),
+                                audioPaths.get(),
+                                ttsStages.get(),
                                 null,
-                                tencentRateLimiter));
+                                rateLimiterRegistry
+                                        .get()
+                                        .getOrCreate(
+                                                "tencent-tts", RateLimiterConfig.forTencent())));
+    }
+
+    private void audioProvider(String name, Supplier<AudioProvider> factory) {
+        audioProviders.put(name, Lazy.of("audioProvider[" + name + "]", factory));
     }
 
     /** Create a new ApplicationContext. */
@@ -102,34 +158,58 @@ public class ApplicationContext {
     }
 
     public TerminalFormatter getTerminalFormatter() {
-        return terminalFormatter;
+        return terminalFormatter.get();
     }
 
     public AnalysisPrinter getAnalysisPrinter() {
-        return analysisPrinter;
+        return analysisPrinter.get();
     }
 
     public AnkiMediaLocator getAnkiMediaLocator() {
-        return ankiMediaLocator;
+        return ankiMediaLocator.get();
     }
 
     public AnkiExporter getAnkiExporter() {
-        return ankiExporter;
+        return ankiExporter.get();
     }
 
     public PrePlayback getPrePlayback() {
-        return prePlayback;
+        return prePlayback.get();
+    }
+
+    public AudioCache getAudioCache() {
+        return audioCache.get();
     }
 
     public AIProviderFactory getAiProviderFactory() {
-        return aiProviderFactory;
+        return aiProviderFactory.get();
+    }
+
+    public SharedExecutor getSharedExecutor() {
+        return sharedExecutor.get();
+    }
+
+    public RateLimiterRegistry getRateLimiterRegistry() {
+        return rateLimiterRegistry.get();
     }
 
-    public AudioDownloadExecutor getAudioExecutor() {
-        return audioExecutor;
+    /**
+     * Stop the executors created so far and, once the provider calls still running on them have
+     * finished, close the shared response cache. Providers may not be used afterwards.
+     */
+    @Override
+    public void close() {
+        ttsStages.ifCreated(TtsStages::close);
+        sharedExecutor.ifCreated(SharedExecutor::close);
+        if (sharedExecutor.isCreated() && !sharedExecutor.get().awaitTermination(DRAIN_TIMEOUT)) {
+            // Calls still running keep using the cache, which stays open until the process exits
+            return;
+        }
+        ResponseCaches.closeShared();
     }
 
-    public List<AudioProvider> getAudioProviders() {
-        return audioProviders;
+    /** Audio providers by name; each is created the first time its supplier is called. */
+    public Map<String, Supplier<AudioProvider>> getAudioProviders() {
+        return Collections.unmodifiableMap(audioProviders);
     }
 }
@@ -10,18 +10,26 @@ import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.provider.AudioProvider;
 
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 @Command(
         name = "audio",
-        description = "Lookup pronunciation audio by pinyin from existing Anki collection")
+        description = "Lookup pronunciation audio by pinyin from existing Anki collection",
+        subcommands = {AudioGcCommand.class})
 public class AudioCommand implements Runnable {
 
-    @Parameters(index = "0", description = "Chinese word (for context only)")
+    // Optional for picocli so that `audio gc` parses; required again in run()
+    @Parameters(index = "0", arity = "0..1", description = "Chinese word (for context only)")
     private String chineseWord;
 
-    @Parameters(index = "1", description = "Exact pinyin to match (with tone marks)")
+    @Parameters(
+            index = "1",
+            arity = "0..1",
+            description = "Exact pinyin to match (with tone marks)")
     private String pinyin;
 
     @Option(
@@ -32,9 +40,15 @@ public class AudioCommand implements Runnable {
 
     @picocli.CommandLine.ParentCommand private MainCommand parent;
 
+    @Spec private CommandSpec spec;
+
     @Override
     public void run() {
-        AudioProvider selectedAudioProvider = resolveAudioProvider(audioProvider);
+        if (chineseWord == null || pinyin == null) {
+            throw new ParameterException(
+                    spec.commandLine(), "Missing required parameters: '<chineseWord>', '<pinyin>'");
+        }
+        AudioProvider selectedAudioProvider = parent.getAudioProvider(audioProvider);
 
         WordAnalysisServiceImpl service =
                 new WordAnalysisServiceImpl(
@@ -68,13 +82,7 @@ public class AudioCommand implements Runnable {
         }
     }
 
-    private AudioProvider resolveAudioProvider(String providerName) {
-        return parent.getAudioProviders().stream()
-                .filter(provider -> provider.getName().equals(providerName))
-                .findFirst()
-                .orElseThrow(
-                        () ->
-                                new IllegalArgumentException(
-                                        "Unknown audio provider: " + providerName));
+    MainCommand getMainCommand() {
+        return parent;
     }
 }
@@ -0,0 +1,41 @@
+package com.zhlearn.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.zhlearn.infrastructure.audio.AudioCache;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.ParentCommand;
+
+@Command(
+        name = "gc",
+        description =
+                "Delete cached audio clips no longer in the audio index and drop index entries whose clip is gone")
+public class AudioGcCommand implements Runnable {
+
+    @Option(
+            names = {"--dry-run"},
+            description = "Report what would be deleted without deleting anything")
+    private boolean dryRun;
+
+    @ParentCommand private AudioCommand parent;
+
+    @Override
+    public void run() {
+        AudioCache.GcResult result;
+        try {
+            result = parent.getMainCommand().getAudioCache().collectGarbage(dryRun);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to collect audio garbage", e);
+        }
+        System.out.printf(
+                "%s %d orphaned files (%d KiB) and %d stale index entries; %d clips kept%n",
+                dryRun ? "Would remove" : "Removed",
+                result.deletedFiles(),
+                result.freedBytes() / 1024,
+                result.droppedEntries(),
+                result.keptClips());
+    }
+}
@@ -0,0 +1,182 @@
+package com.zhlearn.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.jfr.AudioNormalizeEvent;
+import com.zhlearn.infrastructure.jfr.CacheAccessEvent;
+import com.zhlearn.infrastructure.jfr.LlmChatEvent;
+import com.zhlearn.infrastructure.jfr.RateLimiterAcquireEvent;
+import com.zhlearn.infrastructure.jfr.TtsVoiceEvent;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * JDK Flight Recorder recording of one batch command, enabled with {@code --jfr} or {@code
+ * zhlearn.jfr} (see {@link Settings}). The recording uses the JDK's default settings plus every
+ * {@code zhlearn} event without threshold, is written to the given file when the command finishes,
+ * and is then summarized on stdout: for each event and outcome, how often it happened, the time
+ * spent in it summed over threads, and the share of the run's wall-clock time during which at least
+ * one was in progress.
+ */
+final class FlightRecording implements AutoCloseable {
+    static final String PROPERTY = "zhlearn.jfr";
+    static final String ENV = "ZHLEARN_JFR";
+    static final String DEFAULT_FILE = "zh-learn.jfr";
+
+    private static final List<Class<? extends Event>> EVENTS =
+            List.of(
+                    LlmChatEvent.class,
+                    CacheAccessEvent.class,
+                    RateLimiterAcquireEvent.class,
+                    TtsVoiceEvent.class,
+                    AudioNormalizeEvent.class);
+
+    private static volatile String target = Settings.stringValue(PROPERTY, ENV, null);
+
+    private final Recording recording;
+    private final Path file;
+    private final Instant start;
+
+    private FlightRecording(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+        this.start = Instant.now();
+    }
+
+    /** Spans of one event type and outcome. */
+    private record Spans(String event, String outcome, List<Instant[]> intervals) {
+        Duration busy() {
+            Duration total = Duration.ZERO;
+            for (Instant[] interval : intervals) {
+                total = total.plus(Duration.between(interval[0], interval[1]));
+            }
+            return total;
+        }
+
+        /** Time during which at least one span was open. */
+        Duration wallClock() {
+            List<Instant[]> sorted = new ArrayList<>(intervals);
+            sorted.sort(Comparator.comparing(interval -> interval[0]));
+            Duration covered = Duration.ZERO;
+            Instant openFrom = null;
+            Instant openUntil = null;
+            for (Instant[] interval : sorted) {
+                if (openUntil == null || interval[0].isAfter(openUntil)) {
+                    if (openUntil != null) {
+                        covered = covered.plus(Duration.between(openFrom, openUntil));
+                    }
+                    openFrom = interval[0];
+                    openUntil = interval[1];
+                } else if (interval[1].isAfter(openUntil)) {
+                    openUntil = interval[1];
+                }
+            }
+            if (openUntil != null) {
+                covered = covered.plus(Duration.between(openFrom, openUntil));
+            }
+            return covered;
+        }
+    }
+
+    static void configure(String file) {
+        target = file;
+    }
+
+    /** Start recording when enabled; close it when the command has finished. */
+    static FlightRecording start() {
+        String file = target;
+        if (file == null || file.isBlank()) {
+            return new FlightRecording(null, null);
+        }
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read the default JFR settings", e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid default JFR settings", e);
+        }
+        recording.setName("zh-learn");
+        for (Class<? extends Event> event : EVENTS) {
+            recording.enable(event).withoutThreshold();
+        }
+        recording.start();
+        return new FlightRecording(recording, Path.of(file.trim()));
+    }
+
+    @Override
+    public void close() {
+        if (recording == null) {
+            return;
+        }
+        List<RecordedEvent> events;
+        try (recording) {
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JFR recording to " + file, e);
+        }
+        printBreakdown(events, Duration.between(start, Instant.now()));
+    }
+
+    private void printBreakdown(List<RecordedEvent> events, Duration run) {
+        Map<String, Spans> spans = new TreeMap<>();
+        for (RecordedEvent event : events) {
+            if (!event.getEventType().getName().startsWith("zhlearn.")) {
+                continue;
+            }
+            String name = event.getEventType().getLabel();
+            String outcome = event.hasField("outcome") ? event.getString("outcome") : null;
+            String outcomeLabel = outcome == null ? "" : outcome;
+            spans.computeIfAbsent(
+                            name + "/" + outcomeLabel,
+                            ignored -> new Spans(name, outcomeLabel, new ArrayList<>()))
+                    .intervals()
+                    .add(new Instant[] {event.getStartTime(), event.getEndTime()});
+        }
+
+        System.out.println("=".repeat(80));
+        System.out.printf("JFR recording written to %s%n", file.toAbsolutePath());
+        System.out.printf(
+                "Where %.2fs of wall-clock time went (spans nest: an LLM chat includes its cache"
+                        + " accesses and rate limiter waits, a TTS voice its normalization):%n",
+                run.toMillis() / 1000.0);
+        if (spans.isEmpty()) {
+            System.out.println("No LLM, cache, rate limiter, TTS or normalization events recorded");
+            return;
+        }
+        System.out.printf(
+                "%-24s %-12s %7s %10s %10s %7s%n",
+                "Event", "Outcome", "Count", "Busy s", "Wall s", "Wall %");
+        spans.values().stream()
+                .sorted(Comparator.comparing(Spans::wallClock).reversed())
+                .forEach(
+                        span -> {
+                            Duration wall = span.wallClock();
+                            System.out.printf(
+                                    "%-24s %-12s %7d %10.2f %10.2f %7.1f%n",
+                                    span.event(),
+                                    span.outcome(),
+                                    span.intervals().size(),
+                                    span.busy().toMillis() / 1000.0,
+                                    wall.toMillis() / 1000.0,
+                                    run.isZero() ? 0.0 : wall.toNanos() * 100.0 / run.toNanos());
+                        });
+    }
+}
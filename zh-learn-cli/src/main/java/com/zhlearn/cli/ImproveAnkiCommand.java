@@ -8,16 +8,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
@@ -28,14 +28,15 @@ import com.zhlearn.application.audio.PronunciationCandidate;
 import com.zhlearn.application.audio.SelectionSession;
 import com.zhlearn.application.export.AnkiExportEntry;
 import com.zhlearn.application.format.ExamplesHtmlFormatter;
+import com.zhlearn.application.service.BoundedPipeline;
 import com.zhlearn.application.service.ParallelWordAnalysisService;
 import com.zhlearn.application.service.WordAnalysisServiceImpl;
+import com.zhlearn.cli.audio.AudioPrefetcher;
 import com.zhlearn.cli.audio.InteractiveAudioUI;
 import com.zhlearn.cli.audio.SystemAudioPlayer;
 import com.zhlearn.cli.util.AudioSelectionUtils;
 import com.zhlearn.cli.util.AudioSelectionUtils.AudioSelection;
 import com.zhlearn.domain.model.Hanzi;
-import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.model.ProviderConfiguration;
 import com.zhlearn.domain.model.WordAnalysis;
 import com.zhlearn.domain.provider.AudioProvider;
@@ -47,9 +48,10 @@ import com.zhlearn.domain.provider.ExplanationProvider;
 import com.zhlearn.domain.provider.PinyinProvider;
 import com.zhlearn.domain.provider.StructuralDecompositionProvider;
 import com.zhlearn.domain.service.WordAnalysisService;
+import com.zhlearn.infrastructure.anki.AnkiCollectionSnapshot;
 import com.zhlearn.infrastructure.anki.AnkiNote;
 import com.zhlearn.infrastructure.anki.AnkiNoteDictionary;
-import com.zhlearn.infrastructure.anki.AnkiNoteParser;
+import com.zhlearn.infrastructure.cache.WordAnalysisStore;
 import com.zhlearn.infrastructure.dictionary.DictionaryDefinitionProvider;
 import com.zhlearn.infrastructure.dictionary.DictionaryExampleProvider;
 import com.zhlearn.infrastructure.dictionary.DictionaryExplanationProvider;
@@ -150,7 +152,7 @@ public class ImproveAnkiCommand implements Runnable {
 
     @Option(
             names = {"--parallel-threads"},
-            description = "Number of parallel threads for processing (default: 10)",
+            description = "Number of words analyzed concurrently (default: 10)",
             defaultValue = "10")
     private int parallelThreads;
 
@@ -169,6 +171,13 @@ public class ImproveAnkiCommand implements Runnable {
             description = "Skip interactive audio selection")
     private boolean skipAudio = false;
 
+    @Option(
+            names = {"--resume"},
+            description =
+                    "Skip notes finished by an earlier run on the same file with the same providers and"
+                            + " improvements and export them from the result store")
+    private boolean resume = false;
+
     @Option(
             names = {"--audio-selections"},
             description =
@@ -186,6 +195,8 @@ public class ImproveAnkiCommand implements Runnable {
 
     @Override
     public void run() {
+        MetricsReport metrics = MetricsReport.start("improve-anki");
+        FlightRecording recording = FlightRecording.start();
         try {
             // Validate that at least one improvement flag is set
             if (!improveAudio
@@ -198,8 +209,7 @@ public class ImproveAnkiCommand implements Runnable {
             }
 
             Path path = Paths.get(filePath);
-            AnkiNoteParser parser = new AnkiNoteParser();
-            List<AnkiNote> notes = parser.parseFile(path);
+            List<AnkiNote> notes = AnkiCollectionSnapshot.load(path).notes();
 
             System.out.println("Successfully parsed " + notes.size() + " notes from: " + filePath);
             System.out.println(
@@ -274,7 +284,9 @@ public class ImproveAnkiCommand implements Runnable {
 
             // Audio provider: use dummy if not improving, real provider if improving
             AudioProvider audioProv =
-                    improveAudio ? resolveAudioProvider(audioProvider) : new DummyAudioProvider();
+                    improveAudio
+                            ? parent.getAudioProvider(audioProvider)
+                            : new DummyAudioProvider();
 
             // Create word analysis service
             WordAnalysisServiceImpl baseService =
@@ -289,16 +301,19 @@ public class ImproveAnkiCommand implements Runnable {
                             audioProv);
 
             WordAnalysisService wordAnalysisService;
-            ParallelWordAnalysisService parallelService = null;
 
             if (disableParallelism) {
                 wordAnalysisService = baseService;
                 System.out.println("Using sequential processing (parallelism disabled)");
             } else {
-                parallelService = new ParallelWordAnalysisService(baseService, parallelThreads);
-                wordAnalysisService = parallelService;
+                wordAnalysisService =
+                        new ParallelWordAnalysisService(baseService, parent.createStageScheduler());
                 System.out.println(
-                        "Using parallel processing with " + parallelThreads + " threads");
+                        "Using parallel processing with "
+                                + parallelThreads
+                                + " concurrent words on "
+                                + parent.getSharedExecutor().mode().displayName()
+                                + " threads");
             }
 
             ProviderConfiguration config =
@@ -321,26 +336,64 @@ public class ImproveAnkiCommand implements Runnable {
 
             // Thread-safe collection to store successful analyses for export
             List<WordAnalysis> successfulAnalyses = new CopyOnWriteArrayList<>();
+            List<WordAnalysis> resumedAnalyses = new ArrayList<>();
+
+            String fingerprint =
+                    WordAnalysisStore.fingerprint(
+                            config,
+                            "improve-anki",
+                            "input=" + path.toAbsolutePath().normalize(),
+                            "model=" + model,
+                            "definitionFormatter=" + definitionFormatterProvider,
+                            "definitionGenerator=" + definitionGeneratorProvider,
+                            "improve="
+                                    + (improveAudio ? "audio," : "")
+                                    + (improveExplanation ? "explanation," : "")
+                                    + (improveExamples ? "examples," : "")
+                                    + (improveDecomposition ? "decomposition," : "")
+                                    + (improveDefinition ? "definition" : ""),
+                            "skipAudio=" + skipAudio);
+            try (WordAnalysisStore store =
+                    WordAnalysisStore.open(
+                            WordAnalysisStore.defaultDirectory(), fingerprint, resume)) {
+                List<AnkiNote> pending = notes;
+                if (resume) {
+                    try (Stream<WordAnalysis> finished = store.stream()) {
+                        finished.forEach(resumedAnalyses::add);
+                    }
+                    pending =
+                            notes.stream()
+                                    .filter(note -> !store.isCompleted(note.simplified()))
+                                    .toList();
+                    System.out.println(
+                            "Resuming: "
+                                    + resumedAnalyses.size()
+                                    + " notes already finished in "
+                                    + store.file());
+                }
 
-            if (disableParallelism) {
-                // Sequential processing
-                processNotesSequentially(
-                        notes, wordAnalysisService, config, notes.size(), successfulAnalyses);
-            } else {
-                // Parallel processing
-                processNotesInParallel(
-                        notes,
-                        wordAnalysisService,
-                        config,
-                        notes.size(),
-                        parallelThreads,
-                        successfulAnalyses);
-
-                // Shutdown the parallel service
-                if (parallelService != null) {
-                    parallelService.shutdown();
+                if (disableParallelism) {
+                    // Sequential processing
+                    processNotesSequentially(
+                            pending,
+                            wordAnalysisService,
+                            config,
+                            pending.size(),
+                            successfulAnalyses,
+                            store);
+                } else {
+                    // Parallel processing
+                    processNotesInParallel(
+                            pending,
+                            wordAnalysisService,
+                            config,
+                            pending.size(),
+                            parallelThreads,
+                            successfulAnalyses,
+                            store);
                 }
             }
+            successfulAnalyses.addAll(0, resumedAnalyses);
 
             // Export to Anki file with custom merge logic for unchanged fields
             if (ankiExportFile != null && !ankiExportFile.trim().isEmpty()) {
@@ -356,6 +409,9 @@ public class ImproveAnkiCommand implements Runnable {
 
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to process Anki export at " + filePath, e);
+        } finally {
+            recording.close();
+            metrics.close();
         }
     }
 
@@ -364,27 +420,38 @@ public class ImproveAnkiCommand implements Runnable {
             WordAnalysisService wordAnalysisService,
             ProviderConfiguration config,
             int maxToProcess,
-            List<WordAnalysis> successfulAnalyses) {
+            List<WordAnalysis> successfulAnalyses,
+            WordAnalysisStore store)
+            throws IOException {
         int processedCount = 0;
-        AudioOrchestrator audioOrchestrator =
-                improveAudio && !skipAudio
-                        ? new AudioOrchestrator(
-                                parent.getAudioProviders(), parent.getAudioExecutor())
-                        : null;
         InteractiveAudioUI audioUI = improveAudio && !skipAudio ? new InteractiveAudioUI() : null;
 
-        for (AnkiNote note : notes) {
-            Hanzi word = new Hanzi(note.simplified());
-            WordAnalysis analysis = wordAnalysisService.getCompleteAnalysis(word, config);
-            printWordAnalysis(analysis, processedCount + 1, maxToProcess);
-
-            WordAnalysis updated =
-                    (improveAudio && !skipAudio)
-                            ? runAudioSelection(audioOrchestrator, audioUI, analysis)
-                            : analysis;
-
-            successfulAnalyses.add(updated);
-            processedCount++;
+        try (AudioPrefetcher prefetcher =
+                improveAudio && !skipAudio
+                        ? newAudioPrefetcher(wordAnalysisService, config)
+                        : null) {
+            Iterator<AnkiNote> source =
+                    prefetcher == null
+                            ? notes.iterator()
+                            : prefetcher.feed(
+                                    notes.iterator(), note -> new Hanzi(note.simplified()));
+            while (source.hasNext()) {
+                Hanzi word = new Hanzi(source.next().simplified());
+                WordAnalysis analysis = wordAnalysisService.getCompleteAnalysis(word, config);
+                printWordAnalysis(analysis, processedCount + 1, maxToProcess);
+
+                WordAnalysis updated =
+                        prefetcher != null
+                                ? runAudioSelectionWithCandidates(
+                                        audioUI,
+                                        analysis,
+                                        prefetcher.take(analysis.word(), analysis.pinyin()))
+                                : analysis;
+
+                successfulAnalyses.add(updated);
+                store.append(updated);
+                processedCount++;
+            }
         }
 
         System.out.println("Processed " + processedCount + " words successfully.");
@@ -395,206 +462,97 @@ public class ImproveAnkiCommand implements Runnable {
             WordAnalysisService wordAnalysisService,
             ProviderConfiguration config,
             int maxToProcess,
-            int threadCount,
-            List<WordAnalysis> successfulAnalyses) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        AudioOrchestrator audioOrchestrator =
-                improveAudio && !skipAudio
-                        ? new AudioOrchestrator(
-                                parent.getAudioProviders(), parent.getAudioExecutor())
-                        : null;
+            int concurrentWords,
+            List<WordAnalysis> successfulAnalyses,
+            WordAnalysisStore store)
+            throws IOException {
+        BoundedPipeline<AnkiNote, WordAnalysisResult> pipeline =
+                new BoundedPipeline<>(
+                        parent.getSharedExecutor(), concurrentWords, concurrentWords * 2);
+        AudioPrefetcher prefetcher =
+                improveAudio && !skipAudio ? newAudioPrefetcher(wordAnalysisService, config) : null;
 
         AtomicInteger completedCount = new AtomicInteger(0);
-        AtomicInteger successCount = new AtomicInteger(0);
-
-        List<WordWithAudioCandidates> wordsWithAudio = new CopyOnWriteArrayList<>();
-
-        try {
-            long overallStartTime = System.currentTimeMillis();
-
-            List<CompletableFuture<Void>> displayFutures =
-                    notes.stream()
-                            .map(
-                                    note -> {
-                                        CompletableFuture<WordAnalysisResult> analysisFuture =
-                                                CompletableFuture.supplyAsync(
-                                                        () -> {
-                                                            long wordStartTime =
-                                                                    System.currentTimeMillis();
-                                                            Hanzi word =
-                                                                    new Hanzi(note.simplified());
-                                                            WordAnalysis analysis =
-                                                                    wordAnalysisService
-                                                                            .getCompleteAnalysis(
-                                                                                    word, config);
-                                                            long wordDuration =
-                                                                    System.currentTimeMillis()
-                                                                            - wordStartTime;
-                                                            return new WordAnalysisResult(
-                                                                    note, analysis, wordDuration);
-                                                        },
-                                                        executor);
-
-                                        CompletableFuture<List<PronunciationCandidate>>
-                                                audioCandidatesFuture =
-                                                        (improveAudio && !skipAudio)
-                                                                ? CompletableFuture.supplyAsync(
-                                                                        () -> {
-                                                                            Hanzi word =
-                                                                                    new Hanzi(
-                                                                                            note
-                                                                                                    .simplified());
-                                                                            if (wordAnalysisService
-                                                                                    instanceof
-                                                                                    ParallelWordAnalysisService
-                                                                                            parallelService) {
-                                                                                Pinyin pinyin =
-                                                                                        parallelService
-                                                                                                .getPinyin(
-                                                                                                        word,
-                                                                                                        config
-                                                                                                                .getPinyinProvider());
-                                                                                System.out.printf(
-                                                                                        "[INFO] Starting audio download for '%s' (%s)%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        pinyin
-                                                                                                .pinyin());
-                                                                                List<
-                                                                                                PronunciationCandidate>
-                                                                                        candidates =
-                                                                                                audioOrchestrator
-                                                                                                        .candidatesFor(
-                                                                                                                word,
-                                                                                                                pinyin);
-                                                                                System.out.printf(
-                                                                                        "[INFO] Completed audio download for '%s' - found %d candidates%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        candidates
-                                                                                                .size());
-                                                                                return candidates;
-                                                                            } else {
-                                                                                Pinyin pinyin =
-                                                                                        wordAnalysisService
-                                                                                                .getPinyin(
-                                                                                                        word,
-                                                                                                        config
-                                                                                                                .getPinyinProvider());
-                                                                                System.out.printf(
-                                                                                        "[INFO] Starting audio download for '%s' (%s)%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        pinyin
-                                                                                                .pinyin());
-                                                                                List<
-                                                                                                PronunciationCandidate>
-                                                                                        candidates =
-                                                                                                audioOrchestrator
-                                                                                                        .candidatesFor(
-                                                                                                                word,
-                                                                                                                pinyin);
-                                                                                System.out.printf(
-                                                                                        "[INFO] Completed audio download for '%s' - found %d candidates%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        candidates
-                                                                                                .size());
-                                                                                return candidates;
-                                                                            }
-                                                                        },
-                                                                        executor)
-                                                                : CompletableFuture.completedFuture(
-                                                                        List.of());
-
-                                        return CompletableFuture.allOf(
-                                                        analysisFuture, audioCandidatesFuture)
-                                                .thenAccept(
-                                                        ignored -> {
-                                                            WordAnalysisResult analysisResult =
-                                                                    analysisFuture.join();
-                                                            List<PronunciationCandidate>
-                                                                    audioCandidates =
-                                                                            audioCandidatesFuture
-                                                                                    .join();
-                                                            CombinedResult combinedResult =
-                                                                    new CombinedResult(
-                                                                            analysisResult,
-                                                                            audioCandidates);
-
-                                                            synchronized (this) {
-                                                                WordAnalysisResult result =
-                                                                        combinedResult
-                                                                                .analysisResult();
-                                                                List<PronunciationCandidate>
-                                                                        audioCandsFromResult =
-                                                                                combinedResult
-                                                                                        .audioCandidates();
-
-                                                                int completed =
-                                                                        completedCount
-                                                                                .incrementAndGet();
-                                                                double percentage =
-                                                                        (completed * 100.0)
-                                                                                / maxToProcess;
-
-                                                                successCount.incrementAndGet();
-
-                                                                System.out.println("=".repeat(80));
-                                                                System.out.printf(
-                                                                        "Word %d/%d (%.1f%%) - '%s' (completed in %.2fs)%n",
-                                                                        completed,
-                                                                        maxToProcess,
-                                                                        percentage,
-                                                                        result.note.simplified(),
-                                                                        result.duration / 1000.0);
-                                                                System.out.println("=".repeat(80));
-
-                                                                if (rawOutput) {
-                                                                    parent.getAnalysisPrinter()
-                                                                            .printRaw(
-                                                                                    result.analysis);
-                                                                } else {
-                                                                    parent.getAnalysisPrinter()
-                                                                            .printFormatted(
-                                                                                    result.analysis);
-                                                                }
-
-                                                                System.out.println();
-
-                                                                successfulAnalyses.add(
-                                                                        result.analysis);
-                                                                wordsWithAudio.add(
-                                                                        new WordWithAudioCandidates(
-                                                                                result.analysis,
-                                                                                audioCandsFromResult));
-                                                            }
-                                                        });
-                                    })
-                            .collect(Collectors.toList());
-
-            CompletableFuture.allOf(displayFutures.toArray(new CompletableFuture[0])).join();
-
-            if (improveAudio && !skipAudio && !wordsWithAudio.isEmpty()) {
+        List<WordAnalysis> awaitingAudio = new ArrayList<>();
+        long overallStartTime = System.currentTimeMillis();
+
+        try (prefetcher) {
+            Iterator<AnkiNote> source =
+                    prefetcher == null
+                            ? notes.iterator()
+                            : prefetcher.feed(
+                                    notes.iterator(), note -> new Hanzi(note.simplified()));
+            pipeline.run(
+                    source,
+                    note -> analyzeNote(note, wordAnalysisService, config),
+                    result -> {
+                        int completed = completedCount.incrementAndGet();
+                        double percentage = (completed * 100.0) / maxToProcess;
+
+                        System.out.println("=".repeat(80));
+                        System.out.printf(
+                                "Word %d/%d (%.1f%%) - '%s' (completed in %.2fs)%n",
+                                completed,
+                                maxToProcess,
+                                percentage,
+                                result.note().simplified(),
+                                result.duration() / 1000.0);
+                        System.out.println("=".repeat(80));
+
+                        if (rawOutput) {
+                            parent.getAnalysisPrinter().printRaw(result.analysis());
+                        } else {
+                            parent.getAnalysisPrinter().printFormatted(result.analysis());
+                        }
+
+                        System.out.println();
+
+                        successfulAnalyses.add(result.analysis());
+                        if (prefetcher == null) {
+                            appendToStore(store, result.analysis());
+                        }
+                        awaitingAudio.add(result.analysis());
+                    });
+
+            // The prefetcher has been preparing the first words' audio while they were analyzed
+            if (prefetcher != null && !awaitingAudio.isEmpty()) {
                 InteractiveAudioUI audioUI = new InteractiveAudioUI();
-                for (int i = 0; i < wordsWithAudio.size(); i++) {
-                    WordWithAudioCandidates wordWithAudio = wordsWithAudio.get(i);
+                for (int i = 0; i < awaitingAudio.size(); i++) {
+                    WordAnalysis analysis = awaitingAudio.get(i);
                     WordAnalysis updated =
                             runAudioSelectionWithCandidates(
-                                    audioUI, wordWithAudio.analysis(), wordWithAudio.candidates());
+                                    audioUI,
+                                    analysis,
+                                    prefetcher.take(analysis.word(), analysis.pinyin()));
                     successfulAnalyses.set(i, updated);
+                    store.append(updated);
                 }
             }
+        }
 
-            long overallDuration = System.currentTimeMillis() - overallStartTime;
-            System.out.println("=".repeat(80));
-            System.out.printf(
-                    "Processing complete! %d words successful in %.2fs%n",
-                    successCount.get(), overallDuration / 1000.0);
+        long overallDuration = System.currentTimeMillis() - overallStartTime;
+        System.out.println("=".repeat(80));
+        System.out.printf(
+                "Processing complete! %d words successful in %.2fs%n",
+                completedCount.get(), overallDuration / 1000.0);
+    }
 
-        } finally {
-            executor.shutdown();
-        }
+    /** Prepares audio candidates of upcoming words ahead of the interactive selection. */
+    private AudioPrefetcher newAudioPrefetcher(
+            WordAnalysisService wordAnalysisService, ProviderConfiguration config) {
+        return new AudioPrefetcher(
+                new AudioOrchestrator(parent.getAudioProviders(), parent.getSharedExecutor()),
+                parent.getPrePlayback(),
+                word -> wordAnalysisService.getPinyin(word, config.getPinyinProvider()),
+                parent.getSharedExecutor());
+    }
+
+    private WordAnalysisResult analyzeNote(
+            AnkiNote note, WordAnalysisService wordAnalysisService, ProviderConfiguration config) {
+        long wordStartTime = System.currentTimeMillis();
+        WordAnalysis analysis =
+                wordAnalysisService.getCompleteAnalysis(new Hanzi(note.simplified()), config);
+        return new WordAnalysisResult(note, analysis, System.currentTimeMillis() - wordStartTime);
     }
 
     private void printWordAnalysis(WordAnalysis analysis, int currentIndex, int total) {
@@ -611,96 +569,13 @@ public class ImproveAnkiCommand implements Runnable {
         System.out.println();
     }
 
-    private WordAnalysis runAudioSelection(
-            AudioOrchestrator orchestrator, InteractiveAudioUI audioUI, WordAnalysis analysis) {
-        List<PronunciationCandidate> rawCandidates =
-                orchestrator.candidatesFor(analysis.word(), analysis.pinyin());
-        if (rawCandidates.isEmpty()) {
-            System.out.printf(
-                    "No pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
-
-        List<PronunciationCandidate> candidates =
-                parent.getPrePlayback()
-                        .preprocessCandidates(analysis.word(), analysis.pinyin(), rawCandidates);
-        if (candidates.isEmpty()) {
-            System.out.printf(
-                    "No playable pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
-
-        PronunciationCandidate choice;
-
-        AudioSelection selection = audioSelections.get(analysis.word().characters());
-        if (selection != null) {
-            choice = AudioSelectionUtils.findMatchingCandidate(candidates, selection);
-            if (choice == null) {
-                throw new IllegalStateException(
-                        String.format(
-                                "No matching audio candidate found for '%s' with provider '%s' and description '%s'",
-                                analysis.word().characters(),
-                                selection.provider(),
-                                selection.description()));
-            }
-            System.out.printf(
-                    "Programmatically selected audio for '%s' (%s): %s - %s%n",
-                    analysis.word().characters(),
-                    analysis.pinyin().pinyin(),
-                    choice.label(),
-                    choice.description());
-        } else {
-            System.out.printf(
-                    "Selecting audio for '%s' (%s)%n",
-                    analysis.word().characters(), analysis.pinyin().pinyin());
-            SystemAudioPlayer player = new SystemAudioPlayer(parent.getAnkiMediaLocator());
-            SelectionSession session = new SelectionSession(candidates, player);
-            try {
-                choice = audioUI.run(session, analysis.word(), analysis.pinyin());
-            } finally {
-                player.stop();
-            }
-
-            if (choice == null) {
-                System.out.println("No audio selected.");
-                System.out.println();
-                return analysis;
-            }
-
-            System.out.println("Selected audio: " + choice.file().toAbsolutePath());
-        }
-
-        System.out.println();
-
-        return new WordAnalysis(
-                analysis.word(),
-                analysis.pinyin(),
-                analysis.definition(),
-                analysis.structuralDecomposition(),
-                analysis.examples(),
-                analysis.explanation(),
-                Optional.of(choice.file().toAbsolutePath()));
-    }
-
     private WordAnalysis runAudioSelectionWithCandidates(
             InteractiveAudioUI audioUI,
             WordAnalysis analysis,
-            List<PronunciationCandidate> rawCandidates) {
-        if (rawCandidates.isEmpty()) {
-            System.out.printf(
-                    "No pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
-
-        List<PronunciationCandidate> candidates =
-                parent.getPrePlayback()
-                        .preprocessCandidates(analysis.word(), analysis.pinyin(), rawCandidates);
+            List<PronunciationCandidate> candidates) {
         if (candidates.isEmpty()) {
             System.out.printf(
-                    "No playable pronunciation candidates available for '%s'.%n%n",
+                    "No pronunciation candidates available for '%s'.%n%n",
                     analysis.word().characters());
             return analysis;
         }
@@ -757,6 +632,14 @@ public class ImproveAnkiCommand implements Runnable {
                 Optional.of(choice.file().toAbsolutePath()));
     }
 
+    private static void appendToStore(WordAnalysisStore store, WordAnalysis analysis) {
+        try {
+            store.append(analysis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to record analysis in " + store.file(), e);
+        }
+    }
+
     private void ensureInteractiveAudioSupported() {
         if (System.console() != null) {
             return;
@@ -787,14 +670,6 @@ public class ImproveAnkiCommand implements Runnable {
     /** Helper record to hold analysis results from parallel processing */
     private record WordAnalysisResult(AnkiNote note, WordAnalysis analysis, long duration) {}
 
-    /** Record to hold both word analysis and pre-generated audio candidates */
-    private record WordWithAudioCandidates(
-            WordAnalysis analysis, List<PronunciationCandidate> candidates) {}
-
-    /** Helper record to combine analysis result with audio candidates from parallel processing */
-    private record CombinedResult(
-            WordAnalysisResult analysisResult, List<PronunciationCandidate> audioCandidates) {}
-
     /**
      * Export the improved WordAnalysis results to an Anki-compatible TSV file. Merges improved
      * fields with original unchanged fields.
@@ -964,14 +839,4 @@ public class ImproveAnkiCommand implements Runnable {
 
         return value;
     }
-
-    private AudioProvider resolveAudioProvider(String providerName) {
-        return parent.getAudioProviders().stream()
-                .filter(provider -> provider.getName().equals(providerName))
-                .findFirst()
-                .orElseThrow(
-                        () ->
-                                new IllegalArgumentException(
-                                        "Unknown audio provider: " + providerName));
-    }
 }
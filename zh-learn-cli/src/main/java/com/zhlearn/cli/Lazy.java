@@ -0,0 +1,51 @@
+package com.zhlearn.cli;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A bean created on first use and reused afterwards. Creation is timed by {@link StartupTrace}
+ * under the bean's name.
+ */
+final class Lazy<T> implements Supplier<T> {
+    private final String name;
+    private Supplier<T> factory;
+    private volatile T value;
+
+    private Lazy(String name, Supplier<T> factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    static <T> Lazy<T> of(String name, Supplier<T> factory) {
+        return new Lazy<>(name, factory);
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = StartupTrace.time(name, factory);
+                    value = result;
+                    factory = null;
+                }
+            }
+        }
+        return result;
+    }
+
+    boolean isCreated() {
+        return value != null;
+    }
+
+    /** Pass the bean to {@code action} if it has been created, without creating it. */
+    void ifCreated(Consumer<T> action) {
+        T result = value;
+        if (result != null) {
+            action.accept(result);
+        }
+    }
+}
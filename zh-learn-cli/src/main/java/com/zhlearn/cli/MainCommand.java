@@ -1,9 +1,12 @@
 package com.zhlearn.cli;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import com.zhlearn.application.audio.AnkiMediaLocator;
 import com.zhlearn.application.service.AnkiExporter;
+import com.zhlearn.application.service.StageScheduler;
 import com.zhlearn.cli.audio.PrePlayback;
 import com.zhlearn.domain.provider.AudioProvider;
 import com.zhlearn.domain.provider.DefinitionFormatterProvider;
@@ -13,12 +16,19 @@ import com.zhlearn.domain.provider.ExampleProvider;
 import com.zhlearn.domain.provider.ExplanationProvider;
 import com.zhlearn.domain.provider.PinyinProvider;
 import com.zhlearn.domain.provider.StructuralDecompositionProvider;
-import com.zhlearn.infrastructure.audio.AudioDownloadExecutor;
+import com.zhlearn.infrastructure.audio.AudioCache;
+import com.zhlearn.infrastructure.cache.ResponseCaches;
 import com.zhlearn.infrastructure.common.AIProviderFactory;
+import com.zhlearn.infrastructure.common.GenericChatModelProvider;
+import com.zhlearn.infrastructure.concurrent.ExecutorMode;
+import com.zhlearn.infrastructure.concurrent.SharedExecutor;
 import com.zhlearn.infrastructure.dummy.DummyDefinitionProvider;
+import com.zhlearn.infrastructure.metrics.Metrics;
 import com.zhlearn.infrastructure.pinyin4j.Pinyin4jProvider;
+import com.zhlearn.infrastructure.ratelimit.RateLimiterRegistry;
 
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
 import picocli.CommandLine.ScopeType;
 
 @Command(
@@ -38,14 +48,17 @@ import picocli.CommandLine.ScopeType;
 public class MainCommand implements Runnable {
 
     // Audio providers - keep as list like before
-    private final List<AudioProvider> audioProviders;
-    private final AudioDownloadExecutor audioExecutor;
-    private final PrePlayback prePlayback;
-    private final AIProviderFactory aiProviderFactory;
-    private final TerminalFormatter terminalFormatter;
-    private final AnalysisPrinter analysisPrinter;
-    private final AnkiMediaLocator ankiMediaLocator;
-    private final AnkiExporter ankiExporter;
+    private final Map<String, Supplier<AudioProvider>> audioProviders;
+    private final Supplier<SharedExecutor> sharedExecutor;
+    private final Supplier<RateLimiterRegistry> rateLimiterRegistry;
+    private final Supplier<PrePlayback> prePlayback;
+    private final Supplier<AudioCache> audioCache;
+    private final Supplier<AIProviderFactory> aiProviderFactory;
+    private final Supplier<TerminalFormatter> terminalFormatter;
+    private final Supplier<AnalysisPrinter> analysisPrinter;
+    private final Supplier<AnkiMediaLocator> ankiMediaLocator;
+    private final Supplier<AnkiExporter> ankiExporter;
+    private Map<String, Integer> providerConcurrency = Map.of();
 
     /**
      * Default constructor for tests. Uses ApplicationContext to create a fully initialized
@@ -61,92 +74,240 @@ public class MainCommand implements Runnable {
      */
     public MainCommand(ApplicationContext context) {
         this(
-                context.getTerminalFormatter(),
-                context.getAnalysisPrinter(),
-                context.getAnkiMediaLocator(),
-                context.getAnkiExporter(),
-                context.getPrePlayback(),
-                context.getAiProviderFactory(),
-                context.getAudioExecutor(),
+                context::getTerminalFormatter,
+                context::getAnalysisPrinter,
+                context::getAnkiMediaLocator,
+                context::getAnkiExporter,
+                context::getPrePlayback,
+                context::getAudioCache,
+                context::getAiProviderFactory,
+                context::getSharedExecutor,
+                context::getRateLimiterRegistry,
                 context.getAudioProviders());
     }
 
     /**
-     * Constructor for explicit dependency injection. Accepts all required dependencies directly.
+     * Constructor for explicit dependency injection. Accepts all required dependencies as
+     * suppliers, so none is created before a command asks for it.
      */
     public MainCommand(
-            TerminalFormatter terminalFormatter,
-            AnalysisPrinter analysisPrinter,
-            AnkiMediaLocator ankiMediaLocator,
-            AnkiExporter ankiExporter,
-            PrePlayback prePlayback,
-            AIProviderFactory aiProviderFactory,
-            AudioDownloadExecutor audioExecutor,
-            List<AudioProvider> audioProviders) {
+            Supplier<TerminalFormatter> terminalFormatter,
+            Supplier<AnalysisPrinter> analysisPrinter,
+            Supplier<AnkiMediaLocator> ankiMediaLocator,
+            Supplier<AnkiExporter> ankiExporter,
+            Supplier<PrePlayback> prePlayback,
+            Supplier<AudioCache> audioCache,
+            Supplier<AIProviderFactory> aiProviderFactory,
+            Supplier<SharedExecutor> sharedExecutor,
+            Supplier<RateLimiterRegistry> rateLimiterRegistry,
+            Map<String, Supplier<AudioProvider>> audioProviders) {
 
         this.terminalFormatter = terminalFormatter;
         this.analysisPrinter = analysisPrinter;
         this.ankiMediaLocator = ankiMediaLocator;
         this.ankiExporter = ankiExporter;
         this.prePlayback = prePlayback;
+        this.audioCache = audioCache;
         this.aiProviderFactory = aiProviderFactory;
-        this.audioExecutor = audioExecutor;
+        this.sharedExecutor = sharedExecutor;
+        this.rateLimiterRegistry = rateLimiterRegistry;
         this.audioProviders = audioProviders;
     }
 
-    // Audio provider methods - keep existing working approach
+    @Option(
+            names = "--llm-cache-memory",
+            paramLabel = "SIZE",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Size of the in-memory LLM response cache tier, e.g. 64m, 512k, 0 to disable"
+                            + " (default: 64m or ZHLEARN_CACHE_MEMORY)")
+    void setLlmCacheMemory(String size) {
+        ResponseCaches.configureMemoryTier(ResponseCaches.parseByteSize(size));
+    }
+
+    @Option(
+            names = "--llm-batch-size",
+            paramLabel = "N",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Pack up to N concurrently analyzed words into one LLM request per provider;"
+                            + " effectively capped by --parallel-threads and"
+                            + " --provider-concurrency (default: 1 or ZHLEARN_LLM_BATCH)")
+    void setLlmBatchSize(int size) {
+        GenericChatModelProvider.configureBatchSize(size);
+    }
+
+    @Option(
+            names = "--llm-streaming",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Stream LLM responses and print each part of an analysis as soon as it is"
+                            + " ready; words are then analyzed one at a time"
+                            + " (default: off or ZHLEARN_LLM_STREAMING)")
+    void setLlmStreaming(boolean enabled) {
+        GenericChatModelProvider.configureStreaming(enabled);
+    }
+
+    @Option(
+            names = "--executor",
+            paramLabel = "MODE",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Threads for provider calls: platform (cached pool) or virtual (one virtual"
+                            + " thread per task) (default: platform or ZHLEARN_EXECUTOR)")
+    void setExecutor(String mode) {
+        sharedExecutor.get().configure(ExecutorMode.fromName(mode));
+    }
+
+    @Option(
+            names = "--max-in-flight",
+            paramLabel = "N",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Process-wide cap on LLM and TTS requests in flight across all providers"
+                            + " (default: "
+                            + RateLimiterRegistry.DEFAULT_MAX_IN_FLIGHT
+                            + " or ZHLEARN_MAX_IN_FLIGHT)")
+    void setMaxInFlight(int maxInFlight) {
+        rateLimiterRegistry.get().configureMaxInFlight(maxInFlight);
+    }
+
+    @Option(
+            names = "--startup-trace",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Print the time spent creating each service and provider to stderr"
+                            + " (default: off or ZHLEARN_STARTUP_TRACE)")
+    void setStartupTrace(boolean enabled) {
+        StartupTrace.configure(enabled);
+    }
+
+    @Option(
+            names = "--metrics",
+            paramLabel = "FILE",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Write a JSON summary of latencies, counters and gauges to FILE at the end of"
+                            + " a batch command, - for stdout (default: off or ZHLEARN_METRICS)")
+    void setMetrics(String target) {
+        MetricsReport.configureTarget(target);
+    }
+
+    @Option(
+            names = "--metrics-interval",
+            paramLabel = "SECONDS",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Also print the JSON summary to stderr every SECONDS while a batch command"
+                            + " runs (default: off or ZHLEARN_METRICS_INTERVAL)")
+    void setMetricsInterval(int seconds) {
+        MetricsReport.configureInterval(seconds);
+    }
+
+    @Option(
+            names = "--jfr",
+            paramLabel = "FILE",
+            arity = "0..1",
+            fallbackValue = FlightRecording.DEFAULT_FILE,
+            scope = ScopeType.INHERIT,
+            description =
+                    "Record a batch command with JDK Flight Recorder into FILE (default "
+                            + FlightRecording.DEFAULT_FILE
+                            + ") and print where its wall-clock time went (default: off or"
+                            + " ZHLEARN_JFR)")
+    void setJfr(String file) {
+        FlightRecording.configure(file);
+    }
+
+    @Option(
+            names = "--provider-concurrency",
+            paramLabel = "LIMITS",
+            scope = ScopeType.INHERIT,
+            description =
+                    "Per-provider cap on concurrent calls during word analysis, e.g."
+                            + " deepseek-chat=4,qwen-tts=2 (default: none, calls are bounded by"
+                            + " the rate limiters and --max-in-flight)")
+    void setProviderConcurrency(String limits) {
+        this.providerConcurrency = StageScheduler.parseLimits(limits);
+    }
+
+    /** Every audio provider, creating any not used yet. */
     public List<AudioProvider> getAudioProviders() {
-        return audioProviders;
+        return audioProviders.values().stream().map(Supplier::get).toList();
+    }
+
+    /** The named audio provider, created on first use. */
+    public AudioProvider getAudioProvider(String name) {
+        Supplier<AudioProvider> provider = audioProviders.get(name);
+        if (provider == null) {
+            throw new IllegalArgumentException("Unknown audio provider: " + name);
+        }
+        return provider.get();
+    }
+
+    public boolean isLlmStreaming() {
+        return GenericChatModelProvider.streamingEnabled();
     }
 
-    public AudioDownloadExecutor getAudioExecutor() {
-        return audioExecutor;
+    public SharedExecutor getSharedExecutor() {
+        return sharedExecutor.get();
     }
 
     public PrePlayback getPrePlayback() {
-        return prePlayback;
+        return prePlayback.get();
+    }
+
+    public AudioCache getAudioCache() {
+        return audioCache.get();
     }
 
     public TerminalFormatter getTerminalFormatter() {
-        return terminalFormatter;
+        return terminalFormatter.get();
     }
 
     public AnalysisPrinter getAnalysisPrinter() {
-        return analysisPrinter;
+        return analysisPrinter.get();
     }
 
     public AnkiMediaLocator getAnkiMediaLocator() {
-        return ankiMediaLocator;
+        return ankiMediaLocator.get();
     }
 
     public AnkiExporter getAnkiExporter() {
-        return ankiExporter;
+        return ankiExporter.get();
+    }
+
+    /** Scheduler for the provider calls of a batch, running on the shared executor. */
+    public StageScheduler createStageScheduler() {
+        StageScheduler scheduler = new StageScheduler(sharedExecutor.get(), providerConcurrency);
+        Metrics.gauge("scheduler.queued", scheduler::queued);
+        return scheduler;
     }
 
     // AI Provider factory methods - create on demand and crash if fails
     public ExampleProvider createExampleProvider(String providerName) {
-        return aiProviderFactory.createExampleProvider(providerName);
+        return aiProviderFactory.get().createExampleProvider(providerName);
     }
 
     public ExampleProvider createExampleProvider(String providerName, String model) {
-        return aiProviderFactory.createExampleProvider(providerName, model);
+        return aiProviderFactory.get().createExampleProvider(providerName, model);
     }
 
     public ExplanationProvider createExplanationProvider(String providerName) {
-        return aiProviderFactory.createExplanationProvider(providerName);
+        return aiProviderFactory.get().createExplanationProvider(providerName);
     }
 
     public ExplanationProvider createExplanationProvider(String providerName, String model) {
-        return aiProviderFactory.createExplanationProvider(providerName, model);
+        return aiProviderFactory.get().createExplanationProvider(providerName, model);
     }
 
     public StructuralDecompositionProvider createDecompositionProvider(String providerName) {
-        return aiProviderFactory.createDecompositionProvider(providerName);
+        return aiProviderFactory.get().createDecompositionProvider(providerName);
     }
 
     public StructuralDecompositionProvider createDecompositionProvider(
             String providerName, String model) {
-        return aiProviderFactory.createDecompositionProvider(providerName, model);
+        return aiProviderFactory.get().createDecompositionProvider(providerName, model);
     }
 
     public PinyinProvider createPinyinProvider(String providerName) {
@@ -172,21 +333,21 @@ public class MainCommand implements Runnable {
     }
 
     public DefinitionFormatterProvider createDefinitionFormatterProvider(String providerName) {
-        return aiProviderFactory.createDefinitionFormatterProvider(providerName);
+        return aiProviderFactory.get().createDefinitionFormatterProvider(providerName);
     }
 
     public DefinitionFormatterProvider createDefinitionFormatterProvider(
             String providerName, String model) {
-        return aiProviderFactory.createDefinitionFormatterProvider(providerName, model);
+        return aiProviderFactory.get().createDefinitionFormatterProvider(providerName, model);
     }
 
     public DefinitionGeneratorProvider createDefinitionGeneratorProvider(String providerName) {
-        return aiProviderFactory.createDefinitionGeneratorProvider(providerName);
+        return aiProviderFactory.get().createDefinitionGeneratorProvider(providerName);
     }
 
     public DefinitionGeneratorProvider createDefinitionGeneratorProvider(
             String providerName, String model) {
-        return aiProviderFactory.createDefinitionGeneratorProvider(providerName, model);
+        return aiProviderFactory.get().createDefinitionGeneratorProvider(providerName, model);
     }
 
     @Override
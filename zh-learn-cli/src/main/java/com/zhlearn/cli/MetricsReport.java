@@ -0,0 +1,99 @@
+package com.zhlearn.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.metrics.Metrics;
+
+/**
+ * {@link Metrics} output of one batch command. When a target is set with {@code --metrics} or
+ * {@code zhlearn.metrics} (see {@link Settings}), the summary is written there as JSON when the
+ * command finishes ({@code -} for stdout). With {@code --metrics-interval} or {@code
+ * zhlearn.metrics-interval} it is also printed to stderr as one line of JSON every few seconds
+ * while the command runs.
+ */
+final class MetricsReport implements AutoCloseable {
+    static final String PROPERTY = "zhlearn.metrics";
+    static final String ENV = "ZHLEARN_METRICS";
+    static final String INTERVAL_PROPERTY = "zhlearn.metrics-interval";
+    static final String INTERVAL_ENV = "ZHLEARN_METRICS_INTERVAL";
+    static final String STDOUT = "-";
+
+    private static volatile String target = Settings.stringValue(PROPERTY, ENV, null);
+    private static volatile int intervalSeconds =
+            Settings.intValue(INTERVAL_PROPERTY, INTERVAL_ENV, 0);
+
+    private final String command;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService liveDump;
+
+    private MetricsReport(String command, int intervalSeconds) {
+        this.command = command;
+        if (intervalSeconds > 0) {
+            liveDump =
+                    Executors.newSingleThreadScheduledExecutor(
+                            Thread.ofPlatform().name("metrics-dump").daemon().factory());
+            liveDump.scheduleAtFixedRate(
+                    () -> System.err.println(summary()),
+                    intervalSeconds,
+                    intervalSeconds,
+                    TimeUnit.SECONDS);
+        } else {
+            liveDump = null;
+        }
+    }
+
+    static void configureTarget(String file) {
+        target = file;
+    }
+
+    static void configureInterval(int seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("Metrics interval must not be negative: " + seconds);
+        }
+        intervalSeconds = seconds;
+    }
+
+    /** Start reporting for {@code command}; close it when the command has finished. */
+    static MetricsReport start(String command) {
+        return new MetricsReport(command, intervalSeconds);
+    }
+
+    ObjectNode summary() {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("command", command);
+        root.put("elapsedSeconds", Math.round((System.nanoTime() - startNanos) / 1e6) / 1000.0);
+        root.setAll(Metrics.snapshot().toJson());
+        return root;
+    }
+
+    @Override
+    public void close() {
+        if (liveDump != null) {
+            liveDump.shutdownNow();
+        }
+        String file = target;
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        String json = summary().toPrettyString();
+        if (STDOUT.equals(file.trim())) {
+            System.out.println(json);
+            return;
+        }
+        try {
+            Files.writeString(Path.of(file.trim()), json + "\n", StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write metrics summary to " + file, e);
+        }
+    }
+}
@@ -6,8 +6,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 
+import com.zhlearn.infrastructure.anki.AnkiCollectionSnapshot;
 import com.zhlearn.infrastructure.anki.AnkiNote;
-import com.zhlearn.infrastructure.anki.AnkiNoteParser;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Parameters;
@@ -22,8 +22,7 @@ public class ParseAnkiCommand implements Runnable {
     public void run() {
         try {
             Path path = Paths.get(filePath);
-            AnkiNoteParser parser = new AnkiNoteParser();
-            List<AnkiNote> cards = parser.parseFile(path);
+            List<AnkiNote> cards = AnkiCollectionSnapshot.load(path).notes();
 
             System.out.println(
                     "Successfully parsed " + cards.size() + " Anki cards from: " + filePath);
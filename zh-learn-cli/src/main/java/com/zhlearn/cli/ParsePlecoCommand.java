@@ -4,15 +4,12 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jline.terminal.Terminal;
 import org.jline.terminal.TerminalBuilder;
@@ -21,14 +18,15 @@ import com.zhlearn.application.audio.AudioOrchestrator;
 import com.zhlearn.application.audio.PronunciationCandidate;
 import com.zhlearn.application.audio.SelectionSession;
 import com.zhlearn.application.service.AnkiExporter;
+import com.zhlearn.application.service.BoundedPipeline;
 import com.zhlearn.application.service.ParallelWordAnalysisService;
 import com.zhlearn.application.service.WordAnalysisServiceImpl;
+import com.zhlearn.cli.audio.AudioPrefetcher;
 import com.zhlearn.cli.audio.InteractiveAudioUI;
 import com.zhlearn.cli.audio.SystemAudioPlayer;
 import com.zhlearn.cli.util.AudioSelectionUtils;
 import com.zhlearn.cli.util.AudioSelectionUtils.AudioSelection;
 import com.zhlearn.domain.model.Hanzi;
-import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.model.ProviderConfiguration;
 import com.zhlearn.domain.model.WordAnalysis;
 import com.zhlearn.domain.provider.AudioProvider;
@@ -39,7 +37,9 @@ import com.zhlearn.domain.provider.ExampleProvider;
 import com.zhlearn.domain.provider.ExplanationProvider;
 import com.zhlearn.domain.provider.PinyinProvider;
 import com.zhlearn.domain.provider.StructuralDecompositionProvider;
+import com.zhlearn.domain.service.AnalysisListener;
 import com.zhlearn.domain.service.WordAnalysisService;
+import com.zhlearn.infrastructure.cache.WordAnalysisStore;
 import com.zhlearn.infrastructure.dictionary.DictionaryDefinitionProvider;
 import com.zhlearn.infrastructure.dictionary.DictionaryPinyinProvider;
 import com.zhlearn.infrastructure.dictionary.PlecoExportDictionary;
@@ -135,7 +135,7 @@ public class ParsePlecoCommand implements Runnable {
 
     @Option(
             names = {"--parallel-threads"},
-            description = "Number of parallel threads for processing (default: 10)",
+            description = "Number of words analyzed concurrently (default: 10)",
             defaultValue = "10")
     private int parallelThreads;
 
@@ -154,6 +154,13 @@ public class ParsePlecoCommand implements Runnable {
             description = "Skip interactive audio selection")
     private boolean skipAudio = false;
 
+    @Option(
+            names = {"--resume"},
+            description =
+                    "Skip words finished by an earlier run on the same file with the same providers"
+                            + " and export them from the result store")
+    private boolean resume = false;
+
     @Option(
             names = {"--audio-selections"},
             description =
@@ -166,522 +173,335 @@ public class ParsePlecoCommand implements Runnable {
 
     @Override
     public void run() {
-        try {
-            Path path = Paths.get(filePath);
-            PlecoExportParser parser = new PlecoExportParser();
-            List<PlecoEntry> entries = parser.parseFile(path);
+        Path path = Paths.get(filePath);
+        PlecoExportParser parser = new PlecoExportParser();
 
-            System.out.println(
-                    "Successfully parsed " + entries.size() + " entries from: " + filePath);
-            System.out.println();
-
-            // Parse audio selections if provided
-            audioSelections = AudioSelectionUtils.parseAudioSelections(audioSelectionsParam);
-
-            // Create dictionary for any dictionary-based providers
-            PlecoExportDictionary dictionary = new PlecoExportDictionary(entries);
-
-            // Note: Dictionary providers are no longer dynamically registered
-            // They are created at startup in MainCommand
-
-            // Set up word analysis service (parallel or sequential)
-            WordAnalysisService wordAnalysisService;
-            ParallelWordAnalysisService parallelService = null;
-
-            // Create providers with special handling for pleco-export which needs the dictionary
-            ExampleProvider exampleProv =
-                    model != null
-                            ? parent.createExampleProvider(exampleProvider, model)
-                            : parent.createExampleProvider(exampleProvider);
-            ExplanationProvider explanationProv =
-                    model != null
-                            ? parent.createExplanationProvider(explanationProvider, model)
-                            : parent.createExplanationProvider(explanationProvider);
-            StructuralDecompositionProvider decompositionProv =
-                    model != null
-                            ? parent.createDecompositionProvider(decompositionProvider, model)
-                            : parent.createDecompositionProvider(decompositionProvider);
-            PinyinProvider pinyinProv =
-                    "pleco-export".equals(pinyinProvider)
-                            ? new DictionaryPinyinProvider(dictionary)
-                            : parent.createPinyinProvider(pinyinProvider);
-            DefinitionProvider definitionProv =
-                    "pleco-export".equals(definitionProvider)
-                            ? new DictionaryDefinitionProvider(dictionary)
-                            : parent.createDefinitionProvider(definitionProvider);
-            DefinitionFormatterProvider defFormatterProv =
-                    model != null
-                            ? parent.createDefinitionFormatterProvider(
-                                    definitionFormatterProvider, model)
-                            : parent.createDefinitionFormatterProvider(definitionFormatterProvider);
-
-            // Use same provider as formatter if not specified
-            String defGenProvider =
-                    definitionGeneratorProvider != null
-                            ? definitionGeneratorProvider
-                            : definitionFormatterProvider;
-            DefinitionGeneratorProvider defGeneratorProv =
-                    model != null
-                            ? parent.createDefinitionGeneratorProvider(defGenProvider, model)
-                            : parent.createDefinitionGeneratorProvider(defGenProvider);
-
-            AudioProvider audioProv = resolveAudioProvider(audioProvider);
-
-            WordAnalysisServiceImpl baseService =
-                    new WordAnalysisServiceImpl(
-                            exampleProv,
-                            explanationProv,
-                            decompositionProv,
-                            pinyinProv,
-                            definitionProv,
-                            defFormatterProv,
-                            defGeneratorProv,
-                            audioProv);
-
-            if (disableParallelism) {
-                wordAnalysisService = baseService;
-                System.out.println("Using sequential processing (parallelism disabled)");
-            } else {
-                parallelService = new ParallelWordAnalysisService(baseService, parallelThreads);
-                wordAnalysisService = parallelService;
-                System.out.println(
-                        "Using parallel processing with " + parallelThreads + " threads");
-            }
+        // Parse audio selections if provided
+        audioSelections = AudioSelectionUtils.parseAudioSelections(audioSelectionsParam);
 
-            ProviderConfiguration config =
-                    new ProviderConfiguration(
-                            exampleProvider,
-                            pinyinProvider,
-                            definitionProvider,
-                            definitionFormatterProvider,
-                            decompositionProvider,
-                            exampleProvider,
-                            explanationProvider,
-                            audioProvider);
-
-            // Validate all providers before processing
-            // Provider validation is no longer needed since providers are fixed
-
-            // Process words through the analysis pipeline
-            int maxToProcess = limit != null ? limit : entries.size();
-            List<PlecoEntry> entriesToProcess =
-                    entries.stream().limit(maxToProcess).collect(Collectors.toList());
-
-            // Check if interactive audio needed (skip if all entries have pre-configured
-            // selections)
-            boolean allEntriesHaveAudioSelections =
-                    entriesToProcess.stream()
-                            .allMatch(entry -> audioSelections.containsKey(entry.hanzi()));
-            if (!entriesToProcess.isEmpty() && !skipAudio && !allEntriesHaveAudioSelections) {
-                ensureInteractiveAudioSupported();
-            }
+        // A first streaming pass validates the whole file and sizes the progress output without
+        // keeping the entries in memory
+        EntryScan scan = scanEntries(parser, path);
+        System.out.println("Successfully parsed " + scan.total() + " entries from: " + filePath);
+        System.out.println();
 
-            // Thread-safe collection to store successful analyses for export
-            List<WordAnalysis> successfulAnalyses = new CopyOnWriteArrayList<>();
+        // Filled by the parse stage as entries stream through, for the pleco-export providers
+        PlecoExportDictionary dictionary = new PlecoExportDictionary();
+
+        // Set up word analysis service (parallel or sequential)
+        WordAnalysisService wordAnalysisService;
+
+        // Create providers with special handling for pleco-export which needs the dictionary
+        ExampleProvider exampleProv =
+                model != null
+                        ? parent.createExampleProvider(exampleProvider, model)
+                        : parent.createExampleProvider(exampleProvider);
+        ExplanationProvider explanationProv =
+                model != null
+                        ? parent.createExplanationProvider(explanationProvider, model)
+                        : parent.createExplanationProvider(explanationProvider);
+        StructuralDecompositionProvider decompositionProv =
+                model != null
+                        ? parent.createDecompositionProvider(decompositionProvider, model)
+                        : parent.createDecompositionProvider(decompositionProvider);
+        PinyinProvider pinyinProv =
+                "pleco-export".equals(pinyinProvider)
+                        ? new DictionaryPinyinProvider(dictionary)
+                        : parent.createPinyinProvider(pinyinProvider);
+        DefinitionProvider definitionProv =
+                "pleco-export".equals(definitionProvider)
+                        ? new DictionaryDefinitionProvider(dictionary)
+                        : parent.createDefinitionProvider(definitionProvider);
+        DefinitionFormatterProvider defFormatterProv =
+                model != null
+                        ? parent.createDefinitionFormatterProvider(
+                                definitionFormatterProvider, model)
+                        : parent.createDefinitionFormatterProvider(definitionFormatterProvider);
+
+        // Use same provider as formatter if not specified
+        String defGenProvider =
+                definitionGeneratorProvider != null
+                        ? definitionGeneratorProvider
+                        : definitionFormatterProvider;
+        DefinitionGeneratorProvider defGeneratorProv =
+                model != null
+                        ? parent.createDefinitionGeneratorProvider(defGenProvider, model)
+                        : parent.createDefinitionGeneratorProvider(defGenProvider);
+
+        AudioProvider audioProv = parent.getAudioProvider(audioProvider);
+
+        WordAnalysisServiceImpl baseService =
+                new WordAnalysisServiceImpl(
+                        exampleProv,
+                        explanationProv,
+                        decompositionProv,
+                        pinyinProv,
+                        definitionProv,
+                        defFormatterProv,
+                        defGeneratorProv,
+                        audioProv);
+
+        int workers;
+        if (parent.isLlmStreaming()) {
+            wordAnalysisService =
+                    disableParallelism
+                            ? baseService
+                            : new ParallelWordAnalysisService(
+                                    baseService, parent.createStageScheduler());
+            workers = 1;
+            System.out.println("Streaming LLM responses, analyzing one word at a time");
+        } else if (disableParallelism) {
+            wordAnalysisService = baseService;
+            workers = 1;
+            System.out.println("Using sequential processing (parallelism disabled)");
+        } else {
+            wordAnalysisService =
+                    new ParallelWordAnalysisService(baseService, parent.createStageScheduler());
+            workers = parallelThreads;
+            System.out.println(
+                    "Using parallel processing with "
+                            + parallelThreads
+                            + " concurrent words on "
+                            + parent.getSharedExecutor().mode().displayName()
+                            + " threads");
+        }
 
-            if (disableParallelism) {
-                // Sequential processing
-                processWordsSequentially(
-                        entriesToProcess,
-                        wordAnalysisService,
-                        config,
-                        maxToProcess,
-                        successfulAnalyses,
-                        skipAudio);
-            } else {
-                // Parallel word-level processing
-                processWordsInParallel(
-                        entriesToProcess,
-                        wordAnalysisService,
+        ProviderConfiguration config =
+                new ProviderConfiguration(
+                        exampleProvider,
+                        pinyinProvider,
+                        definitionProvider,
+                        definitionFormatterProvider,
+                        decompositionProvider,
+                        exampleProvider,
+                        explanationProvider,
+                        audioProvider);
+
+        // Check if interactive audio needed (skip if all entries have pre-configured selections)
+        if (scan.toProcess() > 0 && !skipAudio && !scan.allHaveAudioSelections()) {
+            ensureInteractiveAudioSupported();
+        }
+
+        String fingerprint =
+                WordAnalysisStore.fingerprint(
                         config,
-                        maxToProcess,
-                        parallelThreads,
-                        successfulAnalyses,
-                        skipAudio);
-
-                // Shutdown the parallel service
-                if (parallelService != null) {
-                    parallelService.shutdown();
-                }
+                        "parse-pleco",
+                        "input=" + path.toAbsolutePath().normalize(),
+                        "model=" + model,
+                        "definitionGenerator=" + defGenProvider,
+                        "skipAudio=" + skipAudio);
+        MetricsReport metrics = MetricsReport.start("parse-pleco");
+        FlightRecording recording = FlightRecording.start();
+        try (WordAnalysisStore store =
+                WordAnalysisStore.open(WordAnalysisStore.defaultDirectory(), fingerprint, resume)) {
+            if (resume) {
+                System.out.println(
+                        "Resuming: "
+                                + store.completedCount()
+                                + " words already finished in "
+                                + store.file());
             }
+            processWords(
+                    parser, path, dictionary, wordAnalysisService, config, scan, workers, store);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open result store", e);
+        } finally {
+            recording.close();
+            metrics.close();
+        }
+    }
 
-            // Export to Anki file if requested
-            if (ankiExportFile != null && !ankiExportFile.trim().isEmpty()) {
-                exportToAnkiFile(successfulAnalyses, ankiExportFile.trim());
+    private EntryScan scanEntries(PlecoExportParser parser, Path path) {
+        int total = 0;
+        boolean allHaveAudioSelections = true;
+        try (Stream<PlecoEntry> entries = parser.streamFile(path)) {
+            for (Iterator<PlecoEntry> it = entries.iterator(); it.hasNext(); ) {
+                PlecoEntry entry = it.next();
+                if (limit == null || total < limit) {
+                    allHaveAudioSelections &= audioSelections.containsKey(entry.hanzi());
+                }
+                total++;
             }
-
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to parse Pleco export at " + filePath, e);
         }
+        int toProcess = limit != null ? Math.min(limit, total) : total;
+        return new EntryScan(total, toProcess, allHaveAudioSelections);
     }
 
-    private void processWordsSequentially(
-            List<PlecoEntry> entries,
+    /**
+     * Stream entries through parse, analyze and write stages. Analyses are printed, given their
+     * audio selection and appended to the Anki export as they complete, so only the entries in
+     * flight are held in memory. Audio candidates of the next words are prepared by an {@link
+     * AudioPrefetcher} while the user is still choosing audio for the current one.
+     *
+     * <p>With streaming LLM responses each word is instead analyzed on this thread and printed part
+     * by part while its provider calls are still running.
+     */
+    private void processWords(
+            PlecoExportParser parser,
+            Path path,
+            PlecoExportDictionary dictionary,
             WordAnalysisService wordAnalysisService,
             ProviderConfiguration config,
-            int maxToProcess,
-            List<WordAnalysis> successfulAnalyses,
-            boolean skipAudio) {
-        int processedCount = 0;
-        AudioOrchestrator audioOrchestrator =
-                skipAudio
-                        ? null
-                        : new AudioOrchestrator(
-                                parent.getAudioProviders(), parent.getAudioExecutor());
+            EntryScan scan,
+            int workers,
+            WordAnalysisStore store) {
         InteractiveAudioUI audioUI = skipAudio ? null : new InteractiveAudioUI();
-
-        for (PlecoEntry entry : entries) {
-            Hanzi word = new Hanzi(entry.hanzi());
-            WordAnalysis analysis = wordAnalysisService.getCompleteAnalysis(word, config);
-            printWordAnalysis(analysis, processedCount + 1, maxToProcess);
-            WordAnalysis updated =
-                    skipAudio ? analysis : runAudioSelection(audioOrchestrator, audioUI, analysis);
-            successfulAnalyses.add(updated); // Collect for export
-            processedCount++;
-        }
-
-        System.out.println("Processed " + processedCount + " words successfully.");
-    }
-
-    private void processWordsInParallel(
-            List<PlecoEntry> entries,
-            WordAnalysisService wordAnalysisService,
-            ProviderConfiguration config,
-            int maxToProcess,
-            int threadCount,
-            List<WordAnalysis> successfulAnalyses,
-            boolean skipAudio) {
-        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
-        AudioOrchestrator audioOrchestrator =
-                skipAudio
-                        ? null
-                        : new AudioOrchestrator(
-                                parent.getAudioProviders(), parent.getAudioExecutor());
-
-        // Thread-safe counters for progress tracking
+        BoundedPipeline<PlecoEntry, AnalyzedWord> pipeline =
+                new BoundedPipeline<>(parent.getSharedExecutor(), workers, workers * 2);
+        String exportFile =
+                ankiExportFile != null && !ankiExportFile.trim().isEmpty()
+                        ? ankiExportFile.trim()
+                        : null;
         AtomicInteger completedCount = new AtomicInteger(0);
-        AtomicInteger successCount = new AtomicInteger(0);
-        AtomicInteger errorCount = new AtomicInteger(0);
-
-        // Thread-safe collection to store successful analysis with audio candidates
-        List<WordWithAudioCandidates> wordsWithAudio = new CopyOnWriteArrayList<>();
-
-        try {
-            long overallStartTime = System.currentTimeMillis();
-
-            // Create futures that display results immediately upon completion and generate audio
-            // candidates in parallel
-            List<CompletableFuture<Void>> displayFutures =
-                    entries.stream()
-                            .map(
-                                    entry -> {
-                                        // Launch word analysis and audio candidate generation in
-                                        // parallel
-                                        CompletableFuture<WordAnalysisResult> analysisFuture =
-                                                CompletableFuture.supplyAsync(
-                                                        () -> {
-                                                            long wordStartTime =
-                                                                    System.currentTimeMillis();
-                                                            Hanzi word = new Hanzi(entry.hanzi());
-                                                            WordAnalysis analysis =
-                                                                    wordAnalysisService
-                                                                            .getCompleteAnalysis(
-                                                                                    word, config);
-                                                            long wordDuration =
-                                                                    System.currentTimeMillis()
-                                                                            - wordStartTime;
-                                                            return new WordAnalysisResult(
-                                                                    entry, analysis, wordDuration);
-                                                        },
-                                                        executor);
-
-                                        CompletableFuture<List<PronunciationCandidate>>
-                                                audioCandidatesFuture =
-                                                        skipAudio
-                                                                ? CompletableFuture.completedFuture(
-                                                                        List.of())
-                                                                : CompletableFuture.supplyAsync(
-                                                                        () -> {
-                                                                            Hanzi word =
-                                                                                    new Hanzi(
-                                                                                            entry
-                                                                                                    .hanzi());
-                                                                            // We need pinyin for
-                                                                            // audio candidates, so
-                                                                            // we get it directly
-                                                                            if (wordAnalysisService
-                                                                                    instanceof
-                                                                                    ParallelWordAnalysisService
-                                                                                            parallelService) {
-                                                                                // Access the
-                                                                                // delegate to get
-                                                                                // pinyin
-                                                                                // synchronously to
-                                                                                // avoid double work
-                                                                                Pinyin pinyin =
-                                                                                        parallelService
-                                                                                                .getPinyin(
-                                                                                                        word,
-                                                                                                        config
-                                                                                                                .getPinyinProvider());
-                                                                                System.out.printf(
-                                                                                        "[INFO] Starting audio download for '%s' (%s)%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        pinyin
-                                                                                                .pinyin());
-                                                                                List<
-                                                                                                PronunciationCandidate>
-                                                                                        candidates =
-                                                                                                audioOrchestrator
-                                                                                                        .candidatesFor(
-                                                                                                                word,
-                                                                                                                pinyin);
-                                                                                System.out.printf(
-                                                                                        "[INFO] Completed audio download for '%s' - found %d candidates%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        candidates
-                                                                                                .size());
-                                                                                return candidates;
-                                                                            } else {
-                                                                                // Fallback for
-                                                                                // non-parallel
-                                                                                // service
-                                                                                Pinyin pinyin =
-                                                                                        wordAnalysisService
-                                                                                                .getPinyin(
-                                                                                                        word,
-                                                                                                        config
-                                                                                                                .getPinyinProvider());
-                                                                                System.out.printf(
-                                                                                        "[INFO] Starting audio download for '%s' (%s)%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        pinyin
-                                                                                                .pinyin());
-                                                                                List<
-                                                                                                PronunciationCandidate>
-                                                                                        candidates =
-                                                                                                audioOrchestrator
-                                                                                                        .candidatesFor(
-                                                                                                                word,
-                                                                                                                pinyin);
-                                                                                System.out.printf(
-                                                                                        "[INFO] Completed audio download for '%s' - found %d candidates%n",
-                                                                                        word
-                                                                                                .characters(),
-                                                                                        candidates
-                                                                                                .size());
-                                                                                return candidates;
-                                                                            }
-                                                                        },
-                                                                        executor);
-
-                                        // Combine both futures and return a CompletableFuture<Void>
-                                        // that processes the display
-                                        return CompletableFuture.allOf(
-                                                        analysisFuture, audioCandidatesFuture)
-                                                .thenAccept(
-                                                        ignored -> {
-                                                            WordAnalysisResult analysisResult =
-                                                                    analysisFuture.join();
-                                                            List<PronunciationCandidate>
-                                                                    audioCandidates =
-                                                                            audioCandidatesFuture
-                                                                                    .join();
-                                                            CombinedResult combinedResult =
-                                                                    new CombinedResult(
-                                                                            analysisResult,
-                                                                            audioCandidates);
-
-                                                            // Display result immediately when
-                                                            // ready
-                                                            synchronized (this) {
-                                                                WordAnalysisResult result =
-                                                                        combinedResult
-                                                                                .analysisResult();
-                                                                List<PronunciationCandidate>
-                                                                        audioCandsFromResult =
-                                                                                combinedResult
-                                                                                        .audioCandidates();
-
-                                                                int completed =
-                                                                        completedCount
-                                                                                .incrementAndGet();
-                                                                double percentage =
-                                                                        (completed * 100.0)
-                                                                                / maxToProcess;
-
-                                                                successCount.incrementAndGet();
-
-                                                                System.out.println("=".repeat(80));
-                                                                System.out.printf(
-                                                                        "Word %d/%d (%.1f%%) - '%s' (completed in %.2fs)%n",
-                                                                        completed,
-                                                                        maxToProcess,
-                                                                        percentage,
-                                                                        result.entry.hanzi(),
-                                                                        result.duration / 1000.0);
-                                                                System.out.println("=".repeat(80));
-
-                                                                if (rawOutput) {
-                                                                    parent.getAnalysisPrinter()
-                                                                            .printRaw(
-                                                                                    result.analysis);
-                                                                } else {
-                                                                    parent.getAnalysisPrinter()
-                                                                            .printFormatted(
-                                                                                    result.analysis);
-                                                                }
-
-                                                                System.out.println();
-
-                                                                // Collect for export and store
-                                                                // with audio candidates for
-                                                                // later selection
-                                                                successfulAnalyses.add(
-                                                                        result.analysis);
-                                                                wordsWithAudio.add(
-                                                                        new WordWithAudioCandidates(
-                                                                                result.analysis,
-                                                                                audioCandsFromResult));
-                                                            }
-                                                        });
-                                    })
-                            .collect(Collectors.toList());
-
-            // Wait for all displays to complete
-            CompletableFuture.allOf(displayFutures.toArray(new CompletableFuture[0])).join();
-
-            if (!skipAudio && !wordsWithAudio.isEmpty()) {
-                InteractiveAudioUI audioUI = new InteractiveAudioUI();
-                for (int i = 0; i < wordsWithAudio.size(); i++) {
-                    WordWithAudioCandidates wordWithAudio = wordsWithAudio.get(i);
-                    WordAnalysis updated =
-                            runAudioSelectionWithCandidates(
-                                    audioUI, wordWithAudio.analysis(), wordWithAudio.candidates());
-                    successfulAnalyses.set(i, updated);
+        long overallStartTime = System.currentTimeMillis();
+
+        try (AudioPrefetcher prefetcher =
+                        skipAudio
+                                ? null
+                                : new AudioPrefetcher(
+                                        new AudioOrchestrator(
+                                                parent.getAudioProviders(),
+                                                parent.getSharedExecutor()),
+                                        parent.getPrePlayback(),
+                                        word ->
+                                                wordAnalysisService.getPinyin(
+                                                        word, config.getPinyinProvider()),
+                                        parent.getSharedExecutor());
+                Stream<PlecoEntry> entries = parser.streamFile(path);
+                AnkiExporter.ExportWriter writer =
+                        exportFile != null
+                                ? parent.getAnkiExporter().openWriter(Path.of(exportFile))
+                                : null) {
+            // Words finished by the interrupted run go straight from the store to the export
+            if (writer != null) {
+                try (Stream<WordAnalysis> finished = store.stream()) {
+                    for (Iterator<WordAnalysis> it = finished.iterator(); it.hasNext(); ) {
+                        writer.write(it.next());
+                    }
                 }
             }
+            completedCount.set(store.completedCount());
+            Iterator<PlecoEntry> remaining =
+                    entries.limit(scan.toProcess())
+                            .peek(dictionary::add)
+                            .filter(entry -> !store.isCompleted(entry.hanzi()))
+                            .iterator();
+            Iterator<PlecoEntry> source =
+                    prefetcher == null
+                            ? remaining
+                            : prefetcher.feed(remaining, entry -> new Hanzi(entry.hanzi()));
+            if (parent.isLlmStreaming()) {
+                while (source.hasNext()) {
+                    PlecoEntry entry = source.next();
+                    printWordHeader(entry, completedCount.incrementAndGet(), scan.toProcess());
+                    AnalyzedWord result =
+                            analyze(
+                                    entry,
+                                    wordAnalysisService,
+                                    config,
+                                    parent.getAnalysisPrinter()
+                                            .progressive(new Hanzi(entry.hanzi()), rawOutput));
+                    System.out.println();
+                    System.out.printf(
+                            "Completed '%s' in %.2fs%n%n",
+                            entry.hanzi(), result.durationMillis() / 1000.0);
+                    finishWord(result, prefetcher, audioUI, writer, store);
+                }
+            } else {
+                pipeline.run(
+                        source,
+                        entry -> analyze(entry, wordAnalysisService, config, AnalysisListener.NONE),
+                        result -> {
+                            printWordAnalysis(
+                                    result, completedCount.incrementAndGet(), scan.toProcess());
+                            finishWord(result, prefetcher, audioUI, writer, store);
+                        });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export Anki file to " + exportFile, e);
+        }
 
-            long overallDuration = System.currentTimeMillis() - overallStartTime;
-            System.out.println("=".repeat(80));
+        long overallDuration = System.currentTimeMillis() - overallStartTime;
+        System.out.println("=".repeat(80));
+        System.out.printf(
+                "Processing complete! %d words successful in %.2fs%n",
+                completedCount.get(), overallDuration / 1000.0);
+        if (exportFile != null) {
             System.out.printf(
-                    "Processing complete! %d words successful, %d errors in %.2fs%n",
-                    successCount.get(), errorCount.get(), overallDuration / 1000.0);
-
-        } finally {
-            executor.shutdown();
+                    "Exported %d words to %s (Anki Chinese 2 format)%n",
+                    completedCount.get(), exportFile);
         }
     }
 
-    private void printWordAnalysis(WordAnalysis analysis, int currentIndex, int total) {
-        System.out.println("=".repeat(80));
-        System.out.println("Word " + currentIndex + "/" + total);
-        System.out.println("=".repeat(80));
-
-        if (rawOutput) {
-            parent.getAnalysisPrinter().printRaw(analysis);
-        } else {
-            parent.getAnalysisPrinter().printFormatted(analysis);
+    private void finishWord(
+            AnalyzedWord result,
+            AudioPrefetcher prefetcher,
+            InteractiveAudioUI audioUI,
+            AnkiExporter.ExportWriter writer,
+            WordAnalysisStore store)
+            throws IOException {
+        WordAnalysis updated =
+                skipAudio
+                        ? result.analysis()
+                        : runAudioSelectionWithCandidates(
+                                audioUI,
+                                result.analysis(),
+                                prefetcher.take(
+                                        result.analysis().word(), result.analysis().pinyin()));
+        store.append(updated);
+        if (writer != null) {
+            writer.write(updated);
         }
-
-        System.out.println();
     }
 
-    private WordAnalysis runAudioSelection(
-            AudioOrchestrator orchestrator, InteractiveAudioUI audioUI, WordAnalysis analysis) {
-        List<PronunciationCandidate> rawCandidates =
-                orchestrator.candidatesFor(analysis.word(), analysis.pinyin());
-        if (rawCandidates.isEmpty()) {
-            System.out.printf(
-                    "No pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
+    private AnalyzedWord analyze(
+            PlecoEntry entry,
+            WordAnalysisService wordAnalysisService,
+            ProviderConfiguration config,
+            AnalysisListener listener) {
+        long wordStartTime = System.currentTimeMillis();
+        Hanzi word = new Hanzi(entry.hanzi());
+        WordAnalysis analysis = wordAnalysisService.getCompleteAnalysis(word, config, listener);
+        return new AnalyzedWord(entry, analysis, System.currentTimeMillis() - wordStartTime);
+    }
 
-        List<PronunciationCandidate> candidates =
-                parent.getPrePlayback()
-                        .preprocessCandidates(analysis.word(), analysis.pinyin(), rawCandidates);
-        if (candidates.isEmpty()) {
-            System.out.printf(
-                    "No playable pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
+    private void printWordHeader(PlecoEntry entry, int position, int total) {
+        System.out.println("=".repeat(80));
+        System.out.printf(
+                "Word %d/%d (%.1f%%) - '%s'%n",
+                position, total, (position * 100.0) / total, entry.hanzi());
+        System.out.println("=".repeat(80));
+    }
 
-        PronunciationCandidate choice;
+    private void printWordAnalysis(AnalyzedWord result, int completed, int total) {
+        System.out.println("=".repeat(80));
+        System.out.printf(
+                "Word %d/%d (%.1f%%) - '%s' (completed in %.2fs)%n",
+                completed,
+                total,
+                (completed * 100.0) / total,
+                result.entry().hanzi(),
+                result.durationMillis() / 1000.0);
+        System.out.println("=".repeat(80));
 
-        // Check for programmatic selection
-        AudioSelection selection = audioSelections.get(analysis.word().characters());
-        if (selection != null) {
-            choice = AudioSelectionUtils.findMatchingCandidate(candidates, selection);
-            if (choice == null) {
-                throw new IllegalStateException(
-                        String.format(
-                                "No matching audio candidate found for '%s' with provider '%s' and description '%s'",
-                                analysis.word().characters(),
-                                selection.provider(),
-                                selection.description()));
-            }
-            System.out.printf(
-                    "Programmatically selected audio for '%s' (%s): %s - %s%n",
-                    analysis.word().characters(),
-                    analysis.pinyin().pinyin(),
-                    choice.label(),
-                    choice.description());
+        if (rawOutput) {
+            parent.getAnalysisPrinter().printRaw(result.analysis());
         } else {
-            // Interactive selection
-            System.out.printf(
-                    "Selecting audio for '%s' (%s)%n",
-                    analysis.word().characters(), analysis.pinyin().pinyin());
-            SystemAudioPlayer player = new SystemAudioPlayer(parent.getAnkiMediaLocator());
-            SelectionSession session = new SelectionSession(candidates, player);
-            try {
-                choice = audioUI.run(session, analysis.word(), analysis.pinyin());
-            } finally {
-                player.stop();
-            }
-
-            if (choice == null) {
-                System.out.println("No audio selected.");
-                System.out.println();
-                return analysis;
-            }
-
-            System.out.println("Selected audio: " + choice.file().toAbsolutePath());
+            parent.getAnalysisPrinter().printFormatted(result.analysis());
         }
 
         System.out.println();
-
-        return new WordAnalysis(
-                analysis.word(),
-                analysis.pinyin(),
-                analysis.definition(),
-                analysis.structuralDecomposition(),
-                analysis.examples(),
-                analysis.explanation(),
-                Optional.of(choice.file().toAbsolutePath()));
     }
 
     private WordAnalysis runAudioSelectionWithCandidates(
             InteractiveAudioUI audioUI,
             WordAnalysis analysis,
-            List<PronunciationCandidate> rawCandidates) {
-        if (rawCandidates.isEmpty()) {
-            System.out.printf(
-                    "No pronunciation candidates available for '%s'.%n%n",
-                    analysis.word().characters());
-            return analysis;
-        }
-
-        List<PronunciationCandidate> candidates =
-                parent.getPrePlayback()
-                        .preprocessCandidates(analysis.word(), analysis.pinyin(), rawCandidates);
+            List<PronunciationCandidate> candidates) {
         if (candidates.isEmpty()) {
             System.out.printf(
-                    "No playable pronunciation candidates available for '%s'.%n%n",
+                    "No pronunciation candidates available for '%s'.%n%n",
                     analysis.word().characters());
             return analysis;
         }
@@ -765,51 +585,11 @@ public class ParsePlecoCommand implements Runnable {
         System.exit(1);
     }
 
-    /** Helper class to hold analysis results from parallel processing */
-    private static class WordAnalysisResult {
-        final PlecoEntry entry;
-        final WordAnalysis analysis;
-        final long duration; // Duration in milliseconds
-
-        WordAnalysisResult(PlecoEntry entry, WordAnalysis analysis, long duration) {
-            this.entry = entry;
-            this.analysis = analysis;
-            this.duration = duration;
-        }
-    }
-
-    /** Record to hold both word analysis and pre-generated audio candidates */
-    private record WordWithAudioCandidates(
-            WordAnalysis analysis, List<PronunciationCandidate> candidates) {}
-
-    /** Helper class to combine analysis result with audio candidates from parallel processing */
-    private record CombinedResult(
-            WordAnalysisResult analysisResult, List<PronunciationCandidate> audioCandidates) {}
+    /** Result of the first pass over the export file. */
+    private record EntryScan(int total, int toProcess, boolean allHaveAudioSelections) {}
 
-    /** Export the successful WordAnalysis results to an Anki-compatible TSV file. */
-    private void exportToAnkiFile(List<WordAnalysis> analyses, String filename) {
-        try {
-            AnkiExporter exporter = parent.getAnkiExporter();
-            exporter.exportToFile(analyses, filename);
-
-            System.out.println("=".repeat(80));
-            System.out.printf(
-                    "Exported %d words to %s (Anki Chinese 2 format)%n", analyses.size(), filename);
-
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to export Anki file to " + filename, e);
-        }
-    }
+    /** Output of the analyze stage; audio candidates are prepared by the prefetcher. */
+    private record AnalyzedWord(PlecoEntry entry, WordAnalysis analysis, long durationMillis) {}
 
     // Printing is delegated to AnalysisPrinter to match 'word' command output
-
-    private AudioProvider resolveAudioProvider(String providerName) {
-        return parent.getAudioProviders().stream()
-                .filter(provider -> provider.getName().equals(providerName))
-                .findFirst()
-                .orElseThrow(
-                        () ->
-                                new IllegalArgumentException(
-                                        "Unknown audio provider: " + providerName));
-    }
 }
@@ -0,0 +1,41 @@
+package com.zhlearn.cli;
+
+import java.util.function.Supplier;
+
+import com.zhlearn.infrastructure.common.Settings;
+
+/**
+ * Prints how long each {@link Lazy} bean took to create, to stderr, when enabled with {@code
+ * --startup-trace} or {@code zhlearn.startup-trace} (see {@link Settings}). Beans created while
+ * another is being created are listed before it, one level deeper; the outer time includes theirs.
+ */
+final class StartupTrace {
+    static final String PROPERTY = "zhlearn.startup-trace";
+    static final String ENV = "ZHLEARN_STARTUP_TRACE";
+
+    private static volatile boolean enabled = Settings.booleanValue(PROPERTY, ENV);
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private StartupTrace() {}
+
+    static void configure(boolean enable) {
+        enabled = enable;
+    }
+
+    static <T> T time(String name, Supplier<T> factory) {
+        if (!enabled) {
+            return factory.get();
+        }
+        int depth = DEPTH.get();
+        DEPTH.set(depth + 1);
+        long start = System.nanoTime();
+        try {
+            return factory.get();
+        } finally {
+            DEPTH.set(depth);
+            System.err.printf(
+                    "[startup] %s%s %.1f ms%n",
+                    "  ".repeat(depth), name, (System.nanoTime() - start) / 1_000_000.0);
+        }
+    }
+}
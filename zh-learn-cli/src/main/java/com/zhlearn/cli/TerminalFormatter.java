@@ -178,8 +178,13 @@ public class TerminalFormatter {
         if (width < titleDisplayWidth + 6) {
             width = titleDisplayWidth + 10;
         }
+        return createBoxTop(title, width) + createBoxLines(content, width) + createBoxBottom(width);
+    }
 
+    /** Top border of a box with its title, for boxes whose content is printed in parts. */
+    public String createBoxTop(String title, int width) {
         StringBuilder box = new StringBuilder();
+        int titleDisplayWidth = getDisplayLength(title);
 
         // Top border with title
         box.append(
@@ -201,6 +206,12 @@ public class TerminalFormatter {
         }
         box.append(Ansi.ansi().fg(Colors.BOX).a(TOP_RIGHT).reset().toString());
         box.append("\n");
+        return box.toString();
+    }
+
+    /** Bordered content lines of a box, wrapped to its width. */
+    public String createBoxLines(String content, int width) {
+        StringBuilder box = new StringBuilder();
 
         // Content lines with wrapping
         String[] lines = content.split("\n");
@@ -221,6 +232,11 @@ public class TerminalFormatter {
                 box.append("\n");
             }
         }
+        return box.toString();
+    }
+
+    public String createBoxBottom(int width) {
+        StringBuilder box = new StringBuilder();
 
         // Bottom border
         box.append(Ansi.ansi().fg(Colors.BOX).a(BOTTOM_LEFT));
@@ -5,7 +5,10 @@ import picocli.CommandLine;
 public class ZhLearnApplication {
 
     public static void main(String[] args) {
-        int exitCode = new CommandLine(new MainCommand()).execute(args);
+        int exitCode;
+        try (ApplicationContext context = ApplicationContext.create()) {
+            exitCode = new CommandLine(new MainCommand(context)).execute(args);
+        }
         System.exit(exitCode);
     }
 }
@@ -0,0 +1,320 @@
+package com.zhlearn.cli.audio;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import com.zhlearn.application.audio.AudioOrchestrator;
+import com.zhlearn.application.audio.PronunciationCandidate;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.infrastructure.common.Settings;
+
+/**
+ * Prepares the audio candidates of the words coming up in an audio selection session, so that the
+ * next word's candidates are already synthesized, downloaded, normalized and decoded for playback
+ * when the user gets to it. Words are registered in input order through {@link #feed}; {@link
+ * #take} hands out a word's candidates and keeps the other registered words in flight. Words may be
+ * taken in a different order than they were fed, e.g. in the completion order of a parallel
+ * analysis, so a word taken early leaves the ones fed before it untouched.
+ *
+ * <p>How far ahead it works follows the user's pace: the time one word takes to prepare divided by
+ * the time the user spends on one, at least one word and capped by the {@code
+ * zhlearn.audio.prefetch} system property or the {@code ZHLEARN_AUDIO_PREFETCH} environment
+ * variable (4 by default, 0 turns prefetching off). Prefetches of words never taken are cancelled
+ * on {@link #close}.
+ */
+public final class AudioPrefetcher implements AutoCloseable {
+    static final String WINDOW_PROPERTY = "zhlearn.audio.prefetch";
+    static final String WINDOW_ENV = "ZHLEARN_AUDIO_PREFETCH";
+    private static final int DEFAULT_MAX_WINDOW = 4;
+    private static final int INITIAL_WINDOW = 2;
+    private static final double SMOOTHING = 0.3;
+
+    private final Function<Hanzi, Pinyin> pinyinOf;
+    private final BiFunction<Hanzi, Pinyin, List<PronunciationCandidate>> prepare;
+    private final Executor executor;
+    private final int maxWindow;
+    private final Deque<Upcoming> upcoming = new ArrayDeque<>();
+    private Lookahead<?> lookahead;
+    private int taken;
+    private long handedOutNanos;
+    private double prepareNanos;
+    private double paceNanos;
+
+    public AudioPrefetcher(
+            AudioOrchestrator orchestrator,
+            PrePlayback prePlayback,
+            Function<Hanzi, Pinyin> pinyinOf,
+            Executor executor) {
+        this(
+                pinyinOf,
+                (word, pinyin) ->
+                        decodeForPlayback(
+                                prePlayback.preprocessCandidates(
+                                        word, pinyin, orchestrator.candidatesFor(word, pinyin))),
+                executor,
+                configuredMaxWindow());
+    }
+
+    AudioPrefetcher(
+            Function<Hanzi, Pinyin> pinyinOf,
+            BiFunction<Hanzi, Pinyin, List<PronunciationCandidate>> prepare,
+            Executor executor,
+            int maxWindow) {
+        if (maxWindow < 0) {
+            throw new IllegalArgumentException("Audio prefetch window must not be negative");
+        }
+        this.pinyinOf = pinyinOf;
+        this.prepare = prepare;
+        this.executor = executor;
+        this.maxWindow = maxWindow;
+    }
+
+    /** Fills the playback engine's cache so the first play of each candidate starts at once. */
+    private static List<PronunciationCandidate> decodeForPlayback(
+            List<PronunciationCandidate> candidates) {
+        PlaybackEngine engine = PlaybackEngine.get();
+        if (engine != null) {
+            candidates.forEach(candidate -> engine.preload(candidate.file()));
+        }
+        return candidates;
+    }
+
+    /** Maximum window set with {@code zhlearn.audio.prefetch} (see {@link Settings}). */
+    static int configuredMaxWindow() {
+        return Settings.intValue(WINDOW_PROPERTY, WINDOW_ENV, DEFAULT_MAX_WINDOW);
+    }
+
+    /**
+     * Register the words of {@code source}, in order, as the words whose audio will be selected.
+     * The returned iterator yields the same items; the prefetcher reads ahead of it when the user
+     * is faster than the words are handed out.
+     */
+    public <T> Iterator<T> feed(Iterator<T> source, Function<T, Hanzi> wordOf) {
+        Lookahead<T> feed = new Lookahead<>(source, wordOf);
+        synchronized (this) {
+            lookahead = feed;
+        }
+        topUp();
+        return feed;
+    }
+
+    /**
+     * Candidates of the word the user is selecting audio for now, normalized for playback. Waits
+     * for its prefetch, or prepares it on this thread when the word was never registered or its
+     * pinyin changed since.
+     */
+    public List<PronunciationCandidate> take(Hanzi word, Pinyin pinyin) {
+        FutureTask<Prepared> task;
+        synchronized (this) {
+            if (handedOutNanos != 0) {
+                paceNanos = average(paceNanos, System.nanoTime() - handedOutNanos);
+            }
+            Upcoming current = remove(word);
+            task = current == null ? null : start(current);
+            taken++;
+        }
+        topUp();
+        List<PronunciationCandidate> candidates;
+        Prepared prepared = task == null ? null : await(task);
+        if (prepared != null && prepared.pinyin().equals(pinyin)) {
+            candidates = prepared.candidates();
+        } else {
+            candidates = prepare.apply(word, pinyin);
+        }
+        synchronized (this) {
+            handedOutNanos = System.nanoTime();
+        }
+        return candidates;
+    }
+
+    /** Number of words after the current one kept prepared at the user's current pace. */
+    synchronized int window() {
+        return window(prepareNanos, paceNanos, maxWindow);
+    }
+
+    static int window(double prepareNanos, double paceNanos, int maxWindow) {
+        if (prepareNanos <= 0 || paceNanos <= 0) {
+            return Math.min(INITIAL_WINDOW, maxWindow);
+        }
+        long ahead = Math.max(1, (long) Math.ceil(prepareNanos / paceNanos));
+        return (int) Math.min(ahead, maxWindow);
+    }
+
+    @Override
+    public synchronized void close() {
+        upcoming.forEach(Upcoming::cancel);
+        upcoming.clear();
+        lookahead = null;
+    }
+
+    /** Removes the earliest registered entry of {@code word}, null when there is none. */
+    private Upcoming remove(Hanzi word) {
+        for (Iterator<Upcoming> it = upcoming.iterator(); it.hasNext(); ) {
+            Upcoming entry = it.next();
+            if (entry.word().equals(word)) {
+                it.remove();
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Starts the earliest registered words inside the window, reading further ahead in the feed if
+     * needed. The feed is read without holding the prefetcher's lock, as it may block on I/O.
+     */
+    private void topUp() {
+        int missing;
+        Lookahead<?> feed;
+        synchronized (this) {
+            missing = target() - upcoming.size();
+            feed = lookahead;
+        }
+        for (int i = 0; i < missing && feed != null; i++) {
+            if (!feed.pull()) {
+                break;
+            }
+        }
+        synchronized (this) {
+            int target = target();
+            int started = 0;
+            for (Upcoming entry : upcoming) {
+                if (started++ >= target) {
+                    break;
+                }
+                start(entry);
+            }
+        }
+    }
+
+    private int target() {
+        return maxWindow == 0 ? 0 : window() + (taken == 0 ? 1 : 0);
+    }
+
+    private FutureTask<Prepared> start(Upcoming entry) {
+        if (entry.task() == null) {
+            entry.task(new FutureTask<>(() -> prepareTimed(entry.word())));
+            executor.execute(entry.task());
+        }
+        return entry.task();
+    }
+
+    private Prepared prepareTimed(Hanzi word) {
+        long start = System.nanoTime();
+        Pinyin pinyin = pinyinOf.apply(word);
+        List<PronunciationCandidate> candidates = prepare.apply(word, pinyin);
+        long elapsed = System.nanoTime() - start;
+        synchronized (this) {
+            prepareNanos = average(prepareNanos, elapsed);
+        }
+        return new Prepared(pinyin, candidates);
+    }
+
+    private static double average(double current, long sample) {
+        return current == 0 ? sample : current + SMOOTHING * (sample - current);
+    }
+
+    private static Prepared await(FutureTask<Prepared> task) {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Audio prefetch failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for audio candidates", e);
+        }
+    }
+
+    private record Prepared(Pinyin pinyin, List<PronunciationCandidate> candidates) {}
+
+    /** A registered word and its prefetch, once started. */
+    private static final class Upcoming {
+        private final Hanzi word;
+        private FutureTask<Prepared> task;
+
+        Upcoming(Hanzi word) {
+            this.word = word;
+        }
+
+        Hanzi word() {
+            return word;
+        }
+
+        FutureTask<Prepared> task() {
+            return task;
+        }
+
+        void task(FutureTask<Prepared> task) {
+            this.task = task;
+        }
+
+        void cancel() {
+            if (task != null) {
+                task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Hands out the fed items in order while letting the prefetcher read ahead of the consumer. The
+     * source is only touched under this feed's own lock, never under the prefetcher's.
+     */
+    private final class Lookahead<T> implements Iterator<T> {
+        private final Iterator<T> source;
+        private final Function<T, Hanzi> wordOf;
+        private final Deque<T> buffered = new ArrayDeque<>();
+
+        Lookahead(Iterator<T> source, Function<T, Hanzi> wordOf) {
+            this.source = source;
+            this.wordOf = wordOf;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return !buffered.isEmpty() || source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            T item;
+            synchronized (this) {
+                if (buffered.isEmpty() && !pull()) {
+                    throw new NoSuchElementException();
+                }
+                item = buffered.removeFirst();
+            }
+            topUp();
+            return item;
+        }
+
+        /** Reads one more item from the source and registers its word. */
+        synchronized boolean pull() {
+            if (!source.hasNext()) {
+                return false;
+            }
+            T item = source.next();
+            buffered.addLast(item);
+            synchronized (AudioPrefetcher.this) {
+                if (lookahead == this) {
+                    upcoming.addLast(new Upcoming(wordOf.apply(item)));
+                }
+            }
+            return true;
+        }
+    }
+}
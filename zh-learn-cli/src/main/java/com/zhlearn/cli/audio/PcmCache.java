@@ -0,0 +1,44 @@
+package com.zhlearn.cli.audio;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.zhlearn.infrastructure.audio.PcmDecoder.Pcm;
+
+/** Decoded clips by file, evicting the least recently played ones beyond a total size. */
+final class PcmCache {
+    private final long maxBytes;
+    private final Map<Path, Pcm> clips = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    PcmCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    synchronized Pcm get(Path file) {
+        return clips.get(file);
+    }
+
+    synchronized void put(Path file, Pcm pcm) {
+        Pcm previous = clips.put(file, pcm);
+        if (previous != null) {
+            bytes -= previous.data().length;
+        }
+        bytes += pcm.data().length;
+        Iterator<Pcm> eldest = clips.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Pcm evicted = eldest.next();
+            if (evicted == pcm) {
+                break;
+            }
+            bytes -= evicted.data().length;
+            eldest.remove();
+        }
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,195 @@
+package com.zhlearn.cli.audio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import com.zhlearn.infrastructure.audio.PcmDecoder;
+import com.zhlearn.infrastructure.audio.PcmDecoder.Pcm;
+import com.zhlearn.infrastructure.common.Settings;
+
+/**
+ * Plays clips in process through one audio line that stays open for the whole run. Clips are
+ * decoded to PCM once and kept in a {@link PcmCache}, so switching candidates only flushes the line
+ * and starts writing the next buffer; the line is reopened only when a clip's format differs from
+ * the previous one. A single daemon thread feeds the line.
+ *
+ * <p>The cache size is set in megabytes with {@code zhlearn.audio.playback-cache-mb} (see {@link
+ * Settings}), 64 MB by default.
+ */
+final class PlaybackEngine {
+    static final String CACHE_PROPERTY = "zhlearn.audio.playback-cache-mb";
+    static final String CACHE_ENV = "ZHLEARN_AUDIO_PLAYBACK_CACHE_MB";
+    private static final int DEFAULT_CACHE_MB = 64;
+    private static final AudioFormat PROBE_FORMAT = new AudioFormat(44100, 16, 1, true, false);
+    private static final int BUFFER_MILLIS = 100;
+    private static final int CHUNK_MILLIS = 20;
+
+    private final PcmCache cache;
+    private final Object lock = new Object();
+    private SourceDataLine line;
+    private Pcm pending;
+    private long generation;
+
+    private PlaybackEngine(PcmCache cache) {
+        this.cache = cache;
+        Thread.ofPlatform().name("audio-playback").daemon().start(this::feed);
+    }
+
+    /** The process-wide engine, or null when the JDK has no audio output line. */
+    static PlaybackEngine get() {
+        return Holder.ENGINE;
+    }
+
+    static long configuredCacheBytes() {
+        return Settings.longValue(CACHE_PROPERTY, CACHE_ENV, DEFAULT_CACHE_MB) * 1024L * 1024L;
+    }
+
+    /**
+     * Start playing {@code file}, cutting off whatever is playing.
+     *
+     * @return false if the clip cannot be decoded or no line accepts its format
+     */
+    boolean play(Path file) {
+        Pcm pcm = load(file);
+        if (pcm == null) {
+            return false;
+        }
+        synchronized (lock) {
+            if (!ensureLine(pcm.format())) {
+                return false;
+            }
+            generation++;
+            line.flush();
+            pending = pcm;
+            lock.notifyAll();
+        }
+        return true;
+    }
+
+    void stop() {
+        synchronized (lock) {
+            generation++;
+            pending = null;
+            if (line != null) {
+                line.flush();
+            }
+        }
+    }
+
+    /** Decode {@code file} into the cache ahead of its first play; missing files are ignored. */
+    void preload(Path file) {
+        if (file != null && Files.exists(file)) {
+            load(file);
+        }
+    }
+
+    private Pcm load(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        Pcm pcm = cache.get(key);
+        if (pcm != null) {
+            return pcm;
+        }
+        try {
+            pcm = PcmDecoder.decode(key);
+        } catch (IOException e) {
+            // The external player reports unreadable files
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        if (pcm != null) {
+            cache.put(key, pcm);
+        }
+        return pcm;
+    }
+
+    /** Keeps the open line when it already plays {@code format}, reopens it otherwise. */
+    private boolean ensureLine(AudioFormat format) {
+        if (line != null && line.getFormat().matches(format)) {
+            return true;
+        }
+        if (line != null) {
+            line.close();
+        }
+        line = openLine(format);
+        return line != null;
+    }
+
+    private static SourceDataLine openLine(AudioFormat format) {
+        try {
+            SourceDataLine opened = AudioSystem.getSourceDataLine(format);
+            opened.open(format, bytesFor(format, BUFFER_MILLIS));
+            opened.start();
+            return opened;
+        } catch (LineUnavailableException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void feed() {
+        try {
+            while (true) {
+                Pcm clip;
+                long playing;
+                SourceDataLine out;
+                synchronized (lock) {
+                    while (pending == null) {
+                        lock.wait();
+                    }
+                    clip = pending;
+                    pending = null;
+                    playing = generation;
+                    out = line;
+                }
+                write(clip, playing, out);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writes the clip in small chunks so that a newer play or stop cuts it off quickly. */
+    private void write(Pcm clip, long playing, SourceDataLine out) {
+        byte[] data = clip.data();
+        int chunk = bytesFor(clip.format(), CHUNK_MILLIS);
+        int offset = 0;
+        while (offset < data.length) {
+            synchronized (lock) {
+                if (playing != generation) {
+                    return;
+                }
+            }
+            int written = out.write(data, offset, Math.min(chunk, data.length - offset));
+            if (written == 0 && !out.isOpen()) {
+                return;
+            }
+            offset += written;
+        }
+    }
+
+    private static int bytesFor(AudioFormat format, int millis) {
+        int frames = Math.max(1, (int) (format.getFrameRate() * millis / 1000));
+        return frames * format.getFrameSize();
+    }
+
+    /** Probes for an output line on first use; null when there is none. */
+    private static final class Holder {
+        private static final PlaybackEngine ENGINE = start();
+
+        private static PlaybackEngine start() {
+            if (!AudioSystem.isLineSupported(
+                    new DataLine.Info(SourceDataLine.class, PROBE_FORMAT))) {
+                return null;
+            }
+            return new PlaybackEngine(new PcmCache(configuredCacheBytes()));
+        }
+    }
+}
@@ -11,12 +11,18 @@ import java.util.Optional;
 import com.zhlearn.application.audio.AnkiMediaLocator;
 import com.zhlearn.application.audio.AudioPlayer;
 
+/**
+ * Plays clips through the in-process {@link PlaybackEngine}, falling back to one {@code afplay} or
+ * {@code ffplay} process per clip when there is no audio line or the clip cannot be decoded.
+ */
 public class SystemAudioPlayer implements AudioPlayer {
     private final AnkiMediaLocator ankiMediaLocator;
+    private final PlaybackEngine engine;
     private Process current;
 
     public SystemAudioPlayer(AnkiMediaLocator ankiMediaLocator) {
         this.ankiMediaLocator = ankiMediaLocator;
+        this.engine = PlaybackEngine.get();
     }
 
     @Override
@@ -38,6 +44,9 @@ public class SystemAudioPlayer implements AudioPlayer {
             }
             file = resolved;
         }
+        if (engine != null && engine.play(file)) {
+            return;
+        }
         String os = System.getProperty("os.name", "").toLowerCase();
         ProcessBuilder pb;
         if (os.contains("mac")) {
@@ -61,6 +70,9 @@ public class SystemAudioPlayer implements AudioPlayer {
 
     @Override
     public void stop() {
+        if (engine != null) {
+            engine.stop();
+        }
         if (current != null && current.isAlive()) {
             current.destroy();
             current = null;
@@ -3,8 +3,10 @@ module com.zhlearn.cli {
     requires com.zhlearn.infrastructure;
     requires com.zhlearn.application;
     requires io.helidon.config;
+    requires java.desktop;
     requires java.logging;
     requires java.net.http;
+    requires jdk.jfr;
     requires com.fasterxml.jackson.databind;
     requires org.fusesource.jansi;
     requires org.jsoup;
@@ -0,0 +1,21 @@
+package com.zhlearn.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LazyTest {
+
+    @Test
+    void shouldCreateValueOnFirstUseOnly() {
+        AtomicInteger created = new AtomicInteger();
+        Lazy<String> lazy = Lazy.of("bean", () -> "value-" + created.incrementAndGet());
+
+        assertThat(created).hasValue(0);
+        assertThat(lazy.get()).isEqualTo("value-1");
+        assertThat(lazy.get()).isEqualTo("value-1");
+        assertThat(created).hasValue(1);
+    }
+}
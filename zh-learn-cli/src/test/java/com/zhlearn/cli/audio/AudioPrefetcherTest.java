@@ -0,0 +1,93 @@
+package com.zhlearn.cli.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.zhlearn.application.audio.PronunciationCandidate;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+
+class AudioPrefetcherTest {
+
+    private static final Pinyin XING = new Pinyin("xíng");
+
+    private final List<String> prepared = new CopyOnWriteArrayList<>();
+
+    @Test
+    void shouldPrepareUpcomingWordsBeforeTheyAreTaken() {
+        AudioPrefetcher prefetcher =
+                new AudioPrefetcher(word -> XING, this::prepare, Runnable::run, 4);
+
+        Iterator<String> words =
+                prefetcher.feed(List.of("一", "二", "三", "四", "五").iterator(), Hanzi::new);
+
+        assertThat(prepared).containsExactly("一", "二", "三");
+        assertThat(words.next()).isEqualTo("一");
+        List<PronunciationCandidate> candidates = prefetcher.take(new Hanzi("一"), XING);
+        assertThat(candidates).extracting(PronunciationCandidate::description).containsExactly("一");
+        assertThat(prepared).containsExactly("一", "二", "三");
+    }
+
+    @Test
+    void shouldKeepEarlierWordsWhenTakenOutOfOrder() {
+        List<FutureTask<?>> started = new ArrayList<>();
+        AudioPrefetcher prefetcher =
+                new AudioPrefetcher(
+                        word -> XING, this::prepare, task -> started.add((FutureTask<?>) task), 4);
+        prefetcher.feed(List.of("一", "二", "三").iterator(), Hanzi::new);
+        started.get(2).run();
+
+        List<PronunciationCandidate> third = prefetcher.take(new Hanzi("三"), XING);
+        started.get(0).run();
+        List<PronunciationCandidate> first = prefetcher.take(new Hanzi("一"), XING);
+
+        assertThat(third).extracting(PronunciationCandidate::description).containsExactly("三");
+        assertThat(first).extracting(PronunciationCandidate::description).containsExactly("一");
+        assertThat(started.get(1).isCancelled()).isFalse();
+        assertThat(prepared).containsExactly("三", "一");
+
+        prefetcher.close();
+
+        assertThat(started.get(1).isCancelled()).isTrue();
+    }
+
+    @Test
+    void shouldPrepareAgainWhenPinyinDiffers() {
+        AudioPrefetcher prefetcher =
+                new AudioPrefetcher(word -> XING, this::prepare, Runnable::run, 4);
+        prefetcher.feed(List.of("行").iterator(), Hanzi::new);
+
+        List<PronunciationCandidate> candidates =
+                prefetcher.take(new Hanzi("行"), new Pinyin("háng"));
+
+        assertThat(candidates).extracting(PronunciationCandidate::label).containsExactly("háng");
+        assertThat(prepared).containsExactly("行", "行");
+    }
+
+    @Test
+    void shouldWidenWindowForFastUsersAndNarrowItForSlowOnes() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+
+        assertThat(AudioPrefetcher.window(0, 0, 4)).isEqualTo(2);
+        assertThat(AudioPrefetcher.window(3 * second, second, 4)).isEqualTo(3);
+        assertThat(AudioPrefetcher.window(10 * second, second, 4)).isEqualTo(4);
+        assertThat(AudioPrefetcher.window(second, 20 * second, 4)).isEqualTo(1);
+        assertThat(AudioPrefetcher.window(3 * second, second, 0)).isZero();
+    }
+
+    private List<PronunciationCandidate> prepare(Hanzi word, Pinyin pinyin) {
+        prepared.add(word.characters());
+        return List.of(
+                new PronunciationCandidate(
+                        pinyin.pinyin(), Path.of(word.characters() + ".mp3"), word.characters()));
+    }
+}
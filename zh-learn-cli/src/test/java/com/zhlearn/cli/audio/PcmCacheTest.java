@@ -0,0 +1,42 @@
+package com.zhlearn.cli.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.junit.jupiter.api.Test;
+
+import com.zhlearn.infrastructure.audio.PcmDecoder.Pcm;
+
+class PcmCacheTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(44100, 16, 1, true, false);
+
+    @Test
+    void shouldEvictLeastRecentlyPlayedClipsBeyondBudget() {
+        PcmCache cache = new PcmCache(100);
+        Pcm first = new Pcm(FORMAT, new byte[40]);
+        Pcm second = new Pcm(FORMAT, new byte[40]);
+        cache.put(Path.of("first.mp3"), first);
+        cache.put(Path.of("second.mp3"), second);
+        cache.get(Path.of("first.mp3"));
+
+        cache.put(Path.of("third.mp3"), new Pcm(FORMAT, new byte[40]));
+
+        assertThat(cache.get(Path.of("first.mp3"))).isSameAs(first);
+        assertThat(cache.get(Path.of("second.mp3"))).isNull();
+        assertThat(cache.bytes()).isEqualTo(80);
+    }
+
+    @Test
+    void shouldKeepClipLargerThanBudgetUntilTheNextOne() {
+        PcmCache cache = new PcmCache(10);
+        Pcm large = new Pcm(FORMAT, new byte[40]);
+
+        cache.put(Path.of("large.mp3"), large);
+
+        assertThat(cache.get(Path.of("large.mp3"))).isSameAs(large);
+    }
+}
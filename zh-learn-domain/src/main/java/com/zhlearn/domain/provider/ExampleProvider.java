@@ -1,6 +1,7 @@
 package com.zhlearn.domain.provider;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.zhlearn.domain.model.Example;
 import com.zhlearn.domain.model.Hanzi;
@@ -14,4 +15,14 @@ public interface ExampleProvider {
     ProviderType getType();
 
     Example getExamples(Hanzi word, Optional<String> definition);
+
+    /**
+     * Like {@link #getExamples(Hanzi, Optional)}, reporting the examples parsed so far to {@code
+     * partialExamples} while the provider is still producing them. Providers that cannot report
+     * partial results only return the complete examples.
+     */
+    default Example getExamples(
+            Hanzi word, Optional<String> definition, Consumer<Example> partialExamples) {
+        return getExamples(word, definition);
+    }
 }
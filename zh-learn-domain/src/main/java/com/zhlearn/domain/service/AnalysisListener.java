@@ -0,0 +1,29 @@
+package com.zhlearn.domain.service;
+
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.StructuralDecomposition;
+
+/**
+ * Receives the parts of a word analysis as they complete, before the whole analysis is available.
+ * Callbacks may arrive in any order and on any thread.
+ */
+public interface AnalysisListener {
+
+    AnalysisListener NONE = new AnalysisListener() {};
+
+    default void onPinyin(Pinyin pinyin) {}
+
+    default void onDefinition(Definition definition) {}
+
+    default void onStructuralDecomposition(StructuralDecomposition decomposition) {}
+
+    /** Examples parsed so far; each call covers everything reported before it. */
+    default void onPartialExamples(Example examples) {}
+
+    default void onExamples(Example examples) {}
+
+    default void onExplanation(Explanation explanation) {}
+}
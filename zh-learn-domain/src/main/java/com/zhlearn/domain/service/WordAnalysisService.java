@@ -2,6 +2,7 @@ package com.zhlearn.domain.service;
 
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.zhlearn.domain.model.*;
 import com.zhlearn.domain.model.ProviderConfiguration;
@@ -17,6 +18,12 @@ public interface WordAnalysisService {
 
     Example getExamples(Hanzi word, String providerName, String definition);
 
+    /** Like {@link #getExamples(Hanzi, String, String)}, reporting partial examples on the way. */
+    default Example getExamples(
+            Hanzi word, String providerName, String definition, Consumer<Example> partialExamples) {
+        return getExamples(word, providerName, definition);
+    }
+
     Explanation getExplanation(Hanzi word, String providerName);
 
     Optional<Path> getPronunciation(Hanzi word, Pinyin pinyin, String providerName);
@@ -24,4 +31,19 @@ public interface WordAnalysisService {
     WordAnalysis getCompleteAnalysis(Hanzi word, String providerName);
 
     WordAnalysis getCompleteAnalysis(Hanzi word, ProviderConfiguration config);
+
+    /**
+     * Like {@link #getCompleteAnalysis(Hanzi, ProviderConfiguration)}, reporting each part to
+     * {@code listener} as soon as it is available.
+     */
+    default WordAnalysis getCompleteAnalysis(
+            Hanzi word, ProviderConfiguration config, AnalysisListener listener) {
+        WordAnalysis analysis = getCompleteAnalysis(word, config);
+        listener.onPinyin(analysis.pinyin());
+        listener.onDefinition(analysis.definition());
+        listener.onStructuralDecomposition(analysis.structuralDecomposition());
+        listener.onExamples(analysis.examples());
+        listener.onExplanation(analysis.explanation());
+        return analysis;
+    }
 }
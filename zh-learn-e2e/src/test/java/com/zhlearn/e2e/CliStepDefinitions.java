@@ -1,10 +1,15 @@
 package com.zhlearn.e2e;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -14,6 +19,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
 
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
 import com.zhlearn.infrastructure.anki.AnkiNote;
 import com.zhlearn.infrastructure.anki.AnkiNoteParser;
 
@@ -311,6 +317,41 @@ public class CliStepDefinitions {
         stderr = stderrBuilder.toString();
     }
 
+    @Given("a parse-pleco run with parameters {string} was interrupted after {int} word(s)")
+    public void aParsePlecoRunWasInterruptedAfterWords(String parameters, int words)
+            throws IOException, InterruptedException {
+        // --limit is not part of the result store fingerprint, so a limited run leaves the store
+        // exactly as an interrupted run on the same file and providers would
+        iRunParsePlecoWithParameters(parameters + " --limit=" + words);
+        theExitCodeShouldBe(0);
+        // Without the response cache a word that is analyzed again has to reach the providers
+        deleteRecursively(tempHomeDir.resolve(".zh-learn").resolve("cache"));
+        assertThat(WireMockHooks.isActive())
+                .as("Resuming is verified through the WireMock request journal")
+                .isTrue();
+        WireMockHooks.getServer().getServer().resetRequests();
+    }
+
+    @Then("provider requests should mention {string}")
+    public void providerRequestsShouldMention(String word) {
+        assertThat(providerRequestsMentioning(word))
+                .as("Providers should have been asked about '%s'", word)
+                .isNotEmpty();
+    }
+
+    @Then("no provider request should mention {string}")
+    public void noProviderRequestShouldMention(String word) {
+        assertThat(providerRequestsMentioning(word))
+                .as("Providers should not have been asked about '%s' again", word)
+                .isEmpty();
+    }
+
+    private static List<LoggedRequest> providerRequestsMentioning(String word) {
+        return WireMockHooks.getServer()
+                .getServer()
+                .findAll(anyRequestedFor(anyUrl()).withRequestBody(containing(word)));
+    }
+
     @Then("the Anki export file should exist")
     public void theAnkiExportFileShouldExist() {
         assertThat(ankiExportFile)
@@ -749,20 +790,118 @@ public class CliStepDefinitions {
         }
     }
 
+    @Given("I have an audio cache with index:")
+    public void iHaveAnAudioCacheWithIndex(String indexContent) throws IOException {
+        tempHomeDir = Files.createTempDirectory("zh-learn-e2e-test");
+        Path audioDir = audioCacheDir();
+        Files.createDirectories(audioDir);
+        Files.writeString(audioDir.resolve("index.tsv"), indexContent, StandardCharsets.UTF_8);
+    }
+
+    @Given("the audio cache contains the clip {string}")
+    public void theAudioCacheContainsTheClip(String clip) throws IOException {
+        Path file = audioCacheDir().resolve(clip);
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[] {1, 2, 3, 4});
+    }
+
+    @When("I run audio gc with parameters {string}")
+    public void iRunAudioGcWithParameters(String parameters)
+            throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>(List.of("audio", "gc"));
+        if (!parameters.isBlank()) {
+            arguments.addAll(List.of(parameters.trim().split("\\s+")));
+        }
+        runCliInTempHome(arguments);
+    }
+
+    @Then("the audio cache should contain the clip {string}")
+    public void theAudioCacheShouldContainTheClip(String clip) {
+        assertThat(audioCacheDir().resolve(clip))
+                .as("Clip %s should have been kept", clip)
+                .exists();
+    }
+
+    @Then("the audio cache should not contain the clip {string}")
+    public void theAudioCacheShouldNotContainTheClip(String clip) {
+        assertThat(audioCacheDir().resolve(clip))
+                .as("Clip %s should have been deleted", clip)
+                .doesNotExist();
+    }
+
+    private Path audioCacheDir() {
+        return tempHomeDir.resolve(".zh-learn").resolve("audio");
+    }
+
+    /** Runs the CLI with {@code user.home} in the scenario's temp directory. */
+    private void runCliInTempHome(List<String> arguments) throws IOException, InterruptedException {
+        Path projectRoot = Paths.get(System.getProperty("user.dir")).getParent();
+        List<String> command = new ArrayList<>();
+        command.add(projectRoot.resolve("zh-learn.sh").toString());
+        command.addAll(arguments);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.directory(projectRoot.toFile());
+        processBuilder.environment().put("JAVA_OPTS", "-Duser.home=" + tempHomeDir.toString());
+        processBuilder.environment().putAll(WireMockHooks.getBaseUrlOverrides());
+
+        Process process = processBuilder.start();
+
+        StringBuilder stdoutBuilder = new StringBuilder();
+        StringBuilder stderrBuilder = new StringBuilder();
+        Thread stdoutThread = copyLines(process.getInputStream(), System.out, stdoutBuilder);
+        Thread stderrThread = copyLines(process.getErrorStream(), System.err, stderrBuilder);
+
+        exitCode = process.waitFor();
+
+        stdoutThread.join();
+        stderrThread.join();
+
+        stdout = stdoutBuilder.toString();
+        stderr = stderrBuilder.toString();
+    }
+
+    private static Thread copyLines(InputStream in, PrintStream echo, StringBuilder lines) {
+        Thread thread =
+                new Thread(
+                        () -> {
+                            try (BufferedReader reader =
+                                    new BufferedReader(
+                                            new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                                String line;
+                                while ((line = reader.readLine()) != null) {
+                                    echo.println(line);
+                                    lines.append(line).append("\n");
+                                }
+                            } catch (IOException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        thread.start();
+        return thread;
+    }
+
     @After
     public void cleanup() throws IOException {
-        if (tempHomeDir != null && Files.exists(tempHomeDir)) {
-            try (Stream<Path> paths = Files.walk(tempHomeDir)) {
-                paths.sorted(Comparator.reverseOrder())
-                        .forEach(
-                                path -> {
-                                    try {
-                                        Files.delete(path);
-                                    } catch (IOException e) {
-                                        // Ignore cleanup errors
-                                    }
-                                });
-            }
+        if (tempHomeDir != null) {
+            deleteRecursively(tempHomeDir);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(
+                            path -> {
+                                try {
+                                    Files.delete(path);
+                                } catch (IOException e) {
+                                    // Ignore cleanup errors
+                                }
+                            });
         }
     }
 
@@ -0,0 +1,31 @@
+Feature: Audio Garbage Collection
+  As a CLI user
+  I want to clean up the audio cache
+  So that clips no longer referenced by the audio index stop taking disk space
+
+  Scenario: Removing clips the audio index does not reference
+    Given I have an audio cache with index:
+      """
+      forvo	0123456789	forvo_学习_user_0123456789.mp3
+      forvo	ABCDEF0123	forvo_书_user_ABCDEF0123.mp3
+      """
+    And the audio cache contains the clip "forvo/forvo_学习_user_0123456789.mp3"
+    And the audio cache contains the clip "forvo/forvo_秽_user_9876543210.mp3"
+    When I run audio gc with parameters ""
+    Then the exit code should be 0
+    And the output should contain "Removed 1 orphaned files (0 KiB) and 1 stale index entries; 1 clips kept"
+    And the audio cache should contain the clip "forvo/forvo_学习_user_0123456789.mp3"
+    And the audio cache should not contain the clip "forvo/forvo_秽_user_9876543210.mp3"
+
+  Scenario: Reporting what would be removed without deleting anything
+    Given I have an audio cache with index:
+      """
+      forvo	0123456789	forvo_学习_user_0123456789.mp3
+      """
+    And the audio cache contains the clip "forvo/forvo_学习_user_0123456789.mp3"
+    And the audio cache contains the clip "forvo/forvo_秽_user_9876543210.mp3"
+    When I run audio gc with parameters "--dry-run"
+    Then the exit code should be 0
+    And the output should contain "Would remove 1 orphaned files (0 KiB) and 0 stale index entries; 1 clips kept"
+    And the audio cache should contain the clip "forvo/forvo_学习_user_0123456789.mp3"
+    And the audio cache should contain the clip "forvo/forvo_秽_user_9876543210.mp3"
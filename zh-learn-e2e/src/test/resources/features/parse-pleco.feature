@@ -44,3 +44,18 @@ Feature: Parse Pleco Command
     And the definition field of "交通拥堵费" should not contain "[No definition available"
     And the definition field of "学习" should not be empty
     And the definition field of "学习" should not contain "[No definition available"
+
+  Scenario: Resuming an interrupted run does not analyze finished words again
+    Given I have a Pleco export file with content:
+      """
+      秽	hui4	(orig.) to be overrun with weeds → weeds ⇒ dirty, filthy => debauchery
+      液态	ye4tai4	noun liquid state; liquidness
+      """
+    And a parse-pleco run with parameters "--explanation-provider=openrouter --definition-formatter-provider=openrouter --example-provider=openrouter --decomposition-provider=openrouter --model=google/gemini-2.5-flash-lite-preview-09-2025 --skip-audio" was interrupted after 1 word
+    When I run parse-pleco with parameters "--explanation-provider=openrouter --definition-formatter-provider=openrouter --example-provider=openrouter --decomposition-provider=openrouter --model=google/gemini-2.5-flash-lite-preview-09-2025 --skip-audio --resume"
+    Then the exit code should be 0
+    And the output should contain "Resuming: 1 words already finished"
+    And no provider request should mention "秽"
+    And provider requests should mention "液态"
+    And the definition of "秽" should be "(orig.) to be overrun with weeds → weeds ⇒ dirty, filthy => debauchery"
+    And the definition field of "液态" should not be empty
@@ -0,0 +1,268 @@
+package com.zhlearn.infrastructure.anki;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parsed Anki collection export (Chinese.txt) backed by a binary snapshot stored next to it ({@code
+ * Chinese.txt.snapshot}). The snapshot holds the parsed notes and the pinyin to pronunciation
+ * index, and is memory-mapped on load; the notes are only decoded when asked for. It is rebuilt
+ * when it was written by another snapshot format version, or when the export's size or modification
+ * time changes and its content hash no longer matches. A truncated or otherwise corrupt snapshot is
+ * reported as an error rather than rebuilt, as is failing to write one.
+ */
+public final class AnkiCollectionSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(AnkiCollectionSnapshot.class);
+
+    static final String SUFFIX = ".snapshot";
+    private static final int MAGIC = 0x5A48414E;
+    private static final int VERSION = 1;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_LENGTH = 4 + 4 + 8 + 8 + HASH_LENGTH;
+
+    private final Map<String, String> pronunciations;
+    private final ByteBuffer noteSection;
+    private List<AnkiNote> notes;
+
+    private AnkiCollectionSnapshot(
+            Map<String, String> pronunciations, ByteBuffer noteSection, List<AnkiNote> notes) {
+        this.pronunciations = pronunciations;
+        this.noteSection = noteSection;
+        this.notes = notes;
+    }
+
+    /**
+     * Loads the export through its snapshot, rebuilding the snapshot first if it is stale.
+     *
+     * @throws IOException if the snapshot is corrupt or cannot be written
+     */
+    public static AnkiCollectionSnapshot load(Path export) throws IOException {
+        Path snapshot = snapshotPath(export);
+        long size = Files.size(export);
+        long modified = Files.getLastModifiedTime(export).toMillis();
+        if (Files.exists(snapshot)) {
+            AnkiCollectionSnapshot current = read(snapshot, export, size, modified);
+            if (current != null) {
+                return current;
+            }
+        }
+        log.debug("Building Anki snapshot for {}", export);
+        List<AnkiNote> notes = new AnkiNoteParser().parseFile(export);
+        Map<String, String> pronunciations = pronunciationIndex(notes);
+        write(snapshot, size, modified, hash(export), notes, pronunciations);
+        return new AnkiCollectionSnapshot(pronunciations, null, notes);
+    }
+
+    /** Notes of the export, in file order. */
+    public synchronized List<AnkiNote> notes() {
+        if (notes == null) {
+            notes = decodeNotes();
+        }
+        return notes;
+    }
+
+    private List<AnkiNote> decodeNotes() {
+        try {
+            ByteBuffer buffer = noteSection.duplicate();
+            int count = buffer.getInt();
+            List<AnkiNote> decoded = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                decoded.add(
+                        new AnkiNote(
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer),
+                                string(buffer)));
+            }
+            return Collections.unmodifiableList(decoded);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Anki snapshot is truncated in its note section", e);
+        }
+    }
+
+    /** Sound notation of the first note with a usable pronunciation, by normalized pinyin. */
+    public Map<String, String> pronunciations() {
+        return pronunciations;
+    }
+
+    static Path snapshotPath(Path export) {
+        return export.resolveSibling(export.getFileName() + SUFFIX);
+    }
+
+    static Map<String, String> pronunciationIndex(List<AnkiNote> notes) {
+        Map<String, String> index = new LinkedHashMap<>();
+        for (AnkiNote note : notes) {
+            String pinyin = AnkiPronunciationProvider.normalizePinyin(note.pinyin());
+            String sound = note.pronunciation() == null ? "" : note.pronunciation().trim();
+            if (!pinyin.isEmpty()
+                    && !sound.isEmpty()
+                    && AnkiPronunciationProvider.extractFileName(sound).isPresent()) {
+                index.putIfAbsent(pinyin, sound);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+
+    /**
+     * The snapshot if it still matches the export, null if it has to be rebuilt.
+     *
+     * @throws IOException if the file is not a snapshot or is truncated
+     */
+    private static AnkiCollectionSnapshot read(Path snapshot, Path export, long size, long modified)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_LENGTH) {
+                throw corrupt(snapshot, "shorter than its header");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw corrupt(snapshot, "not a snapshot file");
+            }
+            if (buffer.getInt() != VERSION) {
+                return null;
+            }
+            long snapshotSize = buffer.getLong();
+            long snapshotModified = buffer.getLong();
+            byte[] snapshotHash = new byte[HASH_LENGTH];
+            buffer.get(snapshotHash);
+            if (snapshotSize != size || snapshotModified != modified) {
+                if (snapshotSize != size || !Arrays.equals(snapshotHash, hash(export))) {
+                    return null;
+                }
+                // Same content with a new timestamp: only the header needs refreshing
+                touch(snapshot, modified);
+            }
+            int count = buffer.getInt();
+            Map<String, String> pronunciations = new LinkedHashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                pronunciations.put(string(buffer), string(buffer));
+            }
+            return new AnkiCollectionSnapshot(
+                    Collections.unmodifiableMap(pronunciations), buffer.slice(), null);
+        } catch (BufferUnderflowException e) {
+            throw corrupt(snapshot, "truncated");
+        }
+    }
+
+    private static IOException corrupt(Path snapshot, String reason) {
+        return new IOException(
+                "Corrupt Anki snapshot " + snapshot + " (" + reason + "); delete it to rebuild it");
+    }
+
+    private static void write(
+            Path snapshot,
+            long size,
+            long modified,
+            byte[] hash,
+            List<AnkiNote> notes,
+            Map<String, String> pronunciations)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.write(hash);
+            out.writeInt(pronunciations.size());
+            for (Map.Entry<String, String> entry : pronunciations.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+            out.writeInt(notes.size());
+            for (AnkiNote note : notes) {
+                writeString(out, note.noteType());
+                writeString(out, note.pinyin());
+                writeString(out, note.simplified());
+                writeString(out, note.pronunciation());
+                writeString(out, note.definition());
+                writeString(out, note.examples());
+                writeString(out, note.etymology());
+                writeString(out, note.components());
+                writeString(out, note.similar());
+                writeString(out, note.passive());
+                writeString(out, note.alternatePronunciations());
+                writeString(out, note.noHearing());
+            }
+        }
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + "." + UUID.randomUUID());
+        try {
+            Files.write(temp, bytes.toByteArray());
+            Files.move(
+                    temp,
+                    snapshot,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void touch(Path snapshot, long modified) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(8).putLong(modified).flip();
+            channel.write(value, 4 + 4 + 8);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] utf8 = new byte[buffer.getInt()];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] hash(Path file) throws IOException {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 digest not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), md)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return md.digest();
+    }
+}
@@ -35,7 +35,6 @@ public class AnkiPronunciationProvider implements AudioProvider {
 
     public AnkiPronunciationProvider() {
         this.pinyinToPronunciation = new HashMap<>();
-        AnkiNoteParser parser = new AnkiNoteParser();
         Path exportPath = defaultExportPath();
         try {
             if (!Files.exists(exportPath)) {
@@ -48,8 +47,7 @@ public class AnkiPronunciationProvider implements AudioProvider {
                 }
                 return; // graceful: provider remains available but has no entries
             }
-            List<AnkiNote> notes = parser.parseFile(exportPath);
-            index(notes);
+            index(AnkiCollectionSnapshot.load(exportPath).pronunciations());
         } catch (IOException e) {
             log.warn(
                     "Failed to parse Anki export at {}: {}",
@@ -67,7 +65,7 @@ public class AnkiPronunciationProvider implements AudioProvider {
         this.pinyinToPronunciation = new HashMap<>();
         try {
             List<AnkiNote> notes = parser.parseFile(collectionPath);
-            index(notes);
+            index(AnkiCollectionSnapshot.pronunciationIndex(notes));
         } catch (IOException e) {
             throw new IllegalStateException(
                     "Failed to parse Anki collection: " + e.getMessage(), e);
@@ -76,7 +74,7 @@ public class AnkiPronunciationProvider implements AudioProvider {
 
     public AnkiPronunciationProvider(List<AnkiNote> notes) {
         this.pinyinToPronunciation = new HashMap<>();
-        index(notes);
+        index(AnkiCollectionSnapshot.pronunciationIndex(notes));
     }
 
     public static AnkiPronunciationProvider fromString(String tsvContent) {
@@ -89,15 +87,11 @@ public class AnkiPronunciationProvider implements AudioProvider {
         }
     }
 
-    private void index(List<AnkiNote> notes) {
-        for (AnkiNote n : notes) {
-            String p = normalizePinyin(safe(n.pinyin()));
-            String pron = safe(n.pronunciation());
-            if (!p.isEmpty() && !pron.isEmpty()) {
-                resolvePronunciationPath(pron)
-                        .ifPresent(path -> pinyinToPronunciation.putIfAbsent(p, path));
-            }
-        }
+    private void index(Map<String, String> soundByPinyin) {
+        soundByPinyin.forEach(
+                (pinyin, sound) ->
+                        resolvePronunciationPath(sound)
+                                .ifPresent(path -> pinyinToPronunciation.put(pinyin, path)));
     }
 
     @Override
@@ -158,11 +152,7 @@ public class AnkiPronunciationProvider implements AudioProvider {
         return Optional.ofNullable(result);
     }
 
-    private static String safe(String s) {
-        return s == null ? "" : s.trim();
-    }
-
-    private static String normalizePinyin(String s) {
+    static String normalizePinyin(String s) {
         if (s == null) return "";
         String t = s.trim();
         return Normalizer.normalize(t, Normalizer.Form.NFC);
@@ -186,7 +176,7 @@ public class AnkiPronunciationProvider implements AudioProvider {
         return Optional.of(rawPath.toAbsolutePath());
     }
 
-    private static Optional<String> extractFileName(String soundNotation) {
+    static Optional<String> extractFileName(String soundNotation) {
         int colon = soundNotation.indexOf(':');
         int close = soundNotation.indexOf(']');
         if (colon >= 0 && close > colon) {
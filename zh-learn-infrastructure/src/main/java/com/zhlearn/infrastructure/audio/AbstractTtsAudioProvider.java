@@ -1,19 +1,15 @@
 package com.zhlearn.infrastructure.audio;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HexFormat;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,49 +18,76 @@ import com.zhlearn.domain.exception.UnrecoverableProviderException;
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.provider.AudioProvider;
+import com.zhlearn.infrastructure.common.CheckedExceptionWrapper;
+import com.zhlearn.infrastructure.jfr.TraceContext;
+import com.zhlearn.infrastructure.jfr.TtsVoiceEvent;
+import com.zhlearn.infrastructure.metrics.Metrics;
+import com.zhlearn.infrastructure.metrics.Stage;
 
 /**
  * Abstract base class for TTS (text-to-speech) audio providers. Consolidates common logic for
  * caching, parallel processing, and audio normalization. Subclasses implement provider-specific
  * synthesis logic.
+ *
+ * <p>A voice goes through three stages: the API call, fetching the audio when the API only returns
+ * a link, and normalizing it into the cache. With {@link TtsStages} the stages are pipelined, each
+ * on its own executor; without, voices are synthesized one after another on the calling thread.
  */
 public abstract class AbstractTtsAudioProvider implements AudioProvider {
     private static final Logger log = LoggerFactory.getLogger(AbstractTtsAudioProvider.class);
 
     protected final AudioCache audioCache;
     protected final AudioPaths audioPaths;
-    protected final ExecutorService executorService;
+    protected final TtsStages stages;
 
     protected AbstractTtsAudioProvider(
-            AudioCache audioCache, AudioPaths audioPaths, ExecutorService executorService) {
+            AudioCache audioCache, AudioPaths audioPaths, TtsStages stages) {
         this.audioCache = Objects.requireNonNull(audioCache, "audioCache");
         this.audioPaths = Objects.requireNonNull(audioPaths, "audioPaths");
-        this.executorService = executorService;
+        this.stages = stages;
     }
 
     /** Return the list of voice names this provider supports. */
     protected abstract List<String> getVoices();
 
     /**
-     * Synthesize audio for a specific voice and text. Returns a Path to a temporary audio file that
-     * will be normalized and cleaned up automatically.
+     * API stage: ask the provider to synthesize a voice. Providers answering with the audio write
+     * it to a temporary file and return {@link Synthesis.Ready}; providers answering with a link
+     * return {@link Synthesis.Remote}, downloaded by {@link #fetchVoice(URI)}.
      *
      * @param voice the voice name
      * @param text the text to synthesize
-     * @return Path to temporary audio file
      * @throws IOException if synthesis fails
      * @throws InterruptedException if interrupted
      * @throws UnrecoverableProviderException if the provider encounters an unrecoverable error
      */
-    protected abstract Path synthesizeVoice(String voice, String text)
+    protected abstract Synthesis synthesizeVoice(String voice, String text)
             throws IOException, InterruptedException, UnrecoverableProviderException;
 
+    /**
+     * Fetch stage: download audio the API stage linked to into a temporary file, which is deleted
+     * after normalization.
+     */
+    protected Path fetchVoice(URI url) throws IOException, InterruptedException {
+        throw new IllegalStateException(getName() + " does not return remote audio");
+    }
+
     /** Format a human-readable description for a voice. */
     protected abstract String formatDescription(String voice);
 
     /** Generate a cache key for this word/pinyin/voice combination. */
     protected abstract String cacheKey(Hanzi word, Pinyin pinyin, String voice);
 
+    /** Outcome of {@link #synthesizeVoice(String, String)}. */
+    protected sealed interface Synthesis {
+
+        /** Audio already in a temporary file. */
+        record Ready(Path file) implements Synthesis {}
+
+        /** Audio to be fetched from {@code url}. */
+        record Remote(URI url) implements Synthesis {}
+    }
+
     @Override
     public Optional<Path> getPronunciation(Hanzi word, Pinyin pinyin) {
         List<Path> pronunciations = getPronunciations(word, pinyin);
@@ -78,25 +101,14 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
     public List<Path> getPronunciations(Hanzi word, Pinyin pinyin) {
         List<Path> results = new ArrayList<>();
         for (String voice : getVoices()) {
-            Path cached = cachedPath(word, pinyin, voice);
-            if (Files.exists(cached)) {
-                results.add(cached.toAbsolutePath());
+            Optional<Path> cached = findCached(word, pinyin, voice);
+            if (cached.isPresent()) {
+                results.add(cached.get());
                 continue;
             }
             try {
-                Path tempFile = synthesizeVoice(voice, word.characters());
-                try {
-                    Path normalized =
-                            audioCache.ensureCachedNormalized(
-                                    tempFile,
-                                    getName(),
-                                    word.characters(),
-                                    voice,
-                                    cacheKey(word, pinyin, voice));
-                    results.add(normalized);
-                } finally {
-                    Files.deleteIfExists(tempFile);
-                }
+                Path audio = fetch(synthesize(voice, word.characters()));
+                results.add(normalize(audio, voice, word, pinyin));
             } catch (UnrecoverableProviderException e) {
                 log.warn(
                         "[{}] Skipping voice '{}' for '{}': {}",
@@ -127,9 +139,10 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
                 getVoices().size());
 
         List<PronunciationDescription> results;
-        if (executorService != null) {
-            log.debug("[{}] Using parallel voice synthesis for '{}'", getName(), word.characters());
-            results = synthesizeParallel(word, pinyin);
+        if (stages != null) {
+            log.debug(
+                    "[{}] Using pipelined voice synthesis for '{}'", getName(), word.characters());
+            results = synthesizePipelined(word, pinyin);
         } else {
             log.debug(
                     "[{}] Using sequential voice synthesis for '{}'", getName(), word.characters());
@@ -146,40 +159,119 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
         return results;
     }
 
-    private List<PronunciationDescription> synthesizeParallel(Hanzi word, Pinyin pinyin) {
+    private List<PronunciationDescription> synthesizePipelined(Hanzi word, Pinyin pinyin) {
+        List<String> voices = getVoices();
         List<CompletableFuture<PronunciationDescription>> voiceFutures =
-                getVoices().stream()
-                        .map(
-                                voice ->
-                                        CompletableFuture.supplyAsync(
-                                                () -> {
-                                                    try {
-                                                        return downloadVoiceDescription(
-                                                                voice, word, pinyin);
-                                                    } catch (UnrecoverableProviderException e) {
-                                                        log.warn(
-                                                                "[{}] Skipping voice '{}' for '{}': {}",
-                                                                getName(),
-                                                                voice,
-                                                                word.characters(),
-                                                                e.getMessage());
-                                                        return null;
-                                                    } catch (IOException | InterruptedException e) {
-                                                        throw new RuntimeException(
-                                                                "Failed to download voice "
-                                                                        + voice
-                                                                        + " for "
-                                                                        + word.characters(),
-                                                                e);
-                                                    }
-                                                })) // Use ForkJoinPool.commonPool() to avoid
-                        // deadlock
-                        .toList();
-
-        return voiceFutures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+                voices.stream().map(voice -> pipeline(voice, word, pinyin)).toList();
+
+        List<PronunciationDescription> results = new ArrayList<>();
+        for (int i = 0; i < voices.size(); i++) {
+            String voice = voices.get(i);
+            try {
+                results.add(voiceFutures.get(i).join());
+            } catch (CompletionException e) {
+                if (!(e.getCause() instanceof CheckedExceptionWrapper wrapper)) {
+                    throw e;
+                }
+                try {
+                    wrapper.unwrap();
+                } catch (UnrecoverableProviderException skipped) {
+                    log.warn(
+                            "[{}] Skipping voice '{}' for '{}': {}",
+                            getName(),
+                            voice,
+                            word.characters(),
+                            skipped.getMessage());
+                } catch (IOException | InterruptedException failed) {
+                    throw new RuntimeException(
+                            "Failed to download voice " + voice + " for " + word.characters(),
+                            failed);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * One voice through the stages: the API call, then the fetch and normalize stages with their
+     * own bounds, so the API stage is free for the next request as soon as a response arrives.
+     */
+    private CompletableFuture<PronunciationDescription> pipeline(
+            String voice, Hanzi word, Pinyin pinyin) {
+        TtsVoiceEvent event = new TtsVoiceEvent();
+        event.begin();
+        Optional<Path> cached = findCached(word, pinyin, voice);
+        if (cached.isPresent()) {
+            commit(event, voice, word, TtsVoiceEvent.CACHED);
+            return CompletableFuture.completedFuture(
+                    new PronunciationDescription(cached.get(), formatDescription(voice)));
+        }
+        return CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return synthesize(voice, word.characters());
+                            } catch (IOException e) {
+                                throw CheckedExceptionWrapper.wrap(e);
+                            } catch (InterruptedException e) {
+                                throw CheckedExceptionWrapper.wrap(e);
+                            } catch (UnrecoverableProviderException e) {
+                                throw CheckedExceptionWrapper.wrap(e);
+                            }
+                        },
+                        stages.api())
+                .thenCompose(
+                        synthesis ->
+                                switch (synthesis) {
+                                    case Synthesis.Ready ready ->
+                                            CompletableFuture.completedFuture(ready.file());
+                                    case Synthesis.Remote remote ->
+                                            CompletableFuture.supplyAsync(
+                                                    () -> {
+                                                        try {
+                                                            return download(remote.url());
+                                                        } catch (IOException e) {
+                                                            throw CheckedExceptionWrapper.wrap(e);
+                                                        } catch (InterruptedException e) {
+                                                            throw CheckedExceptionWrapper.wrap(e);
+                                                        }
+                                                    },
+                                                    stages.fetch());
+                                })
+                .thenApplyAsync(
+                        audio -> {
+                            try {
+                                return new PronunciationDescription(
+                                        normalize(audio, voice, word, pinyin),
+                                        formatDescription(voice));
+                            } catch (IOException e) {
+                                throw CheckedExceptionWrapper.wrap(e);
+                            } catch (InterruptedException e) {
+                                throw CheckedExceptionWrapper.wrap(e);
+                            }
+                        },
+                        stages.normalize())
+                .whenComplete(
+                        (description, failure) -> commit(event, voice, word, outcomeOf(failure)));
+    }
+
+    private static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return TtsVoiceEvent.SYNTHESIZED;
+        }
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause instanceof CheckedExceptionWrapper wrapper
+                && wrapper.getCause() instanceof UnrecoverableProviderException) {
+            return TtsVoiceEvent.SKIPPED;
+        }
+        return TtsVoiceEvent.FAILED;
+    }
+
+    private void commit(TtsVoiceEvent event, String voice, Hanzi word, String outcome) {
+        event.word = word.characters();
+        event.provider = getName();
+        event.voice = voice;
+        event.outcome = outcome;
+        event.commit();
     }
 
     private List<PronunciationDescription> synthesizeSequential(Hanzi word, Pinyin pinyin) {
@@ -206,11 +298,27 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
     private PronunciationDescription downloadVoiceDescription(
             String voice, Hanzi word, Pinyin pinyin)
             throws IOException, InterruptedException, UnrecoverableProviderException {
+        TtsVoiceEvent event = new TtsVoiceEvent();
+        event.begin();
+        event.outcome = TtsVoiceEvent.FAILED;
+        try {
+            return voiceDescription(voice, word, pinyin, event);
+        } catch (UnrecoverableProviderException e) {
+            event.outcome = TtsVoiceEvent.SKIPPED;
+            throw e;
+        } finally {
+            commit(event, voice, word, event.outcome);
+        }
+    }
+
+    private PronunciationDescription voiceDescription(
+            String voice, Hanzi word, Pinyin pinyin, TtsVoiceEvent event)
+            throws IOException, InterruptedException, UnrecoverableProviderException {
         long startTime = System.currentTimeMillis();
         log.debug("[{}] Processing voice '{}' for '{}'", getName(), voice, word.characters());
 
-        Path cached = cachedPath(word, pinyin, voice);
-        if (Files.exists(cached)) {
+        Optional<Path> cached = findCached(word, pinyin, voice);
+        if (cached.isPresent()) {
             long duration = System.currentTimeMillis() - startTime;
             log.debug(
                     "[{}] Using cached audio for '{}' voice '{}' ({}ms)",
@@ -219,39 +327,88 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
                     voice,
                     duration);
             String description = formatDescription(voice);
-            return new PronunciationDescription(cached.toAbsolutePath(), description);
+            event.outcome = TtsVoiceEvent.CACHED;
+            return new PronunciationDescription(cached.get(), description);
         }
 
         log.debug("[{}] Synthesizing voice '{}' for '{}'", getName(), voice, word.characters());
-        Path tempFile = synthesizeVoice(voice, word.characters());
+        Path audio = fetch(synthesize(voice, word.characters()));
+        Path normalized = normalize(audio, voice, word, pinyin);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.debug(
+                "[{}] Completed voice '{}' for '{}' in {}ms",
+                getName(),
+                voice,
+                word.characters(),
+                duration);
 
+        String description = formatDescription(voice);
+        event.outcome = TtsVoiceEvent.SYNTHESIZED;
+        return new PronunciationDescription(normalized, description);
+    }
+
+    private Path fetch(Synthesis synthesis) throws IOException, InterruptedException {
+        return switch (synthesis) {
+            case Synthesis.Ready ready -> ready.file();
+            case Synthesis.Remote remote -> download(remote.url());
+        };
+    }
+
+    private Optional<Path> findCached(Hanzi word, Pinyin pinyin, String voice) {
+        long start = System.nanoTime();
+        Optional<Path> cached = audioCache.find(getName(), cacheKey(word, pinyin, voice));
+        Metrics.recordLatency(
+                cached.isPresent() ? Stage.CACHE_HIT : Stage.CACHE_MISS,
+                getName(),
+                System.nanoTime() - start);
+        return cached;
+    }
+
+    private Synthesis synthesize(String voice, String text)
+            throws IOException, InterruptedException, UnrecoverableProviderException {
+        TraceContext previous = TraceContext.enter(text, getName());
+        try {
+            long start = System.nanoTime();
+            Synthesis synthesis = synthesizeVoice(voice, text);
+            Metrics.recordLatency(Stage.TTS_SYNTH, getName(), System.nanoTime() - start);
+            return synthesis;
+        } finally {
+            previous.restore();
+        }
+    }
+
+    private Path download(URI url) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        Path audio = fetchVoice(url);
+        Metrics.recordLatency(Stage.DOWNLOAD, getName(), System.nanoTime() - start);
+        return audio;
+    }
+
+    /** Normalize stage: put the clip into the cache and delete its temporary file. */
+    private Path normalize(Path audio, String voice, Hanzi word, Pinyin pinyin)
+            throws IOException, InterruptedException {
+        TraceContext previous = TraceContext.enter(word.characters(), getName());
         try {
             log.debug(
                     "[{}] Normalizing audio for '{}' voice '{}'",
                     getName(),
                     word.characters(),
                     voice);
+            long start = System.nanoTime();
             Path normalized =
                     audioCache.ensureCachedNormalized(
-                            tempFile,
+                            audio,
                             getName(),
                             word.characters(),
                             voice,
                             cacheKey(word, pinyin, voice));
-
-            long duration = System.currentTimeMillis() - startTime;
-            log.debug(
-                    "[{}] Completed voice '{}' for '{}' in {}ms",
-                    getName(),
-                    voice,
-                    word.characters(),
-                    duration);
-
-            String description = formatDescription(voice);
-            return new PronunciationDescription(normalized, description);
+            Metrics.recordLatency(Stage.NORMALIZE, getName(), System.nanoTime() - start);
+            return normalized;
         } finally {
+            previous.restore();
             try {
-                Files.deleteIfExists(tempFile);
+                Files.deleteIfExists(audio);
             } catch (IOException e) {
                 log.warn(
                         "[{}] Failed to delete temp file for '{}' voice '{}': {}",
@@ -263,27 +420,4 @@ public abstract class AbstractTtsAudioProvider implements AudioProvider {
             }
         }
     }
-
-    protected Path cachedPath(Hanzi word, Pinyin pinyin, String voice) {
-        String sourceId = cacheKey(word, pinyin, voice);
-        String base =
-                audioPaths.sanitize(getName())
-                        + "_"
-                        + audioPaths.sanitize(word.characters())
-                        + "_"
-                        + audioPaths.sanitize(voice);
-        String hash = shortHash(sourceId.getBytes(StandardCharsets.UTF_8));
-        String fileName = base + "_" + hash + ".mp3";
-        return audioPaths.audioDir().resolve(getName()).resolve(fileName);
-    }
-
-    protected static String shortHash(byte[] bytes) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] digest = md.digest(bytes);
-            return HexFormat.of().withUpperCase().formatHex(digest).substring(0, 10);
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-1 digest unavailable", e);
-        }
-    }
 }
@@ -1,75 +1,158 @@
 package com.zhlearn.infrastructure.audio;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
 
+/**
+ * Content-addressed store of normalized clips under {@link AudioPaths#audioDir()}. Clips are keyed
+ * by provider and a short digest of their source (a stable source id such as the remote URL, or the
+ * source bytes), looked up in an index loaded once on first use. Clips are written to a temporary
+ * file and moved into place, so a reader never sees a partial clip.
+ */
 public class AudioCache {
     private final AudioPaths audioPaths;
     private final AudioNormalizer audioNormalizer;
+    private AudioIndex index;
 
     public AudioCache(AudioPaths audioPaths, AudioNormalizer audioNormalizer) {
         this.audioPaths = audioPaths;
         this.audioNormalizer = audioNormalizer;
     }
 
+    /** The cached clip for this provider and source id, without touching the file system. */
+    public Optional<Path> find(String provider, String sourceId) {
+        return index().find(provider, digest(sourceId));
+    }
+
     /**
-     * Ensure a normalized MP3 exists in the cache for this source audio. Returns the target path.
-     * If a content-identical file already exists, normalization is skipped.
+     * Ensure a normalized clip exists in the cache for this source audio. Returns the target path,
+     * an MP3 unless it was normalized in process without ffmpeg, which gives a WAV. If a clip for
+     * the same source is already indexed, normalization is skipped.
      *
-     * @param src source audio file (mp3 or other; if null and sourceId used, method will no-op)
+     * @param src source audio file (mp3 or other)
      * @param provider provider label (e.g., "forvo")
      * @param hanzi the Chinese characters
      * @param pinyin pinyin with tone marks
-     * @param sourceId optional stable id (e.g., remote URL) to name files deterministically
+     * @param sourceId optional stable id (e.g., remote URL); the source bytes are hashed without it
      */
     public Path ensureCachedNormalized(
             Path src, String provider, String hanzi, String pinyin, String sourceId)
             throws IOException, InterruptedException {
-        String name = buildName(provider, hanzi, pinyin, src, sourceId);
-        Path target = audioPaths.audioDir().resolve(provider).resolve(name);
-        Files.createDirectories(target.getParent());
-
-        if (Files.exists(target)) return target.toAbsolutePath();
+        boolean hasSourceId = sourceId != null && !sourceId.isBlank();
+        if (!hasSourceId && (src == null || !Files.exists(src))) {
+            throw new IOException("Source audio missing for cache: " + src);
+        }
+        String digest = hasSourceId ? digest(sourceId) : contentDigest(src);
+        AudioIndex audioIndex = index();
+        Optional<Path> cached = audioIndex.find(provider, digest);
+        if (cached.isPresent() && Files.exists(cached.get())) {
+            return cached.get();
+        }
         if (src == null || !Files.exists(src)) {
-            throw new IOException(
-                    "Source audio missing for cache: " + src + " (target: " + target + ")");
+            throw new IOException("Source audio missing for cache: " + src);
+        }
+
+        Path dir = audioIndex.providerDir(provider);
+        Path temp = dir.resolve(AudioIndex.TEMP_PREFIX + UUID.randomUUID() + ".part");
+        Path target;
+        try {
+            String extension = audioNormalizer.normalize(src, temp);
+            target = dir.resolve(buildName(provider, hanzi, pinyin, digest, extension));
+            Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
         }
-        audioNormalizer.normalizeToMp3(src, target);
-        return target.toAbsolutePath();
+        audioIndex.add(provider, digest, target);
+        return target;
+    }
+
+    /**
+     * A new empty file to download source audio into. It sits next to the provider's clips, so
+     * moving it into the store never crosses file systems, and {@link #collectGarbage(boolean)}
+     * removes it if a crash leaves it behind.
+     */
+    public Path newDownloadFile(String provider) throws IOException {
+        return Files.createFile(
+                index().providerDir(provider)
+                        .resolve(AudioIndex.TEMP_PREFIX + UUID.randomUUID() + ".download"));
+    }
+
+    /** Removes clips the index does not reference and index entries whose clip is gone. */
+    public GcResult collectGarbage(boolean dryRun) throws IOException {
+        return index().collectGarbage(dryRun);
+    }
+
+    private synchronized AudioIndex index() {
+        if (index == null) {
+            try {
+                index = AudioIndex.load(audioPaths.audioDir());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to load audio index", e);
+            }
+        }
+        return index;
     }
 
     private String buildName(
-            String provider, String hanzi, String pinyin, Path src, String sourceId)
-            throws IOException {
-        String base =
-                audioPaths.sanitize(provider)
-                        + "_"
-                        + audioPaths.sanitize(hanzi)
-                        + "_"
-                        + audioPaths.sanitize(pinyin);
-        String hash = "";
-        if (sourceId != null && !sourceId.isBlank()) {
-            hash = shortHash(sourceId.getBytes(StandardCharsets.UTF_8));
-        } else if (src != null && Files.exists(src)) {
-            hash = shortHash(Files.readAllBytes(src));
+            String provider, String hanzi, String pinyin, String digest, String extension) {
+        return audioPaths.sanitize(provider)
+                + "_"
+                + audioPaths.sanitize(hanzi)
+                + "_"
+                + audioPaths.sanitize(pinyin)
+                + "_"
+                + digest
+                + "."
+                + extension;
+    }
+
+    private static String digest(String sourceId) {
+        return shortHex(sha1().digest(sourceId.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String contentDigest(Path src) throws IOException {
+        MessageDigest md = sha1();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(src), md)) {
+            in.transferTo(OutputStream.nullOutputStream());
         }
-        if (!hash.isEmpty()) base = base + "_" + hash;
-        return base + ".mp3";
+        return shortHex(md.digest());
     }
 
-    private String shortHash(byte[] bytes) {
+    private static MessageDigest sha1() {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] d = md.digest(bytes);
-            String hex = HexFormat.of().withUpperCase().formatHex(d);
-            return hex.substring(0, 10);
+            return MessageDigest.getInstance("SHA-1");
         } catch (NoSuchAlgorithmException e) {
             throw new IllegalStateException("SHA-1 digest not available", e);
         }
     }
+
+    private static String shortHex(byte[] digest) {
+        return HexFormat.of().withUpperCase().formatHex(digest).substring(0, 10);
+    }
+
+    /**
+     * Outcome of {@link #collectGarbage(boolean)}.
+     *
+     * @param keptClips clips still referenced by the index
+     * @param droppedEntries index entries removed because their clip was missing
+     * @param deletedFiles unreferenced files deleted (or that would be, on a dry run)
+     * @param freedBytes bytes taken by the deleted files
+     */
+    public record GcResult(int keptClips, int droppedEntries, int deletedFiles, long freedBytes) {}
 }
@@ -0,0 +1,194 @@
+package com.zhlearn.infrastructure.audio;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On-disk index of the audio store, mapping a provider and the short digest of a clip's source to
+ * the clip file. The index is read once and answered from memory afterwards; new clips are appended
+ * to it. A store without an index (one written before the index existed) is scanned once and the
+ * index written from the digests in the clip file names. An index with a malformed line is an
+ * error; it is not repaired by dropping the line.
+ */
+final class AudioIndex {
+    private static final Logger log = LoggerFactory.getLogger(AudioIndex.class);
+
+    static final String FILE_NAME = "index.tsv";
+    static final String TEMP_PREFIX = ".tmp-";
+    private static final Pattern DIGEST_SUFFIX = Pattern.compile(".+_([0-9A-F]{10})\\.(?:mp3|wav)");
+    private static final Duration STALE_TEMP_AGE = Duration.ofHours(1);
+
+    private final Path audioDir;
+    private final Path file;
+    private final Map<String, Path> entries = new ConcurrentHashMap<>();
+    private final Set<String> providerDirs = ConcurrentHashMap.newKeySet();
+
+    private AudioIndex(Path audioDir) {
+        this.audioDir = audioDir;
+        this.file = audioDir.resolve(FILE_NAME);
+    }
+
+    static AudioIndex load(Path audioDir) throws IOException {
+        AudioIndex index = new AudioIndex(audioDir);
+        if (Files.exists(index.file)) {
+            index.read();
+        } else {
+            index.scan();
+            index.rewrite(index.entries);
+        }
+        return index;
+    }
+
+    Optional<Path> find(String provider, String digest) {
+        return Optional.ofNullable(entries.get(key(provider, digest)));
+    }
+
+    /** The provider's clip directory, created on first use. */
+    Path providerDir(String provider) throws IOException {
+        Path dir = audioDir.resolve(provider);
+        if (!providerDirs.contains(provider)) {
+            Files.createDirectories(dir);
+            providerDirs.add(provider);
+        }
+        return dir;
+    }
+
+    synchronized void add(String provider, String digest, Path clip) throws IOException {
+        entries.put(key(provider, digest), clip);
+        Files.writeString(
+                file,
+                line(provider, digest, clip),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Drops entries whose clip is gone and deletes clips no entry points to, including temporary
+     * files left behind by interrupted writes. The index is compacted afterwards. Entries appended
+     * by other processes since this index was loaded are picked up first so their clips are kept.
+     */
+    synchronized AudioCache.GcResult collectGarbage(boolean dryRun) throws IOException {
+        if (Files.exists(file)) {
+            read();
+        }
+        Map<String, Path> kept = new HashMap<>();
+        int droppedEntries = 0;
+        for (Map.Entry<String, Path> entry : entries.entrySet()) {
+            if (Files.exists(entry.getValue())) {
+                kept.put(entry.getKey(), entry.getValue());
+            } else {
+                droppedEntries++;
+            }
+        }
+        Set<Path> referenced = new HashSet<>(kept.values());
+        Instant staleBefore = Instant.now().minus(STALE_TEMP_AGE);
+        int deletedFiles = 0;
+        long freedBytes = 0;
+        for (Path clip : clips()) {
+            if (referenced.contains(clip)) {
+                continue;
+            }
+            if (clip.getFileName().toString().startsWith(TEMP_PREFIX)
+                    && Files.getLastModifiedTime(clip).toInstant().isAfter(staleBefore)) {
+                continue;
+            }
+            freedBytes += Files.size(clip);
+            deletedFiles++;
+            if (!dryRun) {
+                Files.delete(clip);
+            }
+        }
+        if (!dryRun) {
+            entries.keySet().retainAll(kept.keySet());
+            rewrite(kept);
+        }
+        return new AudioCache.GcResult(kept.size(), droppedEntries, deletedFiles, freedBytes);
+    }
+
+    private void read() throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 3) {
+                throw new IOException(
+                        "Malformed audio index line " + (i + 1) + " in " + file + ": " + line);
+            }
+            entries.put(key(fields[0], fields[1]), audioDir.resolve(fields[0]).resolve(fields[2]));
+        }
+    }
+
+    private void scan() throws IOException {
+        try (DirectoryStream<Path> providers =
+                Files.newDirectoryStream(audioDir, Files::isDirectory)) {
+            for (Path providerDir : providers) {
+                String provider = providerDir.getFileName().toString();
+                try (DirectoryStream<Path> clips = Files.newDirectoryStream(providerDir)) {
+                    for (Path clip : clips) {
+                        Matcher matcher = DIGEST_SUFFIX.matcher(clip.getFileName().toString());
+                        if (matcher.matches()) {
+                            entries.put(key(provider, matcher.group(1)), clip);
+                        }
+                    }
+                }
+                providerDirs.add(provider);
+            }
+        }
+        log.debug("Indexed {} existing clips under {}", entries.size(), audioDir);
+    }
+
+    private List<Path> clips() throws IOException {
+        List<Path> clips = new ArrayList<>();
+        try (DirectoryStream<Path> providers =
+                Files.newDirectoryStream(audioDir, Files::isDirectory)) {
+            for (Path providerDir : providers) {
+                try (DirectoryStream<Path> files =
+                        Files.newDirectoryStream(providerDir, Files::isRegularFile)) {
+                    files.forEach(clips::add);
+                }
+            }
+        }
+        return clips;
+    }
+
+    private void rewrite(Map<String, Path> snapshot) throws IOException {
+        StringBuilder content = new StringBuilder();
+        snapshot.forEach(
+                (key, clip) -> {
+                    int slash = key.indexOf('/');
+                    content.append(line(key.substring(0, slash), key.substring(slash + 1), clip));
+                });
+        Path temp = audioDir.resolve(TEMP_PREFIX + FILE_NAME);
+        Files.writeString(temp, content, StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String line(String provider, String digest, Path clip) {
+        return provider + "\t" + digest + "\t" + clip.getFileName() + "\n";
+    }
+
+    private static String key(String provider, String digest) {
+        return provider + "/" + digest;
+    }
+}
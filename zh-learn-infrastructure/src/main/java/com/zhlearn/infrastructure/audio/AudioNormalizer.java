@@ -4,67 +4,129 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.jfr.AudioNormalizeEvent;
+import com.zhlearn.infrastructure.jfr.TraceContext;
+
+/**
+ * Normalizes clips to loudness-normalized mono MP3. Clips go to a process-wide pool of ffmpeg
+ * workers that batch concurrent clips into one ffmpeg run; whether ffmpeg is installed is checked
+ * once per process. Without ffmpeg, or when it fails on a clip, clips the JDK can decode are
+ * normalized in process (see {@link PcmNormalizer}) into WAV, as the JDK has no MP3 encoder.
+ *
+ * <p>The JDK cannot decode MP3 either, so without ffmpeg MP3 clips, which is what most providers
+ * return, are copied unchanged and not loudness-normalized; this is logged once when ffmpeg is not
+ * found. Callers name the file after the extension {@link #normalize} returns.
+ */
 public class AudioNormalizer {
-    private final Logger log = LoggerFactory.getLogger(AudioNormalizer.class);
+    private static final Logger log = LoggerFactory.getLogger(AudioNormalizer.class);
+
+    static final String WORKERS_PROPERTY = "zhlearn.audio.workers";
+    static final String WORKERS_ENV = "ZHLEARN_AUDIO_WORKERS";
+    private static final int DEFAULT_WORKERS = 2;
+    static final int BATCH_SIZE = 8;
+    private static final Duration BATCH_LINGER = Duration.ofMillis(20);
+
+    public static final String MP3 = "mp3";
+    public static final String WAV = "wav";
 
     public AudioNormalizer() {}
 
-    public void normalizeToMp3(Path input, Path output) throws IOException, InterruptedException {
+    /**
+     * Normalizes {@code input} into {@code output}, whose directory must already exist.
+     *
+     * @return extension of the container written, {@link #MP3} or {@link #WAV}
+     */
+    public String normalize(Path input, Path output) throws IOException, InterruptedException {
+        AudioNormalizeEvent event = new AudioNormalizeEvent();
+        event.begin();
+        event.outcome = AudioNormalizeEvent.FAILED;
+        try {
+            event.outcome = normalizeClip(input, output);
+            return AudioNormalizeEvent.IN_PROCESS.equals(event.outcome) ? WAV : MP3;
+        } finally {
+            TraceContext context = TraceContext.current();
+            event.word = context.word();
+            event.provider = context.provider();
+            event.commit();
+        }
+    }
+
+    /** Returns how the clip was normalized, as an {@link AudioNormalizeEvent} outcome. */
+    private static String normalizeClip(Path input, Path output)
+            throws IOException, InterruptedException {
         if (input == null || !Files.exists(input))
             throw new IOException("input not found: " + input);
-        Files.createDirectories(output.getParent());
-
-        // Allow disabling external tools in tests/CI
-        String disable = System.getenv("ZHLEARN_DISABLE_FFMPEG");
-        if (disable != null && (disable.equals("1") || disable.equalsIgnoreCase("true"))) {
-            Files.copy(input, output, StandardCopyOption.REPLACE_EXISTING);
-            return;
-        }
 
-        // Prefer ffmpeg on all OS; mac users likely have it via brew
-        if (isOnPath("ffmpeg")) {
-            ProcessBuilder pb =
-                    new ProcessBuilder(
-                            "ffmpeg",
-                            "-y",
-                            "-i",
-                            input.toAbsolutePath().toString(),
-                            "-af",
-                            "loudnorm=I=-16:LRA=11:TP=-1.5,areverse,atrim=start=0.01,areverse",
-                            "-ar",
-                            "44100",
-                            "-ac",
-                            "1",
-                            "-codec:a",
-                            "libmp3lame",
-                            "-b:a",
-                            "128k",
-                            output.toAbsolutePath().toString());
-            pb.redirectError(ProcessBuilder.Redirect.DISCARD);
-            Process p = pb.start();
-            int code = p.waitFor();
-            if (code == 0 && Files.exists(output)) {
-                return;
+        FfmpegNormalizerPool pool = Ffmpeg.POOL;
+        if (pool != null) {
+            if (pool.normalize(input, output)) {
+                return AudioNormalizeEvent.FFMPEG;
             }
-            log.warn("ffmpeg normalization failed with code {} — falling back to copy", code);
-        } else {
-            log.debug("ffmpeg not found on PATH — falling back to copy");
+            log.warn("ffmpeg normalization failed for {} — normalizing in process", input);
+        }
+        if (PcmNormalizer.normalize(input, output)) {
+            return AudioNormalizeEvent.IN_PROCESS;
         }
-        // Fallback: straight copy
+        log.debug("No in-process decoder for {} — falling back to copy", input);
         Files.copy(input, output, StandardCopyOption.REPLACE_EXISTING);
+        return AudioNormalizeEvent.COPIED;
     }
 
-    private boolean isOnPath(String tool) {
-        try {
-            Process p = new ProcessBuilder(tool, "-version").start();
-            p.destroy();
-            return true;
-        } catch (IOException e) {
-            return false;
+    /** Number of ffmpeg workers, {@code zhlearn.audio.workers} (see {@link Settings}). */
+    static int configuredWorkers() {
+        return Settings.intValue(WORKERS_PROPERTY, WORKERS_ENV, DEFAULT_WORKERS);
+    }
+
+    /** Whether ffmpeg is installed and not disabled for this process. */
+    static boolean ffmpegAvailable() {
+        return Ffmpeg.POOL != null;
+    }
+
+    /** Probes for ffmpeg and starts the pool on first use; null when ffmpeg is unavailable. */
+    private static final class Ffmpeg {
+        private static final FfmpegNormalizerPool POOL = start();
+
+        private static FfmpegNormalizerPool start() {
+            // Allow disabling external tools in tests/CI
+            String disable = System.getenv("ZHLEARN_DISABLE_FFMPEG");
+            if (disable != null && (disable.equals("1") || disable.equalsIgnoreCase("true"))) {
+                log.debug("ffmpeg disabled by ZHLEARN_DISABLE_FFMPEG — normalizing in process");
+                return null;
+            }
+            if (!isOnPath("ffmpeg")) {
+                log.warn(
+                        "ffmpeg not found on PATH — WAV, AIFF and AU clips are normalized in"
+                                + " process, MP3 clips are cached without loudness normalization");
+                return null;
+            }
+            return new FfmpegNormalizerPool(
+                    "ffmpeg", configuredWorkers(), BATCH_SIZE, BATCH_LINGER);
+        }
+
+        private static boolean isOnPath(String tool) {
+            ProcessBuilder pb = new ProcessBuilder(tool, "-version");
+            pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+            pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+            try {
+                Process p = pb.start();
+                if (!p.waitFor(10, TimeUnit.SECONDS)) {
+                    p.destroyForcibly();
+                    return false;
+                }
+                return p.exitValue() == 0;
+            } catch (IOException e) {
+                return false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
         }
     }
 }
@@ -5,35 +5,36 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+/** Locations of zh-learn data; each directory is resolved and created once per instance. */
 public class AudioPaths {
 
+    private volatile Path homeDir;
+    private volatile Path audioDir;
+
     public AudioPaths() {}
 
     public Path homeDir() {
-        String override = System.getProperty("zhlearn.home");
-        if (override == null || override.isBlank()) override = System.getenv("ZHLEARN_HOME");
-        Path base =
-                (override == null || override.isBlank())
-                        ? Path.of(System.getProperty("user.home"), ".zh-learn")
-                        : Path.of(override);
-        try {
-            Files.createDirectories(base);
-        } catch (IOException e) {
-            throw new UncheckedIOException(
-                    "Failed to create zh-learn home directory at " + base, e);
+        Path dir = homeDir;
+        if (dir == null) {
+            String override = System.getProperty("zhlearn.home");
+            if (override == null || override.isBlank()) override = System.getenv("ZHLEARN_HOME");
+            Path base =
+                    (override == null || override.isBlank())
+                            ? Path.of(System.getProperty("user.home"), ".zh-learn")
+                            : Path.of(override);
+            dir = create(base, "home");
+            homeDir = dir;
         }
-        return base.toAbsolutePath();
+        return dir;
     }
 
     public Path audioDir() {
-        Path dir = homeDir().resolve("audio");
-        try {
-            Files.createDirectories(dir);
-        } catch (IOException e) {
-            throw new UncheckedIOException(
-                    "Failed to create zh-learn audio directory at " + dir, e);
+        Path dir = audioDir;
+        if (dir == null) {
+            dir = create(homeDir().resolve("audio"), "audio");
+            audioDir = dir;
         }
-        return dir.toAbsolutePath();
+        return dir;
     }
 
     public String sanitize(String s) {
@@ -42,4 +43,14 @@ public class AudioPaths {
         if (t.isEmpty()) return "_";
         return t.replaceAll("[^\\p{L}\\p{N}_-]", "_");
     }
+
+    private static Path create(Path dir, String kind) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "Failed to create zh-learn " + kind + " directory at " + dir, e);
+        }
+        return dir.toAbsolutePath();
+    }
 }
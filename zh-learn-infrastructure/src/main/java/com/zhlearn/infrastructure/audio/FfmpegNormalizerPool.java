@@ -0,0 +1,168 @@
+package com.zhlearn.infrastructure.audio;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A few long-lived worker threads that normalize queued clips with ffmpeg. Each worker takes the
+ * clips waiting in the queue, up to a batch size, and normalizes all of them in a single ffmpeg
+ * process with one filter chain per input, so a batch of TTS voices costs one process start instead
+ * of one per clip. When a batch fails its clips are retried one at a time, so one bad input does
+ * not fail the others.
+ */
+final class FfmpegNormalizerPool {
+    private static final Logger log = LoggerFactory.getLogger(FfmpegNormalizerPool.class);
+
+    static final String FILTER = "loudnorm=I=-16:LRA=11:TP=-1.5,areverse,atrim=start=0.01,areverse";
+
+    private final String executable;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final BlockingQueue<Job> queue = new LinkedBlockingQueue<>();
+
+    FfmpegNormalizerPool(String executable, int workers, int batchSize, Duration linger) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Audio normalizer workers must be at least 1");
+        }
+        this.executable = executable;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        for (int i = 0; i < workers; i++) {
+            Thread.ofPlatform().name("audio-normalizer-" + i).daemon().start(this::work);
+        }
+    }
+
+    /**
+     * Normalize one clip, waiting until a worker has processed it.
+     *
+     * @return false if ffmpeg could not normalize this clip
+     */
+    boolean normalize(Path input, Path output) throws InterruptedException {
+        Job job = new Job(input, output, new CompletableFuture<>());
+        queue.put(job);
+        try {
+            return job.done().get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Audio normalizer worker failed", e.getCause());
+        }
+    }
+
+    private void work() {
+        List<Job> batch = List.of();
+        try {
+            while (true) {
+                batch = nextBatch();
+                run(batch);
+            }
+        } catch (InterruptedException e) {
+            log.debug("Audio normalizer worker interrupted, stopping");
+            batch.forEach(job -> job.done().complete(false));
+        }
+    }
+
+    /** Wait for a clip, then give clips arriving shortly after it the chance to join its batch. */
+    private List<Job> nextBatch() throws InterruptedException {
+        List<Job> batch = new ArrayList<>();
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            Job next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void run(List<Job> batch) throws InterruptedException {
+        if (batch.size() > 1) {
+            if (runFfmpeg(batch)) {
+                batch.forEach(job -> job.done().complete(true));
+                return;
+            }
+            log.debug("ffmpeg batch of {} clips failed, retrying one by one", batch.size());
+        }
+        for (Job job : batch) {
+            job.done().complete(runFfmpeg(List.of(job)));
+        }
+    }
+
+    private boolean runFfmpeg(List<Job> batch) throws InterruptedException {
+        ProcessBuilder pb = new ProcessBuilder(command(executable, batch));
+        pb.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        Process process;
+        try {
+            process = pb.start();
+        } catch (IOException e) {
+            log.warn("Could not start ffmpeg: {}", e.getMessage());
+            return false;
+        }
+        try {
+            int code = process.waitFor();
+            if (code != 0) {
+                log.debug("ffmpeg exited with code {} for {} clips", code, batch.size());
+                return false;
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+        return batch.stream().allMatch(job -> Files.exists(job.output()));
+    }
+
+    /** One ffmpeg invocation normalizing every clip of the batch into its own output file. */
+    static List<String> command(String executable, List<Job> batch) {
+        List<String> command = new ArrayList<>(List.of(executable, "-nostdin", "-y"));
+        StringBuilder graph = new StringBuilder();
+        for (int i = 0; i < batch.size(); i++) {
+            command.add("-i");
+            command.add(batch.get(i).input().toAbsolutePath().toString());
+            if (i > 0) {
+                graph.append(';');
+            }
+            graph.append('[')
+                    .append(i)
+                    .append(":a]")
+                    .append(FILTER)
+                    .append("[a")
+                    .append(i)
+                    .append(']');
+        }
+        command.add("-filter_complex");
+        command.add(graph.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            command.addAll(
+                    List.of(
+                            "-map",
+                            "[a" + i + "]",
+                            "-ar",
+                            "44100",
+                            "-ac",
+                            "1",
+                            "-codec:a",
+                            "libmp3lame",
+                            "-b:a",
+                            "128k",
+                            "-f",
+                            "mp3",
+                            batch.get(i).output().toAbsolutePath().toString()));
+        }
+        return command;
+    }
+
+    record Job(Path input, Path output, CompletableFuture<Boolean> done) {}
+}
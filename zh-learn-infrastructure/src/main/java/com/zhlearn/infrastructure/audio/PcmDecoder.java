@@ -0,0 +1,100 @@
+package com.zhlearn.infrastructure.audio;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Decodes clips to 16-bit signed little-endian PCM. Formats the JDK can read (WAV, AIFF, AU) are
+ * decoded in process; anything else, MP3 in particular, is decoded by one ffmpeg run to mono 44.1
+ * kHz when ffmpeg is available.
+ */
+public final class PcmDecoder {
+    private static final float FFMPEG_SAMPLE_RATE = 44100;
+
+    private PcmDecoder() {}
+
+    /**
+     * @return the decoded clip, or null if neither the JDK nor ffmpeg can decode it
+     */
+    public static Pcm decode(Path file) throws IOException, InterruptedException {
+        Pcm pcm = decodeInProcess(file);
+        if (pcm == null && AudioNormalizer.ffmpegAvailable()) {
+            pcm = decodeWithFfmpeg(file);
+        }
+        return pcm;
+    }
+
+    /**
+     * @return the decoded clip with the source's sample rate and channels, or null if the JDK
+     *     cannot decode it
+     */
+    static Pcm decodeInProcess(Path file) throws IOException {
+        AudioInputStream source;
+        try {
+            source = AudioSystem.getAudioInputStream(file.toFile());
+        } catch (UnsupportedAudioFileException e) {
+            return null;
+        }
+        try (source) {
+            AudioFormat sourceFormat = source.getFormat();
+            int channels = sourceFormat.getChannels();
+            AudioFormat target =
+                    new AudioFormat(
+                            AudioFormat.Encoding.PCM_SIGNED,
+                            sourceFormat.getSampleRate(),
+                            16,
+                            channels,
+                            channels * 2,
+                            sourceFormat.getSampleRate(),
+                            false);
+            if (!AudioSystem.isConversionSupported(target, sourceFormat)) {
+                return null;
+            }
+            try (AudioInputStream decoded = AudioSystem.getAudioInputStream(target, source)) {
+                return new Pcm(target, decoded.readAllBytes());
+            }
+        }
+    }
+
+    private static Pcm decodeWithFfmpeg(Path file) throws IOException, InterruptedException {
+        ProcessBuilder pb =
+                new ProcessBuilder(
+                        "ffmpeg",
+                        "-nostdin",
+                        "-loglevel",
+                        "error",
+                        "-i",
+                        file.toAbsolutePath().toString(),
+                        "-f",
+                        "s16le",
+                        "-ac",
+                        "1",
+                        "-ar",
+                        String.valueOf((int) FFMPEG_SAMPLE_RATE),
+                        "-");
+        pb.redirectError(ProcessBuilder.Redirect.DISCARD);
+        Process process = pb.start();
+        byte[] data;
+        try (InputStream out = process.getInputStream()) {
+            data = out.readAllBytes();
+        }
+        try {
+            if (process.waitFor() != 0) {
+                return null;
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            throw e;
+        }
+        return new Pcm(new AudioFormat(FFMPEG_SAMPLE_RATE, 16, 1, true, false), data);
+    }
+
+    /** Decoded samples and their format. */
+    public record Pcm(AudioFormat format, byte[] data) {}
+}
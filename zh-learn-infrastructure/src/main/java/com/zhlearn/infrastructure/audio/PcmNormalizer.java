@@ -0,0 +1,87 @@
+package com.zhlearn.infrastructure.audio;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * In-process approximation of the ffmpeg filter chain for machines without ffmpeg: decodes the clip
+ * to PCM, mixes it down to mono, applies one gain bringing its RMS level to -16 dBFS without
+ * pushing peaks above -1.5 dBFS, drops the last 10 ms and writes a WAV file. Only formats the JDK
+ * can decode (WAV, AIFF, AU) are supported; there is no MP3 codec in the JDK.
+ */
+final class PcmNormalizer {
+
+    static final double TARGET_LEVEL_DB = -16.0;
+    static final double PEAK_CEILING_DB = -1.5;
+    static final double TRAILING_TRIM_SECONDS = 0.01;
+
+    private PcmNormalizer() {}
+
+    /**
+     * @return false if the JDK cannot decode the input; the output is not written in that case
+     */
+    static boolean normalize(Path input, Path output) throws IOException {
+        PcmDecoder.Pcm decoded = PcmDecoder.decodeInProcess(input);
+        if (decoded == null) {
+            return false;
+        }
+        float sampleRate = decoded.format().getSampleRate();
+        int channels = decoded.format().getChannels();
+        byte[] pcm = decoded.data();
+
+        short[] mono = downmix(pcm, channels);
+        int frames = Math.max(0, mono.length - (int) (sampleRate * TRAILING_TRIM_SECONDS));
+        double gain = gain(mono, frames);
+        byte[] normalized = new byte[frames * 2];
+        for (int i = 0; i < frames; i++) {
+            long sample = Math.round(mono[i] * gain);
+            short clamped = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+            normalized[2 * i] = (byte) clamped;
+            normalized[2 * i + 1] = (byte) (clamped >> 8);
+        }
+
+        AudioFormat monoFormat = new AudioFormat(sampleRate, 16, 1, true, false);
+        try (AudioInputStream result =
+                new AudioInputStream(new ByteArrayInputStream(normalized), monoFormat, frames)) {
+            AudioSystem.write(result, AudioFileFormat.Type.WAVE, output.toFile());
+        }
+        return true;
+    }
+
+    private static short[] downmix(byte[] pcm, int channels) {
+        int frames = pcm.length / (2 * channels);
+        short[] mono = new short[frames];
+        for (int frame = 0; frame < frames; frame++) {
+            int sum = 0;
+            for (int channel = 0; channel < channels; channel++) {
+                int offset = 2 * (frame * channels + channel);
+                sum += (short) ((pcm[offset] & 0xff) | (pcm[offset + 1] << 8));
+            }
+            mono[frame] = (short) (sum / channels);
+        }
+        return mono;
+    }
+
+    /** Gain reaching the target level, reduced when it would push the peak over the ceiling. */
+    static double gain(short[] samples, int frames) {
+        double sumOfSquares = 0;
+        int peak = 0;
+        for (int i = 0; i < frames; i++) {
+            sumOfSquares += (double) samples[i] * samples[i];
+            peak = Math.max(peak, Math.abs(samples[i]));
+        }
+        if (peak == 0) {
+            return 1.0;
+        }
+        double rms = Math.sqrt(sumOfSquares / frames) / Short.MAX_VALUE;
+        double levelGain = Math.pow(10, TARGET_LEVEL_DB / 20) / rms;
+        double peakGain = Math.pow(10, PEAK_CEILING_DB / 20) / ((double) peak / Short.MAX_VALUE);
+        return Math.min(levelGain, peakGain);
+    }
+}
@@ -0,0 +1,136 @@
+package com.zhlearn.infrastructure.audio;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.metrics.Metrics;
+
+/**
+ * Executors for the stages of a TTS voice: the API call, fetching audio the API only linked to, and
+ * normalizing it into the cache. The API stage runs directly on the given executor, where the
+ * provider's rate limiter bounds it. Fetch and normalize run on the same executor too, so they use
+ * the thread kind chosen with {@code --executor}, but each with its own bound on running tasks:
+ * slow downloads or a busy ffmpeg never keep a thread of the API stage from sending the next
+ * request.
+ *
+ * <p>Owned by the application context; closing it stops accepting new tasks, the threads themselves
+ * belong to the underlying executor.
+ */
+public final class TtsStages implements AutoCloseable {
+
+    static final String FETCH_THREADS_PROPERTY = "zhlearn.tts.fetch-threads";
+    static final String FETCH_THREADS_ENV = "ZHLEARN_TTS_FETCH_THREADS";
+    private static final int DEFAULT_FETCH_THREADS = 8;
+
+    private final Executor api;
+    private final Stage fetch;
+    private final Stage normalize;
+
+    /**
+     * Stages on {@code executor} with {@code zhlearn.tts.fetch-threads} fetch threads (8 by
+     * default, see {@link Settings}) and enough normalize threads to fill a batch of every ffmpeg
+     * worker.
+     */
+    public TtsStages(Executor executor) {
+        this(
+                executor,
+                Settings.intValue(FETCH_THREADS_PROPERTY, FETCH_THREADS_ENV, DEFAULT_FETCH_THREADS),
+                AudioNormalizer.configuredWorkers() * AudioNormalizer.BATCH_SIZE);
+    }
+
+    public TtsStages(Executor executor, int fetchThreads, int normalizeThreads) {
+        this.api = Objects.requireNonNull(executor, "executor");
+        this.fetch = new Stage("fetch", executor, fetchThreads);
+        this.normalize = new Stage("normalize", executor, normalizeThreads);
+    }
+
+    Executor api() {
+        return api;
+    }
+
+    Executor fetch() {
+        return fetch;
+    }
+
+    Executor normalize() {
+        return normalize;
+    }
+
+    /** Stop accepting fetch and normalize tasks; queued and running ones still complete. */
+    @Override
+    public void close() {
+        fetch.close();
+        normalize.close();
+    }
+
+    /**
+     * At most {@code limit} tasks running on the underlying executor at a time; the rest wait in a
+     * queue reported as the {@code tts.<stage>.queued} gauge.
+     */
+    private static final class Stage implements Executor {
+        private final String name;
+        private final Executor executor;
+        private final int limit;
+        private final Queue<Runnable> queued = new ArrayDeque<>();
+
+        // Guarded by this
+        private int running;
+        private boolean closed;
+
+        Stage(String name, Executor executor, int limit) {
+            if (limit < 1) {
+                throw new IllegalArgumentException(
+                        "TTS " + name + " threads must be at least 1: " + limit);
+            }
+            this.name = name;
+            this.executor = executor;
+            this.limit = limit;
+            Metrics.gauge("tts." + name + ".queued", this::queued);
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            synchronized (this) {
+                if (closed) {
+                    throw new RejectedExecutionException("TTS " + name + " stage is closed");
+                }
+                if (running >= limit) {
+                    queued.add(task);
+                    return;
+                }
+                running++;
+            }
+            executor.execute(() -> run(task));
+        }
+
+        /** Run a task, then hand the slot to the next queued task or give it up. */
+        private void run(Runnable task) {
+            try {
+                task.run();
+            } finally {
+                Runnable next;
+                synchronized (this) {
+                    next = queued.poll();
+                    if (next == null) {
+                        running--;
+                    }
+                }
+                if (next != null) {
+                    executor.execute(() -> run(next));
+                }
+            }
+        }
+
+        private synchronized int queued() {
+            return queued.size();
+        }
+
+        synchronized void close() {
+            closed = true;
+        }
+    }
+}
@@ -1,24 +1,56 @@
 package com.zhlearn.infrastructure.cache;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zhlearn.infrastructure.common.ProviderConfig;
+import com.zhlearn.infrastructure.jfr.LlmChatEvent;
+import com.zhlearn.infrastructure.jfr.TraceContext;
+import com.zhlearn.infrastructure.metrics.Metrics;
+import com.zhlearn.infrastructure.metrics.Stage;
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.exception.RetriableException;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.TokenUsage;
 
 public class CachedChatModel implements ChatModel {
     private static final Logger log = LoggerFactory.getLogger(CachedChatModel.class);
     private static final CacheKeyGenerator cacheKeyGenerator = new CacheKeyGenerator();
+    private static final Duration RATE_LIMIT_ACQUIRE_TIMEOUT = Duration.ofMinutes(5);
+    private static final int MAX_ATTEMPTS = 3;
+
+    // Shared across instances: providers built from the same config produce the same cache key
+    private static final Map<String, FutureTask<String>> inFlight = new ConcurrentHashMap<>();
 
     private final ChatModel delegate;
-    private final FileSystemCache cache;
+    private final StreamingChatModel streamingDelegate;
+    private final ResponseCache cache;
     private final String baseUrl;
     private final String modelName;
     private final Double temperature;
     private final Integer maxTokens;
+    private final ProviderRateLimiter rateLimiter;
 
     public CachedChatModel(
             ChatModel delegate,
@@ -26,36 +58,218 @@ public class CachedChatModel implements ChatModel {
             String modelName,
             Double temperature,
             Integer maxTokens) {
+        this(delegate, ResponseCaches.shared(), baseUrl, modelName, temperature, maxTokens);
+    }
+
+    public CachedChatModel(
+            ChatModel delegate,
+            ResponseCache cache,
+            String baseUrl,
+            String modelName,
+            Double temperature,
+            Integer maxTokens) {
+        this(delegate, null, cache, baseUrl, modelName, temperature, maxTokens);
+    }
+
+    /**
+     * @param streamingDelegate model used by {@link #chat(String, String, Consumer)}; null to
+     *     always use the blocking model
+     */
+    public CachedChatModel(
+            ChatModel delegate,
+            StreamingChatModel streamingDelegate,
+            ResponseCache cache,
+            String baseUrl,
+            String modelName,
+            Double temperature,
+            Integer maxTokens) {
+        this(delegate, streamingDelegate, cache, baseUrl, modelName, temperature, maxTokens, null);
+    }
+
+    /**
+     * @param rateLimiter limiter every upstream call goes through, which then also owns retries of
+     *     retriable failures; null to call the model directly
+     */
+    public CachedChatModel(
+            ChatModel delegate,
+            StreamingChatModel streamingDelegate,
+            ResponseCache cache,
+            String baseUrl,
+            String modelName,
+            Double temperature,
+            Integer maxTokens,
+            ProviderRateLimiter rateLimiter) {
         this.delegate = delegate;
-        this.cache = new FileSystemCache();
+        this.streamingDelegate = streamingDelegate;
+        this.cache = cache;
         this.baseUrl = baseUrl;
         this.modelName = modelName;
         this.temperature = temperature;
         this.maxTokens = maxTokens;
+        this.rateLimiter = rateLimiter;
     }
 
     public <T> CachedChatModel(ChatModel baseChatModel, ProviderConfig<T> config) {
+        this(baseChatModel, null, config);
+    }
+
+    public <T> CachedChatModel(
+            ChatModel baseChatModel,
+            StreamingChatModel streamingChatModel,
+            ProviderConfig<T> config) {
         this(
                 baseChatModel,
+                streamingChatModel,
+                ResponseCaches.shared(),
                 config.getBaseUrl(),
                 config.getModelName(),
                 config.getTemperature(),
-                config.getMaxTokens());
+                config.getMaxTokens(),
+                config.getRateLimiter());
     }
 
+    /**
+     * Concurrent calls with the same cache key are coalesced: the first caller performs the
+     * upstream call and every other caller waits for its result (or its exception). The plain
+     * string API reports no token usage, so the token budget is charged with an estimate.
+     */
     @Override
     public String chat(String prompt) {
-        String cacheKey =
-                cacheKeyGenerator.generateKey(prompt, baseUrl, modelName, temperature, maxTokens);
+        return chatCached(
+                keyFor(prompt),
+                () ->
+                        rateLimited(
+                                () -> delegate.chat(prompt),
+                                response -> estimatedTokens(prompt) + estimatedTokens(response)));
+    }
+
+    /**
+     * Send stable instructions as a system message ahead of the per-call request, so providers with
+     * prompt prefix caching can reuse the processed instructions across calls. Cached and coalesced
+     * like {@link #chat(String)}; input token usage is recorded in {@link PromptCacheStats}.
+     */
+    public String chat(String instructions, String request) {
+        return chatCached(
+                keyFor(instructions, request),
+                () -> callWithSystemMessage(instructions, request, null));
+    }
+
+    /**
+     * Like {@link #chat(String, String)}, but streams the response when a streaming model is
+     * configured: {@code partialText} receives every chunk of text as it arrives, on the thread
+     * delivering the stream. Only the first attempt is streamed; a retry after a failed stream
+     * would start the response over, so it is only returned once complete. The response is cached
+     * once the stream completes. Cache hits and callers joining an identical in-flight call only
+     * get the complete response.
+     */
+    public String chat(String instructions, String request, Consumer<String> partialText) {
+        if (streamingDelegate == null) {
+            return chat(instructions, request);
+        }
+        return chatCached(
+                keyFor(instructions, request), () -> stream(instructions, request, partialText));
+    }
+
+    /** Cached response for a prompt, without calling the model. */
+    public Optional<String> cached(String instructions, String request) {
+        return lookup(keyFor(instructions, request));
+    }
+
+    /**
+     * Send a request packing the prompts of {@code items} words, with room for {@code items} times
+     * the configured output tokens. Rate limited like {@link #chat(String, String)}, but neither
+     * cached nor coalesced: the combined response is only useful split into the answers for each
+     * word, which the caller stores with {@link #store}.
+     */
+    public String chatBatch(String instructions, String request, int items) {
+        LlmChatEvent event = new LlmChatEvent();
+        event.begin();
+        event.outcome = LlmChatEvent.FAILED;
+        try {
+            String response =
+                    callWithSystemMessage(
+                            instructions, request, maxTokens == null ? null : maxTokens * items);
+            event.outcome = LlmChatEvent.CALLED;
+            return response;
+        } finally {
+            event.word = TraceContext.current().word();
+            event.provider = modelName;
+            event.commit();
+        }
+    }
+
+    /**
+     * Store a response obtained some other way (e.g. split from a batched call) as if it had been
+     * returned for this prompt.
+     */
+    public void store(String instructions, String request, String response) {
+        cache.put(keyFor(instructions, request), response);
+    }
+
+    private String keyFor(String instructions, String request) {
+        return keyFor(instructions + "\n\n" + request);
+    }
 
+    private String keyFor(String prompt) {
+        return cacheKeyGenerator.generateKey(prompt, baseUrl, modelName, temperature, maxTokens);
+    }
+
+    private Optional<String> lookup(String cacheKey) {
+        long start = System.nanoTime();
         Optional<String> cachedResponse = cache.get(cacheKey);
+        Metrics.recordLatency(
+                cachedResponse.isPresent() ? Stage.CACHE_HIT : Stage.CACHE_MISS,
+                modelName,
+                System.nanoTime() - start);
+        return cachedResponse;
+    }
+
+    private String chatCached(String cacheKey, Supplier<String> upstream) {
+        LlmChatEvent event = new LlmChatEvent();
+        event.begin();
+        event.outcome = LlmChatEvent.FAILED;
+        try {
+            Optional<String> cachedResponse = lookup(cacheKey);
+            if (cachedResponse.isPresent()) {
+                log.debug("Using cached response for prompt");
+                event.outcome = LlmChatEvent.CACHE_HIT;
+                return cachedResponse.get();
+            }
+
+            FutureTask<String> call = new FutureTask<>(() -> callAndStore(cacheKey, upstream));
+            FutureTask<String> existing = inFlight.putIfAbsent(cacheKey, call);
+            if (existing != null) {
+                log.debug("Identical prompt already in flight, waiting for its response");
+                Metrics.increment("llm.coalesced");
+                String response = await(existing);
+                event.outcome = LlmChatEvent.COALESCED;
+                return response;
+            }
+            try {
+                call.run();
+            } finally {
+                inFlight.remove(cacheKey, call);
+            }
+            String response = await(call);
+            event.outcome = LlmChatEvent.CALLED;
+            return response;
+        } finally {
+            event.word = TraceContext.current().word();
+            event.provider = modelName;
+            event.commit();
+        }
+    }
+
+    private String callAndStore(String cacheKey, Supplier<String> upstream) {
+        // A call for this key may have completed between our cache miss and becoming the leader;
+        // peek so that the miss already recorded is not counted twice
+        Optional<String> cachedResponse = cache.peek(cacheKey);
         if (cachedResponse.isPresent()) {
-            log.debug("Using cached response for prompt");
             return cachedResponse.get();
         }
 
         log.debug("Cache miss, calling AI model");
-        String response = delegate.chat(prompt);
+        String response = upstream.get();
 
         if (response != null) {
             cache.put(cacheKey, response);
@@ -63,4 +277,172 @@ public class CachedChatModel implements ChatModel {
 
         return response;
     }
+
+    /** {@code maxOutputTokens} overrides the model's limit when not null. */
+    private String callWithSystemMessage(
+            String instructions, String request, Integer maxOutputTokens) {
+        ChatResponse response =
+                rateLimited(
+                        () -> delegate.chat(chatRequest(instructions, request, maxOutputTokens)),
+                        CachedChatModel::totalTokens);
+        PromptCacheStats.record(modelName, response.tokenUsage());
+        return response.aiMessage().text();
+    }
+
+    private String stream(String instructions, String request, Consumer<String> partialText) {
+        AtomicBoolean firstAttempt = new AtomicBoolean(true);
+        ChatResponse response =
+                rateLimited(
+                        () ->
+                                streamOnce(
+                                        instructions,
+                                        request,
+                                        firstAttempt.getAndSet(false) ? partialText : chunk -> {}),
+                        CachedChatModel::totalTokens);
+        PromptCacheStats.record(modelName, response.tokenUsage());
+        return response.aiMessage().text();
+    }
+
+    private ChatResponse streamOnce(
+            String instructions, String request, Consumer<String> partialText) {
+        CompletableFuture<ChatResponse> completed = new CompletableFuture<>();
+        streamingDelegate.chat(
+                chatRequest(instructions, request),
+                new StreamingChatResponseHandler() {
+                    @Override
+                    public void onPartialResponse(String partialResponse) {
+                        partialText.accept(partialResponse);
+                    }
+
+                    @Override
+                    public void onCompleteResponse(ChatResponse response) {
+                        completed.complete(response);
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        completed.completeExceptionally(error);
+                    }
+                });
+        return await(completed);
+    }
+
+    /**
+     * Run an upstream call under the rate limiter. A 429 slows down every caller of the provider
+     * before the call is retried; other retriable failures are retried without slowing down.
+     */
+    private <R> R rateLimited(Supplier<R> call, ToLongFunction<R> tokens) {
+        if (rateLimiter == null) {
+            return timed(call);
+        }
+        for (int attempt = 1; ; attempt++) {
+            acquirePermit();
+            R response;
+            try {
+                response = timed(call);
+            } catch (RetriableException e) {
+                if (e instanceof RateLimitException) {
+                    rateLimiter.notifyRateLimited(null);
+                }
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+                Metrics.increment("llm.retries");
+                log.warn(
+                        "{} call failed (attempt {}/{}), retrying: {}",
+                        modelName,
+                        attempt,
+                        MAX_ATTEMPTS,
+                        e.getMessage());
+                continue;
+            } finally {
+                rateLimiter.release();
+            }
+            rateLimiter.notifySuccess();
+            rateLimiter.recordTokens(tokens.applyAsLong(response));
+            return response;
+        }
+    }
+
+    /** Upstream latency of successful calls; failed attempts only count as retries. */
+    private <R> R timed(Supplier<R> call) {
+        long start = System.nanoTime();
+        R response = call.get();
+        Metrics.recordLatency(Stage.LLM_CALL, modelName, System.nanoTime() - start);
+        return response;
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!rateLimiter.acquire(RATE_LIMIT_ACQUIRE_TIMEOUT)) {
+                throw new RuntimeException(
+                        "Rate limit timeout - "
+                                + modelName
+                                + " overwhelmed after waiting "
+                                + RATE_LIMIT_ACQUIRE_TIMEOUT.toMinutes()
+                                + " minutes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for rate limit", e);
+        }
+    }
+
+    private static long totalTokens(ChatResponse response) {
+        TokenUsage usage = response.tokenUsage();
+        if (usage == null) {
+            return 0;
+        }
+        return valueOf(usage.inputTokenCount()) + valueOf(usage.outputTokenCount());
+    }
+
+    /** Roughly one token per Han character and one per four other characters. */
+    private static long estimatedTokens(String text) {
+        if (text == null) {
+            return 0;
+        }
+        long han =
+                text.codePoints()
+                        .filter(
+                                codePoint ->
+                                        Character.UnicodeScript.of(codePoint)
+                                                == Character.UnicodeScript.HAN)
+                        .count();
+        long other = text.codePointCount(0, text.length()) - han;
+        return han + (other + 3) / 4;
+    }
+
+    private static long valueOf(Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    private static ChatRequest chatRequest(String instructions, String request) {
+        return chatRequest(instructions, request, null);
+    }
+
+    private static ChatRequest chatRequest(
+            String instructions, String request, Integer maxOutputTokens) {
+        return ChatRequest.builder()
+                .messages(SystemMessage.from(instructions), UserMessage.from(request))
+                .maxOutputTokens(maxOutputTokens)
+                .build();
+    }
+
+    private static <T> T await(Future<T> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for AI model response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(
+                    "AI model call failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
 }
@@ -9,9 +9,12 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class FileSystemCache {
+import com.zhlearn.infrastructure.jfr.CacheAccessEvent;
+
+public class FileSystemCache implements ResponseCache {
     private static final Logger log = LoggerFactory.getLogger(FileSystemCache.class);
-    private static final long DEFAULT_TTL_SECONDS = 7 * 24 * 60 * 60; // 1 week
+    static final long DEFAULT_TTL_SECONDS = 7 * 24 * 60 * 60; // 1 week
+    private static final String BACKEND = "files";
 
     private final Path cacheDirectory;
     private final long ttlSeconds;
@@ -20,7 +23,7 @@ public class FileSystemCache {
         this(resolveDefaultCacheDirectory(), DEFAULT_TTL_SECONDS);
     }
 
-    private static Path resolveDefaultCacheDirectory() {
+    static Path resolveDefaultCacheDirectory() {
         String userHome = System.getProperty("user.home");
         if (userHome == null || userHome.isBlank()) {
             throw new IllegalStateException(
@@ -43,10 +46,23 @@ public class FileSystemCache {
         }
     }
 
+    @Override
     public Optional<String> get(String cacheKey) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        event.outcome = CacheAccessEvent.FAILED;
+        try {
+            return read(cacheKey, event);
+        } finally {
+            event.commit(BACKEND, "get");
+        }
+    }
+
+    private Optional<String> read(String cacheKey, CacheAccessEvent event) {
         Path cacheFile = getCacheFilePath(cacheKey);
 
         if (!Files.exists(cacheFile)) {
+            event.outcome = CacheAccessEvent.MISS;
             return Optional.empty();
         }
 
@@ -56,20 +72,31 @@ public class FileSystemCache {
             if (entry.isExpired(Instant.now(), ttlSeconds)) {
                 log.debug("Cache entry expired for key: {}", cacheKey);
                 deleteFile(cacheFile);
+                event.outcome = CacheAccessEvent.EXPIRED;
                 return Optional.empty();
             }
 
             log.debug("Cache hit for key: {}", cacheKey);
+            event.outcome = CacheAccessEvent.HIT;
             return Optional.of(entry.getResponse());
 
         } catch (IOException | ClassNotFoundException e) {
             log.warn("Failed to read cache entry for key {}: {}", cacheKey, e.getMessage());
             deleteFile(cacheFile);
+            event.outcome = CacheAccessEvent.FAILED;
             return Optional.empty();
         }
     }
 
+    @Override
     public void put(String cacheKey, String response) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        event.outcome = write(cacheKey, response);
+        event.commit(BACKEND, "put");
+    }
+
+    private String write(String cacheKey, String response) {
         Path cacheFile = getCacheFilePath(cacheKey);
 
         try {
@@ -83,9 +110,11 @@ public class FileSystemCache {
             }
 
             log.debug("Cache entry stored for key: {}", cacheKey);
+            return CacheAccessEvent.STORED;
 
         } catch (IOException e) {
             log.warn("Failed to store cache entry for key {}: {}", cacheKey, e.getMessage());
+            return CacheAccessEvent.FAILED;
         }
     }
 
@@ -0,0 +1,129 @@
+package com.zhlearn.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Byte-bounded in-memory tier in front of a persistent {@link ResponseCache}. Entries are kept in
+ * LRU order; when the tier is full a new entry is only admitted if the frequency sketch has seen it
+ * at least as often as the LRU victim it would displace (TinyLFU), so a burst of one-off prompts
+ * cannot flush the responses that keep being reused, while a key requested as often as the victim
+ * still gets in.
+ */
+public final class MemoryTierCache implements ResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(MemoryTierCache.class);
+
+    // Rough per-entry cost of the map node, the two String headers and their arrays
+    private static final long ENTRY_OVERHEAD_BYTES = 96;
+    private static final long AVERAGE_ENTRY_BYTES = 8 * 1024;
+
+    private final ResponseCache backing;
+    private final long maxBytes;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rejections = new AtomicLong();
+
+    // Guarded by entries
+    private long sizeBytes;
+
+    public MemoryTierCache(ResponseCache backing, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Memory tier size must be positive: " + maxBytes);
+        }
+        this.backing = backing;
+        this.maxBytes = maxBytes;
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, maxBytes / AVERAGE_ENTRY_BYTES));
+    }
+
+    @Override
+    public Optional<String> get(String cacheKey) {
+        sketch.increment(cacheKey);
+        String cached;
+        synchronized (entries) {
+            cached = entries.get(cacheKey);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+            return Optional.of(cached);
+        }
+        misses.incrementAndGet();
+        Optional<String> stored = backing.get(cacheKey);
+        stored.ifPresent(response -> admit(cacheKey, response));
+        return stored;
+    }
+
+    @Override
+    public Optional<String> peek(String cacheKey) {
+        String cached;
+        synchronized (entries) {
+            cached = entries.get(cacheKey);
+        }
+        return cached != null ? Optional.of(cached) : backing.peek(cacheKey);
+    }
+
+    @Override
+    public void put(String cacheKey, String response) {
+        backing.put(cacheKey, response);
+        admit(cacheKey, response);
+    }
+
+    public MemoryTierStats stats() {
+        synchronized (entries) {
+            return new MemoryTierStats(
+                    hits.get(),
+                    misses.get(),
+                    evictions.get(),
+                    rejections.get(),
+                    entries.size(),
+                    sizeBytes,
+                    maxBytes);
+        }
+    }
+
+    private void admit(String cacheKey, String response) {
+        long weight = weigh(cacheKey, response);
+        if (weight > maxBytes) {
+            rejections.incrementAndGet();
+            return;
+        }
+        synchronized (entries) {
+            String previous = entries.remove(cacheKey);
+            if (previous != null) {
+                sizeBytes -= weigh(cacheKey, previous);
+            }
+            Iterator<Map.Entry<String, String>> lru = entries.entrySet().iterator();
+            boolean admitted = previous != null;
+            while (sizeBytes + weight > maxBytes) {
+                Map.Entry<String, String> victim = lru.next();
+                if (!admitted) {
+                    // Ties go to the candidate: both sides usually have the one access that
+                    // missed, and the victim had its turn in the tier already
+                    if (sketch.frequency(victim.getKey()) > sketch.frequency(cacheKey)) {
+                        rejections.incrementAndGet();
+                        return;
+                    }
+                    admitted = true;
+                }
+                lru.remove();
+                sizeBytes -= weigh(victim.getKey(), victim.getValue());
+                evictions.incrementAndGet();
+                log.debug("Evicted memory tier entry for key: {}", victim.getKey());
+            }
+            entries.put(cacheKey, response);
+            sizeBytes += weight;
+        }
+    }
+
+    private static long weigh(String cacheKey, String response) {
+        return ENTRY_OVERHEAD_BYTES + 2L * (cacheKey.length() + response.length());
+    }
+}
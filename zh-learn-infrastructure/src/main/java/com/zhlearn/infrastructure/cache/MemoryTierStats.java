@@ -0,0 +1,17 @@
+package com.zhlearn.infrastructure.cache;
+
+/** Point-in-time counters of a {@link MemoryTierCache}. */
+public record MemoryTierStats(
+        long hits,
+        long misses,
+        long evictions,
+        long rejections,
+        int entries,
+        long sizeBytes,
+        long maxBytes) {
+
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
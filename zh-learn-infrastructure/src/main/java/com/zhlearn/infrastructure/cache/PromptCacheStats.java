@@ -0,0 +1,122 @@
+package com.zhlearn.infrastructure.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.langchain4j.model.openai.OpenAiTokenUsage;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Process-wide input token accounting per model, separating tokens the provider served from its
+ * prompt prefix cache from tokens it had to process. Only OpenAI-compatible responses report cached
+ * tokens; requests to other providers count towards {@link Usage#unreportedRequests()}. A summary
+ * per model is logged at shutdown.
+ */
+public final class PromptCacheStats {
+    private static final Logger log = LoggerFactory.getLogger(PromptCacheStats.class);
+
+    private static final Map<String, Counters> counters = new ConcurrentSkipListMap<>();
+
+    static {
+        Runtime.getRuntime()
+                .addShutdownHook(new Thread(PromptCacheStats::logSummary, "prompt-cache-stats"));
+    }
+
+    private PromptCacheStats() {}
+
+    /** Input and output token totals of one model. */
+    public record Usage(
+            String model,
+            long requests,
+            long unreportedRequests,
+            long inputTokens,
+            long cachedInputTokens,
+            long outputTokens) {
+
+        public long uncachedInputTokens() {
+            return inputTokens - cachedInputTokens;
+        }
+
+        public double cachedRatio() {
+            return inputTokens == 0 ? 0.0 : (double) cachedInputTokens / inputTokens;
+        }
+    }
+
+    /** Record the token usage of one upstream call; a null usage only counts the request. */
+    public static void record(String model, TokenUsage usage) {
+        Counters modelCounters = counters.computeIfAbsent(model, ignored -> new Counters());
+        modelCounters.requests.increment();
+        if (usage == null) {
+            modelCounters.unreportedRequests.increment();
+            return;
+        }
+        modelCounters.inputTokens.add(valueOf(usage.inputTokenCount()));
+        modelCounters.outputTokens.add(valueOf(usage.outputTokenCount()));
+        Integer cached = cachedTokens(usage);
+        if (cached == null) {
+            modelCounters.unreportedRequests.increment();
+        } else {
+            modelCounters.cachedInputTokens.add(cached);
+        }
+    }
+
+    public static List<Usage> snapshot() {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().toUsage(entry.getKey()))
+                .toList();
+    }
+
+    private static Integer cachedTokens(TokenUsage usage) {
+        if (usage instanceof OpenAiTokenUsage openAiUsage
+                && openAiUsage.inputTokensDetails() != null) {
+            return openAiUsage.inputTokensDetails().cachedTokens();
+        }
+        return null;
+    }
+
+    private static long valueOf(Integer count) {
+        return count == null ? 0 : count;
+    }
+
+    private static void logSummary() {
+        for (Usage usage : snapshot()) {
+            log.info(
+                    "Prompt cache for {}: {} requests, {} input tokens, {} cached ({}%), {} output"
+                            + " tokens{}",
+                    usage.model(),
+                    usage.requests(),
+                    usage.inputTokens(),
+                    usage.cachedInputTokens(),
+                    Math.round(usage.cachedRatio() * 100),
+                    usage.outputTokens(),
+                    usage.unreportedRequests() == 0
+                            ? ""
+                            : ", cache usage not reported for "
+                                    + usage.unreportedRequests()
+                                    + " requests");
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder unreportedRequests = new LongAdder();
+        private final LongAdder inputTokens = new LongAdder();
+        private final LongAdder cachedInputTokens = new LongAdder();
+        private final LongAdder outputTokens = new LongAdder();
+
+        private Usage toUsage(String model) {
+            return new Usage(
+                    model,
+                    requests.sum(),
+                    unreportedRequests.sum(),
+                    inputTokens.sum(),
+                    cachedInputTokens.sum(),
+                    outputTokens.sum());
+        }
+    }
+}
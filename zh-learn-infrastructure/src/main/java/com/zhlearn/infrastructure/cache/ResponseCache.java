@@ -0,0 +1,19 @@
+package com.zhlearn.infrastructure.cache;
+
+import java.util.Optional;
+
+/** Storage backend for LLM responses, keyed by {@link CacheKeyGenerator} hashes. */
+public interface ResponseCache {
+
+    Optional<String> get(String cacheKey);
+
+    /**
+     * Like {@link #get}, but not counted as an access in hit statistics or admission decisions.
+     * Used to re-check a key that was just looked up.
+     */
+    default Optional<String> peek(String cacheKey) {
+        return get(cacheKey);
+    }
+
+    void put(String cacheKey, String response);
+}
@@ -0,0 +1,151 @@
+package com.zhlearn.infrastructure.cache;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zhlearn.infrastructure.common.Settings;
+
+/**
+ * Selects the response cache backend. The backend is read from the {@code zhlearn.cache.backend}
+ * system property or the {@code ZHLEARN_CACHE_BACKEND} environment variable:
+ *
+ * <ul>
+ *   <li>{@code files} (default) - one serialized file per response; any number of zh-learn
+ *       processes can share it
+ *   <li>{@code segment} - single memory-mapped segment file, migrating entries from the per-file
+ *       layout on first read. Faster, but only one process at a time can open it: a second zh-learn
+ *       process fails at its first LLM call while the first one is running
+ * </ul>
+ *
+ * <p>The shared cache is fronted by a {@link MemoryTierCache} sized by {@code zhlearn.cache.memory}
+ * / {@code ZHLEARN_CACHE_MEMORY} (e.g. {@code 64m}, {@code 512k}, {@code 0} to disable) or by
+ * {@link #configureMemoryTier(long)} before first use.
+ */
+public final class ResponseCaches {
+    private static final Logger log = LoggerFactory.getLogger(ResponseCaches.class);
+
+    static final String BACKEND_PROPERTY = "zhlearn.cache.backend";
+    static final String BACKEND_ENV = "ZHLEARN_CACHE_BACKEND";
+    static final String SEGMENT_BACKEND = "segment";
+    static final String FILES_BACKEND = "files";
+    static final String MEMORY_PROPERTY = "zhlearn.cache.memory";
+    static final String MEMORY_ENV = "ZHLEARN_CACHE_MEMORY";
+    static final long DEFAULT_MEMORY_TIER_BYTES = 64L * 1024 * 1024;
+
+    private static volatile long memoryTierBytes = -1;
+
+    private ResponseCaches() {}
+
+    private static volatile SegmentFileCache openSegmentCache;
+
+    /** Process-wide cache in {@code ~/.zh-learn/cache}; see {@link #closeShared()}. */
+    public static ResponseCache shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Close the shared segment cache, if one was opened, releasing its lock on the cache directory.
+     * Every caller of the cache must have finished: later accesses fail.
+     */
+    public static void closeShared() {
+        SegmentFileCache segmentCache = openSegmentCache;
+        if (segmentCache != null) {
+            openSegmentCache = null;
+            segmentCache.close();
+        }
+    }
+
+    /**
+     * Override the memory tier size of the shared cache. Must be called before the first call to
+     * {@link #shared()}.
+     */
+    public static void configureMemoryTier(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException(
+                    "Memory tier size must not be negative: " + maxBytes);
+        }
+        memoryTierBytes = maxBytes;
+    }
+
+    /** Parse a byte size such as {@code 1048576}, {@code 512k}, {@code 64m} or {@code 1g}. */
+    public static long parseByteSize(String size) {
+        String normalized = size.trim().toLowerCase(Locale.ROOT);
+        if (normalized.endsWith("b")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Invalid byte size: '" + size + "'");
+        }
+        long multiplier =
+                switch (normalized.charAt(normalized.length() - 1)) {
+                    case 'k' -> 1024L;
+                    case 'm' -> 1024L * 1024;
+                    case 'g' -> 1024L * 1024 * 1024;
+                    default -> 1L;
+                };
+        String digits =
+                multiplier == 1 ? normalized : normalized.substring(0, normalized.length() - 1);
+        return Math.multiplyExact(Long.parseLong(digits.trim()), multiplier);
+    }
+
+    public static ResponseCache create(Path cacheDirectory, long ttlSeconds, String backend) {
+        return switch (backend) {
+            case SEGMENT_BACKEND ->
+                    new SegmentFileCache(
+                            cacheDirectory,
+                            ttlSeconds,
+                            Optional.of(new FileSystemCache(cacheDirectory, ttlSeconds)));
+            case FILES_BACKEND -> new FileSystemCache(cacheDirectory, ttlSeconds);
+            default ->
+                    throw new IllegalArgumentException(
+                            "Unknown response cache backend: "
+                                    + backend
+                                    + ". Available: "
+                                    + SEGMENT_BACKEND
+                                    + ", "
+                                    + FILES_BACKEND);
+        };
+    }
+
+    static String configuredBackend() {
+        return Settings.stringValue(BACKEND_PROPERTY, BACKEND_ENV, FILES_BACKEND);
+    }
+
+    static long configuredMemoryTierBytes() {
+        if (memoryTierBytes >= 0) {
+            return memoryTierBytes;
+        }
+        String size = Settings.stringValue(MEMORY_PROPERTY, MEMORY_ENV, null);
+        return size == null ? DEFAULT_MEMORY_TIER_BYTES : parseByteSize(size);
+    }
+
+    private static final class SharedHolder {
+        private static final ResponseCache INSTANCE = createShared();
+
+        private static ResponseCache createShared() {
+            ResponseCache cache =
+                    create(
+                            FileSystemCache.resolveDefaultCacheDirectory(),
+                            FileSystemCache.DEFAULT_TTL_SECONDS,
+                            configuredBackend());
+            if (cache instanceof SegmentFileCache segmentCache) {
+                openSegmentCache = segmentCache;
+            }
+            long tierBytes = configuredMemoryTierBytes();
+            if (tierBytes == 0) {
+                return cache;
+            }
+            MemoryTierCache tier = new MemoryTierCache(cache, tierBytes);
+            Runtime.getRuntime()
+                    .addShutdownHook(
+                            new Thread(
+                                    () -> log.debug("Response cache memory tier: {}", tier.stats()),
+                                    "response-cache-stats"));
+            return tier;
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.zhlearn.infrastructure.cache;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zhlearn.infrastructure.jfr.CacheAccessEvent;
+
+/**
+ * Response cache that keeps every entry in one append-only segment file. The file is memory-mapped
+ * and an in-memory hash index maps each key to the offset of its latest record, so a lookup is a
+ * map probe plus a copy out of the mapping.
+ *
+ * <p>Record layout: magic, CRC32, key length, value length, timestamp, key bytes, value bytes. On
+ * open the file is scanned up to the first record whose magic, bounds or checksum do not match;
+ * that record is the remainder of a write interrupted by a crash and is discarded, along with
+ * anything after it. Overwritten and expired records are reclaimed by compaction, which copies the
+ * live records into a fresh file and atomically moves it over the old one.
+ *
+ * <p>When a migration source is given (the legacy per-file {@link FileSystemCache} layout), a miss
+ * is looked up there and a hit is copied into the segment file.
+ */
+public final class SegmentFileCache implements ResponseCache, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SegmentFileCache.class);
+
+    static final String SEGMENT_FILE_NAME = "responses.seg";
+    private static final String COMPACTION_FILE_NAME = "responses.seg.compact";
+    private static final String LOCK_FILE_NAME = "responses.seg.lock";
+    private static final String BACKEND = "segment";
+
+    private static final int FILE_MAGIC = 0x5A484C43;
+    private static final int FORMAT_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+
+    private static final int RECORD_MAGIC = 0x5A48524D;
+    private static final int CRC_OFFSET = 4;
+    private static final int KEY_LENGTH_OFFSET = 8;
+    private static final int VALUE_LENGTH_OFFSET = 12;
+    private static final int TIMESTAMP_OFFSET = 16;
+    private static final int RECORD_HEADER_BYTES = 24;
+
+    private static final long INITIAL_CAPACITY = 16L * 1024 * 1024;
+    private static final long MIN_COMPACTION_GARBAGE = 16L * 1024 * 1024;
+
+    private static final ValueLayout.OfInt INT =
+            ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG =
+            ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+
+    private final Path segmentFile;
+    private final Path compactionFile;
+    private final long ttlSeconds;
+    private final Optional<ResponseCache> migrationSource;
+    private final Map<String, Slot> index = new ConcurrentHashMap<>();
+    private final AtomicLong liveBytes = new AtomicLong();
+    private final AtomicLong garbageBytes = new AtomicLong();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FileChannel lockChannel;
+    private final FileLock processLock;
+
+    // Guarded by lock: readers hold the read lock, appends, remaps and compaction the write lock
+    private FileChannel channel;
+    private Arena arena;
+    private MemorySegment mapped;
+    private long writePosition;
+    private boolean closed;
+
+    public SegmentFileCache(
+            Path cacheDirectory, long ttlSeconds, Optional<ResponseCache> migrationSource) {
+        this.segmentFile = cacheDirectory.resolve(SEGMENT_FILE_NAME);
+        this.compactionFile = cacheDirectory.resolve(COMPACTION_FILE_NAME);
+        this.ttlSeconds = ttlSeconds;
+        this.migrationSource = migrationSource;
+        try {
+            Files.createDirectories(cacheDirectory);
+            this.lockChannel =
+                    FileChannel.open(cacheDirectory.resolve(LOCK_FILE_NAME), CREATE, WRITE);
+            this.processLock = tryLock(lockChannel);
+            if (processLock == null) {
+                lockChannel.close();
+                throw new IllegalStateException(
+                        "Response cache "
+                                + segmentFile
+                                + " is in use by another zh-learn process;"
+                                + " use the default files backend (ZHLEARN_CACHE_BACKEND=files) to"
+                                + " share the cache between processes");
+            }
+            // A leftover compaction file means a compaction was interrupted before its atomic
+            // move; the segment file itself is still intact.
+            Files.deleteIfExists(compactionFile);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open response cache " + segmentFile, e);
+        }
+        log.debug(
+                "Opened response cache {} with {} entries ({} live bytes, {} garbage bytes)",
+                segmentFile,
+                index.size(),
+                liveBytes.get(),
+                garbageBytes.get());
+        if (shouldCompact()) {
+            compact();
+        }
+    }
+
+    @Override
+    public Optional<String> get(String cacheKey) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        event.outcome = CacheAccessEvent.FAILED;
+        try {
+            Optional<String> found = find(cacheKey);
+            event.outcome = found.isPresent() ? CacheAccessEvent.HIT : CacheAccessEvent.MISS;
+            return found;
+        } finally {
+            event.commit(BACKEND, "get");
+        }
+    }
+
+    private Optional<String> find(String cacheKey) {
+        Optional<String> stored = readStored(cacheKey);
+        if (stored.isPresent() || migrationSource.isEmpty()) {
+            return stored;
+        }
+        Optional<String> legacy = migrationSource.get().get(cacheKey);
+        if (legacy.isPresent()) {
+            log.debug("Migrating legacy cache entry for key: {}", cacheKey);
+            put(cacheKey, legacy.get());
+        }
+        return legacy;
+    }
+
+    @Override
+    public void put(String cacheKey, String response) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        event.begin();
+        event.outcome = CacheAccessEvent.FAILED;
+        try {
+            append(cacheKey, response);
+            event.outcome = CacheAccessEvent.STORED;
+        } finally {
+            event.commit(BACKEND, "put");
+        }
+    }
+
+    private void append(String cacheKey, String response) {
+        byte[] key = cacheKey.getBytes(StandardCharsets.UTF_8);
+        byte[] value = response.getBytes(StandardCharsets.UTF_8);
+        long timestamp = System.currentTimeMillis();
+        byte[] record =
+                ByteBuffer.allocate(RECORD_HEADER_BYTES + key.length + value.length)
+                        .position(KEY_LENGTH_OFFSET)
+                        .putInt(key.length)
+                        .putInt(value.length)
+                        .putLong(timestamp)
+                        .put(key)
+                        .put(value)
+                        .array();
+        ByteBuffer.wrap(record).putInt(CRC_OFFSET, checksum(record));
+
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            ensureCapacity(writePosition + record.length);
+            long position = writePosition;
+            MemorySegment.copy(
+                    record,
+                    CRC_OFFSET,
+                    mapped,
+                    ValueLayout.JAVA_BYTE,
+                    position + CRC_OFFSET,
+                    record.length - CRC_OFFSET);
+            // The magic goes in last so a record is only recognised once it is complete
+            mapped.set(INT, position, RECORD_MAGIC);
+            writePosition = position + record.length;
+            place(cacheKey, new Slot(position, key.length, value.length, timestamp), timestamp);
+            if (shouldCompact()) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Cache entry stored for key: {}", cacheKey);
+    }
+
+    /** Rewrite the segment file with only the live, unexpired records. */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            checkOpen();
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Unmap the file and release the process lock. Waits for reads and writes in progress; any
+     * access afterwards fails with an {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            mapped.force();
+            closeMapping();
+            processLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close response cache " + segmentFile, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Optional<String> readStored(String cacheKey) {
+        lock.readLock().lock();
+        try {
+            checkOpen();
+            Slot slot = index.get(cacheKey);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            if (slot.isExpired(System.currentTimeMillis(), ttlSeconds)) {
+                log.debug("Cache entry expired for key: {}", cacheKey);
+                if (index.remove(cacheKey, slot)) {
+                    liveBytes.addAndGet(-slot.length());
+                    garbageBytes.addAndGet(slot.length());
+                }
+                return Optional.empty();
+            }
+            log.debug("Cache hit for key: {}", cacheKey);
+            return Optional.of(readString(slot.valueOffset(), slot.valueLength()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Response cache " + segmentFile + " is closed");
+        }
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(segmentFile, CREATE, READ, WRITE);
+        long fileSize = channel.size();
+        map(capacityFor(Math.max(fileSize, FILE_HEADER_BYTES)));
+        if (fileSize == 0) {
+            mapped.set(INT, 0, FILE_MAGIC);
+            mapped.set(INT, 4, FORMAT_VERSION);
+            writePosition = FILE_HEADER_BYTES;
+            return;
+        }
+        if (fileSize < FILE_HEADER_BYTES
+                || mapped.get(INT, 0) != FILE_MAGIC
+                || mapped.get(INT, 4) != FORMAT_VERSION) {
+            throw new IllegalStateException(
+                    "Response cache "
+                            + segmentFile
+                            + " is not a version "
+                            + FORMAT_VERSION
+                            + " segment file");
+        }
+        writePosition = recover(fileSize);
+    }
+
+    private long recover(long fileSize) {
+        long now = System.currentTimeMillis();
+        long position = FILE_HEADER_BYTES;
+        while (position + RECORD_HEADER_BYTES <= fileSize
+                && mapped.get(INT, position) == RECORD_MAGIC) {
+            int keyLength = mapped.get(INT, position + KEY_LENGTH_OFFSET);
+            int valueLength = mapped.get(INT, position + VALUE_LENGTH_OFFSET);
+            long recordLength = RECORD_HEADER_BYTES + (long) keyLength + valueLength;
+            if (keyLength <= 0 || valueLength < 0 || position + recordLength > fileSize) {
+                break;
+            }
+            byte[] record = mapped.asSlice(position, recordLength).toArray(ValueLayout.JAVA_BYTE);
+            if (mapped.get(INT, position + CRC_OFFSET) != checksum(record)) {
+                break;
+            }
+            String key = new String(record, RECORD_HEADER_BYTES, keyLength, StandardCharsets.UTF_8);
+            long timestamp = mapped.get(LONG, position + TIMESTAMP_OFFSET);
+            place(key, new Slot(position, keyLength, valueLength, timestamp), now);
+            position += recordLength;
+        }
+        if (position + Integer.BYTES <= fileSize && mapped.get(INT, position) != 0) {
+            log.warn(
+                    "Discarding incomplete record at offset {} of response cache {}",
+                    position,
+                    segmentFile);
+            // Clearing the magic is enough: the next append overwrites the record from here
+            mapped.set(INT, position, 0);
+        }
+        return position;
+    }
+
+    private void place(String key, Slot slot, long nowMillis) {
+        if (slot.isExpired(nowMillis, ttlSeconds)) {
+            garbageBytes.addAndGet(slot.length());
+            return;
+        }
+        liveBytes.addAndGet(slot.length());
+        Slot previous = index.put(key, slot);
+        if (previous != null) {
+            liveBytes.addAndGet(-previous.length());
+            garbageBytes.addAndGet(previous.length());
+        }
+    }
+
+    private boolean shouldCompact() {
+        long garbage = garbageBytes.get();
+        return garbage >= MIN_COMPACTION_GARBAGE && garbage > liveBytes.get();
+    }
+
+    private void compactLocked() {
+        long startTime = System.currentTimeMillis();
+        long sizeBefore = writePosition;
+        try {
+            try (FileChannel target =
+                    FileChannel.open(compactionFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+                ByteBuffer header =
+                        ByteBuffer.allocate(FILE_HEADER_BYTES)
+                                .putInt(FILE_MAGIC)
+                                .putInt(FORMAT_VERSION)
+                                .flip();
+                writeFully(target, header);
+                for (Slot slot : index.values()) {
+                    if (!slot.isExpired(startTime, ttlSeconds)) {
+                        byte[] record =
+                                mapped.asSlice(slot.offset(), slot.length())
+                                        .toArray(ValueLayout.JAVA_BYTE);
+                        writeFully(target, ByteBuffer.wrap(record));
+                    }
+                }
+                target.force(true);
+            }
+            closeMapping();
+            Files.move(
+                    compactionFile,
+                    segmentFile,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+            index.clear();
+            liveBytes.set(0);
+            garbageBytes.set(0);
+            open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact response cache " + segmentFile, e);
+        }
+        log.info(
+                "Compacted response cache {} from {} to {} bytes in {}ms",
+                segmentFile,
+                sizeBefore,
+                writePosition,
+                System.currentTimeMillis() - startTime);
+    }
+
+    private void ensureCapacity(long required) {
+        if (required <= mapped.byteSize()) {
+            return;
+        }
+        try {
+            arena.close();
+            map(capacityFor(required));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to grow response cache " + segmentFile, e);
+        }
+    }
+
+    private void map(long capacity) throws IOException {
+        arena = Arena.ofShared();
+        mapped = channel.map(MapMode.READ_WRITE, 0, capacity, arena);
+    }
+
+    /** Unmap the segment and trim the preallocated tail before closing the channel. */
+    private void closeMapping() throws IOException {
+        arena.close();
+        channel.truncate(writePosition);
+        channel.force(true);
+        channel.close();
+    }
+
+    private String readString(long offset, int length) {
+        byte[] bytes = mapped.asSlice(offset, length).toArray(ValueLayout.JAVA_BYTE);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** CRC32 over everything after the magic and checksum fields. */
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record, KEY_LENGTH_OFFSET, record.length - KEY_LENGTH_OFFSET);
+        return (int) crc.getValue();
+    }
+
+    /** Returns {@code null} when another process, or another cache in this JVM, holds the lock. */
+    private static FileLock tryLock(FileChannel lockChannel) throws IOException {
+        try {
+            return lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private static long capacityFor(long required) {
+        long capacity = INITIAL_CAPACITY;
+        while (capacity < required) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private record Slot(long offset, int keyLength, int valueLength, long timestampMillis) {
+
+        long length() {
+            return RECORD_HEADER_BYTES + (long) keyLength + valueLength;
+        }
+
+        long valueOffset() {
+            return offset + RECORD_HEADER_BYTES + keyLength;
+        }
+
+        boolean isExpired(long nowMillis, long ttlSeconds) {
+            return nowMillis > timestampMillis + ttlSeconds * 1000;
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.zhlearn.infrastructure.cache;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.ProviderConfiguration;
+import com.zhlearn.domain.model.StructuralDecomposition;
+import com.zhlearn.domain.model.WordAnalysis;
+
+/**
+ * Append-only JSON Lines file of finished word analyses, one file per provider configuration
+ * fingerprint, so a batch command that is interrupted can resume where it stopped. Every record is
+ * written with a single append as soon as the word is finished; a record cut short by a crash has
+ * no trailing newline and is dropped when the store is reopened.
+ */
+public final class WordAnalysisStore implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(WordAnalysisStore.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Set<String> completed = ConcurrentHashMap.newKeySet();
+
+    private WordAnalysisStore(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens the store for this fingerprint under {@code directory}. Unless resuming, records of an
+     * earlier run with the same fingerprint are discarded.
+     */
+    public static WordAnalysisStore open(Path directory, String fingerprint, boolean resume)
+            throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fingerprint + ".jsonl");
+        FileChannel channel =
+                resume
+                        ? FileChannel.open(
+                                file,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE)
+                        : FileChannel.open(
+                                file,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE,
+                                StandardOpenOption.TRUNCATE_EXISTING);
+        WordAnalysisStore store = new WordAnalysisStore(file, channel);
+        if (resume) {
+            store.dropPartialRecord();
+            try (Stream<WordAnalysis> analyses = store.stream()) {
+                analyses.forEach(analysis -> store.completed.add(analysis.word().characters()));
+            }
+        }
+        channel.position(channel.size());
+        return store;
+    }
+
+    /** {@code ~/.zh-learn/results}, next to the LLM response cache. */
+    public static Path defaultDirectory() {
+        return FileSystemCache.resolveDefaultCacheDirectory().resolveSibling("results");
+    }
+
+    /**
+     * Short hash of the resolved providers plus anything else that changes the analyses, such as
+     * the model or which fields a command regenerates.
+     */
+    public static String fingerprint(ProviderConfiguration config, String... qualifiers) {
+        StringBuilder key = new StringBuilder(config.toString());
+        for (String qualifier : qualifiers) {
+            key.append('|').append(qualifier);
+        }
+        try {
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 digest not available", e);
+        }
+    }
+
+    public boolean isCompleted(String word) {
+        return completed.contains(word);
+    }
+
+    public int completedCount() {
+        return completed.size();
+    }
+
+    public synchronized void append(WordAnalysis analysis) throws IOException {
+        byte[] line =
+                (MAPPER.writeValueAsString(encode(analysis)) + "\n")
+                        .getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(line);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        completed.add(analysis.word().characters());
+    }
+
+    /** Streams the stored analyses in the order they were finished. */
+    public Stream<WordAnalysis> stream() throws IOException {
+        BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return reader.lines()
+                .filter(line -> !line.isBlank())
+                .map(WordAnalysisStore::decode)
+                .onClose(
+                        () -> {
+                            try {
+                                reader.close();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void dropPartialRecord() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        if (last.get(0) == '\n') {
+            return;
+        }
+        long end = size - 1;
+        ByteBuffer one = ByteBuffer.allocate(1);
+        while (end > 0) {
+            one.clear();
+            channel.read(one, end - 1);
+            if (one.get(0) == '\n') {
+                break;
+            }
+            end--;
+        }
+        log.warn("Dropping incomplete last record of {}", file);
+        channel.truncate(end);
+    }
+
+    static ObjectNode encode(WordAnalysis analysis) {
+        ObjectNode node = MAPPER.createObjectNode();
+        node.put("word", analysis.word().characters());
+        node.put("pinyin", analysis.pinyin().pinyin());
+        node.put("definition", analysis.definition().meaning());
+        node.put("decomposition", analysis.structuralDecomposition().decomposition());
+        node.put("explanation", analysis.explanation().explanation());
+        ArrayNode usages = node.putArray("usages");
+        for (Example.Usage usage : analysis.examples().usages()) {
+            usages.addObject()
+                    .put("sentence", usage.sentence())
+                    .put("pinyin", usage.pinyin())
+                    .put("translation", usage.translation())
+                    .put("context", usage.context())
+                    .put("breakdown", usage.breakdown());
+        }
+        ArrayNode series = node.putArray("phoneticSeries");
+        for (Example.SeriesItem item : analysis.examples().phoneticSeries()) {
+            series.addObject()
+                    .put("hanzi", item.hanzi())
+                    .put("pinyin", item.pinyin())
+                    .put("meaning", item.meaning());
+        }
+        analysis.pronunciation()
+                .ifPresent(path -> node.put("pronunciation", path.toAbsolutePath().toString()));
+        return node;
+    }
+
+    static WordAnalysis decode(String line) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Corrupt word analysis record: " + line, e);
+        }
+        List<Example.Usage> usages = new ArrayList<>();
+        for (JsonNode usage : node.path("usages")) {
+            usages.add(
+                    new Example.Usage(
+                            text(usage, "sentence"),
+                            text(usage, "pinyin"),
+                            text(usage, "translation"),
+                            text(usage, "context"),
+                            text(usage, "breakdown")));
+        }
+        List<Example.SeriesItem> series = new ArrayList<>();
+        for (JsonNode item : node.path("phoneticSeries")) {
+            series.add(
+                    new Example.SeriesItem(
+                            text(item, "hanzi"), text(item, "pinyin"), text(item, "meaning")));
+        }
+        return new WordAnalysis(
+                new Hanzi(text(node, "word")),
+                new Pinyin(text(node, "pinyin")),
+                new Definition(text(node, "definition")),
+                new StructuralDecomposition(text(node, "decomposition")),
+                new Example(List.copyOf(usages), List.copyOf(series)),
+                new Explanation(text(node, "explanation")),
+                Optional.ofNullable(text(node, "pronunciation")).map(Path::of));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -15,6 +15,9 @@ import com.zhlearn.infrastructure.dummy.DummyDefinitionFormatterProvider;
 import com.zhlearn.infrastructure.dummy.DummyExampleProvider;
 import com.zhlearn.infrastructure.dummy.DummyExplanationProvider;
 import com.zhlearn.infrastructure.dummy.DummyStructuralDecompositionProvider;
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
+import com.zhlearn.infrastructure.ratelimit.RateLimiterConfig;
+import com.zhlearn.infrastructure.ratelimit.RateLimiterRegistry;
 
 public class AIProviderFactory {
 
@@ -47,7 +50,16 @@ public class AIProviderFactory {
     private final MultiCharDefinitionGeneratorProviderConfig multiCharDefinitionGeneratorConfig =
             new MultiCharDefinitionGeneratorProviderConfig();
 
-    public AIProviderFactory() {}
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    public AIProviderFactory() {
+        this(new RateLimiterRegistry());
+    }
+
+    /** Chat models share the limiter of their vendor from this registry. */
+    public AIProviderFactory(RateLimiterRegistry rateLimiterRegistry) {
+        this.rateLimiterRegistry = rateLimiterRegistry;
+    }
 
     public ExampleProvider createExampleProvider(String providerName) {
         return createExampleProvider(providerName, null);
@@ -660,7 +672,30 @@ public class AIProviderFactory {
                 examplesResourcePath,
                 responseMapper,
                 providerName,
-                errorMessagePrefix);
+                errorMessagePrefix,
+                chatRateLimiter(providerName));
+    }
+
+    /** One limiter per vendor, since request and token limits apply per API key. */
+    private ProviderRateLimiter chatRateLimiter(String providerName) {
+        return switch (providerName) {
+            case "deepseek-chat" ->
+                    rateLimiterRegistry.getOrCreate(
+                            "deepseek-llm", RateLimiterConfig.forDeepSeek());
+            case "glm-4-flash", "glm-4.5" ->
+                    rateLimiterRegistry.getOrCreate("zhipu-llm", RateLimiterConfig.forZhipu());
+            case "qwen-max", "qwen-plus", "qwen-turbo" ->
+                    rateLimiterRegistry.getOrCreate(
+                            "dashscope-llm", RateLimiterConfig.forDashScope());
+            case "openrouter" ->
+                    rateLimiterRegistry.getOrCreate(
+                            "openrouter-llm", RateLimiterConfig.forOpenRouter());
+            case String name when name.startsWith("gemini-") ->
+                    rateLimiterRegistry.getOrCreate("gemini-llm", RateLimiterConfig.forGemini());
+            default ->
+                    throw new IllegalArgumentException(
+                            "No rate limit configured for provider: " + providerName);
+        };
     }
 
     private void requireAPIKey(String keyName, String providerName) {
@@ -0,0 +1,126 @@
+package com.zhlearn.infrastructure.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Groups concurrent requests into batches. The first caller of a batch waits until the batch is
+ * full or the linger time has passed, then sends every request in one call; the other callers wait
+ * for their slice of the result. A batch failure is rethrown to every caller in it.
+ *
+ * @param <Q> request type
+ * @param <R> result type; an empty result tells the caller to handle the request on its own
+ */
+final class ChatBatcher<Q, R> {
+
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Function<List<Q>, List<Optional<R>>> sender;
+
+    private Batch<Q, R> open;
+
+    ChatBatcher(int batchSize, Duration linger, Function<List<Q>, List<Optional<R>>> sender) {
+        if (batchSize < 2) {
+            throw new IllegalArgumentException("Batch size must be at least 2: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.sender = sender;
+    }
+
+    Optional<R> submit(Q request) {
+        CompletableFuture<Optional<R>> result = new CompletableFuture<>();
+        Batch<Q, R> batch;
+        boolean leader;
+        synchronized (this) {
+            leader = open == null;
+            if (leader) {
+                open = new Batch<>();
+            }
+            batch = open;
+            batch.requests.add(request);
+            batch.results.add(result);
+            if (batch.requests.size() >= batchSize) {
+                open = null;
+                notifyAll();
+            }
+        }
+        if (leader) {
+            awaitBatch(batch);
+            send(batch);
+        }
+        return await(result);
+    }
+
+    private synchronized void awaitBatch(Batch<Q, R> batch) {
+        long deadline = System.nanoTime() + lingerNanos;
+        long remaining = lingerNanos;
+        try {
+            while (open == batch && remaining > 0) {
+                wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+                remaining = deadline - System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            // Send what has been collected so far; the interrupt is restored for the caller
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+        }
+    }
+
+    /** Sends the batch on this thread; its results or failure complete every caller's future. */
+    private void send(Batch<Q, R> batch) {
+        List<Q> requests = List.copyOf(batch.requests);
+        List<Optional<R>> results;
+        // CHECKSTYLE:OFF
+        try {
+            results = sendChecked(requests);
+        } catch (RuntimeException | Error e) {
+            batch.results.forEach(result -> result.completeExceptionally(e));
+            return;
+        }
+        // CHECKSTYLE:ON
+        for (int i = 0; i < requests.size(); i++) {
+            batch.results.get(i).complete(results.get(i));
+        }
+    }
+
+    private List<Optional<R>> sendChecked(List<Q> requests) {
+        List<Optional<R>> results = sender.apply(requests);
+        if (results.size() != requests.size()) {
+            throw new IllegalStateException(
+                    "Batch returned " + results.size() + " results for " + requests.size());
+        }
+        return results;
+    }
+
+    private static <R> Optional<R> await(CompletableFuture<Optional<R>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for batched AI response", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(
+                    "Batched AI call failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static final class Batch<Q, R> {
+        private final List<Q> requests = new ArrayList<>();
+        private final List<CompletableFuture<Optional<R>>> results = new ArrayList<>();
+    }
+}
@@ -2,6 +2,7 @@ package com.zhlearn.infrastructure.common;
 
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 import com.zhlearn.domain.model.Example;
 import com.zhlearn.domain.model.Hanzi;
@@ -13,6 +14,8 @@ public class ConfigurableExampleProvider implements ExampleProvider {
 
     private final BiFunction<Hanzi, Optional<String>, Example> singleCharProcessor;
     private final BiFunction<Hanzi, Optional<String>, Example> multiCharProcessor;
+    private final StreamingProcessor singleCharStreamingProcessor;
+    private final StreamingProcessor multiCharStreamingProcessor;
     private final Optional<ProviderConfig<Example>> singleCharConfig;
     private final Optional<ProviderConfig<Example>> multiCharConfig;
     private final String name;
@@ -24,8 +27,26 @@ public class ConfigurableExampleProvider implements ExampleProvider {
             String name,
             String description) {
         this(
-                new GenericChatModelProvider<>(singleCharConfig)::process,
-                new GenericChatModelProvider<>(multiCharConfig)::process,
+                new GenericChatModelProvider<>(singleCharConfig),
+                new GenericChatModelProvider<>(multiCharConfig),
+                singleCharConfig,
+                multiCharConfig,
+                name,
+                description);
+    }
+
+    private ConfigurableExampleProvider(
+            GenericChatModelProvider<Example> singleCharProvider,
+            GenericChatModelProvider<Example> multiCharProvider,
+            ProviderConfig<Example> singleCharConfig,
+            ProviderConfig<Example> multiCharConfig,
+            String name,
+            String description) {
+        this(
+                singleCharProvider::process,
+                multiCharProvider::process,
+                singleCharProvider::processStreaming,
+                multiCharProvider::processStreaming,
                 Optional.of(singleCharConfig),
                 Optional.of(multiCharConfig),
                 name,
@@ -53,8 +74,30 @@ public class ConfigurableExampleProvider implements ExampleProvider {
             Optional<ProviderConfig<Example>> multiCharConfig,
             String name,
             String description) {
+        this(
+                singleCharProcessor,
+                multiCharProcessor,
+                (word, definition, partialExamples) -> singleCharProcessor.apply(word, definition),
+                (word, definition, partialExamples) -> multiCharProcessor.apply(word, definition),
+                singleCharConfig,
+                multiCharConfig,
+                name,
+                description);
+    }
+
+    private ConfigurableExampleProvider(
+            BiFunction<Hanzi, Optional<String>, Example> singleCharProcessor,
+            BiFunction<Hanzi, Optional<String>, Example> multiCharProcessor,
+            StreamingProcessor singleCharStreamingProcessor,
+            StreamingProcessor multiCharStreamingProcessor,
+            Optional<ProviderConfig<Example>> singleCharConfig,
+            Optional<ProviderConfig<Example>> multiCharConfig,
+            String name,
+            String description) {
         this.singleCharProcessor = singleCharProcessor;
         this.multiCharProcessor = multiCharProcessor;
+        this.singleCharStreamingProcessor = singleCharStreamingProcessor;
+        this.multiCharStreamingProcessor = multiCharStreamingProcessor;
         this.singleCharConfig = singleCharConfig;
         this.multiCharConfig = multiCharConfig;
         this.name = name;
@@ -82,6 +125,17 @@ public class ConfigurableExampleProvider implements ExampleProvider {
         return selectProcessor(type).apply(word, definition);
     }
 
+    @Override
+    public Example getExamples(
+            Hanzi word, Optional<String> definition, Consumer<Example> partialExamples) {
+        StreamingProcessor processor =
+                switch (WordType.from(word)) {
+                    case SINGLE_CHARACTER -> singleCharStreamingProcessor;
+                    case MULTI_CHARACTER -> multiCharStreamingProcessor;
+                };
+        return processor.process(word, definition, partialExamples);
+    }
+
     Optional<ProviderConfig<Example>> singleCharConfig() {
         return singleCharConfig;
     }
@@ -96,4 +150,9 @@ public class ConfigurableExampleProvider implements ExampleProvider {
             case MULTI_CHARACTER -> multiCharProcessor;
         };
     }
+
+    @FunctionalInterface
+    private interface StreamingProcessor {
+        Example process(Hanzi word, Optional<String> definition, Consumer<Example> partialExamples);
+    }
 }
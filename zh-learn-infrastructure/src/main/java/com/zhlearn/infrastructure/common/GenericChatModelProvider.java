@@ -7,45 +7,116 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.infrastructure.cache.CachedChatModel;
+import com.zhlearn.infrastructure.http.SharedHttpClient;
+import com.zhlearn.infrastructure.jfr.TraceContext;
 
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 
 public class GenericChatModelProvider<T> {
 
     private static final Logger log = LoggerFactory.getLogger(GenericChatModelProvider.class);
 
-    private final ChatModel chatModel;
+    static final String BATCH_SIZE_PROPERTY = "zhlearn.llm.batch";
+    static final String BATCH_SIZE_ENV = "ZHLEARN_LLM_BATCH";
+    static final String STREAMING_PROPERTY = "zhlearn.llm.streaming";
+    static final String STREAMING_ENV = "ZHLEARN_LLM_STREAMING";
+    private static final Duration BATCH_LINGER = Duration.ofMillis(300);
+    private static final String GEMINI_BASE_URL = "https://generativelanguage.googleapis.com";
+    private static final Pattern ITEM_MARKER =
+            Pattern.compile("^=== ITEM (\\d+): (.+?) ===[ \\t]*$", Pattern.MULTILINE);
+
+    private static volatile int batchSize = -1;
+    private static volatile Boolean streaming;
+
+    private final CachedChatModel chatModel;
     private final String promptTemplate;
     private final List<String> examples;
+    private final String instructions;
     private final ProviderConfig<T> config;
+    private final ChatBatcher<BatchItem, T> batcher;
 
     public GenericChatModelProvider(ProviderConfig<T> config) {
+        this(config, createChatModel(config), configuredBatchSize());
+    }
+
+    GenericChatModelProvider(ProviderConfig<T> config, CachedChatModel chatModel, int batchSize) {
         this.config = config;
-        this.chatModel = createChatModel(config);
+        this.chatModel = chatModel;
         this.promptTemplate = loadPromptTemplate(config.getTemplateResourcePath());
         this.examples = loadExamples(config.getExamplesResourcePath());
+        this.instructions = renderInstructions(promptTemplate, examples);
+        this.batcher =
+                batchSize > 1 ? new ChatBatcher<>(batchSize, BATCH_LINGER, this::sendBatch) : null;
+    }
+
+    /**
+     * Number of words packed into one request. Applies to providers created afterwards; 1 sends one
+     * request per word.
+     */
+    public static void configureBatchSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + size);
+        }
+        batchSize = size;
+    }
+
+    /**
+     * Stream responses for calls that report partial results. Applies to providers created
+     * afterwards.
+     */
+    public static void configureStreaming(boolean enabled) {
+        streaming = enabled;
     }
 
-    private ChatModel createChatModel(ProviderConfig<T> config) {
+    public static boolean streamingEnabled() {
+        if (streaming != null) {
+            return streaming;
+        }
+        return Settings.booleanValue(STREAMING_PROPERTY, STREAMING_ENV);
+    }
+
+    static int configuredBatchSize() {
+        if (batchSize > 0) {
+            return batchSize;
+        }
+        return Settings.intValue(BATCH_SIZE_PROPERTY, BATCH_SIZE_ENV, 1);
+    }
+
+    private static <T> CachedChatModel createChatModel(ProviderConfig<T> config) {
+        SharedHttpClient.warmUp(
+                config.getModelName().startsWith("gemini-")
+                        ? GEMINI_BASE_URL
+                        : config.getBaseUrl());
         ChatModel base =
                 switch (config.getModelName()) {
                     case String model when model.startsWith("gemini-") -> {
                         GoogleAiGeminiChatModel.GoogleAiGeminiChatModelBuilder builder =
                                 GoogleAiGeminiChatModel.builder()
+                                        .httpClientBuilder(
+                                                SharedHttpClient.langchain4jClientBuilder())
                                         .apiKey(config.getApiKey())
                                         .modelName(config.getModelName())
                                         .timeout(Duration.ofSeconds(120))
-                                        .maxRetries(2);
+                                        .maxRetries(langchainRetries(config));
 
                         if (config.getTemperature() != null) {
                             builder.temperature(config.getTemperature());
@@ -56,16 +127,53 @@ public class GenericChatModelProvider<T> {
 
                     default ->
                             OpenAiChatModel.builder()
+                                    .httpClientBuilder(SharedHttpClient.langchain4jClientBuilder())
                                     .baseUrl(config.getBaseUrl())
                                     .apiKey(config.getApiKey())
                                     .modelName(config.getModelName())
                                     .temperature(config.getTemperature())
                                     .maxTokens(config.getMaxTokens())
                                     .timeout(Duration.ofSeconds(120))
-                                    .maxRetries(2)
+                                    .maxRetries(langchainRetries(config))
                                     .build();
                 };
-        return new CachedChatModel(base, config);
+        return new CachedChatModel(
+                base, streamingEnabled() ? createStreamingChatModel(config) : null, config);
+    }
+
+    /** A rate limited model leaves retries to the limiter, which backs off on 429 responses. */
+    private static int langchainRetries(ProviderConfig<?> config) {
+        return config.getRateLimiter() == null ? 2 : 0;
+    }
+
+    private static <T> StreamingChatModel createStreamingChatModel(ProviderConfig<T> config) {
+        return switch (config.getModelName()) {
+            case String model when model.startsWith("gemini-") -> {
+                GoogleAiGeminiStreamingChatModel.GoogleAiGeminiStreamingChatModelBuilder builder =
+                        GoogleAiGeminiStreamingChatModel.builder()
+                                .httpClientBuilder(SharedHttpClient.langchain4jClientBuilder())
+                                .apiKey(config.getApiKey())
+                                .modelName(config.getModelName())
+                                .timeout(Duration.ofSeconds(120));
+
+                if (config.getTemperature() != null) {
+                    builder.temperature(config.getTemperature());
+                }
+
+                yield builder.build();
+            }
+
+            default ->
+                    OpenAiStreamingChatModel.builder()
+                            .httpClientBuilder(SharedHttpClient.langchain4jClientBuilder())
+                            .baseUrl(config.getBaseUrl())
+                            .apiKey(config.getApiKey())
+                            .modelName(config.getModelName())
+                            .temperature(config.getTemperature())
+                            .maxTokens(config.getMaxTokens())
+                            .timeout(Duration.ofSeconds(120))
+                            .build();
+        };
     }
 
     public String getName() {
@@ -81,7 +189,32 @@ public class GenericChatModelProvider<T> {
     }
 
     public T processWithContext(Hanzi word, Optional<String> additionalContext) {
-        String prompt = buildPrompt(word.characters(), additionalContext.orElse(null));
+        TraceContext previous = TraceContext.enter(word.characters(), config.getProviderName());
+        try {
+            return processTraced(word, additionalContext);
+        } finally {
+            previous.restore();
+        }
+    }
+
+    private T processTraced(Hanzi word, Optional<String> additionalContext) {
+        String request = buildRequest(word.characters(), additionalContext.orElse(null));
+
+        if (batcher != null) {
+            Optional<String> cached = chatModel.cached(instructions, request);
+            if (cached.isPresent()) {
+                return mapResponse(word, cached.get());
+            }
+            Optional<T> batched =
+                    batcher.submit(new BatchItem(word, additionalContext.orElse(null), request));
+            if (batched.isPresent()) {
+                return batched.get();
+            }
+            log.info(
+                    "[AI Call] {} for '{}': batched response unusable, sending single request",
+                    config.getProviderName(),
+                    word.characters());
+        }
 
         // Add timing information for AI provider calls
         long startTime = System.currentTimeMillis();
@@ -92,7 +225,7 @@ public class GenericChatModelProvider<T> {
                 word.characters(),
                 timestamp);
 
-        String response = chatModel.chat(prompt);
+        String response = chatModel.chat(instructions, request);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info(
@@ -101,6 +234,49 @@ public class GenericChatModelProvider<T> {
                 word.characters(),
                 duration);
 
+        return mapResponse(word, response);
+    }
+
+    /**
+     * Like {@link #process(Hanzi, Optional)}, but when streaming is enabled and the word is not
+     * batched, {@code partialResults} receives the entries parsed so far while the response is
+     * still arriving. The returned value is always parsed from the complete response.
+     */
+    public T processStreaming(Hanzi word, Optional<String> definition, Consumer<T> partialResults) {
+        if (batcher != null) {
+            return processWithContext(word, definition);
+        }
+        TraceContext previous = TraceContext.enter(word.characters(), config.getProviderName());
+        try {
+            String request = buildRequest(word.characters(), definition.orElse(null));
+
+            long startTime = System.currentTimeMillis();
+            log.info(
+                    "[AI Call] {} for '{}': sent at {} (streaming)",
+                    config.getProviderName(),
+                    word.characters(),
+                    Instant.now());
+
+            String response =
+                    chatModel.chat(
+                            instructions,
+                            request,
+                            new PartialResponseParser<>(
+                                    config.getResponseMapper(), partialResults));
+
+            log.info(
+                    "[AI Call] {} for '{}': stream completed after {}ms",
+                    config.getProviderName(),
+                    word.characters(),
+                    System.currentTimeMillis() - startTime);
+
+            return mapResponse(word, response);
+        } finally {
+            previous.restore();
+        }
+    }
+
+    private T mapResponse(Hanzi word, String response) {
         try {
             return config.getResponseMapper().apply(response);
         } catch (IllegalStateException | ResponseParsingException | IllegalArgumentException e) {
@@ -114,21 +290,146 @@ public class GenericChatModelProvider<T> {
         }
     }
 
-    private String buildPrompt(String chineseWord, String additionalContext) {
-        String allExamples = String.join("\n\n", examples);
+    /**
+     * Send several words in one request. The shared instructions and few-shot examples appear once,
+     * as the same system message single requests use; the answer for each word follows an {@code
+     * === ITEM n: word ===} marker, and the output token limit grows with the number of words. Each
+     * answer is parsed with the regular response mapper and cached under the request a single call
+     * for that word would have used; the combined response is not cached. Words whose answer is
+     * missing or does not parse get an empty result so their callers fall back to a single request.
+     */
+    private List<Optional<T>> sendBatch(List<BatchItem> items) {
+        if (items.size() == 1) {
+            return List.of(Optional.empty());
+        }
+        String request = buildBatchRequest(items);
+
+        long startTime = System.currentTimeMillis();
+        log.info(
+                "[AI Call] {} for batch of {} words: sent at {}",
+                config.getProviderName(),
+                items.size(),
+                Instant.now());
 
-        String contextSection = "";
-        String rawDefinition = "";
+        String words =
+                items.stream()
+                        .map(item -> item.word().characters())
+                        .collect(Collectors.joining(","));
+        TraceContext previous = TraceContext.enter(words, config.getProviderName());
+        String response;
+        try {
+            response = chatModel.chatBatch(instructions, request, items.size());
+        } finally {
+            previous.restore();
+        }
+
+        log.info(
+                "[AI Call] {} for batch of {} words: received after {}ms",
+                config.getProviderName(),
+                items.size(),
+                System.currentTimeMillis() - startTime);
+
+        Map<Integer, String> sections = splitBatchResponse(response, items);
+        List<Optional<T>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            String section = sections.get(i + 1);
+            if (section == null) {
+                log.warn(
+                        "[AI Call] {} batch response has no answer for '{}'",
+                        config.getProviderName(),
+                        item.word().characters());
+                results.add(Optional.empty());
+                continue;
+            }
+            try {
+                T value = config.getResponseMapper().apply(section);
+                chatModel.store(instructions, item.request(), section);
+                results.add(Optional.of(value));
+            } catch (IllegalStateException
+                    | ResponseParsingException
+                    | IllegalArgumentException e) {
+                log.warn(
+                        "[AI Call] {} batch answer for '{}' did not parse: {}",
+                        config.getProviderName(),
+                        item.word().characters(),
+                        e.getMessage());
+                results.add(Optional.empty());
+            }
+        }
+        return results;
+    }
+
+    private static String buildBatchRequest(List<BatchItem> items) {
+        StringBuilder request = new StringBuilder("# Batch Request\n\n");
+        request.append("Apply the instructions to each of the following ")
+                .append(items.size())
+                .append(" items independently.\n");
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            request.append("\n## Item ")
+                    .append(i + 1)
+                    .append("\nWord: **")
+                    .append(item.word().characters())
+                    .append("**\n");
+            if (item.context() != null && !item.context().trim().isEmpty()) {
+                request.append("Known context: ").append(item.context()).append('\n');
+            }
+        }
+        request.append("\n## Batch Output Format\n")
+                .append("For each item, in order, output a line `=== ITEM <number>: <word> ===`")
+                .append(" followed by exactly the output the instructions ask for that word.")
+                .append(" Output nothing before the first marker and nothing else between items.");
+        return request.toString();
+    }
+
+    /** Answers by 1-based item number; items whose marker names a different word are dropped. */
+    static Map<Integer, String> splitBatchResponse(String response, List<BatchItem> items) {
+        Map<Integer, String> sections = new TreeMap<>();
+        Matcher matcher = ITEM_MARKER.matcher(response);
+        int number = -1;
+        int start = -1;
+        while (true) {
+            boolean found = matcher.find();
+            if (number > 0) {
+                String section =
+                        response.substring(start, found ? matcher.start() : response.length());
+                sections.putIfAbsent(number, section.trim());
+            }
+            if (!found) {
+                return sections;
+            }
+            int index = Integer.parseInt(matcher.group(1));
+            boolean matchesWord =
+                    index >= 1
+                            && index <= items.size()
+                            && items.get(index - 1)
+                                    .word()
+                                    .characters()
+                                    .equals(matcher.group(2).trim());
+            number = matchesWord ? index : -1;
+            start = matcher.end();
+        }
+    }
+
+    /**
+     * Per-word part of the prompt: the word and its known context (for the definition formatter,
+     * the raw definition). Everything else - template and few-shot examples - is the same for every
+     * word and goes into {@link #instructions}, so it forms a cacheable prompt prefix.
+     */
+    static String buildRequest(String chineseWord, String additionalContext) {
+        StringBuilder request = new StringBuilder("Word: **").append(chineseWord).append("**\n");
         if (additionalContext != null && !additionalContext.trim().isEmpty()) {
-            contextSection = "Known context: " + additionalContext;
-            rawDefinition = additionalContext;
+            request.append("Known context: ").append(additionalContext).append('\n');
         }
+        return request.toString();
+    }
 
-        return promptTemplate
-                .replace("{WORD}", chineseWord)
-                .replace("{EXAMPLES}", allExamples)
-                .replace("{CONTEXT}", contextSection)
-                .replace("{RAW_DEFINITION}", rawDefinition);
+    /**
+     * The template with its few-shot examples; the word itself is sent by {@link #buildRequest}.
+     */
+    static String renderInstructions(String promptTemplate, List<String> examples) {
+        return promptTemplate.replace("{EXAMPLES}", String.join("\n\n", examples));
     }
 
     private String loadPromptTemplate(String templateResourcePath) {
@@ -169,4 +470,6 @@ public class GenericChatModelProvider<T> {
 
         return exampleList;
     }
+
+    record BatchItem(Hanzi word, String context, String request) {}
 }
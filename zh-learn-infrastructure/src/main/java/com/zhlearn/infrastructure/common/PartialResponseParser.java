@@ -0,0 +1,98 @@
+package com.zhlearn.infrastructure.common;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Parses a YAML response while it is still streaming in. Chunks are appended as they arrive; the
+ * text received so far is cut before the last line that starts a list item or a top-level key;
+ * everything before that line belongs to completed entries and is parsed with the regular response
+ * mapper. Each value that parses and differs from the previous one is passed on.
+ *
+ * <p>Each chunk is scanned once and the mapper runs once per completed entry rather than once per
+ * chunk. Prefixes the mapper rejects with the same parse errors as a complete response are skipped:
+ * the complete response is parsed and validated by the caller anyway.
+ */
+final class PartialResponseParser<T> implements Consumer<String> {
+
+    private static final String CODE_FENCE = "```";
+
+    private final Function<String, T> mapper;
+    private final Consumer<T> partialResults;
+    private final StringBuilder received = new StringBuilder();
+    private int scanned;
+    private int boundary;
+    private T last;
+
+    PartialResponseParser(Function<String, T> mapper, Consumer<T> partialResults) {
+        this.mapper = mapper;
+        this.partialResults = partialResults;
+    }
+
+    @Override
+    public void accept(String chunk) {
+        received.append(chunk);
+        int latest = latestBoundary();
+        if (latest <= boundary) {
+            return;
+        }
+        boundary = latest;
+        String completed = received.substring(0, latest);
+        if (completed.trim().startsWith(CODE_FENCE)) {
+            completed = completed + "\n" + CODE_FENCE;
+        }
+        T value = parseOrNull(completed);
+        if (value != null && !Objects.equals(value, last)) {
+            last = value;
+            partialResults.accept(value);
+        }
+    }
+
+    /** Start of the last entry line among the complete lines received so far. */
+    private int latestBoundary() {
+        int latest = boundary;
+        int lineEnd = received.indexOf("\n", scanned);
+        while (lineEnd >= 0) {
+            int lineStart = scanned;
+            scanned = lineEnd + 1;
+            if (lineStart > 0 && startsEntry(received, lineStart, lineEnd)) {
+                latest = lineStart;
+            }
+            lineEnd = received.indexOf("\n", scanned);
+        }
+        return latest;
+    }
+
+    private static boolean startsEntry(CharSequence text, int lineStart, int lineEnd) {
+        char first = text.charAt(lineStart);
+        if (first != ' ' && first != '\t') {
+            return lineStart < lineEnd && !startsWith(text, CODE_FENCE, lineStart);
+        }
+        int index = lineStart;
+        while (index < lineEnd && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return startsWith(text, "- ", index);
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix, int offset) {
+        if (offset + prefix.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.charAt(offset + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private T parseOrNull(String completed) {
+        try {
+            return mapper.apply(completed);
+        } catch (IllegalStateException | ResponseParsingException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.zhlearn.infrastructure.common;
 
 import java.util.function.Function;
 
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
+
 public class ProviderConfig<T> {
     private final String apiKey;
     private final String baseUrl;
@@ -13,6 +15,7 @@ public class ProviderConfig<T> {
     private final Function<String, T> responseMapper;
     private final String providerName;
     private final String errorMessagePrefix;
+    private final ProviderRateLimiter rateLimiter;
 
     public ProviderConfig(
             String apiKey,
@@ -25,6 +28,35 @@ public class ProviderConfig<T> {
             Function<String, T> responseMapper,
             String providerName,
             String errorMessagePrefix) {
+        this(
+                apiKey,
+                baseUrl,
+                modelName,
+                temperature,
+                maxTokens,
+                templateResourcePath,
+                examplesResourcePath,
+                responseMapper,
+                providerName,
+                errorMessagePrefix,
+                null);
+    }
+
+    /**
+     * @param rateLimiter limiter every call to the model goes through; null for no rate limiting
+     */
+    public ProviderConfig(
+            String apiKey,
+            String baseUrl,
+            String modelName,
+            Double temperature,
+            Integer maxTokens,
+            String templateResourcePath,
+            String examplesResourcePath,
+            Function<String, T> responseMapper,
+            String providerName,
+            String errorMessagePrefix,
+            ProviderRateLimiter rateLimiter) {
         this.apiKey = apiKey;
         this.baseUrl = baseUrl;
         this.modelName = modelName;
@@ -35,6 +67,7 @@ public class ProviderConfig<T> {
         this.responseMapper = responseMapper;
         this.providerName = providerName;
         this.errorMessagePrefix = errorMessagePrefix;
+        this.rateLimiter = rateLimiter;
     }
 
     public String getApiKey() {
@@ -76,4 +109,8 @@ public class ProviderConfig<T> {
     public String getErrorMessagePrefix() {
         return errorMessagePrefix;
     }
+
+    public ProviderRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
 }
@@ -0,0 +1,56 @@
+package com.zhlearn.infrastructure.common;
+
+/**
+ * Tuning settings, each read from a system property (e.g. {@code zhlearn.max-in-flight}), else from
+ * its environment variable (e.g. {@code ZHLEARN_MAX_IN_FLIGHT}), else taken from the given default.
+ * Blank values count as unset and values are trimmed; a value that does not parse is an error
+ * rather than a reason to fall back to the default.
+ */
+public final class Settings {
+
+    private Settings() {}
+
+    public static String stringValue(String property, String env, String defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(env);
+        }
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int intValue(String property, String env, int defaultValue) {
+        String value = stringValue(property, env, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw invalid(property, env, value, e);
+        }
+    }
+
+    public static long longValue(String property, String env, long defaultValue) {
+        String value = stringValue(property, env, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw invalid(property, env, value, e);
+        }
+    }
+
+    /** True when set to {@code true} (in any case) or {@code 1}. */
+    public static boolean booleanValue(String property, String env) {
+        String value = stringValue(property, env, null);
+        return value != null && (value.equals("1") || value.equalsIgnoreCase("true"));
+    }
+
+    private static IllegalArgumentException invalid(
+            String property, String env, String value, NumberFormatException cause) {
+        return new IllegalArgumentException(
+                "Invalid " + property + " / " + env + " value: " + value, cause);
+    }
+}
@@ -11,7 +11,9 @@ import java.util.List;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zhlearn.infrastructure.http.SharedHttpClient;
 
+import dev.langchain4j.exception.RateLimitException;
 import dev.langchain4j.model.chat.ChatModel;
 
 /**
@@ -35,7 +37,7 @@ public class ZaiOpenAiChatModel implements ChatModel {
             String modelName,
             Double temperature,
             Integer maxTokens) {
-        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(15)).build();
+        this.http = SharedHttpClient.get();
         this.apiKey = apiKey;
         this.baseUrl = baseUrl;
         this.modelName = modelName;
@@ -71,6 +73,8 @@ public class ZaiOpenAiChatModel implements ChatModel {
                 } else if (resp.statusCode() == 404) {
                     lastError = new RuntimeException("404 at " + endpoint);
                     continue; // try next candidate base
+                } else if (resp.statusCode() == 429) {
+                    throw new RateLimitException("HTTP 429: " + resp.body());
                 } else {
                     throw new RuntimeException("HTTP " + resp.statusCode() + ": " + resp.body());
                 }
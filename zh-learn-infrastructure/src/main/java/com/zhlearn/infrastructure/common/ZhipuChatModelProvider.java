@@ -91,17 +91,9 @@ public class ZhipuChatModelProvider<T> {
     }
 
     private String buildPrompt(String chineseWord, String additionalContext) {
-        String allExamples = String.join("\n\n", examples);
-
-        String contextSection = "";
-        if (additionalContext != null && !additionalContext.trim().isEmpty()) {
-            contextSection = "Known context: " + additionalContext;
-        }
-
-        return promptTemplate
-                .replace("{WORD}", chineseWord)
-                .replace("{EXAMPLES}", allExamples)
-                .replace("{CONTEXT}", contextSection);
+        return GenericChatModelProvider.renderInstructions(promptTemplate, examples)
+                + "\n\n"
+                + GenericChatModelProvider.buildRequest(chineseWord, additionalContext);
     }
 
     private String loadPromptTemplate(String templateResourcePath) {
@@ -0,0 +1,33 @@
+package com.zhlearn.infrastructure.concurrent;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/** Kind of threads the {@link SharedExecutor} runs tasks on. */
+public enum ExecutorMode {
+    /** Cached pool of daemon platform threads, grown on demand and reused when idle. */
+    PLATFORM,
+    /** One virtual thread per task. */
+    VIRTUAL;
+
+    public static ExecutorMode fromName(String name) {
+        String normalized = name.trim().toUpperCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(mode -> mode.name().equals(normalized))
+                .findFirst()
+                .orElseThrow(
+                        () ->
+                                new IllegalArgumentException(
+                                        "Unknown executor mode: "
+                                                + name
+                                                + ". Available: "
+                                                + Arrays.stream(values())
+                                                        .map(ExecutorMode::displayName)
+                                                        .collect(Collectors.joining(", "))));
+    }
+
+    public String displayName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,128 @@
+package com.zhlearn.infrastructure.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.zhlearn.infrastructure.common.Settings;
+
+/**
+ * Process-wide executor for blocking provider work: LLM calls, TTS downloads and audio
+ * normalization. It never bounds the number of running tasks, so nested fan-out (words, then
+ * analysis stages, then audio providers, then voices) cannot starve itself; the number of requests
+ * actually sent to a provider is bounded by that provider's rate limiter.
+ *
+ * <p>The underlying threads are created on first use, which lets the command line choose the {@link
+ * ExecutorMode} after the application context has been wired.
+ */
+public final class SharedExecutor implements Executor, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(SharedExecutor.class);
+
+    static final String MODE_PROPERTY = "zhlearn.executor";
+    static final String MODE_ENV = "ZHLEARN_EXECUTOR";
+
+    private ExecutorMode mode;
+    private ExecutorService delegate;
+    private boolean closed;
+
+    public SharedExecutor() {
+        this(configuredMode());
+    }
+
+    public SharedExecutor(ExecutorMode mode) {
+        this.mode = mode;
+    }
+
+    /** Mode set with {@code zhlearn.executor} (see {@link Settings}), platform threads if unset. */
+    public static ExecutorMode configuredMode() {
+        String mode = Settings.stringValue(MODE_PROPERTY, MODE_ENV, null);
+        return mode == null ? ExecutorMode.PLATFORM : ExecutorMode.fromName(mode);
+    }
+
+    /**
+     * Select the thread kind. Must be called before the first task is submitted.
+     *
+     * @throws IllegalStateException if threads of another mode are already running
+     */
+    public synchronized void configure(ExecutorMode mode) {
+        if (delegate != null && mode != this.mode) {
+            throw new IllegalStateException(
+                    "Executor already started in "
+                            + this.mode.displayName()
+                            + " mode, cannot switch to "
+                            + mode.displayName());
+        }
+        this.mode = mode;
+    }
+
+    public synchronized ExecutorMode mode() {
+        return mode;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        delegate().execute(task);
+    }
+
+    private synchronized ExecutorService delegate() {
+        if (closed) {
+            throw new RejectedExecutionException("Shared executor is closed");
+        }
+        if (delegate == null) {
+            log.debug("Starting shared executor in {} mode", mode.displayName());
+            delegate =
+                    switch (mode) {
+                        case PLATFORM ->
+                                Executors.newCachedThreadPool(
+                                        Thread.ofPlatform()
+                                                .name("zh-learn-worker-", 0)
+                                                .daemon()
+                                                .factory());
+                        case VIRTUAL ->
+                                Executors.newThreadPerTaskExecutor(
+                                        Thread.ofVirtual().name("zh-learn-virtual-", 0).factory());
+                    };
+        }
+        return delegate;
+    }
+
+    /** Stop accepting tasks; running tasks finish normally. */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (delegate != null) {
+            delegate.shutdown();
+        }
+    }
+
+    /**
+     * Wait up to {@code timeout} for the tasks still running after {@link #close()}.
+     *
+     * @return whether every task has finished; false when interrupted, with the interrupt restored
+     */
+    public boolean awaitTermination(Duration timeout) {
+        ExecutorService started;
+        synchronized (this) {
+            started = delegate;
+        }
+        if (started == null) {
+            return true;
+        }
+        try {
+            return started.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+}
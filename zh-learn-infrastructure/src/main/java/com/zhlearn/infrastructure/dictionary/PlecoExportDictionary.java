@@ -5,8 +5,7 @@ import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.zhlearn.domain.dictionary.Dictionary;
 import com.zhlearn.domain.model.*;
@@ -20,7 +19,7 @@ import com.zhlearn.infrastructure.pleco.PlecoExportParser;
 public class PlecoExportDictionary implements Dictionary {
 
     private static final String DICTIONARY_NAME = "pleco-export";
-    private final Map<String, PlecoEntry> wordMap;
+    private final Map<String, PlecoEntry> wordMap = new ConcurrentHashMap<>();
 
     /**
      * Create a dictionary from a Pleco export file.
@@ -39,15 +38,24 @@ public class PlecoExportDictionary implements Dictionary {
      * @param entries the list of PlecoEntry objects
      */
     public PlecoExportDictionary(List<PlecoEntry> entries) {
-        this.wordMap =
-                entries.stream()
-                        .filter(entry -> entry.hanzi() != null && !entry.hanzi().trim().isEmpty())
-                        .collect(
-                                Collectors.toMap(
-                                        entry -> entry.hanzi().trim(),
-                                        Function.identity(),
-                                        (existing, replacement) -> existing // Keep first occurrence
-                                        ));
+        entries.forEach(this::add);
+    }
+
+    /**
+     * Create an empty dictionary that is filled with {@link #add(PlecoEntry)} while an export is
+     * streamed.
+     */
+    public PlecoExportDictionary() {}
+
+    /**
+     * Add an entry to the dictionary. The first occurrence of a word wins.
+     *
+     * @param entry the PlecoEntry to add
+     */
+    public void add(PlecoEntry entry) {
+        if (entry.hanzi() != null && !entry.hanzi().trim().isEmpty()) {
+            wordMap.putIfAbsent(entry.hanzi().trim(), entry);
+        }
     }
 
     @Override
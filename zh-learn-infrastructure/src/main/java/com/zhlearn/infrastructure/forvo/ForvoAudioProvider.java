@@ -16,12 +16,16 @@ import java.util.ArrayList;
 import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zhlearn.domain.exception.UnrecoverableProviderException;
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.model.ProviderInfo.ProviderType;
@@ -29,10 +33,21 @@ import com.zhlearn.domain.provider.AudioProvider;
 import com.zhlearn.infrastructure.audio.AudioCache;
 import com.zhlearn.infrastructure.audio.AudioNormalizer;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.cache.FileSystemCache;
+import com.zhlearn.infrastructure.cache.ResponseCache;
+import com.zhlearn.infrastructure.common.CheckedExceptionWrapper;
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.http.SharedHttpClient;
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
 /**
  * Forvo-based audio provider (manual-only). * Configuration: - Env var FORVO_API_KEY (preferred) -
  * System property forvo.api.key (fallback)
+ *
+ * <p>Word listings are cached on disk for {@code zhlearn.forvo.listing-ttl-hours} ({@code
+ * ZHLEARN_FORVO_LISTING_TTL_HOURS}, one week by default), so a word whose clips are already in the
+ * audio cache needs no request at all. Listing requests go through the Forvo rate limiter; the
+ * clips of a listing are downloaded in parallel on the given executor.
  */
 public class ForvoAudioProvider implements AudioProvider {
     private static final Logger log = LoggerFactory.getLogger(ForvoAudioProvider.class);
@@ -40,30 +55,57 @@ public class ForvoAudioProvider implements AudioProvider {
     private static final String NAME = "forvo";
     private static final String DESCRIPTION =
             "Fetch pronunciations from Forvo (manual selection only)";
+    static final String LISTING_TTL_PROPERTY = "zhlearn.forvo.listing-ttl-hours";
+    static final String LISTING_TTL_ENV = "ZHLEARN_FORVO_LISTING_TTL_HOURS";
+    private static final long DEFAULT_LISTING_TTL_HOURS = 7 * 24;
+    private static final int LISTING_SIZE = 20;
+    private static final int MAX_CLIPS = 8; // cap downloads to avoid over-fetching
+    private static final Duration RATE_LIMIT_ACQUIRE_TIMEOUT = Duration.ofSeconds(60);
 
     private final HttpClient http;
     private final ObjectMapper mapper;
     private final AudioCache audioCache;
-    private final AudioPaths audioPaths;
+    private final ResponseCache listings;
+    private final Executor executor;
+    private final ProviderRateLimiter rateLimiter;
 
-    public ForvoAudioProvider() {
+    public ForvoAudioProvider(
+            AudioCache audioCache,
+            AudioPaths audioPaths,
+            Executor executor,
+            ProviderRateLimiter rateLimiter) {
         this(
-                HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build(),
+                SharedHttpClient.get(),
                 new ObjectMapper(),
-                createDefaultAudioCache(),
-                createDefaultAudioPaths());
+                audioCache,
+                listingCache(audioPaths),
+                executor,
+                rateLimiter);
     }
 
     public ForvoAudioProvider(HttpClient http, ObjectMapper mapper) {
-        this(http, mapper, createDefaultAudioCache(), createDefaultAudioPaths());
+        this(
+                http,
+                mapper,
+                createDefaultAudioCache(),
+                listingCache(new AudioPaths()),
+                Runnable::run,
+                null);
     }
 
     public ForvoAudioProvider(
-            HttpClient http, ObjectMapper mapper, AudioCache audioCache, AudioPaths audioPaths) {
+            HttpClient http,
+            ObjectMapper mapper,
+            AudioCache audioCache,
+            ResponseCache listings,
+            Executor executor,
+            ProviderRateLimiter rateLimiter) {
         this.http = http;
         this.mapper = mapper;
         this.audioCache = audioCache;
-        this.audioPaths = audioPaths;
+        this.listings = listings;
+        this.executor = executor;
+        this.rateLimiter = rateLimiter;
     }
 
     private static AudioCache createDefaultAudioCache() {
@@ -72,8 +114,16 @@ public class ForvoAudioProvider implements AudioProvider {
         return new AudioCache(paths, normalizer);
     }
 
-    private static AudioPaths createDefaultAudioPaths() {
-        return new AudioPaths();
+    /**
+     * Listing cache in {@code <home>/forvo}, whose entries live for {@code
+     * zhlearn.forvo.listing-ttl-hours} (one week by default, see {@link Settings}).
+     */
+    public static ResponseCache listingCache(AudioPaths audioPaths) {
+        long ttlHours =
+                Settings.longValue(
+                        LISTING_TTL_PROPERTY, LISTING_TTL_ENV, DEFAULT_LISTING_TTL_HOURS);
+        return new FileSystemCache(
+                audioPaths.homeDir().resolve(NAME), Duration.ofHours(ttlHours).toSeconds());
     }
 
     @Override
@@ -95,118 +145,38 @@ public class ForvoAudioProvider implements AudioProvider {
     public Optional<Path> getPronunciation(Hanzi word, Pinyin pinyin) {
         long startTime = System.currentTimeMillis();
         log.info("[Forvo] Starting pronunciation lookup for '{}'", word.characters());
-
-        String apiKey = getApiKey();
-        if (apiKey == null || apiKey.isBlank()) {
-            log.warn(
-                    "[Forvo] API key not configured for '{}'. Set FORVO_API_KEY env var or -Dforvo.api.key",
-                    word.characters());
-            return Optional.empty();
-        }
-
-        // Query by Hanzi; Forvo handles the language filter
         try {
-            String encoded = URLEncoder.encode(word.characters(), StandardCharsets.UTF_8);
-            // Prefer top rated pronunciations in Mandarin Chinese; JSON response
-            String url =
-                    "https://apifree.forvo.com/key/"
-                            + apiKey
-                            + "/format/json/action/word-pronunciations/word/"
-                            + encoded
-                            + "/language/zh/porder/rate-desc/perpage/10";
-
-            log.debug("[Forvo] Making API request for '{}'", word.characters());
-            HttpRequest req =
-                    HttpRequest.newBuilder(URI.create(url))
-                            .timeout(Duration.ofSeconds(10))
-                            .GET()
-                            .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-
-            long apiDuration = System.currentTimeMillis() - startTime;
-            log.debug(
-                    "[Forvo] API call completed for '{}' in {}ms, status: {}",
-                    word.characters(),
-                    apiDuration,
-                    resp.statusCode());
-
-            if (resp.statusCode() != 200) {
-                log.warn(
-                        "[Forvo] Request failed for '{}': HTTP {}",
-                        word.characters(),
-                        resp.statusCode());
-                return Optional.empty();
-            }
-            String body = resp.body();
-            JsonNode root = mapper.readTree(body);
-            JsonNode items = root.get("items");
-            if (items == null || !items.isArray() || items.size() == 0) {
-                long totalDuration = System.currentTimeMillis() - startTime;
+            List<Clip> clips = clips(word);
+            if (clips.isEmpty()) {
                 log.info(
                         "[Forvo] No pronunciations found for '{}' ({}ms)",
                         word.characters(),
-                        totalDuration);
-                return Optional.empty();
-            }
-
-            log.debug("[Forvo] Found {} pronunciations for '{}'", items.size(), word.characters());
-
-            // Pick first item (already rate-desc). Only manual path for now.
-            JsonNode first = items.get(0);
-            String mp3 = text(first, "pathmp3");
-            String username = username(first);
-            if (mp3 == null || mp3.isBlank()) {
-                long totalDuration = System.currentTimeMillis() - startTime;
-                log.info(
-                        "[Forvo] Top pronunciation missing mp3 for '{}' ({}ms)",
-                        word.characters(),
-                        totalDuration);
+                        System.currentTimeMillis() - startTime);
                 return Optional.empty();
             }
-
-            Path cached =
-                    audioPaths
-                            .audioDir()
-                            .resolve(getName())
-                            .resolve(fileName(word.characters(), username, mp3));
-            if (Files.exists(cached)) {
-                long totalDuration = System.currentTimeMillis() - startTime;
-                log.info(
-                        "[Forvo] Using cached audio for '{}' ({}ms)",
-                        word.characters(),
-                        totalDuration);
-                return Optional.of(cached.toAbsolutePath());
-            }
-
-            // Download to a temp file
-            log.debug("[Forvo] Downloading audio for '{}' from: {}", word.characters(), mp3);
-            Path out = downloadMp3(mp3, word.characters());
-            if (out == null) {
-                long totalDuration = System.currentTimeMillis() - startTime;
+            // Listings are sorted by rating; only the manual path uses more than the first
+            Path audio = cachedOrDownload(clips.get(0), word);
+            long totalDuration = System.currentTimeMillis() - startTime;
+            if (audio == null) {
                 log.warn(
                         "[Forvo] Download failed for '{}' ({}ms)",
                         word.characters(),
                         totalDuration);
                 return Optional.empty();
             }
-
-            log.debug("[Forvo] Normalizing audio for '{}'", word.characters());
-            Path normalized =
-                    audioCache.ensureCachedNormalized(
-                            out, getName(), word.characters(), username, mp3);
-
-            long totalDuration = System.currentTimeMillis() - startTime;
             log.info(
                     "[Forvo] Successfully processed audio for '{}' ({}ms)",
                     word.characters(),
                     totalDuration);
-            return Optional.of(normalized.toAbsolutePath());
+            return Optional.of(audio);
         } catch (IOException | InterruptedException e) {
-            long totalDuration = System.currentTimeMillis() - startTime;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             log.error(
                     "[Forvo] Error processing '{}' after {}ms: {}",
                     word.characters(),
-                    totalDuration,
+                    System.currentTimeMillis() - startTime,
                     e.getMessage(),
                     e);
             return Optional.empty();
@@ -215,171 +185,181 @@ public class ForvoAudioProvider implements AudioProvider {
 
     @Override
     public List<Path> getPronunciations(Hanzi word, Pinyin pinyin) {
-        List<Path> results = new ArrayList<>();
-        String apiKey = getApiKey();
-        if (apiKey == null || apiKey.isBlank()) {
-            log.warn("Forvo API key not configured. Set FORVO_API_KEY env var or -Dforvo.api.key");
-            return results;
-        }
-        try {
-            String encoded = URLEncoder.encode(word.characters(), StandardCharsets.UTF_8);
-            String url =
-                    "https://apifree.forvo.com/key/"
-                            + apiKey
-                            + "/format/json/action/word-pronunciations/word/"
-                            + encoded
-                            + "/language/zh/porder/rate-desc/perpage/20";
+        return getPronunciationsWithDescriptions(word, pinyin).stream()
+                .map(PronunciationDescription::path)
+                .toList();
+    }
 
-            HttpRequest req =
-                    HttpRequest.newBuilder(URI.create(url))
-                            .timeout(Duration.ofSeconds(10))
-                            .GET()
-                            .build();
-            HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() != 200) {
-                log.warn("Forvo request failed: HTTP {}", resp.statusCode());
-                return results;
-            }
-            JsonNode root = mapper.readTree(resp.body());
-            JsonNode items = root.get("items");
-            if (items == null || !items.isArray() || items.size() == 0) {
-                log.info("Forvo: no pronunciations for '{}'", word.characters());
-                return results;
-            }
-            int limit = Math.min(items.size(), 8); // cap downloads to avoid over-fetching
-            for (int i = 0; i < limit; i++) {
-                JsonNode n = items.get(i);
-                String mp3 = text(n, "pathmp3");
-                String username = username(n);
-                if (mp3 == null || mp3.isBlank()) continue; // skip non-mp3 entries
-                try {
-                    // First check cache by deterministic file name from source URL
-                    Path cached =
-                            audioPaths
-                                    .audioDir()
-                                    .resolve(getName())
-                                    .resolve(fileName(word.characters(), username, mp3));
-                    if (Files.exists(cached)) {
-                        results.add(cached.toAbsolutePath());
-                        continue;
-                    }
-                    Path tmp = downloadMp3(mp3, word.characters());
-                    if (tmp != null) {
-                        Path norm =
-                                audioCache.ensureCachedNormalized(
-                                        tmp, getName(), word.characters(), username, mp3);
-                        results.add(norm.toAbsolutePath());
-                    }
-                } catch (IOException | InterruptedException e) {
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                    throw new RuntimeException("Forvo download failed (" + i + ")", e);
-                }
-            }
+    @Override
+    public List<PronunciationDescription> getPronunciationsWithDescriptions(
+            Hanzi word, Pinyin pinyin) {
+        List<Clip> clips;
+        try {
+            clips = clips(word);
         } catch (IOException | InterruptedException e) {
             if (e instanceof InterruptedException) {
                 Thread.currentThread().interrupt();
             }
             throw new RuntimeException("Forvo error for '" + word.characters() + "'", e);
         }
+        List<CompletableFuture<Path>> downloads =
+                clips.stream().map(clip -> downloadAsync(clip, word)).toList();
+        List<PronunciationDescription> results = new ArrayList<>();
+        for (int i = 0; i < downloads.size(); i++) {
+            Path audio = await(downloads.get(i), i);
+            if (audio != null) {
+                results.add(
+                        new PronunciationDescription(
+                                audio, formatForvoDescription(clips.get(i).username())));
+            }
+        }
         return results;
     }
 
-    @Override
-    public List<PronunciationDescription> getPronunciationsWithDescriptions(
-            Hanzi word, Pinyin pinyin) {
-        List<PronunciationDescription> results = new ArrayList<>();
+    private CompletableFuture<Path> downloadAsync(Clip clip, Hanzi word) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return cachedOrDownload(clip, word);
+                    } catch (IOException e) {
+                        throw CheckedExceptionWrapper.wrap(e);
+                    } catch (InterruptedException e) {
+                        throw CheckedExceptionWrapper.wrap(e);
+                    }
+                },
+                executor);
+    }
+
+    private static Path await(CompletableFuture<Path> download, int index) {
+        try {
+            return download.join();
+        } catch (CompletionException e) {
+            if (!(e.getCause() instanceof CheckedExceptionWrapper wrapper)) {
+                throw e;
+            }
+            try {
+                wrapper.unwrap();
+            } catch (IOException | InterruptedException | UnrecoverableProviderException failed) {
+                throw new RuntimeException("Forvo download failed (" + index + ")", failed);
+            }
+            throw new AssertionError("unreachable", e);
+        }
+    }
+
+    /** The clip from the audio cache, or downloaded and normalized into it; null on HTTP error. */
+    private Path cachedOrDownload(Clip clip, Hanzi word) throws IOException, InterruptedException {
+        Optional<Path> cached = audioCache.find(getName(), clip.url());
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Path normalized = downloadAndCache(clip.url(), word.characters(), clip.username());
+        return normalized == null ? null : normalized.toAbsolutePath();
+    }
+
+    /**
+     * The best rated clips with an mp3 from the word's listing, cached or requested from Forvo;
+     * empty without an API key or when the request fails.
+     */
+    private List<Clip> clips(Hanzi word) throws IOException, InterruptedException {
+        String key = listingKey(word);
+        Optional<String> cached = listings.get(key);
+        String body;
+        if (cached.isPresent()) {
+            log.debug("[Forvo] Using cached listing for '{}'", word.characters());
+            body = cached.get();
+        } else {
+            body = requestListing(word);
+            if (body == null) {
+                return List.of();
+            }
+            listings.put(key, body);
+        }
+        JsonNode items = mapper.readTree(body).get("items");
+        if (items == null || !items.isArray()) {
+            return List.of();
+        }
+        List<Clip> clips = new ArrayList<>();
+        for (JsonNode item : items) {
+            String mp3 = text(item, "pathmp3");
+            if (mp3 == null || mp3.isBlank()) {
+                continue; // skip non-mp3 entries
+            }
+            clips.add(new Clip(mp3, username(item)));
+            if (clips.size() == MAX_CLIPS) {
+                break;
+            }
+        }
+        return clips;
+    }
+
+    /** The listing JSON, or null without an API key or when Forvo does not answer 200. */
+    private String requestListing(Hanzi word) throws IOException, InterruptedException {
         String apiKey = getApiKey();
         if (apiKey == null || apiKey.isBlank()) {
             log.warn("Forvo API key not configured. Set FORVO_API_KEY env var or -Dforvo.api.key");
-            return results;
+            return null;
+        }
+        String encoded = URLEncoder.encode(word.characters(), StandardCharsets.UTF_8);
+        // Prefer top rated pronunciations in Mandarin Chinese; JSON response
+        String url =
+                "https://apifree.forvo.com/key/"
+                        + apiKey
+                        + "/format/json/action/word-pronunciations/word/"
+                        + encoded
+                        + "/language/zh/porder/rate-desc/perpage/"
+                        + LISTING_SIZE;
+        HttpRequest req =
+                HttpRequest.newBuilder(URI.create(url))
+                        .timeout(Duration.ofSeconds(10))
+                        .GET()
+                        .build();
+        if (rateLimiter != null && !rateLimiter.acquire(RATE_LIMIT_ACQUIRE_TIMEOUT)) {
+            throw new IOException(
+                    "Rate limit timeout - Forvo overwhelmed after waiting "
+                            + RATE_LIMIT_ACQUIRE_TIMEOUT.toSeconds()
+                            + "s");
         }
         try {
-            String encoded = URLEncoder.encode(word.characters(), StandardCharsets.UTF_8);
-            String url =
-                    "https://apifree.forvo.com/key/"
-                            + apiKey
-                            + "/format/json/action/word-pronunciations/word/"
-                            + encoded
-                            + "/language/zh/porder/rate-desc/perpage/20";
-
-            HttpRequest req =
-                    HttpRequest.newBuilder(URI.create(url))
-                            .timeout(Duration.ofSeconds(10))
-                            .GET()
-                            .build();
             HttpResponse<String> resp = http.send(req, HttpResponse.BodyHandlers.ofString());
-            if (resp.statusCode() != 200) {
-                log.warn("Forvo request failed: HTTP {}", resp.statusCode());
-                return results;
+            if (resp.statusCode() == 429 && rateLimiter != null) {
+                rateLimiter.notifyRateLimited(null);
             }
-            JsonNode root = mapper.readTree(resp.body());
-            JsonNode items = root.get("items");
-            if (items == null || !items.isArray() || items.size() == 0) {
-                log.info("Forvo: no pronunciations for '{}'", word.characters());
-                return results;
+            if (resp.statusCode() != 200) {
+                log.warn(
+                        "[Forvo] Request failed for '{}': HTTP {}",
+                        word.characters(),
+                        resp.statusCode());
+                return null;
             }
-            int limit = Math.min(items.size(), 8); // cap downloads to avoid over-fetching
-            for (int i = 0; i < limit; i++) {
-                JsonNode n = items.get(i);
-                String mp3 = text(n, "pathmp3");
-                String username = username(n);
-                if (mp3 == null || mp3.isBlank()) continue; // skip non-mp3 entries
-                try {
-                    // First check cache by deterministic file name from source URL
-                    Path cached =
-                            audioPaths
-                                    .audioDir()
-                                    .resolve(getName())
-                                    .resolve(fileName(word.characters(), username, mp3));
-                    if (Files.exists(cached)) {
-                        String description = formatForvoDescription(username);
-                        results.add(
-                                new PronunciationDescription(cached.toAbsolutePath(), description));
-                        continue;
-                    }
-                    Path tmp = downloadMp3(mp3, word.characters());
-                    if (tmp != null) {
-                        Path norm =
-                                audioCache.ensureCachedNormalized(
-                                        tmp, getName(), word.characters(), username, mp3);
-                        String description = formatForvoDescription(username);
-                        results.add(
-                                new PronunciationDescription(norm.toAbsolutePath(), description));
-                    }
-                } catch (IOException | InterruptedException e) {
-                    if (e instanceof InterruptedException) {
-                        Thread.currentThread().interrupt();
-                    }
-                    throw new RuntimeException("Forvo download failed (" + i + ")", e);
-                }
+            if (rateLimiter != null) {
+                rateLimiter.notifySuccess();
             }
-        } catch (IOException | InterruptedException e) {
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
+            return resp.body();
+        } finally {
+            if (rateLimiter != null) {
+                rateLimiter.release();
             }
-            throw new RuntimeException("Forvo error for '" + word.characters() + "'", e);
         }
-        return results;
-    }
-
-    private static String formatForvoDescription(String username) {
-        // Add user and Chinese flag emoji (placeholder - could be enhanced with country detection)
-        return username + " 👤🇨🇳";
     }
 
-    private static String shortHash(String s) {
+    private static String listingKey(Hanzi word) {
         try {
-            MessageDigest md = MessageDigest.getInstance("SHA-1");
-            byte[] d = md.digest(s.getBytes(StandardCharsets.UTF_8));
-            String hex = HexFormat.of().withUpperCase().formatHex(d);
-            return hex.substring(0, 10);
+            byte[] digest =
+                    MessageDigest.getInstance("SHA-256")
+                            .digest(
+                                    ("word-pronunciations/zh/" + word.characters())
+                                            .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
         } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("SHA-1 digest not available", e);
+            throw new IllegalStateException("SHA-256 digest not available", e);
         }
     }
 
+    private static String formatForvoDescription(String username) {
+        // Add user and Chinese flag emoji (placeholder - could be enhanced with country detection)
+        return username + " 👤🇨🇳";
+    }
+
     private static String username(JsonNode node) {
         String value = text(node, "username");
         if (value == null || value.isBlank()) {
@@ -391,34 +371,30 @@ public class ForvoAudioProvider implements AudioProvider {
         return value;
     }
 
-    private String fileName(String word, String username, String sourceId) {
-        String user = (username == null || username.isBlank()) ? "unknown" : username;
-        String safeWord = audioPaths.sanitize(word);
-        String safeUser = audioPaths.sanitize(user);
-        return NAME + "_" + safeWord + "_" + safeUser + "_" + shortHash(sourceId) + ".mp3";
-    }
-
-    private Path downloadMp3(String url, String word) throws IOException, InterruptedException {
+    /**
+     * Streams the clip into a download file and normalizes it into the cache; null on HTTP error.
+     */
+    private Path downloadAndCache(String url, String word, String username)
+            throws IOException, InterruptedException {
         HttpRequest req =
                 HttpRequest.newBuilder(URI.create(url))
                         .timeout(Duration.ofSeconds(15))
                         .GET()
                         .build();
-        HttpResponse<byte[]> resp = http.send(req, HttpResponse.BodyHandlers.ofByteArray());
-        if (resp.statusCode() != 200) {
-            log.warn("Forvo mp3 download failed: HTTP {}", resp.statusCode());
-            return null;
+        Path download = audioCache.newDownloadFile(getName());
+        try {
+            HttpResponse<Path> resp = http.send(req, HttpResponse.BodyHandlers.ofFile(download));
+            if (resp.statusCode() != 200) {
+                log.warn("Forvo mp3 download failed: HTTP {}", resp.statusCode());
+                return null;
+            }
+            return audioCache.ensureCachedNormalized(resp.body(), getName(), word, username, url);
+        } finally {
+            Files.deleteIfExists(download);
         }
-        String safe = sanitize(word);
-        Path out = Files.createTempFile("zhlearn-forvo-" + safe + "-", ".mp3");
-        Files.write(out, resp.body());
-        out.toFile().deleteOnExit();
-        return out;
     }
 
-    private static String sanitize(String s) {
-        return s.replaceAll("[^\u4e00-\u9fffA-Za-z0-9_-]", "");
-    }
+    private record Clip(String url, String username) {}
 
     private static String text(JsonNode node, String field) {
         JsonNode v = node.get(field);
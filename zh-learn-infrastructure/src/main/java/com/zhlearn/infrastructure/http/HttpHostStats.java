@@ -0,0 +1,112 @@
+package com.zhlearn.infrastructure.http;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Process-wide request counts and latencies per host of the {@link SharedHttpClient}. The JDK
+ * client does not expose its connection pool, so the share of HTTP/2 responses stands in for
+ * connection reuse: HTTP/2 requests to one host are multiplexed over a single connection. A summary
+ * per host is logged at shutdown.
+ */
+public final class HttpHostStats {
+    private static final Logger log = LoggerFactory.getLogger(HttpHostStats.class);
+
+    private static final Map<String, Counters> counters = new ConcurrentSkipListMap<>();
+
+    static {
+        Runtime.getRuntime()
+                .addShutdownHook(new Thread(HttpHostStats::logSummary, "http-host-stats"));
+    }
+
+    private HttpHostStats() {}
+
+    /** Request totals of one host. Latency is measured until the response headers arrived. */
+    public record Host(
+            String host,
+            long requests,
+            long failures,
+            long http2Responses,
+            long totalLatencyNanos,
+            long maxLatencyNanos) {
+
+        public double meanLatencyMillis() {
+            long completed = requests - failures;
+            return completed == 0 ? 0.0 : totalLatencyNanos / 1e6 / completed;
+        }
+
+        public double maxLatencyMillis() {
+            return maxLatencyNanos / 1e6;
+        }
+    }
+
+    static void recordResponse(URI uri, HttpClient.Version version, long latencyNanos) {
+        Counters host = counters(uri);
+        host.requests.increment();
+        if (version == HttpClient.Version.HTTP_2) {
+            host.http2Responses.increment();
+        }
+        host.totalLatencyNanos.add(latencyNanos);
+        host.maxLatencyNanos.accumulate(latencyNanos);
+    }
+
+    static void recordFailure(URI uri) {
+        Counters host = counters(uri);
+        host.requests.increment();
+        host.failures.increment();
+    }
+
+    public static List<Host> snapshot() {
+        return counters.entrySet().stream()
+                .map(entry -> entry.getValue().toHost(entry.getKey()))
+                .toList();
+    }
+
+    static void reset() {
+        counters.clear();
+    }
+
+    private static Counters counters(URI uri) {
+        String host = uri.getHost() == null ? String.valueOf(uri) : uri.getHost();
+        return counters.computeIfAbsent(host, ignored -> new Counters());
+    }
+
+    private static void logSummary() {
+        for (Host host : snapshot()) {
+            log.info(
+                    "HTTP {}: {} requests, {} failed, {} over HTTP/2, mean {} ms, max {} ms",
+                    host.host(),
+                    host.requests(),
+                    host.failures(),
+                    host.http2Responses(),
+                    Math.round(host.meanLatencyMillis()),
+                    Math.round(host.maxLatencyMillis()));
+        }
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder http2Responses = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+        private Host toHost(String host) {
+            return new Host(
+                    host,
+                    requests.sum(),
+                    failures.sum(),
+                    http2Responses.sum(),
+                    totalLatencyNanos.sum(),
+                    maxLatencyNanos.get());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.zhlearn.infrastructure.http;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/** Delegates to a JDK client and records every exchange in {@link HttpHostStats}. */
+final class InstrumentedHttpClient extends HttpClient {
+
+    private final HttpClient delegate;
+
+    InstrumentedHttpClient(HttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(
+            HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<T> response;
+        try {
+            response = delegate.send(request, responseBodyHandler);
+        } catch (IOException | InterruptedException e) {
+            HttpHostStats.recordFailure(request.uri());
+            throw e;
+        }
+        HttpHostStats.recordResponse(request.uri(), response.version(), System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+        long start = System.nanoTime();
+        return record(request, start, delegate.sendAsync(request, responseBodyHandler));
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+            HttpRequest request,
+            HttpResponse.BodyHandler<T> responseBodyHandler,
+            HttpResponse.PushPromiseHandler<T> pushPromiseHandler) {
+        long start = System.nanoTime();
+        return record(
+                request,
+                start,
+                delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler));
+    }
+
+    private static <T> CompletableFuture<HttpResponse<T>> record(
+            HttpRequest request, long start, CompletableFuture<HttpResponse<T>> exchange) {
+        return exchange.whenComplete(
+                (response, error) -> {
+                    if (error == null) {
+                        HttpHostStats.recordResponse(
+                                request.uri(), response.version(), System.nanoTime() - start);
+                    } else {
+                        HttpHostStats.recordFailure(request.uri());
+                    }
+                });
+    }
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+}
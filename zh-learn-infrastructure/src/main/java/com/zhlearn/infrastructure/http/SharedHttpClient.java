@@ -0,0 +1,170 @@
+package com.zhlearn.infrastructure.http;
+
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.InetAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import dev.langchain4j.http.client.jdk.JdkHttpClient;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+
+/**
+ * The one HTTP client of the process, shared by the TTS providers, Forvo and the chat models
+ * (langchain4j included), so every host gets one connection pool and one TLS handshake instead of
+ * one per provider instance. It prefers HTTP/2, runs its callbacks on virtual threads and records
+ * per-host statistics in {@link HttpHostStats}. The Tencent SDK brings its own HTTP stack and is
+ * not covered.
+ */
+public final class SharedHttpClient {
+    private static final Logger log = LoggerFactory.getLogger(SharedHttpClient.class);
+
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(15);
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final Set<String> warmedUp = ConcurrentHashMap.newKeySet();
+
+    private SharedHttpClient() {}
+
+    public static HttpClient get() {
+        return Holder.CLIENT;
+    }
+
+    /**
+     * A langchain4j client builder handing out the shared client. Connect timeouts set on it are
+     * ignored; read timeouts still apply per request.
+     */
+    public static JdkHttpClientBuilder langchain4jClientBuilder() {
+        return JdkHttpClient.builder().httpClientBuilder(new SharedBuilder());
+    }
+
+    /**
+     * Open a connection to the host of {@code baseUrl} in the background, so the TLS and HTTP/2
+     * handshakes are done by the time the first real request is sent. Each host is warmed up once
+     * per process; failures are ignored.
+     */
+    public static void warmUp(String baseUrl) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            return;
+        }
+        URI uri;
+        try {
+            uri = URI.create(baseUrl);
+        } catch (IllegalArgumentException e) {
+            log.debug("Not warming up invalid URL {}", baseUrl);
+            return;
+        }
+        if (uri.getScheme() == null || uri.getHost() == null) {
+            return;
+        }
+        String origin = uri.getScheme() + "://" + uri.getAuthority();
+        if (!warmedUp.add(origin)) {
+            return;
+        }
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create(origin + "/"))
+                        .timeout(WARM_UP_TIMEOUT)
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .build();
+        Holder.DELEGATE
+                .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete(
+                        (response, error) -> {
+                            if (error == null) {
+                                log.debug("Warmed up {} over {}", origin, response.version());
+                            } else {
+                                log.debug("Warm-up of {} failed: {}", origin, error.toString());
+                            }
+                        });
+    }
+
+    private static final class Holder {
+        private static final HttpClient DELEGATE =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(CONNECT_TIMEOUT)
+                        .executor(
+                                Executors.newThreadPerTaskExecutor(
+                                        Thread.ofVirtual().name("zh-learn-http-", 0).factory()))
+                        .build();
+        private static final HttpClient CLIENT = new InstrumentedHttpClient(DELEGATE);
+    }
+
+    /** Builder whose settings are ignored: every build returns the shared client. */
+    private static final class SharedBuilder implements HttpClient.Builder {
+
+        @Override
+        public HttpClient.Builder cookieHandler(CookieHandler cookieHandler) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder connectTimeout(Duration duration) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder sslContext(SSLContext sslContext) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder sslParameters(SSLParameters sslParameters) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder executor(Executor executor) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder followRedirects(HttpClient.Redirect policy) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder version(HttpClient.Version version) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder priority(int priority) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder proxy(ProxySelector proxySelector) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder authenticator(Authenticator authenticator) {
+            return this;
+        }
+
+        @Override
+        public HttpClient.Builder localAddress(InetAddress localAddr) {
+            return this;
+        }
+
+        @Override
+        public HttpClient build() {
+            return get();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.zhlearn.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One clip normalized to MP3. */
+@Name("zhlearn.AudioNormalize")
+@Label("Audio Normalize")
+@Category({"ZH Learn", "Audio"})
+@Description("Loudness normalization of one clip to mono MP3")
+@StackTrace(false)
+public final class AudioNormalizeEvent extends Event {
+    public static final String FFMPEG = "ffmpeg";
+    public static final String IN_PROCESS = "in-process";
+    public static final String COPIED = "copied";
+    public static final String FAILED = "failed";
+
+    @Label("Word")
+    public String word;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,48 @@
+package com.zhlearn.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One lookup or store of a disk-backed LLM response cache. */
+@Name("zhlearn.CacheAccess")
+@Label("Response Cache Access")
+@Category({"ZH Learn", "Cache"})
+@Description("Get or put on a disk-backed LLM response cache")
+@StackTrace(false)
+public final class CacheAccessEvent extends Event {
+    public static final String HIT = "hit";
+    public static final String MISS = "miss";
+    public static final String EXPIRED = "expired";
+    public static final String STORED = "stored";
+    public static final String FAILED = "failed";
+
+    @Label("Word")
+    public String word;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Cache")
+    @Description("Cache backend, files or segment")
+    public String cache;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /** Fill in the backend, the operation and the {@link TraceContext}, then commit. */
+    public void commit(String cache, String operation) {
+        TraceContext context = TraceContext.current();
+        this.word = context.word();
+        this.provider = context.provider();
+        this.cache = cache;
+        this.operation = operation;
+        commit();
+    }
+}
@@ -0,0 +1,30 @@
+package com.zhlearn.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One chat call of a cached chat model, including its cache lookups and rate limiter waits. */
+@Name("zhlearn.LlmChat")
+@Label("LLM Chat")
+@Category({"ZH Learn", "LLM"})
+@Description("Chat call answered from the cache, by an identical call in flight, or upstream")
+@StackTrace(false)
+public final class LlmChatEvent extends Event {
+    public static final String CACHE_HIT = "cache-hit";
+    public static final String COALESCED = "coalesced";
+    public static final String CALLED = "called";
+    public static final String FAILED = "failed";
+
+    @Label("Word")
+    public String word;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,29 @@
+package com.zhlearn.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Time a caller spent waiting for a rate limiter permit. */
+@Name("zhlearn.RateLimiterAcquire")
+@Label("Rate Limiter Acquire")
+@Category({"ZH Learn", "Rate Limiter"})
+@Description("Wait for a token and an in-flight slot of a provider rate limiter")
+@StackTrace(false)
+public final class RateLimiterAcquireEvent extends Event {
+    public static final String ACQUIRED = "acquired";
+    public static final String TIMED_OUT = "timed-out";
+    public static final String INTERRUPTED = "interrupted";
+
+    @Label("Word")
+    public String word;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Outcome")
+    public String outcome;
+}
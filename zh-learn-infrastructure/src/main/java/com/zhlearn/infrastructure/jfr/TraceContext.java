@@ -0,0 +1,37 @@
+package com.zhlearn.infrastructure.jfr;
+
+/**
+ * Word and provider the current thread works for, copied into the JFR events it emits from code
+ * that does not know them itself, such as the response caches or the audio normalizer. Set where a
+ * provider starts work on a word and restored when it is done:
+ *
+ * <pre>{@code
+ * TraceContext previous = TraceContext.enter(word, provider);
+ * try {
+ *     ...
+ * } finally {
+ *     previous.restore();
+ * }
+ * }</pre>
+ */
+public record TraceContext(String word, String provider) {
+
+    public static final TraceContext NONE = new TraceContext("", "");
+
+    private static final ThreadLocal<TraceContext> CURRENT = ThreadLocal.withInitial(() -> NONE);
+
+    public static TraceContext current() {
+        return CURRENT.get();
+    }
+
+    /** Make {@code word} and {@code provider} current; returns the context to restore. */
+    public static TraceContext enter(String word, String provider) {
+        TraceContext previous = CURRENT.get();
+        CURRENT.set(new TraceContext(word, provider));
+        return previous;
+    }
+
+    public void restore() {
+        CURRENT.set(this);
+    }
+}
@@ -0,0 +1,33 @@
+package com.zhlearn.infrastructure.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One voice of a TTS provider, from the cache lookup to the normalized clip. */
+@Name("zhlearn.TtsVoice")
+@Label("TTS Voice")
+@Category({"ZH Learn", "Audio"})
+@Description("Cache lookup, synthesis, download and normalization of one TTS voice")
+@StackTrace(false)
+public final class TtsVoiceEvent extends Event {
+    public static final String CACHED = "cached";
+    public static final String SYNTHESIZED = "synthesized";
+    public static final String SKIPPED = "skipped";
+    public static final String FAILED = "failed";
+
+    @Label("Word")
+    public String word;
+
+    @Label("Provider")
+    public String provider;
+
+    @Label("Voice")
+    public String voice;
+
+    @Label("Outcome")
+    public String outcome;
+}
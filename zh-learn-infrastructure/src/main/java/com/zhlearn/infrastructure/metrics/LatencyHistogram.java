@@ -0,0 +1,104 @@
+package com.zhlearn.infrastructure.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets: values are kept in microseconds,
+ * each power of two is split into 64 linear sub-buckets, so any percentile is within about 1.6% of
+ * the recorded value from 1 µs up to roughly 38 hours. Longer values are counted in the last
+ * bucket; the exact maximum is tracked separately.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_MAGNITUDE = 30;
+    private static final long MAX_TRACKABLE_MICROS = ((long) SUB_BUCKET_COUNT << MAX_MAGNITUDE) - 1;
+    private static final int BUCKETS = (MAX_MAGNITUDE + 2) * SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /** Count, mean and percentiles in milliseconds at one point in time. */
+    public record Distribution(
+            long count,
+            double meanMillis,
+            double p50Millis,
+            double p90Millis,
+            double p99Millis,
+            double maxMillis) {}
+
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        long micros = Math.min(value / 1000, MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(indexOf(micros));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Percentiles are the upper end of the bucket holding the value at their rank, capped at the
+     * maximum; all values are 0 when nothing was recorded.
+     */
+    public Distribution distribution() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        double max = maxNanos.get() / 1e6;
+        return new Distribution(
+                total,
+                total == 0 ? 0.0 : totalNanos.sum() / 1e6 / total,
+                Math.min(percentileMillis(snapshot, total, 50), max),
+                Math.min(percentileMillis(snapshot, total, 90), max),
+                Math.min(percentileMillis(snapshot, total, 99), max),
+                max);
+    }
+
+    static int indexOf(long micros) {
+        int magnitude =
+                Math.max(
+                        0,
+                        63
+                                - Long.numberOfLeadingZeros(micros | (SUB_BUCKET_COUNT - 1))
+                                - (SUB_BUCKET_BITS - 1));
+        int subBucket = (int) (micros >>> magnitude);
+        return (magnitude + 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    /** Highest value in microseconds that lands in the bucket at {@code index}. */
+    static long highestEquivalentMicros(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+
+    private static double percentileMillis(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0.0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestEquivalentMicros(i) / 1000.0;
+            }
+        }
+        return highestEquivalentMicros(snapshot.length - 1) / 1000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package com.zhlearn.infrastructure.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Process-wide metrics of the hot paths: a {@link LatencyHistogram} per {@link Stage} and provider,
+ * named counters, and gauges read when a {@link #snapshot()} is taken, e.g. the current rate of a
+ * limiter or the depth of a queue. Recording never blocks and costs a few atomic adds, so it stays
+ * on in every run; commands decide whether and where a summary is written.
+ */
+public final class Metrics {
+
+    private static final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+    private static final Map<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+    private static final Map<String, DoubleSupplier> gauges = new ConcurrentSkipListMap<>();
+
+    private Metrics() {}
+
+    /** Latency distribution of one stage and provider. */
+    public record Latency(String stage, String provider, LatencyHistogram.Distribution latency) {}
+
+    /** Every metric at one point in time, ordered by name. */
+    public record Summary(
+            List<Latency> latencies, Map<String, Long> counters, Map<String, Double> gauges) {
+
+        /** The summary as JSON, latencies in milliseconds. */
+        public ObjectNode toJson() {
+            ObjectNode root = JsonNodeFactory.instance.objectNode();
+            ArrayNode latencyNode = root.putArray("latencies");
+            for (Latency latency : latencies) {
+                LatencyHistogram.Distribution distribution = latency.latency();
+                latencyNode
+                        .addObject()
+                        .put("stage", latency.stage())
+                        .put("provider", latency.provider())
+                        .put("count", distribution.count())
+                        .put("meanMs", round(distribution.meanMillis()))
+                        .put("p50Ms", round(distribution.p50Millis()))
+                        .put("p90Ms", round(distribution.p90Millis()))
+                        .put("p99Ms", round(distribution.p99Millis()))
+                        .put("maxMs", round(distribution.maxMillis()));
+            }
+            ObjectNode counterNode = root.putObject("counters");
+            counters.forEach(counterNode::put);
+            ObjectNode gaugeNode = root.putObject("gauges");
+            gauges.forEach((name, value) -> gaugeNode.put(name, round(value)));
+            return root;
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 1000) / 1000.0;
+        }
+    }
+
+    public static void recordLatency(Stage stage, String provider, long nanos) {
+        timers.computeIfAbsent(
+                        stage.id() + "/" + provider,
+                        ignored -> new Timer(stage, provider, new LatencyHistogram()))
+                .histogram()
+                .record(nanos);
+    }
+
+    public static void increment(String counter) {
+        add(counter, 1);
+    }
+
+    public static void add(String counter, long amount) {
+        counters.computeIfAbsent(counter, ignored -> new LongAdder()).add(amount);
+    }
+
+    /** Read {@code value} into every snapshot under {@code name}, replacing an earlier gauge. */
+    public static void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    public static Summary snapshot() {
+        List<Latency> latencies =
+                timers.values().stream()
+                        .map(
+                                timer ->
+                                        new Latency(
+                                                timer.stage().id(),
+                                                timer.provider(),
+                                                timer.histogram().distribution()))
+                        .toList();
+        Map<String, Long> counterValues = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, Double> gaugeValues = new LinkedHashMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.getAsDouble()));
+        return new Summary(latencies, counterValues, gaugeValues);
+    }
+
+    static void reset() {
+        timers.clear();
+        counters.clear();
+        gauges.clear();
+    }
+
+    private record Timer(Stage stage, String provider, LatencyHistogram histogram) {}
+}
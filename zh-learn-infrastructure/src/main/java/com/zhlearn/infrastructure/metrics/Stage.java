@@ -0,0 +1,33 @@
+package com.zhlearn.infrastructure.metrics;
+
+/** Hot-path stages whose latency {@link Metrics} keeps per provider. */
+public enum Stage {
+    /** One upstream LLM request, retries counted separately. */
+    LLM_CALL("llm-call"),
+    /** Response or audio cache lookup that found an entry. */
+    CACHE_HIT("cache-hit"),
+    /** Response or audio cache lookup that found nothing. */
+    CACHE_MISS("cache-miss"),
+    /** Time spent waiting for a rate limiter permit. */
+    LIMITER_WAIT("limiter-wait"),
+    /** TTS API call for one voice. */
+    TTS_SYNTH("tts-synth"),
+    /** Download of audio a TTS API linked to. */
+    DOWNLOAD("download"),
+    /** Normalizing a clip into the audio cache. */
+    NORMALIZE("normalize"),
+    /** All pronunciation candidates of one word from one audio provider. */
+    AUDIO_CANDIDATES("audio-candidates"),
+    /** Writing one row of the Anki export. */
+    EXPORT("export");
+
+    private final String id;
+
+    Stage(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+}
@@ -0,0 +1,144 @@
+package com.zhlearn.infrastructure.minimax;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Reads a MiniMax synthesis response in one pass, decoding the hex audio in {@code data.audio}
+ * straight into a file and keeping the rest of the document, with that value emptied, for ordinary
+ * JSON parsing. Memory stays at one read buffer however long the clip is.
+ */
+final class HexAudioExtractor {
+    private static final int BUFFER_SIZE = 8192;
+    private static final String DATA_KEY = "data";
+    private static final String AUDIO_KEY = "audio";
+
+    private final ByteArrayOutputStream remainder = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream key = new ByteArrayOutputStream();
+
+    /** Key of each enclosing container, innermost first; empty for arrays and the root. */
+    private final Deque<String> path = new ArrayDeque<>();
+
+    private OutputStream audio;
+    private long audioBytes;
+    private String lastKey;
+    private boolean valuePosition;
+    private boolean inString;
+    private boolean inKey;
+    private boolean escape;
+    private boolean inAudio;
+    private int highNibble = -1;
+
+    private HexAudioExtractor() {}
+
+    /** The JSON without its audio, and the number of audio bytes written to {@code audioFile}. */
+    record Result(String json, long audioBytes) {}
+
+    static Result extract(InputStream in, Path audioFile) throws IOException {
+        HexAudioExtractor extractor = new HexAudioExtractor();
+        try (OutputStream out =
+                new BufferedOutputStream(Files.newOutputStream(audioFile), BUFFER_SIZE)) {
+            extractor.audio = out;
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    extractor.accept(buffer[i]);
+                }
+            }
+        }
+        if (extractor.inAudio) {
+            throw new IOException("MiniMax response ended inside the audio data");
+        }
+        return new Result(
+                extractor.remainder.toString(StandardCharsets.UTF_8), extractor.audioBytes);
+    }
+
+    private void accept(byte b) throws IOException {
+        if (inAudio) {
+            acceptAudio(b);
+            return;
+        }
+        remainder.write(b);
+        if (inString) {
+            acceptString(b);
+            return;
+        }
+        switch (b) {
+            case '"' -> {
+                if (valuePosition && AUDIO_KEY.equals(lastKey) && inDataObject()) {
+                    inAudio = true;
+                } else {
+                    inString = true;
+                    inKey = !valuePosition;
+                    key.reset();
+                }
+            }
+            case ':' -> valuePosition = true;
+            case '{', '[' -> {
+                path.push(valuePosition && lastKey != null ? lastKey : "");
+                valuePosition = false;
+            }
+            case '}', ']' -> {
+                path.poll();
+                valuePosition = false;
+            }
+            case ',', ' ', '\t', '\r', '\n' -> {}
+            default -> valuePosition = false;
+        }
+    }
+
+    private void acceptString(byte b) {
+        if (escape) {
+            escape = false;
+        } else if (b == '\\') {
+            escape = true;
+            return;
+        } else if (b == '"') {
+            inString = false;
+            if (inKey) {
+                lastKey = key.toString(StandardCharsets.UTF_8);
+            }
+            valuePosition = false;
+            return;
+        }
+        if (inKey) {
+            key.write(b);
+        }
+    }
+
+    private void acceptAudio(byte b) throws IOException {
+        if (b == '"') {
+            if (highNibble != -1) {
+                throw new IOException("MiniMax audio has an odd number of hex digits");
+            }
+            inAudio = false;
+            valuePosition = false;
+            remainder.write(b);
+            return;
+        }
+        int digit = Character.digit(b, 16);
+        if (digit < 0) {
+            throw new IOException("MiniMax audio is not hex encoded");
+        }
+        if (highNibble == -1) {
+            highNibble = digit;
+        } else {
+            audio.write(highNibble << 4 | digit);
+            audioBytes++;
+            highNibble = -1;
+        }
+    }
+
+    private boolean inDataObject() {
+        return path.size() == 2 && DATA_KEY.equals(path.peek());
+    }
+}
@@ -6,7 +6,6 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zhlearn.domain.exception.UnrecoverableProviderException;
@@ -16,6 +15,7 @@ import com.zhlearn.domain.model.ProviderInfo.ProviderType;
 import com.zhlearn.infrastructure.audio.AbstractTtsAudioProvider;
 import com.zhlearn.infrastructure.audio.AudioCache;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.audio.TtsStages;
 import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
 /**
@@ -44,11 +44,11 @@ public class MiniMaxAudioProvider extends AbstractTtsAudioProvider {
     public MiniMaxAudioProvider(
             AudioCache audioCache,
             AudioPaths audioPaths,
-            ExecutorService executorService,
+            TtsStages stages,
             HttpClient httpClient,
             MiniMaxTtsClient client,
             ProviderRateLimiter rateLimiter) {
-        super(audioCache, audioPaths, executorService);
+        super(audioCache, audioPaths, stages);
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
         this.injectedClient = client;
         this.rateLimiter = rateLimiter;
@@ -75,12 +75,15 @@ public class MiniMaxAudioProvider extends AbstractTtsAudioProvider {
     }
 
     @Override
-    protected Path synthesizeVoice(String voice, String text)
+    protected Synthesis synthesizeVoice(String voice, String text)
             throws IOException, InterruptedException, UnrecoverableProviderException {
-        MiniMaxTtsResult result = getClient().synthesize(voice, text);
-        Path tmp = Files.createTempFile(NAME + "-", ".mp3");
-        Files.write(tmp, result.audioData());
-        return tmp;
+        Path download = audioCache.newDownloadFile(NAME);
+        try {
+            return new Synthesis.Ready(getClient().synthesize(voice, text, download).audioFile());
+        } catch (IOException | InterruptedException | UnrecoverableProviderException e) {
+            Files.deleteIfExists(download);
+            throw e;
+        }
     }
 
     private MiniMaxTtsClient getClient() {
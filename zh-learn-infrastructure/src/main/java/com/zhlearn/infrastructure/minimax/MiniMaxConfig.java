@@ -3,7 +3,8 @@ package com.zhlearn.infrastructure.minimax;
 /**
  * Configuration for MiniMax TTS API. Requires both an API key and a Group ID for authentication.
  *
- * <p>Environment variables:
+ * <p>Each setting is read from the system property of the same name first, then the environment
+ * variable:
  *
  * <ul>
  *   <li>{@code MINIMAX_API_KEY} - Required API key from MiniMax platform
@@ -22,7 +23,7 @@ public final class MiniMaxConfig {
     private MiniMaxConfig() {}
 
     public static String getApiKey() {
-        String key = System.getenv(API_KEY_ENV);
+        String key = read(API_KEY_ENV);
         if (key == null || key.isBlank()) {
             throw new IllegalStateException(
                     API_KEY_ENV + " environment variable is required for MiniMax TTS provider");
@@ -31,7 +32,7 @@ public final class MiniMaxConfig {
     }
 
     public static String getGroupId() {
-        String groupId = System.getenv(GROUP_ID_ENV);
+        String groupId = read(GROUP_ID_ENV);
         if (groupId == null || groupId.isBlank()) {
             throw new IllegalStateException(
                     GROUP_ID_ENV + " environment variable is required for MiniMax TTS provider");
@@ -40,11 +41,19 @@ public final class MiniMaxConfig {
     }
 
     public static String getBaseUrl() {
-        String url = System.getenv(BASE_URL_ENV);
+        String url = read(BASE_URL_ENV);
         return (url != null && !url.isBlank()) ? url : DEFAULT_BASE_URL;
     }
 
     public static String getModel() {
         return DEFAULT_MODEL;
     }
+
+    private static String read(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(key);
+        }
+        return value;
+    }
 }
@@ -1,13 +1,14 @@
 package com.zhlearn.infrastructure.minimax;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.util.HexFormat;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -24,7 +25,7 @@ import io.helidon.faulttolerance.Retry;
 
 /**
  * HTTP client for MiniMax TTS API (speech-2.6-hd model). Uses synchronous mode with hex-encoded
- * audio response for simplicity.
+ * audio response for simplicity; the audio is decoded into a file while the response streams in.
  */
 class MiniMaxTtsClient {
     private static final Logger log = LoggerFactory.getLogger(MiniMaxTtsClient.class);
@@ -83,7 +84,8 @@ class MiniMaxTtsClient {
         this.rateLimiter = rateLimiter;
     }
 
-    public MiniMaxTtsResult synthesize(String voiceId, String text)
+    /** Synthesize {@code text} and write the MP3 to {@code output}, replacing its content. */
+    public MiniMaxTtsResult synthesize(String voiceId, String text, Path output)
             throws IOException, InterruptedException, UnrecoverableProviderException {
         // Acquire rate limit permit before making request (if rate limiter configured)
         if (rateLimiter != null) {
@@ -101,7 +103,7 @@ class MiniMaxTtsClient {
                     retry.invoke(
                             () -> {
                                 try {
-                                    return synthesizeOnce(voiceId, text);
+                                    return synthesizeOnce(voiceId, text, output);
                                 } catch (IOException e) {
                                     throw CheckedExceptionWrapper.wrap(e);
                                 } catch (InterruptedException e) {
@@ -132,10 +134,14 @@ class MiniMaxTtsClient {
         } catch (CheckedExceptionWrapper wrapper) {
             wrapper.unwrap();
             throw new AssertionError("unreachable");
+        } finally {
+            if (rateLimiter != null) {
+                rateLimiter.release();
+            }
         }
     }
 
-    private MiniMaxTtsResult synthesizeOnce(String voiceId, String text)
+    private MiniMaxTtsResult synthesizeOnce(String voiceId, String text, Path output)
             throws IOException, InterruptedException, UnrecoverableProviderException {
         ObjectNode payload = mapper.createObjectNode();
         payload.put("model", model);
@@ -174,28 +180,31 @@ class MiniMaxTtsClient {
                 "[MiniMaxTTS] Making TTS request for voice '{}', text length: {}",
                 voiceId,
                 text.length());
-        HttpResponse<String> response =
-                httpClient.send(
-                        request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        HttpResponse<InputStream> response =
+                httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
 
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            String errorBody;
+            try (InputStream in = response.body()) {
+                errorBody = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
             String errorMessage =
-                    "MiniMax TTS failed: HTTP " + response.statusCode() + " - " + response.body();
+                    "MiniMax TTS failed: HTTP " + response.statusCode() + " - " + errorBody;
             if (response.statusCode() == 429) {
                 log.warn(
                         "[MiniMaxTTS] Rate limit hit (HTTP 429) for voice '{}': {}",
                         voiceId,
-                        response.body());
+                        errorBody);
                 throw new RateLimitException(errorMessage);
             } else if (response.statusCode() == 400) {
-                log.warn("[MiniMaxTTS] Bad request for voice '{}': {}", voiceId, response.body());
-                throw new MiniMaxContentException("Request rejected: " + response.body());
+                log.warn("[MiniMaxTTS] Bad request for voice '{}': {}", voiceId, errorBody);
+                throw new MiniMaxContentException("Request rejected: " + errorBody);
             } else {
                 log.error(
                         "[MiniMaxTTS] TTS request failed with HTTP {} for voice '{}': {}",
                         response.statusCode(),
                         voiceId,
-                        response.body());
+                        errorBody);
                 throw new IOException(errorMessage);
             }
         }
@@ -205,7 +214,11 @@ class MiniMaxTtsClient {
                 voiceId,
                 response.statusCode());
 
-        JsonNode root = mapper.readTree(response.body());
+        HexAudioExtractor.Result extracted;
+        try (InputStream in = response.body()) {
+            extracted = HexAudioExtractor.extract(in, output);
+        }
+        JsonNode root = mapper.readTree(extracted.json());
 
         // Check for API-level errors
         JsonNode baseResp = root.path("base_resp");
@@ -220,18 +233,12 @@ class MiniMaxTtsClient {
             throw new IOException("MiniMax API error: " + statusCode + " - " + statusMsg);
         }
 
-        // Extract hex-encoded audio
-        JsonNode dataNode = root.path("data");
-        JsonNode audioNode = dataNode.path("audio");
-        if (audioNode.isMissingNode() || audioNode.asText().isBlank()) {
-            throw new IOException("MiniMax response missing audio data: " + response.body());
+        if (extracted.audioBytes() == 0) {
+            throw new IOException("MiniMax response missing audio data: " + extracted.json());
         }
 
-        String hexAudio = audioNode.asText();
-        byte[] audioData = HexFormat.of().parseHex(hexAudio);
-
         String traceId = root.path("trace_id").asText(null);
-        return new MiniMaxTtsResult(audioData, traceId);
+        return new MiniMaxTtsResult(output, traceId);
     }
 
     private static Retry defaultRetry() {
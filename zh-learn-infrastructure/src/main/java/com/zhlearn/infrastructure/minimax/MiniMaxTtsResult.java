@@ -1,16 +1,18 @@
 package com.zhlearn.infrastructure.minimax;
 
+import java.nio.file.Path;
+
 /**
- * Result from MiniMax TTS synthesis containing raw audio bytes and request metadata.
+ * Result from MiniMax TTS synthesis: the file holding the audio and request metadata.
  *
- * @param audioData the synthesized audio as MP3 bytes
+ * @param audioFile the file the synthesized MP3 was written to
  * @param requestId the request ID from MiniMax API for debugging
  */
-public record MiniMaxTtsResult(byte[] audioData, String requestId) {
+public record MiniMaxTtsResult(Path audioFile, String requestId) {
 
     public MiniMaxTtsResult {
-        if (audioData == null || audioData.length == 0) {
-            throw new IllegalArgumentException("audioData must not be null or empty");
+        if (audioFile == null) {
+            throw new IllegalArgumentException("audioFile must not be null");
         }
     }
 }
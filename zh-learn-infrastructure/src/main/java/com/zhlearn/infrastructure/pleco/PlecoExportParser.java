@@ -1,12 +1,16 @@
 package com.zhlearn.infrastructure.pleco;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
@@ -53,27 +57,57 @@ public class PlecoExportParser {
      * @throws IllegalArgumentException if any record cannot be parsed
      */
     public List<PlecoEntry> parseFromReader(Reader reader) throws IOException {
-        List<PlecoEntry> entries = new ArrayList<>();
-
-        try (CSVParser parser = TSV.parse(reader)) {
-            for (CSVRecord record : parser) {
-                if (record.size() == 0) continue;
-
-                try {
-                    PlecoEntry entry = parseRecord(record);
-                    entries.add(entry);
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException(
-                            "Failed to parse record "
-                                    + record.getRecordNumber()
-                                    + ": "
-                                    + e.getMessage(),
-                            e);
-                }
-            }
+        try (Stream<PlecoEntry> entries = stream(reader)) {
+            return entries.collect(Collectors.toCollection(ArrayList::new));
         }
+    }
+
+    /**
+     * Lazily parse a Pleco export file. Records are read and converted one at a time, so memory use
+     * does not depend on the size of the file. The stream must be closed to release the file.
+     *
+     * @param file path to the Pleco export file
+     * @return stream of parsed PlecoEntry objects
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<PlecoEntry> streamFile(Path file) throws IOException {
+        Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return stream(reader).onClose(() -> closeUnchecked(reader));
+    }
+
+    /**
+     * Lazily parse Pleco export data from a Reader. Read failures surface as {@link
+     * UncheckedIOException} and unparseable records as {@link IllegalArgumentException} while the
+     * stream is consumed.
+     *
+     * @param reader reader containing the TSV data
+     * @return stream of parsed PlecoEntry objects
+     * @throws IOException if the reader cannot be opened for parsing
+     */
+    public Stream<PlecoEntry> stream(Reader reader) throws IOException {
+        CSVParser parser = TSV.parse(reader);
+        return parser.stream()
+                .filter(record -> record.size() > 0)
+                .map(this::parseNumberedRecord)
+                .onClose(() -> closeUnchecked(parser));
+    }
 
-        return entries;
+    private PlecoEntry parseNumberedRecord(CSVRecord record) {
+        try {
+            return parseRecord(record);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                    "Failed to parse record " + record.getRecordNumber() + ": " + e.getMessage(),
+                    e);
+        }
+    }
+
+    private static void closeUnchecked(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
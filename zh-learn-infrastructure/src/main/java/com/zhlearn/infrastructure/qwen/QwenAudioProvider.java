@@ -10,7 +10,6 @@ import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zhlearn.domain.exception.UnrecoverableProviderException;
@@ -20,6 +19,7 @@ import com.zhlearn.domain.model.ProviderInfo.ProviderType;
 import com.zhlearn.infrastructure.audio.AbstractTtsAudioProvider;
 import com.zhlearn.infrastructure.audio.AudioCache;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.audio.TtsStages;
 import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
 public class QwenAudioProvider extends AbstractTtsAudioProvider {
@@ -39,11 +39,11 @@ public class QwenAudioProvider extends AbstractTtsAudioProvider {
     public QwenAudioProvider(
             AudioCache audioCache,
             AudioPaths audioPaths,
-            ExecutorService executorService,
+            TtsStages stages,
             HttpClient httpClient,
             QwenTtsClient client,
             ProviderRateLimiter rateLimiter) {
-        super(audioCache, audioPaths, executorService);
+        super(audioCache, audioPaths, stages);
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient");
         this.injectedClient = client;
         this.rateLimiter = rateLimiter;
@@ -72,10 +72,9 @@ public class QwenAudioProvider extends AbstractTtsAudioProvider {
     }
 
     @Override
-    protected Path synthesizeVoice(String voice, String text)
+    protected Synthesis synthesizeVoice(String voice, String text)
             throws IOException, InterruptedException, UnrecoverableProviderException {
-        QwenTtsResult result = getClient().synthesize(voice, text);
-        return download(result.audioUrl());
+        return new Synthesis.Remote(getClient().synthesize(voice, text).audioUrl());
     }
 
     private QwenTtsClient getClient() {
@@ -106,21 +105,27 @@ public class QwenAudioProvider extends AbstractTtsAudioProvider {
         return voice + "|" + word.characters() + "|" + pinyin.pinyin();
     }
 
-    private Path download(URI audioUrl) throws IOException, InterruptedException {
+    @Override
+    protected Path fetchVoice(URI audioUrl) throws IOException, InterruptedException {
         HttpRequest request =
                 HttpRequest.newBuilder(audioUrl)
                         .timeout(TIMEOUT)
                         .header("User-Agent", USER_AGENT)
                         .GET()
                         .build();
-        HttpResponse<byte[]> response =
-                httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        Path download = audioCache.newDownloadFile(NAME);
+        HttpResponse<Path> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(download));
+        } catch (IOException | InterruptedException e) {
+            Files.deleteIfExists(download);
+            throw e;
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
+            Files.deleteIfExists(download);
             throw new IOException("Failed to download audio: HTTP " + response.statusCode());
         }
-        Path tmp = Files.createTempFile(NAME + "-", ".mp3");
-        Files.write(tmp, response.body());
-        return tmp;
+        return response.body();
     }
 
     private String resolveApiKey() {
@@ -120,6 +120,10 @@ class QwenTtsClient {
         } catch (CheckedExceptionWrapper wrapper) {
             wrapper.unwrap();
             throw new AssertionError("unreachable");
+        } finally {
+            if (rateLimiter != null) {
+                rateLimiter.release();
+            }
         }
     }
 
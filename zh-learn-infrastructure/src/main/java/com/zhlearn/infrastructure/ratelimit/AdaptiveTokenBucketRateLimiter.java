@@ -9,6 +9,11 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.zhlearn.infrastructure.jfr.RateLimiterAcquireEvent;
+import com.zhlearn.infrastructure.jfr.TraceContext;
+import com.zhlearn.infrastructure.metrics.Metrics;
+import com.zhlearn.infrastructure.metrics.Stage;
+
 /**
  * Adaptive token bucket rate limiter with backpressure support. Thread-safe, designed for
  * high-concurrency use across multiple parallel requests to the same provider.
@@ -20,6 +25,8 @@ import org.slf4j.LoggerFactory;
  *   <li>Adaptive rate reduction on 429 responses
  *   <li>Global pause that affects ALL waiting requests
  *   <li>Gradual rate recovery on successful requests
+ *   <li>Optional tokens-per-minute budget charged with the usage each response reports
+ *   <li>Optional in-flight cap shared with the other limiters of a {@link RateLimiterRegistry}
  * </ul>
  */
 public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter {
@@ -32,6 +39,9 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
     private final double backoffMultiplier;
     private final double recoveryMultiplier;
     private final Duration defaultBackoffDuration;
+    private final double budgetTokensPerSecond;
+    private final double maxBudgetTokens;
+    private final InFlightLimit inFlight;
 
     private final AtomicInteger tokens;
     private final AtomicLong lastRefillNanos;
@@ -40,6 +50,10 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
     // Use volatile for rate since it's read frequently, written occasionally
     private volatile double currentRefillRate;
 
+    // Token budget, guarded by lock; may go negative when a response overdraws it
+    private double budgetTokens;
+    private long lastBudgetRefillNanos;
+
     // Lock for coordinated waiting
     private final ReentrantLock lock = new ReentrantLock();
     private final Condition tokensAvailable = lock.newCondition();
@@ -47,6 +61,7 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
     // Statistics for monitoring
     private final AtomicLong successCount = new AtomicLong();
     private final AtomicLong rateLimitCount = new AtomicLong();
+    private final AtomicInteger waiting = new AtomicInteger();
 
     /**
      * Create a rate limiter from configuration.
@@ -55,6 +70,11 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
      * @param config Rate limiter configuration
      */
     public AdaptiveTokenBucketRateLimiter(String providerName, RateLimiterConfig config) {
+        this(providerName, config, null);
+    }
+
+    AdaptiveTokenBucketRateLimiter(
+            String providerName, RateLimiterConfig config, InFlightLimit inFlight) {
         this.providerName = providerName;
         this.maxTokens = config.maxBurst();
         this.baseRefillRate = config.baseRate();
@@ -62,17 +82,54 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
         this.backoffMultiplier = config.backoffMultiplier();
         this.recoveryMultiplier = config.recoveryMultiplier();
         this.defaultBackoffDuration = config.defaultBackoff();
+        this.budgetTokensPerSecond = config.tokensPerMinute() / 60.0;
+        this.maxBudgetTokens = config.tokensPerMinute();
+        this.inFlight = inFlight;
 
         this.tokens = new AtomicInteger(maxTokens);
         this.lastRefillNanos = new AtomicLong(System.nanoTime());
         this.pauseUntilNanos = new AtomicLong(0);
         this.currentRefillRate = baseRefillRate;
+        this.budgetTokens = maxBudgetTokens;
+        this.lastBudgetRefillNanos = System.nanoTime();
     }
 
     @Override
     public boolean acquire(Duration maxWait) throws InterruptedException {
-        long deadlineNanos = System.nanoTime() + maxWait.toNanos();
+        long start = System.nanoTime();
+        RateLimiterAcquireEvent event = new RateLimiterAcquireEvent();
+        event.begin();
+        event.outcome = RateLimiterAcquireEvent.INTERRUPTED;
+        waiting.incrementAndGet();
+        try {
+            boolean acquired = acquireUntil(start + maxWait.toNanos());
+            event.outcome =
+                    acquired ? RateLimiterAcquireEvent.ACQUIRED : RateLimiterAcquireEvent.TIMED_OUT;
+            return acquired;
+        } finally {
+            waiting.decrementAndGet();
+            Metrics.recordLatency(Stage.LIMITER_WAIT, providerName, System.nanoTime() - start);
+            event.word = TraceContext.current().word();
+            event.provider = providerName;
+            event.commit();
+        }
+    }
 
+    private boolean acquireUntil(long deadlineNanos) throws InterruptedException {
+        if (!acquireToken(deadlineNanos)) {
+            return false;
+        }
+        // Wait for the global slot outside the lock so other threads of this provider can queue
+        if (inFlight != null && !inFlight.acquire(deadlineNanos)) {
+            log.debug(
+                    "[{}] Rate limit acquire timed out waiting for an in-flight slot",
+                    providerName);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean acquireToken(long deadlineNanos) throws InterruptedException {
         lock.lock();
         try {
             while (true) {
@@ -95,6 +152,29 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
                     continue;
                 }
 
+                // Then the token budget, which only refills with time
+                if (budgetTokensPerSecond > 0) {
+                    refillBudget();
+                    if (budgetTokens <= 0) {
+                        long waitNanos =
+                                Math.min(
+                                        (long) ((1 - budgetTokens) / budgetTokensPerSecond * 1e9),
+                                        deadlineNanos - now);
+                        if (waitNanos <= 0) {
+                            log.debug(
+                                    "[{}] Rate limit acquire timed out waiting for token budget",
+                                    providerName);
+                            return false;
+                        }
+                        log.debug(
+                                "[{}] Token budget used up, waiting {}ms",
+                                providerName,
+                                Duration.ofNanos(waitNanos).toMillis());
+                        tokensAvailable.awaitNanos(waitNanos);
+                        continue;
+                    }
+                }
+
                 // Refill tokens based on elapsed time
                 refillTokens();
 
@@ -174,6 +254,27 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
         }
     }
 
+    @Override
+    public void recordTokens(long tokens) {
+        if (budgetTokensPerSecond <= 0) {
+            return;
+        }
+        lock.lock();
+        try {
+            refillBudget();
+            budgetTokens -= tokens;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void release() {
+        if (inFlight != null) {
+            inFlight.release();
+        }
+    }
+
     @Override
     public double getCurrentRate() {
         return currentRefillRate;
@@ -202,6 +303,23 @@ public final class AdaptiveTokenBucketRateLimiter implements ProviderRateLimiter
         return rateLimitCount.get();
     }
 
+    /**
+     * Get the number of callers currently waiting in {@link #acquire(Duration)}.
+     *
+     * @return waiting callers
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+
+    private void refillBudget() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastBudgetRefillNanos) / 1_000_000_000.0;
+        lastBudgetRefillNanos = now;
+        budgetTokens =
+                Math.min(budgetTokens + elapsedSeconds * budgetTokensPerSecond, maxBudgetTokens);
+    }
+
     private void refillTokens() {
         long now = System.nanoTime();
         long lastRefill = lastRefillNanos.get();
@@ -0,0 +1,92 @@
+package com.zhlearn.infrastructure.ratelimit;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cap on the number of requests in flight across all providers sharing this limit. Unlike a
+ * semaphore the cap can be changed at any time, so the command line can set it after the registry
+ * has been wired; lowering it below the current count only delays new requests.
+ */
+final class InFlightLimit {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    private int max;
+    private int inFlight;
+
+    InFlightLimit(int max) {
+        this.max = requirePositive(max);
+    }
+
+    /**
+     * Take a slot, waiting until {@code deadlineNanos} (a {@link System#nanoTime()} value).
+     *
+     * @return true if a slot was taken, false if the deadline passed first
+     */
+    boolean acquire(long deadlineNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            while (inFlight >= max) {
+                long remaining = deadlineNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                slotFreed.awaitNanos(remaining);
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            if (inFlight == 0) {
+                throw new IllegalStateException("In-flight limit released more often than taken");
+            }
+            inFlight--;
+            slotFreed.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setMax(int max) {
+        lock.lock();
+        try {
+            this.max = requirePositive(max);
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int max() {
+        lock.lock();
+        try {
+            return max;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int requirePositive(int max) {
+        if (max < 1) {
+            throw new IllegalArgumentException("In-flight limit must be at least 1: " + max);
+        }
+        return max;
+    }
+}
@@ -9,7 +9,9 @@ import java.time.Duration;
 public interface ProviderRateLimiter {
 
     /**
-     * Acquire permission to make a request. May block if rate limit is in effect.
+     * Acquire permission to make a request. May block if rate limit is in effect, if the token
+     * budget is used up, or if the process-wide in-flight cap is reached. Every successful acquire
+     * must be paired with a {@link #release()} once the request has finished.
      *
      * @param maxWait Maximum time to wait for permission
      * @return true if permission granted, false if timed out
@@ -28,6 +30,18 @@ public interface ProviderRateLimiter {
     /** Notify the rate limiter that a request succeeded. This allows gradual recovery of rate. */
     void notifySuccess();
 
+    /**
+     * Charge the tokens a finished request consumed against the tokens-per-minute budget. Requests
+     * are admitted while the budget is positive, so a large response may overdraw it; later
+     * requests then wait until it has refilled.
+     *
+     * @param tokens Input plus output tokens reported by the provider
+     */
+    void recordTokens(long tokens);
+
+    /** Return the in-flight slot taken by a successful {@link #acquire(Duration)}. */
+    void release();
+
     /**
      * Get the current effective rate limit (tokens per second). Useful for logging and monitoring.
      */
@@ -12,6 +12,7 @@ import java.time.Duration;
  * @param backoffMultiplier Rate reduction on 429 (e.g., 0.5 = halve the rate)
  * @param recoveryMultiplier Rate increase on success (e.g., 1.1 = 10% increase)
  * @param defaultBackoff Default pause duration when no Retry-After header
+ * @param tokensPerMinute Budget of LLM tokens (input plus output) per minute, 0 for no budget
  */
 public record RateLimiterConfig(
         int maxBurst,
@@ -19,7 +20,19 @@ public record RateLimiterConfig(
         double minRate,
         double backoffMultiplier,
         double recoveryMultiplier,
-        Duration defaultBackoff) {
+        Duration defaultBackoff,
+        long tokensPerMinute) {
+
+    /** Configuration without a token budget, for providers billed per request. */
+    public RateLimiterConfig(
+            int maxBurst,
+            double baseRate,
+            double minRate,
+            double backoffMultiplier,
+            double recoveryMultiplier,
+            Duration defaultBackoff) {
+        this(maxBurst, baseRate, minRate, backoffMultiplier, recoveryMultiplier, defaultBackoff, 0);
+    }
 
     /** Configuration for Qwen TTS - 180 RPM limit for qwen3-tts-flash-2025-11-27. */
     public static RateLimiterConfig forQwen() {
@@ -68,4 +81,69 @@ public record RateLimiterConfig(
                 Duration.ofSeconds(10) // 10 second pause on 429
                 );
     }
+
+    /** Configuration for DeepSeek chat - no published limits, keep bursts moderate. */
+    public static RateLimiterConfig forDeepSeek() {
+        return new RateLimiterConfig(
+                10, // 10 concurrent requests burst
+                5.0, // 5 requests/second base rate
+                0.5, // minimum 0.5 req/sec during heavy throttling
+                0.5, // halve rate on 429
+                1.1, // 10% recovery per success
+                Duration.ofSeconds(10), // 10 second pause on 429
+                1_000_000 // 1M tokens per minute
+                );
+    }
+
+    /** Configuration for Gemini - 150 RPM and 1M TPM on the first paid tier for 2.5 Pro. */
+    public static RateLimiterConfig forGemini() {
+        return new RateLimiterConfig(
+                5, // 5 concurrent requests burst
+                2.0, // 2 requests/second base rate (120 RPM, under 150 RPM limit)
+                0.2, // minimum 0.2 req/sec during heavy throttling
+                0.5, // halve rate on 429
+                1.1, // 10% recovery per success
+                Duration.ofSeconds(15), // 15 second pause on 429
+                800_000 // 800K tokens per minute, under 1M TPM limit
+                );
+    }
+
+    /** Configuration for DashScope chat (qwen-max, qwen-plus, qwen-turbo). */
+    public static RateLimiterConfig forDashScope() {
+        return new RateLimiterConfig(
+                10, // 10 concurrent requests burst
+                5.0, // 5 requests/second base rate
+                0.5, // minimum 0.5 req/sec during heavy throttling
+                0.5, // halve rate on 429
+                1.1, // 10% recovery per success
+                Duration.ofSeconds(10), // 10 second pause on 429
+                1_000_000 // 1M tokens per minute
+                );
+    }
+
+    /** Configuration for Zhipu GLM - low concurrency limits on the flash tier. */
+    public static RateLimiterConfig forZhipu() {
+        return new RateLimiterConfig(
+                3, // 3 concurrent requests burst
+                1.0, // 1 request/second base rate
+                0.1, // minimum 0.1 req/sec during heavy throttling
+                0.5, // halve rate on 429
+                1.1, // 10% recovery per success
+                Duration.ofSeconds(10), // 10 second pause on 429
+                300_000 // 300K tokens per minute
+                );
+    }
+
+    /** Configuration for OpenRouter - limits depend on the routed model and account credits. */
+    public static RateLimiterConfig forOpenRouter() {
+        return new RateLimiterConfig(
+                5, // 5 concurrent requests burst
+                2.0, // 2 requests/second base rate
+                0.2, // minimum 0.2 req/sec during heavy throttling
+                0.5, // halve rate on 429
+                1.1, // 10% recovery per success
+                Duration.ofSeconds(10), // 10 second pause on 429
+                500_000 // 500K tokens per minute
+                );
+    }
 }
@@ -3,13 +3,50 @@ package com.zhlearn.infrastructure.ratelimit;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.zhlearn.infrastructure.common.Settings;
+import com.zhlearn.infrastructure.metrics.Metrics;
+
 /**
  * Registry for per-provider rate limiters. Ensures each provider has exactly one rate limiter
- * instance, enabling coordination across all requests to that provider.
+ * instance, enabling coordination across all requests to that provider. All limiters of a registry
+ * also share one cap on the number of requests in flight, whatever the provider.
  */
 public final class RateLimiterRegistry {
 
+    static final String MAX_IN_FLIGHT_PROPERTY = "zhlearn.max-in-flight";
+    static final String MAX_IN_FLIGHT_ENV = "ZHLEARN_MAX_IN_FLIGHT";
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
     private final Map<String, ProviderRateLimiter> limiters = new ConcurrentHashMap<>();
+    private final InFlightLimit inFlight;
+
+    public RateLimiterRegistry() {
+        this(configuredMaxInFlight());
+    }
+
+    public RateLimiterRegistry(int maxInFlight) {
+        this.inFlight = new InFlightLimit(maxInFlight);
+        Metrics.gauge("limiter.in-flight", inFlight::inFlight);
+    }
+
+    /** Cap set with {@code zhlearn.max-in-flight} (see {@link Settings}). */
+    public static int configuredMaxInFlight() {
+        return Settings.intValue(MAX_IN_FLIGHT_PROPERTY, MAX_IN_FLIGHT_ENV, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /** Change the process-wide in-flight cap; takes effect for requests still waiting. */
+    public void configureMaxInFlight(int maxInFlight) {
+        inFlight.setMax(maxInFlight);
+    }
+
+    public int maxInFlight() {
+        return inFlight.max();
+    }
+
+    /** Number of requests that currently hold an in-flight slot. */
+    public int inFlight() {
+        return inFlight.inFlight();
+    }
 
     /**
      * Get or create a rate limiter for the given provider. If a limiter already exists for this
@@ -20,8 +57,19 @@ public final class RateLimiterRegistry {
      * @return The rate limiter for this provider
      */
     public ProviderRateLimiter getOrCreate(String providerName, RateLimiterConfig config) {
-        return limiters.computeIfAbsent(
-                providerName, name -> new AdaptiveTokenBucketRateLimiter(name, config));
+        return limiters.computeIfAbsent(providerName, name -> create(name, config));
+    }
+
+    /** A new limiter whose rate, counts and waiting callers are reported in {@link Metrics}. */
+    private AdaptiveTokenBucketRateLimiter create(String name, RateLimiterConfig config) {
+        AdaptiveTokenBucketRateLimiter limiter =
+                new AdaptiveTokenBucketRateLimiter(name, config, inFlight);
+        String prefix = "limiter." + name + ".";
+        Metrics.gauge(prefix + "rate", limiter::getCurrentRate);
+        Metrics.gauge(prefix + "successes", limiter::getSuccessCount);
+        Metrics.gauge(prefix + "rate-limited", limiter::getRateLimitCount);
+        Metrics.gauge(prefix + "waiting", limiter::getWaitingCount);
+        return limiter;
     }
 
     /**
@@ -7,7 +7,6 @@ import java.util.Base64;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
@@ -15,6 +14,7 @@ import com.zhlearn.domain.model.ProviderInfo.ProviderType;
 import com.zhlearn.infrastructure.audio.AbstractTtsAudioProvider;
 import com.zhlearn.infrastructure.audio.AudioCache;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.audio.TtsStages;
 import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
 public class TencentAudioProvider extends AbstractTtsAudioProvider {
@@ -40,10 +40,10 @@ public class TencentAudioProvider extends AbstractTtsAudioProvider {
     public TencentAudioProvider(
             AudioCache audioCache,
             AudioPaths audioPaths,
-            ExecutorService executorService,
+            TtsStages stages,
             TencentTtsClient client,
             ProviderRateLimiter rateLimiter) {
-        super(audioCache, audioPaths, executorService);
+        super(audioCache, audioPaths, stages);
         this.injectedClient = client;
         this.rateLimiter = rateLimiter;
         this.voiceNameToType = buildVoiceNameToTypeMap();
@@ -78,7 +78,7 @@ public class TencentAudioProvider extends AbstractTtsAudioProvider {
     }
 
     @Override
-    protected Path synthesizeVoice(String voice, String text)
+    protected Synthesis synthesizeVoice(String voice, String text)
             throws IOException, InterruptedException {
         Integer voiceType = voiceNameToType.get(voice);
         if (voiceType == null) {
@@ -86,7 +86,7 @@ public class TencentAudioProvider extends AbstractTtsAudioProvider {
         }
         try {
             TencentTtsResult result = getClient().synthesize(voiceType, text);
-            return decodeAudioData(result.audioData());
+            return new Synthesis.Ready(decodeAudioData(result.audioData()));
         } catch (TencentTtsClientException e) {
             throw new RuntimeException("Tencent TTS synthesis failed for voice " + voice, e);
         }
@@ -120,9 +120,7 @@ public class TencentAudioProvider extends AbstractTtsAudioProvider {
 
     private Path decodeAudioData(String base64Audio) throws IOException {
         byte[] audioBytes = Base64.getDecoder().decode(base64Audio);
-        Path tmp = Files.createTempFile(NAME + "-", ".mp3");
-        Files.write(tmp, audioBytes);
-        return tmp;
+        return Files.write(audioCache.newDownloadFile(NAME), audioBytes);
     }
 
     private String resolveSecretId() {
@@ -91,6 +91,10 @@ class TencentTtsClient {
                 }
             }
             throw new TencentTtsClientException("Tencent TTS API error", e);
+        } finally {
+            if (rateLimiter != null) {
+                rateLimiter.release();
+            }
         }
     }
 }
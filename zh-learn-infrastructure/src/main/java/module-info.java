@@ -1,13 +1,17 @@
 module com.zhlearn.infrastructure {
     requires transitive com.zhlearn.domain;
+    requires java.desktop;
     requires java.logging;
     requires java.net.http;
     requires java.sql;
+    requires jdk.jfr;
 
     // LangChain4j automatic modules (using jar names)
     requires transitive langchain4j.core;
     requires langchain4j.open.ai;
     requires langchain4j.google.ai.gemini;
+    requires langchain4j.http.client;
+    requires langchain4j.http.client.jdk;
 
     // SLF4J logging modules
     requires org.slf4j;
@@ -41,6 +45,10 @@ module com.zhlearn.infrastructure {
     exports com.zhlearn.infrastructure.dictionary;
     exports com.zhlearn.infrastructure.audio;
     exports com.zhlearn.infrastructure.cache;
+    exports com.zhlearn.infrastructure.concurrent;
+    exports com.zhlearn.infrastructure.http;
+    exports com.zhlearn.infrastructure.jfr;
+    exports com.zhlearn.infrastructure.metrics;
     exports com.zhlearn.infrastructure.pinyin4j;
     exports com.zhlearn.infrastructure.passthrough;
     // pinyin utility moved to separate module com.zhlearn.pinyin
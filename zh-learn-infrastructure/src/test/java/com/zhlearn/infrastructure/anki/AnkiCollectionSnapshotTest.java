@@ -0,0 +1,100 @@
+package com.zhlearn.infrastructure.anki;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AnkiCollectionSnapshotTest {
+
+    private static final String EXPORT =
+            """
+            Chinese 2\t学\txué\t[sound:xue.mp3]\tto study
+            Chinese 2\t习\txí\t\tto practice
+            """;
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldServeNotesAndPronunciationsFromSnapshot() throws Exception {
+        Path export = write(EXPORT);
+
+        AnkiCollectionSnapshot built = AnkiCollectionSnapshot.load(export);
+        FileTime modified = Files.getLastModifiedTime(export);
+        // Same size and timestamp: the snapshot is trusted without parsing the export again
+        Files.writeString(export, EXPORT.replace("study", "learn"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(export, modified);
+        AnkiCollectionSnapshot loaded = AnkiCollectionSnapshot.load(export);
+
+        assertThat(AnkiCollectionSnapshot.snapshotPath(export)).exists();
+        assertThat(loaded.notes()).isEqualTo(built.notes());
+        assertThat(loaded.notes())
+                .extracting(AnkiNote::definition)
+                .containsExactly("to study", "to practice");
+        assertThat(loaded.pronunciations()).containsExactly(Map.entry("xué", "[sound:xue.mp3]"));
+    }
+
+    @Test
+    void shouldRebuildWhenExportChanges() throws Exception {
+        Path export = write(EXPORT);
+        AnkiCollectionSnapshot.load(export);
+
+        Files.writeString(
+                export,
+                EXPORT + "Chinese 2\t书\tshū\t[sound:shu.mp3]\tbook\n",
+                StandardCharsets.UTF_8);
+        List<AnkiNote> notes = AnkiCollectionSnapshot.load(export).notes();
+
+        assertThat(notes).extracting(AnkiNote::simplified).containsExactly("学", "习", "书");
+        assertThat(AnkiCollectionSnapshot.load(export).pronunciations()).containsKey("shū");
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenOnlyTimestampChanges() throws Exception {
+        Path export = write(EXPORT);
+        AnkiCollectionSnapshot.load(export);
+        Path snapshot = AnkiCollectionSnapshot.snapshotPath(export);
+        Object written = fileKey(snapshot);
+
+        Files.setLastModifiedTime(export, FileTime.fromMillis(2_000_000L));
+        List<AnkiNote> notes = AnkiCollectionSnapshot.load(export).notes();
+
+        assertThat(notes).extracting(AnkiNote::simplified).containsExactly("学", "习");
+        assertThat(fileKey(snapshot)).isEqualTo(written);
+    }
+
+    @Test
+    void shouldRejectTruncatedSnapshot() throws Exception {
+        Path export = write(EXPORT);
+        AnkiCollectionSnapshot.load(export);
+        Path snapshot = AnkiCollectionSnapshot.snapshotPath(export);
+        byte[] written = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(written, 60));
+
+        assertThatThrownBy(() -> AnkiCollectionSnapshot.load(export))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Corrupt Anki snapshot")
+                .hasMessageContaining("truncated");
+    }
+
+    private static Object fileKey(Path file) throws Exception {
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+
+    private Path write(String content) throws Exception {
+        Path export = tempDir.resolve("Chinese.txt");
+        Files.writeString(export, content, StandardCharsets.UTF_8);
+        return export;
+    }
+}
@@ -1,10 +1,20 @@
 package com.zhlearn.infrastructure.audio;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -70,4 +80,114 @@ class AudioCacheTest {
         assertThat(out2).isEqualTo(out1);
         assertThat(Files.size(out2)).isEqualTo(size1);
     }
+
+    @Test
+    void findsClipsIndexedByAnEarlierCache() throws Exception {
+        Path src = Files.createTempFile("src-", ".mp3");
+        Files.write(src, new byte[] {0, 1, 2, 3});
+        Path cached =
+                audioCache.ensureCachedNormalized(
+                        src, "qwen-tts", "学习", "Cherry", "qwen-tts:学习:Cherry");
+
+        AudioCache restarted = new AudioCache(new AudioPaths(), new AudioNormalizer());
+
+        assertThat(restarted.find("qwen-tts", "qwen-tts:学习:Cherry")).contains(cached);
+        assertThat(restarted.find("qwen-tts", "qwen-tts:学习:Ethan")).isEmpty();
+        assertThat(audioPaths.audioDir().resolve(AudioIndex.FILE_NAME)).exists();
+        try (Stream<Path> files = Files.list(cached.getParent())) {
+            assertThat(files).containsExactly(cached);
+        }
+    }
+
+    @Test
+    void namesClipAfterTheContainerWritten() throws Exception {
+        Path src = Files.createTempFile("src-", ".mp3");
+        Files.write(src, new byte[] {0, 1, 2, 3});
+        AudioNormalizer writesWav =
+                new AudioNormalizer() {
+                    @Override
+                    public String normalize(Path input, Path output) throws IOException {
+                        Files.write(output, "RIFF".getBytes(StandardCharsets.US_ASCII));
+                        return WAV;
+                    }
+                };
+
+        Path cached =
+                new AudioCache(audioPaths, writesWav)
+                        .ensureCachedNormalized(
+                                src, "qwen-tts", "学习", "Cherry", "qwen-tts:学习:Cherry");
+
+        assertThat(cached.getFileName().toString()).endsWith(".wav");
+        assertThat(
+                        new AudioCache(new AudioPaths(), new AudioNormalizer())
+                                .find("qwen-tts", "qwen-tts:学习:Cherry"))
+                .contains(cached);
+    }
+
+    @Test
+    void indexesClipsWrittenBeforeTheIndexExisted() throws Exception {
+        String url = "http://example.com/b.mp3";
+        Path legacy =
+                audioPaths
+                        .audioDir()
+                        .resolve("forvo")
+                        .resolve("forvo_学习_user_" + shortHash(url) + ".mp3");
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, new byte[] {1});
+
+        assertThat(audioCache.find("forvo", url)).contains(legacy);
+    }
+
+    @Test
+    void rejectsMalformedIndexLines() throws Exception {
+        Files.writeString(
+                audioPaths.audioDir().resolve(AudioIndex.FILE_NAME),
+                "forvo\t0123456789\tforvo_学习_0123456789.mp3\nforvo\tbroken\n",
+                StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> audioCache.find("forvo", "any"))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage(
+                        "Malformed audio index line 2 in "
+                                + audioPaths.audioDir().resolve(AudioIndex.FILE_NAME)
+                                + ": forvo\tbroken");
+    }
+
+    @Test
+    void collectsOrphanedClipsAndStaleEntries() throws Exception {
+        Path src = Files.createTempFile("src-", ".mp3");
+        Files.write(src, new byte[] {0, 1, 2, 3});
+        Path kept = audioCache.ensureCachedNormalized(src, "forvo", "学习", "a", "kept");
+        Path deleted = audioCache.ensureCachedNormalized(src, "forvo", "学习", "b", "deleted");
+        Files.delete(deleted);
+        Path orphan = kept.resolveSibling("forvo_学习_c.mp3");
+        Files.write(orphan, new byte[] {1, 2});
+        Path staleTemp = kept.resolveSibling(AudioIndex.TEMP_PREFIX + "old.mp3");
+        Files.write(staleTemp, new byte[] {1});
+        Files.setLastModifiedTime(
+                staleTemp, FileTime.from(Instant.now().minus(2, ChronoUnit.HOURS)));
+        Path freshTemp = kept.resolveSibling(AudioIndex.TEMP_PREFIX + "new.mp3");
+        Files.write(freshTemp, new byte[] {1});
+
+        AudioCache.GcResult dryRun = audioCache.collectGarbage(true);
+        assertThat(dryRun).isEqualTo(new AudioCache.GcResult(1, 1, 2, 3));
+        assertThat(orphan).exists();
+
+        AudioCache.GcResult result = audioCache.collectGarbage(false);
+
+        assertThat(result).isEqualTo(new AudioCache.GcResult(1, 1, 2, 3));
+        assertThat(kept).exists();
+        assertThat(freshTemp).exists();
+        assertThat(orphan).doesNotExist();
+        assertThat(staleTemp).doesNotExist();
+        assertThat(new AudioCache(new AudioPaths(), new AudioNormalizer()).find("forvo", "deleted"))
+                .isEmpty();
+    }
+
+    private static String shortHash(String sourceId) throws Exception {
+        byte[] digest =
+                MessageDigest.getInstance("SHA-1")
+                        .digest(sourceId.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(digest).substring(0, 10);
+    }
 }
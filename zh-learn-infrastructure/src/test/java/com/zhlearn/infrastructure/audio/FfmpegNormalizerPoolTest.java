@@ -0,0 +1,38 @@
+package com.zhlearn.infrastructure.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class FfmpegNormalizerPoolTest {
+
+    @Test
+    void shouldNormalizeWholeBatchInOneInvocation() {
+        List<FfmpegNormalizerPool.Job> batch =
+                List.of(
+                        job(Path.of("/in/a.wav"), Path.of("/out/a.mp3")),
+                        job(Path.of("/in/b.mp3"), Path.of("/out/b.mp3")));
+
+        List<String> command = FfmpegNormalizerPool.command("ffmpeg", batch);
+
+        assertThat(command)
+                .containsSubsequence("-i", "/in/a.wav", "-i", "/in/b.mp3", "-filter_complex")
+                .containsSubsequence("-map", "[a0]", "/out/a.mp3", "-map", "[a1]", "/out/b.mp3")
+                .containsSubsequence("-f", "mp3", "/out/a.mp3");
+        assertThat(command.get(command.indexOf("-filter_complex") + 1))
+                .isEqualTo(
+                        "[0:a]"
+                                + FfmpegNormalizerPool.FILTER
+                                + "[a0];[1:a]"
+                                + FfmpegNormalizerPool.FILTER
+                                + "[a1]");
+    }
+
+    private static FfmpegNormalizerPool.Job job(Path input, Path output) {
+        return new FfmpegNormalizerPool.Job(input, output, new CompletableFuture<>());
+    }
+}
@@ -0,0 +1,46 @@
+package com.zhlearn.infrastructure.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PcmDecoderTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldDecodeWaveToSignedLittleEndianPcm() throws Exception {
+        Path input = tempDir.resolve("clip.wav");
+        byte[] samples = {1, 0, 2, 0, 3, 0, 4, 0};
+        AudioFormat format = new AudioFormat(22050, 16, 2, true, false);
+        try (AudioInputStream stream =
+                new AudioInputStream(new ByteArrayInputStream(samples), format, 2)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, input.toFile());
+        }
+
+        PcmDecoder.Pcm pcm = PcmDecoder.decode(input);
+
+        assertThat(pcm.format().getSampleRate()).isEqualTo(22050);
+        assertThat(pcm.format().getChannels()).isEqualTo(2);
+        assertThat(pcm.format().isBigEndian()).isFalse();
+        assertThat(pcm.data()).containsExactly(samples);
+    }
+
+    @Test
+    void shouldReturnNullForUndecodableInput() throws Exception {
+        Path input = tempDir.resolve("clip.mp3");
+        Files.write(input, new byte[] {'I', 'D', '3', 4, 0, 0, 0, 0, 0, 0});
+
+        assertThat(PcmDecoder.decode(input)).isNull();
+    }
+}
@@ -0,0 +1,95 @@
+package com.zhlearn.infrastructure.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PcmNormalizerTest {
+
+    private static final float SAMPLE_RATE = 16000;
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldRaiseQuietClipAndTrimItsTail() throws Exception {
+        Path input = tempDir.resolve("quiet.wav");
+        writeStereoSine(input, 0.02, SAMPLE_RATE / 2);
+        Path output = tempDir.resolve("normalized.mp3");
+
+        assertThat(PcmNormalizer.normalize(input, output)).isTrue();
+
+        try (AudioInputStream result = AudioSystem.getAudioInputStream(output.toFile())) {
+            assertThat(result.getFormat().getChannels()).isEqualTo(1);
+            assertThat(result.getFrameLength()).isEqualTo((long) (SAMPLE_RATE / 2 - 160));
+            short[] samples = samples(result.readAllBytes());
+            double rms = 0;
+            for (short sample : samples) {
+                rms += (double) sample * sample;
+            }
+            rms = Math.sqrt(rms / samples.length) / Short.MAX_VALUE;
+            assertThat(20 * Math.log10(rms)).isCloseTo(-16.0, within(0.5));
+        }
+    }
+
+    @Test
+    void shouldKeepPeaksBelowCeiling() {
+        short[] samples = new short[1000];
+        samples[0] = 20000;
+
+        double gain = PcmNormalizer.gain(samples, samples.length);
+
+        assertThat(20000 * gain / Short.MAX_VALUE)
+                .isLessThanOrEqualTo(Math.pow(10, PcmNormalizer.PEAK_CEILING_DB / 20) + 1e-9);
+    }
+
+    @Test
+    void shouldLeaveUndecodableInputAlone() throws Exception {
+        Path input = tempDir.resolve("clip.mp3");
+        Files.write(input, new byte[] {'I', 'D', '3', 4, 0, 0, 0, 0, 0, 0});
+        Path output = tempDir.resolve("normalized.mp3");
+
+        assertThat(PcmNormalizer.normalize(input, output)).isFalse();
+        assertThat(output).doesNotExist();
+    }
+
+    private static void writeStereoSine(Path file, double amplitude, float frames)
+            throws Exception {
+        int frameCount = (int) frames;
+        byte[] pcm = new byte[frameCount * 4];
+        for (int i = 0; i < frameCount; i++) {
+            short sample =
+                    (short)
+                            (amplitude
+                                    * Short.MAX_VALUE
+                                    * Math.sin(2 * Math.PI * 440 * i / SAMPLE_RATE));
+            for (int channel = 0; channel < 2; channel++) {
+                pcm[4 * i + 2 * channel] = (byte) sample;
+                pcm[4 * i + 2 * channel + 1] = (byte) (sample >> 8);
+            }
+        }
+        AudioFormat format = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+        try (AudioInputStream stream =
+                new AudioInputStream(new ByteArrayInputStream(pcm), format, frameCount)) {
+            AudioSystem.write(stream, AudioFileFormat.Type.WAVE, file.toFile());
+        }
+    }
+
+    private static short[] samples(byte[] pcm) {
+        short[] samples = new short[pcm.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((pcm[2 * i] & 0xff) | (pcm[2 * i + 1] << 8));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,87 @@
+package com.zhlearn.infrastructure.audio;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import com.zhlearn.infrastructure.concurrent.ExecutorMode;
+import com.zhlearn.infrastructure.concurrent.SharedExecutor;
+
+class TtsStagesTest {
+
+    @Test
+    @Timeout(10)
+    void shouldBoundRunningTasksPerStage() throws Exception {
+        try (SharedExecutor executor = new SharedExecutor(ExecutorMode.PLATFORM);
+                TtsStages stages = new TtsStages(executor, 2, 3)) {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger peak = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            List<CompletableFuture<Void>> fetches =
+                    IntStream.range(0, 6)
+                            .mapToObj(
+                                    i ->
+                                            CompletableFuture.runAsync(
+                                                    () -> {
+                                                        peak.accumulateAndGet(
+                                                                running.incrementAndGet(),
+                                                                Math::max);
+                                                        try {
+                                                            release.await();
+                                                        } catch (InterruptedException e) {
+                                                            Thread.currentThread().interrupt();
+                                                        }
+                                                        running.decrementAndGet();
+                                                    },
+                                                    stages.fetch()))
+                            .toList();
+
+            while (running.get() < 2) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(50);
+            assertThat(running.get()).isEqualTo(2);
+            release.countDown();
+            CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new)).join();
+
+            assertThat(peak.get()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRunStagesOnTheExecutorsThreadKind() {
+        try (SharedExecutor executor = new SharedExecutor(ExecutorMode.VIRTUAL);
+                TtsStages stages = new TtsStages(executor, 1, 1)) {
+            AtomicBoolean virtual = new AtomicBoolean();
+
+            CompletableFuture.runAsync(
+                            () -> virtual.set(Thread.currentThread().isVirtual()),
+                            stages.normalize())
+                    .join();
+
+            assertThat(virtual).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRejectTasksOnceClosed() {
+        try (SharedExecutor executor = new SharedExecutor(ExecutorMode.PLATFORM)) {
+            TtsStages stages = new TtsStages(executor, 1, 1);
+            stages.close();
+
+            assertThatThrownBy(() -> stages.fetch().execute(() -> {}))
+                    .isInstanceOf(RejectedExecutionException.class);
+        }
+    }
+}
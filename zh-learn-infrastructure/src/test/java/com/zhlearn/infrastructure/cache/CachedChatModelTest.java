@@ -1,15 +1,37 @@
 package com.zhlearn.infrastructure.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-import java.lang.reflect.Field;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.exception.RateLimitException;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.openai.OpenAiTokenUsage;
 
 class CachedChatModelTest {
 
@@ -52,7 +74,313 @@ class CachedChatModelTest {
         verify(delegate, times(1)).chat("test prompt");
     }
 
-    // Test helper class to inject custom FileSystemCache with temp directory
+    @Test
+    void shouldCoalesceConcurrentIdenticalPrompts() throws Exception {
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch releaseUpstream = new CountDownLatch(1);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat("shared prompt"))
+                .thenAnswer(
+                        invocation -> {
+                            upstreamCalls.incrementAndGet();
+                            upstreamStarted.countDown();
+                            releaseUpstream.await();
+                            return "shared response";
+                        });
+        CachedChatModel cachedModel =
+                new TestCachedChatModel(
+                        delegate, "http://test.com", "test-model", 0.5, 100, tempDir);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> cachedModel.chat("shared prompt")));
+            }
+            upstreamStarted.await();
+            // Give the other callers time to reach the in-flight call before it completes
+            Thread.sleep(200);
+            releaseUpstream.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("shared response");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPropagateUpstreamFailureAndRetryNextCall() {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat("failing prompt"))
+                .thenThrow(new IllegalStateException("upstream down"))
+                .thenReturn("recovered");
+        CachedChatModel cachedModel =
+                new TestCachedChatModel(
+                        delegate, "http://test.com", "test-model", 0.5, 100, tempDir);
+
+        assertThatThrownBy(() -> cachedModel.chat("failing prompt"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("upstream down");
+        assertThat(cachedModel.chat("failing prompt")).isEqualTo("recovered");
+    }
+
+    @Test
+    void shouldSendInstructionsAsSystemMessageAndCacheByBothParts() {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenReturn(ChatResponse.builder().aiMessage(AiMessage.from("answer")).build());
+        CachedChatModel cachedModel =
+                new TestCachedChatModel(
+                        delegate, "http://test.com", "test-model", 0.5, 100, tempDir);
+
+        assertThat(cachedModel.chat("instructions", "word A")).isEqualTo("answer");
+        assertThat(cachedModel.chat("instructions", "word A")).isEqualTo("answer");
+        assertThat(cachedModel.cached("instructions", "word A")).contains("answer");
+        assertThat(cachedModel.cached("instructions", "word B")).isEmpty();
+
+        ArgumentCaptor<ChatRequest> request = ArgumentCaptor.forClass(ChatRequest.class);
+        verify(delegate, times(1)).chat(request.capture());
+        assertThat(request.getValue().messages())
+                .containsExactly(SystemMessage.from("instructions"), UserMessage.from("word A"));
+    }
+
+    @Test
+    void shouldRecordCachedInputTokens() {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenReturn(
+                        ChatResponse.builder()
+                                .aiMessage(AiMessage.from("first"))
+                                .tokenUsage(usage(1000, 0, 50))
+                                .build(),
+                        ChatResponse.builder()
+                                .aiMessage(AiMessage.from("second"))
+                                .tokenUsage(usage(1010, 960, 40))
+                                .build());
+        CachedChatModel cachedModel =
+                new TestCachedChatModel(
+                        delegate, "http://test.com", "token-stats-model", 0.5, 100, tempDir);
+
+        cachedModel.chat("instructions", "word A");
+        cachedModel.chat("instructions", "word B");
+
+        PromptCacheStats.Usage usage =
+                PromptCacheStats.snapshot().stream()
+                        .filter(entry -> entry.model().equals("token-stats-model"))
+                        .findFirst()
+                        .orElseThrow();
+        assertThat(usage.requests()).isEqualTo(2);
+        assertThat(usage.inputTokens()).isEqualTo(2010);
+        assertThat(usage.cachedInputTokens()).isEqualTo(960);
+        assertThat(usage.uncachedInputTokens()).isEqualTo(1050);
+        assertThat(usage.outputTokens()).isEqualTo(90);
+        assertThat(usage.unreportedRequests()).isZero();
+    }
+
+    @Test
+    void shouldReportStreamedTextAndCacheOnCompletion() {
+        AtomicInteger streams = new AtomicInteger();
+        StreamingChatModel streaming =
+                new StreamingChatModel() {
+                    @Override
+                    public void doChat(
+                            ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                        streams.incrementAndGet();
+                        handler.onPartialResponse("first ");
+                        handler.onPartialResponse("second");
+                        handler.onCompleteResponse(
+                                ChatResponse.builder()
+                                        .aiMessage(AiMessage.from("first second"))
+                                        .build());
+                    }
+                };
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        mock(ChatModel.class),
+                        streaming,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100);
+        List<String> partials = new ArrayList<>();
+
+        assertThat(cachedModel.chat("instructions", "word", partials::add))
+                .isEqualTo("first second");
+        assertThat(partials).containsExactly("first ", "second");
+        assertThat(cachedModel.cached("instructions", "word")).contains("first second");
+
+        List<String> cachedPartials = new ArrayList<>();
+        assertThat(cachedModel.chat("instructions", "word", cachedPartials::add))
+                .isEqualTo("first second");
+        assertThat(cachedPartials).isEmpty();
+        assertThat(streams.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCacheFailedStream() {
+        StreamingChatModel streaming =
+                new StreamingChatModel() {
+                    @Override
+                    public void doChat(
+                            ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                        handler.onPartialResponse("partial");
+                        handler.onError(new IllegalStateException("connection reset"));
+                    }
+                };
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        mock(ChatModel.class),
+                        streaming,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100);
+
+        assertThatThrownBy(() -> cachedModel.chat("instructions", "word", text -> {}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("connection reset");
+        assertThat(cachedModel.cached("instructions", "word")).isEmpty();
+    }
+
+    @Test
+    void shouldNotReplayPartialTextWhenStreamIsRetried() throws Exception {
+        AtomicInteger streams = new AtomicInteger();
+        StreamingChatModel streaming =
+                new StreamingChatModel() {
+                    @Override
+                    public void doChat(
+                            ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                        handler.onPartialResponse("first ");
+                        if (streams.incrementAndGet() == 1) {
+                            handler.onError(new RateLimitException("HTTP 429"));
+                            return;
+                        }
+                        handler.onPartialResponse("second");
+                        handler.onCompleteResponse(
+                                ChatResponse.builder()
+                                        .aiMessage(AiMessage.from("first second"))
+                                        .build());
+                    }
+                };
+        ProviderRateLimiter rateLimiter = mock(ProviderRateLimiter.class);
+        when(rateLimiter.acquire(any(Duration.class))).thenReturn(true);
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        mock(ChatModel.class),
+                        streaming,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100,
+                        rateLimiter);
+        List<String> partials = new ArrayList<>();
+
+        assertThat(cachedModel.chat("instructions", "word", partials::add))
+                .isEqualTo("first second");
+        assertThat(streams.get()).isEqualTo(2);
+        assertThat(partials).containsExactly("first ");
+    }
+
+    @Test
+    void shouldBackOffAndRetryWhenRateLimited() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenThrow(new RateLimitException("HTTP 429"))
+                .thenReturn(
+                        ChatResponse.builder()
+                                .aiMessage(AiMessage.from("response"))
+                                .tokenUsage(usage(1000, 0, 200))
+                                .build());
+        ProviderRateLimiter rateLimiter = mock(ProviderRateLimiter.class);
+        when(rateLimiter.acquire(any(Duration.class))).thenReturn(true);
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        delegate,
+                        null,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100,
+                        rateLimiter);
+
+        assertThat(cachedModel.chat("instructions", "word")).isEqualTo("response");
+
+        InOrder order = inOrder(rateLimiter);
+        order.verify(rateLimiter).acquire(any(Duration.class));
+        order.verify(rateLimiter).notifyRateLimited(null);
+        order.verify(rateLimiter).release();
+        order.verify(rateLimiter).acquire(any(Duration.class));
+        order.verify(rateLimiter).release();
+        order.verify(rateLimiter).notifySuccess();
+        order.verify(rateLimiter).recordTokens(1200);
+    }
+
+    @Test
+    void shouldChargeEstimatedTokensForPlainPrompts() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat("explain 学习")).thenReturn("学习 means study");
+        ProviderRateLimiter rateLimiter = mock(ProviderRateLimiter.class);
+        when(rateLimiter.acquire(any(Duration.class))).thenReturn(true);
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        delegate,
+                        null,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100,
+                        rateLimiter);
+
+        cachedModel.chat("explain 学习");
+
+        // Prompt: 2 Han + 8 other characters; response: 2 Han + 12 other characters
+        verify(rateLimiter).recordTokens(2 + 2 + 2 + 3);
+    }
+
+    @Test
+    void shouldGiveUpAfterRepeatedRateLimits() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class))).thenThrow(new RateLimitException("HTTP 429"));
+        ProviderRateLimiter rateLimiter = mock(ProviderRateLimiter.class);
+        when(rateLimiter.acquire(any(Duration.class))).thenReturn(true);
+        CachedChatModel cachedModel =
+                new CachedChatModel(
+                        delegate,
+                        null,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.5,
+                        100,
+                        rateLimiter);
+
+        assertThatThrownBy(() -> cachedModel.chat("instructions", "word"))
+                .isInstanceOf(RateLimitException.class);
+        verify(delegate, times(3)).chat(any(ChatRequest.class));
+        verify(rateLimiter, times(3)).notifyRateLimited(null);
+        verify(rateLimiter, times(3)).release();
+        verify(rateLimiter, never()).notifySuccess();
+    }
+
+    private static OpenAiTokenUsage usage(int input, int cached, int output) {
+        return OpenAiTokenUsage.builder()
+                .inputTokenCount(input)
+                .inputTokensDetails(
+                        OpenAiTokenUsage.InputTokensDetails.builder().cachedTokens(cached).build())
+                .outputTokenCount(output)
+                .build();
+    }
+
+    // Test helper class to inject a FileSystemCache with temp directory
     private static class TestCachedChatModel extends CachedChatModel {
         public TestCachedChatModel(
                 ChatModel delegate,
@@ -61,15 +389,13 @@ class CachedChatModelTest {
                 Double temperature,
                 Integer maxTokens,
                 Path tempDir) {
-            super(delegate, baseUrl, modelName, temperature, maxTokens);
-            // Replace the cache with one using temp directory
-            try {
-                Field cacheField = CachedChatModel.class.getDeclaredField("cache");
-                cacheField.setAccessible(true);
-                cacheField.set(this, new FileSystemCache(tempDir, 3600));
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+            super(
+                    delegate,
+                    new FileSystemCache(tempDir, 3600),
+                    baseUrl,
+                    modelName,
+                    temperature,
+                    maxTokens);
         }
     }
 }
@@ -0,0 +1,126 @@
+package com.zhlearn.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+class MemoryTierCacheTest {
+
+    private static final long ENTRY_BYTES = 96 + 2 * (5 + 100);
+
+    @Test
+    void shouldServeRepeatedLookupsFromMemory() {
+        ResponseCache backing = mock(ResponseCache.class);
+        when(backing.get("key-1")).thenReturn(Optional.of("value"));
+        MemoryTierCache cache = new MemoryTierCache(backing, 1024 * 1024);
+
+        assertThat(cache.get("key-1")).contains("value");
+        assertThat(cache.get("key-1")).contains("value");
+        assertThat(cache.get("key-1")).contains("value");
+
+        verify(backing, times(1)).get("key-1");
+        MemoryTierStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.entries()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPeekWithoutCountingTheLookup() {
+        ResponseCache backing = mock(ResponseCache.class);
+        when(backing.get("key-1")).thenReturn(Optional.empty());
+        when(backing.peek("key-1")).thenReturn(Optional.empty());
+        MemoryTierCache cache = new MemoryTierCache(backing, 1024 * 1024);
+
+        assertThat(cache.get("key-1")).isEmpty();
+        assertThat(cache.peek("key-1")).isEmpty();
+        cache.put("key-1", "value");
+        assertThat(cache.peek("key-1")).contains("value");
+
+        MemoryTierStats stats = cache.stats();
+        assertThat(stats.hits()).isZero();
+        assertThat(stats.misses()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWriteThroughToBackingCache() {
+        ResponseCache backing = mock(ResponseCache.class);
+        MemoryTierCache cache = new MemoryTierCache(backing, 1024 * 1024);
+
+        cache.put("key-1", "value");
+
+        verify(backing).put("key-1", "value");
+        assertThat(cache.get("key-1")).contains("value");
+        verify(backing, never()).get("key-1");
+    }
+
+    @Test
+    void shouldStayWithinByteBudget() {
+        ResponseCache backing = mock(ResponseCache.class);
+        MemoryTierCache cache = new MemoryTierCache(backing, 3 * ENTRY_BYTES);
+
+        for (int i = 0; i < 10; i++) {
+            String key = "key-" + i;
+            for (int lookup = 0; lookup <= i; lookup++) {
+                cache.get(key);
+            }
+            cache.put(key, "x".repeat(100));
+        }
+
+        MemoryTierStats stats = cache.stats();
+        assertThat(stats.sizeBytes()).isLessThanOrEqualTo(3 * ENTRY_BYTES);
+        assertThat(stats.entries()).isEqualTo(3);
+        assertThat(stats.evictions()).isGreaterThan(0);
+    }
+
+    @Test
+    void shouldNotAdmitOneOffEntryOverFrequentlyUsedOne() {
+        ResponseCache backing = mock(ResponseCache.class);
+        MemoryTierCache cache = new MemoryTierCache(backing, ENTRY_BYTES);
+        cache.put("key-0", "x".repeat(100));
+        for (int i = 0; i < 5; i++) {
+            cache.get("key-0");
+        }
+
+        cache.get("key-1");
+        cache.put("key-1", "y".repeat(100));
+
+        assertThat(cache.get("key-0")).contains("x".repeat(100));
+        assertThat(cache.stats().rejections()).isEqualTo(1);
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    @Test
+    void shouldAdmitNewKeyOnceRequestedAsOftenAsVictim() {
+        ResponseCache backing = mock(ResponseCache.class);
+        when(backing.get("key-1")).thenReturn(Optional.empty(), Optional.of("y".repeat(100)));
+        MemoryTierCache cache = new MemoryTierCache(backing, ENTRY_BYTES);
+        cache.get("key-0");
+        cache.put("key-0", "x".repeat(100));
+        cache.get("key-0");
+
+        cache.get("key-1");
+        cache.put("key-1", "y".repeat(100));
+        assertThat(cache.stats().rejections()).isEqualTo(1);
+
+        assertThat(cache.get("key-1")).contains("y".repeat(100));
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.get("key-1")).contains("y".repeat(100));
+        assertThat(cache.stats().hits()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectEntryLargerThanTier() {
+        ResponseCache backing = mock(ResponseCache.class);
+        MemoryTierCache cache = new MemoryTierCache(backing, 100);
+
+        cache.put("key-1", "x".repeat(1000));
+
+        verify(backing).put("key-1", "x".repeat(1000));
+        assertThat(cache.stats().entries()).isZero();
+        assertThat(cache.stats().rejections()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.zhlearn.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ResponseCachesTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldParseByteSizes() {
+        assertThat(ResponseCaches.parseByteSize("1048576")).isEqualTo(1048576L);
+        assertThat(ResponseCaches.parseByteSize("512k")).isEqualTo(512L * 1024);
+        assertThat(ResponseCaches.parseByteSize("64M")).isEqualTo(64L * 1024 * 1024);
+        assertThat(ResponseCaches.parseByteSize("1gb")).isEqualTo(1024L * 1024 * 1024);
+        assertThat(ResponseCaches.parseByteSize("0")).isZero();
+    }
+
+    @Test
+    void shouldRejectInvalidByteSize() {
+        assertThatThrownBy(() -> ResponseCaches.parseByteSize("lots"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldCreateFilesBackend() {
+        assertThat(ResponseCaches.create(tempDir, 3600, "files"))
+                .isInstanceOf(FileSystemCache.class);
+    }
+
+    @Test
+    void shouldDefaultToFilesBackendSoProcessesCanShareTheCache() {
+        assertThat(ResponseCaches.configuredBackend()).isEqualTo(ResponseCaches.FILES_BACKEND);
+    }
+
+    @Test
+    void shouldRejectUnknownBackend() {
+        assertThatThrownBy(() -> ResponseCaches.create(tempDir, 3600, "redis"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unknown response cache backend: redis");
+    }
+}
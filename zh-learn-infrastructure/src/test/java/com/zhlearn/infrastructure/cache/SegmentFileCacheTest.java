@@ -0,0 +1,156 @@
+package com.zhlearn.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentFileCacheTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldStoreAndRetrieveValue() {
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            cache.put("key-1", "响应 one");
+
+            assertThat(cache.get("key-1")).contains("响应 one");
+            assertThat(cache.get("missing")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldPersistEntriesAcrossReopen() {
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            cache.put("key-1", "value-1");
+            cache.put("key-2", "value-2");
+        }
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("key-1")).contains("value-1");
+            assertThat(cache.get("key-2")).contains("value-2");
+        }
+    }
+
+    @Test
+    void shouldReturnLatestValueAfterOverwrite() {
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            cache.put("key", "old");
+            cache.put("key", "new");
+
+            assertThat(cache.get("key")).contains("new");
+        }
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("key")).contains("new");
+        }
+    }
+
+    @Test
+    void shouldShrinkFileOnCompaction() throws IOException {
+        Path segment = tempDir.resolve(SegmentFileCache.SEGMENT_FILE_NAME);
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            for (int i = 0; i < 100; i++) {
+                cache.put("key", "value-" + i);
+            }
+            cache.put("other", "kept");
+
+            cache.compact();
+
+            assertThat(cache.get("key")).contains("value-99");
+            assertThat(cache.get("other")).contains("kept");
+        }
+        long compactedSize = Files.size(segment);
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("key")).contains("value-99");
+            assertThat(cache.get("other")).contains("kept");
+        }
+        assertThat(compactedSize).isLessThan(200);
+    }
+
+    @Test
+    void shouldDiscardTornRecordAtTail() throws IOException {
+        Path segment = tempDir.resolve(SegmentFileCache.SEGMENT_FILE_NAME);
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            cache.put("intact", "first");
+            cache.put("torn", "second");
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("intact")).contains("first");
+            assertThat(cache.get("torn")).isEmpty();
+
+            cache.put("after", "third");
+            assertThat(cache.get("after")).contains("third");
+        }
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("intact")).contains("first");
+            assertThat(cache.get("after")).contains("third");
+        }
+    }
+
+    @Test
+    void shouldMigrateEntriesFromLegacyCache() {
+        FileSystemCache legacy = new FileSystemCache(tempDir, 3600);
+        legacy.put("legacy-key", "legacy-value");
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.of(legacy))) {
+            assertThat(cache.get("legacy-key")).contains("legacy-value");
+        }
+
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(cache.get("legacy-key")).contains("legacy-value");
+        }
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() throws InterruptedException {
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 1, Optional.empty())) {
+            cache.put("key", "value");
+            assertThat(cache.get("key")).contains("value");
+
+            Thread.sleep(1100);
+
+            assertThat(cache.get("key")).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldRejectSecondOpenOfSameDirectory() {
+        try (SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            cache.put("key", "value");
+
+            assertThatThrownBy(() -> new SegmentFileCache(tempDir, 3600, Optional.empty()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("in use by another zh-learn process");
+        }
+    }
+
+    @Test
+    void shouldRejectAccessOnceClosed() {
+        SegmentFileCache cache = new SegmentFileCache(tempDir, 3600, Optional.empty());
+        cache.put("key", "value");
+        cache.close();
+        cache.close();
+
+        assertThatThrownBy(() -> cache.get("key"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("is closed");
+        try (SegmentFileCache reopened = new SegmentFileCache(tempDir, 3600, Optional.empty())) {
+            assertThat(reopened.get("key")).contains("value");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.zhlearn.infrastructure.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Example;
+import com.zhlearn.domain.model.Explanation;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.model.ProviderConfiguration;
+import com.zhlearn.domain.model.StructuralDecomposition;
+import com.zhlearn.domain.model.WordAnalysis;
+
+class WordAnalysisStoreTest {
+
+    @TempDir Path dir;
+
+    @Test
+    void shouldResumeWithRecordsOfInterruptedRun() throws Exception {
+        WordAnalysis study = analysis("学习", Optional.of(Path.of("/audio/xuexi.mp3")));
+        WordAnalysis book = analysis("书", Optional.empty());
+        try (WordAnalysisStore store = WordAnalysisStore.open(dir, "run", false)) {
+            store.append(study);
+            store.append(book);
+        }
+        // A record cut short by a crash
+        Files.writeString(
+                dir.resolve("run.jsonl"),
+                "{\"word\":\"猫\",\"pin",
+                StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        try (WordAnalysisStore resumed = WordAnalysisStore.open(dir, "run", true)) {
+            assertThat(resumed.isCompleted("学习")).isTrue();
+            assertThat(resumed.isCompleted("猫")).isFalse();
+            resumed.append(analysis("猫", Optional.empty()));
+            try (Stream<WordAnalysis> stored = resumed.stream()) {
+                assertThat(stored.toList())
+                        .containsExactly(study, book, analysis("猫", Optional.empty()));
+            }
+        }
+    }
+
+    @Test
+    void shouldStartOverWithoutResume() throws Exception {
+        try (WordAnalysisStore store = WordAnalysisStore.open(dir, "run", false)) {
+            store.append(analysis("学习", Optional.empty()));
+        }
+
+        try (WordAnalysisStore store = WordAnalysisStore.open(dir, "run", false)) {
+            assertThat(store.completedCount()).isZero();
+            try (Stream<WordAnalysis> stored = store.stream()) {
+                assertThat(stored).isEmpty();
+            }
+        }
+    }
+
+    @Test
+    void shouldFingerprintProvidersAndQualifiers() {
+        ProviderConfiguration deepseek = new ProviderConfiguration("deepseek-chat");
+
+        assertThat(WordAnalysisStore.fingerprint(deepseek, "model=null"))
+                .isEqualTo(
+                        WordAnalysisStore.fingerprint(
+                                new ProviderConfiguration("deepseek-chat"), "model=null"))
+                .isNotEqualTo(WordAnalysisStore.fingerprint(deepseek, "model=glm-4.5"))
+                .isNotEqualTo(
+                        WordAnalysisStore.fingerprint(
+                                new ProviderConfiguration("qwen-max"), "model=null"));
+    }
+
+    private static WordAnalysis analysis(String word, Optional<Path> pronunciation) {
+        return new WordAnalysis(
+                new Hanzi(word),
+                new Pinyin("xuéxí"),
+                new Definition("to study"),
+                new StructuralDecomposition("学 + 习"),
+                new Example(
+                        List.of(new Example.Usage("我学习中文", "wǒ xuéxí", "I study", "", "")),
+                        List.of(new Example.SeriesItem("觉", "jué", "feel"))),
+                new Explanation("study and practice"),
+                pronunciation);
+    }
+}
@@ -0,0 +1,262 @@
+package com.zhlearn.infrastructure.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatcher;
+
+import com.zhlearn.domain.model.Definition;
+import com.zhlearn.domain.model.Hanzi;
+import com.zhlearn.infrastructure.cache.CachedChatModel;
+import com.zhlearn.infrastructure.cache.FileSystemCache;
+
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+class GenericChatModelProviderBatchTest {
+
+    private static final Pattern ITEM = Pattern.compile("## Item (\\d+)\\nWord: \\*\\*(.+?)\\*\\*");
+
+    @TempDir Path tempDir;
+
+    @Test
+    @Timeout(10)
+    void shouldPackConcurrentWordsIntoOneRequest() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenAnswer(
+                        invocation ->
+                                respond(
+                                        answerBatch(
+                                                request(invocation.getArgument(0)), List.of())));
+        GenericChatModelProvider<Definition> provider = provider(delegate, 3);
+
+        Map<String, String> definitions = processConcurrently(provider, "学习", "工作", "休息");
+
+        assertThat(definitions)
+                .containsExactlyInAnyOrderEntriesOf(
+                        Map.of(
+                                "学习", "meaning of 学习",
+                                "工作", "meaning of 工作",
+                                "休息", "meaning of 休息"));
+        verify(delegate, times(1)).chat(argThat(isBatch()));
+
+        // Each answer was cached under the single-word prompt
+        Definition cached = provider.process(new Hanzi("工作"), Optional.of("raw 工作"));
+        assertThat(cached.meaning()).isEqualTo("meaning of 工作");
+        verify(delegate, times(1)).chat(any(ChatRequest.class));
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldFallBackToSingleRequestForMissingAnswer() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            String request = request(invocation.getArgument(0));
+                            if (request.contains("# Batch Request")) {
+                                return respond(answerBatch(request, List.of("工作")));
+                            }
+                            return respond("single answer");
+                        });
+        GenericChatModelProvider<Definition> provider = provider(delegate, 2);
+
+        Map<String, String> definitions = processConcurrently(provider, "学习", "工作");
+
+        assertThat(definitions)
+                .containsExactlyInAnyOrderEntriesOf(
+                        Map.of("学习", "meaning of 学习", "工作", "single answer"));
+        verify(delegate, times(1)).chat(argThat(isBatch()));
+        verify(delegate, times(2)).chat(any(ChatRequest.class));
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldScaleOutputLimitAndCacheOnlyPerWordAnswers() throws Exception {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class)))
+                .thenAnswer(
+                        invocation ->
+                                respond(
+                                        answerBatch(
+                                                request(invocation.getArgument(0)), List.of())));
+        GenericChatModelProvider<Definition> provider = provider(delegate, 2);
+
+        processConcurrently(provider, "学习", "工作");
+
+        ArgumentCaptor<ChatRequest> batch = ArgumentCaptor.forClass(ChatRequest.class);
+        verify(delegate).chat(batch.capture());
+        assertThat(batch.getValue().maxOutputTokens()).isEqualTo(2000);
+        try (Stream<Path> files = Files.walk(tempDir.resolve("responses"))) {
+            assertThat(files.filter(Files::isRegularFile)).hasSize(2);
+        }
+    }
+
+    @Test
+    void shouldSendSameInstructionsForEveryWord() {
+        ChatModel delegate = mock(ChatModel.class);
+        when(delegate.chat(any(ChatRequest.class))).thenReturn(respond("answer"));
+        GenericChatModelProvider<Definition> provider = provider(delegate, 1);
+
+        provider.process(new Hanzi("学习"), Optional.of("raw 学习"));
+        provider.process(new Hanzi("工作"), Optional.empty());
+
+        ArgumentCaptor<ChatRequest> requests = ArgumentCaptor.forClass(ChatRequest.class);
+        verify(delegate, times(2)).chat(requests.capture());
+        ChatRequest first = requests.getAllValues().get(0);
+        ChatRequest second = requests.getAllValues().get(1);
+        assertThat(first.messages().get(0)).isEqualTo(second.messages().get(0));
+        assertThat(((SystemMessage) first.messages().get(0)).text())
+                .contains("Format the definition")
+                .doesNotContain("学习");
+        assertThat(request(first)).isEqualTo("Word: **学习**\nKnown context: raw 学习\n");
+        assertThat(request(second)).isEqualTo("Word: **工作**\n");
+    }
+
+    @Test
+    void shouldKeepPerWordSectionsOutOfEveryTemplate() throws Exception {
+        for (String kind : List.of("single-char", "multi-char")) {
+            for (String task :
+                    List.of(
+                            "definition",
+                            "definition-generator",
+                            "examples",
+                            "explanation",
+                            "structural-decomposition")) {
+                String path = "/" + kind + "/" + task + "/prompt-template.md";
+                String template;
+                try (InputStream in = getClass().getResourceAsStream(path)) {
+                    template = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+
+                assertThat(GenericChatModelProvider.renderInstructions(template, List.of("ex")))
+                        .as(path)
+                        .doesNotContain("{WORD}", "{CONTEXT}", "{RAW_DEFINITION}", "{EXAMPLES}")
+                        .contains("given in the request");
+            }
+        }
+    }
+
+    @Test
+    void shouldIgnoreMarkersForOtherWords() {
+        List<GenericChatModelProvider.BatchItem> items =
+                List.of(
+                        new GenericChatModelProvider.BatchItem(new Hanzi("学习"), null, "p1"),
+                        new GenericChatModelProvider.BatchItem(new Hanzi("工作"), null, "p2"));
+        String response =
+                """
+                === ITEM 1: 学习 ===
+                first
+                === ITEM 2: 休息 ===
+                second
+                """;
+
+        Map<Integer, String> sections =
+                GenericChatModelProvider.splitBatchResponse(response, items);
+
+        assertThat(sections).containsExactly(Map.entry(1, "first"));
+    }
+
+    private GenericChatModelProvider<Definition> provider(ChatModel delegate, int batchSize) {
+        ProviderConfig<Definition> config =
+                new ProviderConfig<>(
+                        "key",
+                        "http://test.com",
+                        "test-model",
+                        0.3,
+                        1000,
+                        "/multi-char/definition/prompt-template.md",
+                        "/multi-char/definition/examples/",
+                        new DefinitionResponseMapper(),
+                        "test-provider",
+                        "Failed to format definition");
+        CachedChatModel chatModel =
+                new CachedChatModel(
+                        delegate,
+                        new FileSystemCache(tempDir, 3600),
+                        "http://test.com",
+                        "test-model",
+                        0.3,
+                        1000);
+        return new GenericChatModelProvider<>(config, chatModel, batchSize);
+    }
+
+    private static Map<String, String> processConcurrently(
+            GenericChatModelProvider<Definition> provider, String... words) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Definition>> results =
+                    Arrays.stream(words)
+                            .map(
+                                    word ->
+                                            executor.submit(
+                                                    () ->
+                                                            provider.process(
+                                                                    new Hanzi(word),
+                                                                    Optional.of("raw " + word))))
+                            .toList();
+            Map<String, String> definitions = new HashMap<>();
+            for (int i = 0; i < words.length; i++) {
+                definitions.put(words[i], results.get(i).get().meaning());
+            }
+            return definitions;
+        }
+    }
+
+    private static String request(ChatRequest chatRequest) {
+        return ((UserMessage) chatRequest.messages().getLast()).singleText();
+    }
+
+    private static ArgumentMatcher<ChatRequest> isBatch() {
+        return chatRequest -> request(chatRequest).contains("# Batch Request");
+    }
+
+    private static ChatResponse respond(String text) {
+        return ChatResponse.builder().aiMessage(AiMessage.from(text)).build();
+    }
+
+    private static String answerBatch(String prompt, List<String> skipped) {
+        Matcher matcher = ITEM.matcher(prompt);
+        StringBuilder response = new StringBuilder();
+        while (matcher.find()) {
+            String word = matcher.group(2);
+            if (skipped.contains(word)) {
+                continue;
+            }
+            response.append("=== ITEM ")
+                    .append(matcher.group(1))
+                    .append(": ")
+                    .append(word)
+                    .append(" ===\nmeaning of ")
+                    .append(word)
+                    .append('\n');
+        }
+        return response.toString();
+    }
+}
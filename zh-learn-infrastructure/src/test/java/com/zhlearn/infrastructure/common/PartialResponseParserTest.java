@@ -0,0 +1,73 @@
+package com.zhlearn.infrastructure.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zhlearn.domain.model.Example;
+
+class PartialResponseParserTest {
+
+    private static final String RESPONSE =
+            """
+            ```yaml
+            words:
+              - meaning: "to like"
+                pinyin: "xǐ"
+                examples:
+                  - hanzi: "喜欢"
+                    pinyin: "xǐhuān"
+                    translation: "to like"
+                    breakdown: "To like (喜) and be happy (欢)."
+                  - hanzi: "喜悦"
+                    pinyin: "xǐyuè"
+                    translation: "joy"
+                    breakdown: "Joy (喜) and happiness (悦)."
+            phonetic_series:
+              - hanzi: "嘻"
+                pinyin: "xī"
+                meaning: "to giggle"
+            ```
+            """;
+
+    @Test
+    void shouldReportCompletedExamplesWhileStreaming() {
+        List<Example> partials = new ArrayList<>();
+        PartialResponseParser<Example> parser =
+                new PartialResponseParser<>(new ExampleResponseMapper(), partials::add);
+
+        for (int start = 0; start < RESPONSE.length(); start += 5) {
+            parser.accept(RESPONSE.substring(start, Math.min(start + 5, RESPONSE.length())));
+        }
+
+        List<Example> withUsages =
+                partials.stream().filter(partial -> !partial.usages().isEmpty()).toList();
+        assertThat(withUsages).isNotEmpty();
+        assertThat(withUsages.getFirst().usages())
+                .extracting(Example.Usage::sentence)
+                .containsExactly("喜欢");
+        assertThat(withUsages.getFirst().usages().getFirst().breakdown())
+                .isEqualTo("To like (喜) and be happy (欢).");
+        assertThat(withUsages.getLast().usages())
+                .extracting(Example.Usage::sentence)
+                .containsExactly("喜欢", "喜悦");
+        assertThat(partials)
+                .extracting(partial -> partial.usages().size())
+                .isSortedAccordingTo(Integer::compare);
+    }
+
+    @Test
+    void shouldIgnorePrefixesThatDoNotParse() {
+        List<Example> partials = new ArrayList<>();
+        PartialResponseParser<Example> parser =
+                new PartialResponseParser<>(new ExampleResponseMapper(), partials::add);
+
+        parser.accept("```yaml\nwords:\n  - meaning: \"to like\"\n");
+        parser.accept("    examples: [unclosed\n");
+
+        assertThat(partials).isEmpty();
+    }
+}
@@ -0,0 +1,58 @@
+package com.zhlearn.infrastructure.common;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SettingsTest {
+
+    private static final String PROPERTY = "zhlearn.test.setting";
+    private static final String ENV = "ZHLEARN_TEST_SETTING_NOT_SET";
+
+    @AfterEach
+    void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    void shouldUseDefaultWhenUnsetOrBlank() {
+        assertThat(Settings.intValue(PROPERTY, ENV, 4)).isEqualTo(4);
+
+        System.setProperty(PROPERTY, "  ");
+
+        assertThat(Settings.stringValue(PROPERTY, ENV, "files")).isEqualTo("files");
+        assertThat(Settings.booleanValue(PROPERTY, ENV)).isFalse();
+    }
+
+    @Test
+    void shouldReadTrimmedPropertyValue() {
+        System.setProperty(PROPERTY, " 12 ");
+
+        assertThat(Settings.stringValue(PROPERTY, ENV, null)).isEqualTo("12");
+        assertThat(Settings.intValue(PROPERTY, ENV, 4)).isEqualTo(12);
+        assertThat(Settings.longValue(PROPERTY, ENV, 4L)).isEqualTo(12L);
+    }
+
+    @Test
+    void shouldAcceptTrueOrOneAsEnabled() {
+        System.setProperty(PROPERTY, "TRUE");
+        assertThat(Settings.booleanValue(PROPERTY, ENV)).isTrue();
+
+        System.setProperty(PROPERTY, "1");
+        assertThat(Settings.booleanValue(PROPERTY, ENV)).isTrue();
+
+        System.setProperty(PROPERTY, "yes");
+        assertThat(Settings.booleanValue(PROPERTY, ENV)).isFalse();
+    }
+
+    @Test
+    void shouldRejectValuesThatDoNotParse() {
+        System.setProperty(PROPERTY, "many");
+
+        assertThatThrownBy(() -> Settings.intValue(PROPERTY, ENV, 4))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid " + PROPERTY + " / " + ENV + " value: many");
+    }
+}
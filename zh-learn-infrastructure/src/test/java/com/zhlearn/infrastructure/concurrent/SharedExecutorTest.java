@@ -0,0 +1,94 @@
+package com.zhlearn.infrastructure.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class SharedExecutorTest {
+
+    @ParameterizedTest
+    @EnumSource(ExecutorMode.class)
+    @Timeout(10)
+    void shouldRunNestedFanOutWithoutStarving(ExecutorMode mode) {
+        try (SharedExecutor executor = new SharedExecutor(mode)) {
+            // 64 outer tasks each blocking on two inner tasks would deadlock a 32-thread pool
+            List<CompletableFuture<Integer>> outer =
+                    IntStream.range(0, 64)
+                            .mapToObj(
+                                    i ->
+                                            CompletableFuture.supplyAsync(
+                                                    () ->
+                                                            CompletableFuture.supplyAsync(
+                                                                                    () -> i,
+                                                                                    executor)
+                                                                            .join()
+                                                                    + CompletableFuture.supplyAsync(
+                                                                                    () -> i,
+                                                                                    executor)
+                                                                            .join(),
+                                                    executor))
+                            .toList();
+
+            int sum = outer.stream().mapToInt(CompletableFuture::join).sum();
+
+            assertThat(sum).isEqualTo(2 * IntStream.range(0, 64).sum());
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRunTasksOnVirtualThreadsInVirtualMode() {
+        try (SharedExecutor executor = new SharedExecutor(ExecutorMode.PLATFORM)) {
+            executor.configure(ExecutorMode.VIRTUAL);
+            AtomicBoolean virtual = new AtomicBoolean();
+
+            CompletableFuture.runAsync(
+                            () -> virtual.set(Thread.currentThread().isVirtual()), executor)
+                    .join();
+
+            assertThat(virtual).isTrue();
+            assertThat(executor.mode()).isEqualTo(ExecutorMode.VIRTUAL);
+        }
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldRejectModeChangeAfterStart() {
+        try (SharedExecutor executor = new SharedExecutor(ExecutorMode.PLATFORM)) {
+            CompletableFuture.runAsync(() -> {}, executor).join();
+
+            assertThatThrownBy(() -> executor.configure(ExecutorMode.VIRTUAL))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("platform");
+        }
+    }
+
+    @Test
+    void shouldRejectTasksAfterClose() {
+        SharedExecutor executor = new SharedExecutor(ExecutorMode.VIRTUAL);
+        executor.close();
+
+        assertThat(executor.isClosed()).isTrue();
+        assertThatThrownBy(() -> executor.execute(() -> {}))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void shouldParseModeNames() {
+        assertThat(ExecutorMode.fromName("virtual")).isEqualTo(ExecutorMode.VIRTUAL);
+        assertThat(ExecutorMode.fromName(" Platform ")).isEqualTo(ExecutorMode.PLATFORM);
+        assertThatThrownBy(() -> ExecutorMode.fromName("forkjoin"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Available: platform, virtual");
+    }
+}
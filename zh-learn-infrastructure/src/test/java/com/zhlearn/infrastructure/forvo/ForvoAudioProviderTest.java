@@ -3,13 +3,17 @@ package com.zhlearn.infrastructure.forvo;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -19,6 +23,11 @@ import org.junit.jupiter.api.io.TempDir;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
+import com.zhlearn.domain.provider.AudioProvider.PronunciationDescription;
+import com.zhlearn.infrastructure.audio.AudioCache;
+import com.zhlearn.infrastructure.audio.AudioNormalizer;
+import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.ratelimit.ProviderRateLimiter;
 
 class ForvoAudioProviderTest {
 
@@ -49,19 +58,20 @@ class ForvoAudioProviderTest {
         when(resp1.statusCode()).thenReturn(200);
         when(resp1.body()).thenReturn(json);
 
-        HttpResponse<byte[]> resp2 = (HttpResponse<byte[]>) mock(HttpResponse.class);
+        HttpResponse<Path> resp2 = (HttpResponse<Path>) mock(HttpResponse.class);
         when(resp2.statusCode()).thenReturn(200);
-        when(resp2.body()).thenReturn(new byte[] {1});
+        when(resp2.body()).thenReturn(downloaded(new byte[] {1}));
 
-        HttpResponse<byte[]> resp3 = (HttpResponse<byte[]>) mock(HttpResponse.class);
+        HttpResponse<Path> resp3 = (HttpResponse<Path>) mock(HttpResponse.class);
         when(resp3.statusCode()).thenReturn(200);
-        when(resp3.body()).thenReturn(new byte[] {2});
+        when(resp3.body()).thenReturn(downloaded(new byte[] {2}));
 
-        HttpResponse<byte[]> resp4 = (HttpResponse<byte[]>) mock(HttpResponse.class);
+        HttpResponse<Path> resp4 = (HttpResponse<Path>) mock(HttpResponse.class);
         when(resp4.statusCode()).thenReturn(200);
-        when(resp4.body()).thenReturn(new byte[] {3});
+        when(resp4.body()).thenReturn(downloaded(new byte[] {3}));
 
-        // First call returns JSON; next three return mp3 bytes (raw types needed for Mockito)
+        // First call returns JSON; next three return downloaded mp3 files (raw types needed for
+        // Mockito)
         when(http.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn((HttpResponse) resp1)
                 .thenReturn((HttpResponse) resp2)
@@ -87,4 +97,57 @@ class ForvoAudioProviderTest {
         assertThat(Files.exists(secondPath)).isTrue();
         assertThat(Files.exists(thirdPath)).isTrue();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void servesRepeatLookupsFromCachedListingAndClips() throws Exception {
+        HttpClient http = mock(HttpClient.class);
+        String json =
+                "{ \"items\": ["
+                        + "{ \"pathmp3\": \"https://audio.example/a.mp3\", \"username\": \"UserOne\" },"
+                        + "{ \"pathmp3\": \"https://audio.example/b.mp3\", \"username\": \"UserTwo\" }"
+                        + "] }";
+        HttpResponse<String> listing = (HttpResponse<String>) mock(HttpResponse.class);
+        when(listing.statusCode()).thenReturn(200);
+        when(listing.body()).thenReturn(json);
+        HttpResponse<Path> clipA = (HttpResponse<Path>) mock(HttpResponse.class);
+        when(clipA.statusCode()).thenReturn(200);
+        when(clipA.body()).thenReturn(downloaded(new byte[] {1}));
+        HttpResponse<Path> clipB = (HttpResponse<Path>) mock(HttpResponse.class);
+        when(clipB.statusCode()).thenReturn(200);
+        when(clipB.body()).thenReturn(downloaded(new byte[] {2}));
+        when(http.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn((HttpResponse) listing)
+                .thenReturn((HttpResponse) clipA)
+                .thenReturn((HttpResponse) clipB);
+        ProviderRateLimiter rateLimiter = mock(ProviderRateLimiter.class);
+        when(rateLimiter.acquire(any(Duration.class))).thenReturn(true);
+
+        System.setProperty("zhlearn.home", tmpHome.toString());
+        System.setProperty("forvo.api.key", "test-key");
+        AudioPaths paths = new AudioPaths();
+        ForvoAudioProvider provider =
+                new ForvoAudioProvider(
+                        http,
+                        new ObjectMapper(),
+                        new AudioCache(paths, new AudioNormalizer()),
+                        ForvoAudioProvider.listingCache(paths),
+                        Runnable::run,
+                        rateLimiter);
+
+        List<PronunciationDescription> first =
+                provider.getPronunciationsWithDescriptions(new Hanzi("学习"), new Pinyin("xuéxí"));
+        List<PronunciationDescription> second =
+                provider.getPronunciationsWithDescriptions(new Hanzi("学习"), new Pinyin("xuéxí"));
+
+        assertThat(second).isEqualTo(first).hasSize(2);
+        verify(http, times(3)).send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+        verify(rateLimiter).acquire(any(Duration.class));
+        verify(rateLimiter).release();
+    }
+
+    /** A clip the download body handler streamed to disk. */
+    private Path downloaded(byte[] data) throws IOException {
+        return Files.write(Files.createTempFile(tmpHome, "clip-", ".mp3"), data);
+    }
 }
@@ -0,0 +1,79 @@
+package com.zhlearn.infrastructure.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SharedHttpClientTest {
+
+    @BeforeEach
+    void resetStats() {
+        HttpHostStats.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldRecordResponsesAndFailuresPerHost() throws Exception {
+        HttpClient delegate = mock(HttpClient.class);
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.version()).thenReturn(HttpClient.Version.HTTP_2);
+        when(delegate.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(response)
+                .thenThrow(new HttpTimeoutException("timed out"));
+        when(delegate.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+        HttpClient client = new InstrumentedHttpClient(delegate);
+
+        client.send(
+                request("https://api.example.com/v1/chat"), HttpResponse.BodyHandlers.ofString());
+        assertThatThrownBy(
+                        () ->
+                                client.send(
+                                        request("https://api.example.com/v1/chat"),
+                                        HttpResponse.BodyHandlers.ofString()))
+                .isInstanceOf(IOException.class);
+        client.sendAsync(
+                        request("https://cdn.example.com/a.mp3"),
+                        HttpResponse.BodyHandlers.ofString())
+                .join();
+
+        assertThat(HttpHostStats.snapshot())
+                .extracting(
+                        HttpHostStats.Host::host,
+                        HttpHostStats.Host::requests,
+                        HttpHostStats.Host::failures,
+                        HttpHostStats.Host::http2Responses)
+                .containsExactly(
+                        tuple("api.example.com", 2L, 1L, 1L), tuple("cdn.example.com", 1L, 0L, 1L));
+    }
+
+    @Test
+    void shouldHandTheSharedClientToLangchain4j() {
+        HttpClient built =
+                SharedHttpClient.langchain4jClientBuilder()
+                        .httpClientBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .build();
+
+        assertThat(built).isSameAs(SharedHttpClient.get());
+        assertThat(built.version()).isEqualTo(HttpClient.Version.HTTP_2);
+    }
+
+    private static HttpRequest request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri)).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.zhlearn.infrastructure.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.zhlearn.infrastructure.cache.SegmentFileCache;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class CacheAccessEventTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldRecordCacheAccessesWithTraceContext() throws IOException {
+        Path file = tempDir.resolve("run.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CacheAccessEvent.class).withoutThreshold();
+            recording.start();
+            TraceContext previous = TraceContext.enter("学习", "deepseek-chat");
+            try (SegmentFileCache cache =
+                    new SegmentFileCache(tempDir.resolve("cache"), 3600, Optional.empty())) {
+                cache.get("key");
+                cache.put("key", "value");
+                cache.get("key");
+            } finally {
+                previous.restore();
+            }
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events =
+                RecordingFile.readAllEvents(file).stream()
+                        .filter(
+                                event ->
+                                        event.getEventType()
+                                                .getName()
+                                                .equals("zhlearn.CacheAccess"))
+                        .toList();
+
+        assertThat(events)
+                .extracting(
+                        event -> event.getString("word"),
+                        event -> event.getString("provider"),
+                        event -> event.getString("cache"),
+                        event -> event.getString("operation"),
+                        event -> event.getString("outcome"))
+                .containsExactly(
+                        tuple("学习", "deepseek-chat", "segment", "get", CacheAccessEvent.MISS),
+                        tuple("学习", "deepseek-chat", "segment", "put", CacheAccessEvent.STORED),
+                        tuple("学习", "deepseek-chat", "segment", "get", CacheAccessEvent.HIT));
+        assertThat(TraceContext.current()).isEqualTo(TraceContext.NONE);
+    }
+}
@@ -0,0 +1,64 @@
+package com.zhlearn.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsHoldTheValuesTheyAreIndexedFor() {
+        for (long micros = 0; micros < 10_000_000; micros = micros * 3 / 2 + 1) {
+            long highest =
+                    LatencyHistogram.highestEquivalentMicros(LatencyHistogram.indexOf(micros));
+
+            assertThat(highest).isGreaterThanOrEqualTo(micros);
+            assertThat(highest - micros).isLessThanOrEqualTo(Math.max(1, micros / 64));
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        LatencyHistogram.Distribution distribution = histogram.distribution();
+
+        assertThat(distribution.count()).isEqualTo(1000);
+        assertThat(distribution.meanMillis()).isCloseTo(500.5, within(0.001));
+        assertThat(distribution.p50Millis()).isCloseTo(500, within(500 * 0.016));
+        assertThat(distribution.p90Millis()).isCloseTo(900, within(900 * 0.016));
+        assertThat(distribution.p99Millis()).isCloseTo(990, within(990 * 0.016));
+        assertThat(distribution.maxMillis()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void percentilesNeverExceedTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_234_567_890L);
+
+        LatencyHistogram.Distribution distribution = histogram.distribution();
+
+        assertThat(distribution.p99Millis()).isEqualTo(distribution.maxMillis());
+        assertThat(distribution.maxMillis()).isCloseTo(1234.568, within(0.001));
+    }
+
+    @Test
+    void valuesBeyondTheTrackableRangeLandInTheLastBucket() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+
+        assertThat(histogram.count()).isEqualTo(2);
+        assertThat(histogram.distribution().maxMillis()).isEqualTo(Long.MAX_VALUE / 1e6);
+    }
+
+    @Test
+    void emptyHistogramReportsZeros() {
+        assertThat(new LatencyHistogram().distribution())
+                .isEqualTo(new LatencyHistogram.Distribution(0, 0.0, 0.0, 0.0, 0.0, 0.0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.zhlearn.infrastructure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+class MetricsTest {
+
+    @BeforeEach
+    void reset() {
+        Metrics.reset();
+    }
+
+    @Test
+    void keepsOneHistogramPerStageAndProvider() {
+        Metrics.recordLatency(Stage.LLM_CALL, "deepseek-chat", 800_000_000L);
+        Metrics.recordLatency(Stage.LLM_CALL, "deepseek-chat", 1_200_000_000L);
+        Metrics.recordLatency(Stage.TTS_SYNTH, "minimax-tts", 600_000_000L);
+
+        Metrics.Summary summary = Metrics.snapshot();
+
+        assertThat(summary.latencies())
+                .extracting(Metrics.Latency::stage, Metrics.Latency::provider)
+                .containsExactly(
+                        tuple("llm-call", "deepseek-chat"), tuple("tts-synth", "minimax-tts"));
+        assertThat(summary.latencies().get(0).latency().count()).isEqualTo(2);
+        assertThat(summary.latencies().get(0).latency().maxMillis()).isEqualTo(1200.0);
+    }
+
+    @Test
+    void readsGaugesWhenTheSnapshotIsTaken() {
+        AtomicInteger queued = new AtomicInteger(3);
+        Metrics.gauge("scheduler.queued", queued::get);
+        Metrics.increment("llm.retries");
+        Metrics.add("llm.retries", 2);
+
+        queued.set(7);
+        Metrics.Summary summary = Metrics.snapshot();
+
+        assertThat(summary.gauges()).containsEntry("scheduler.queued", 7.0);
+        assertThat(summary.counters()).containsEntry("llm.retries", 3L);
+    }
+
+    @Test
+    void writesTheSummaryAsJson() {
+        Metrics.recordLatency(Stage.CACHE_HIT, "deepseek-chat", 1_500_000L);
+        Metrics.increment("llm.coalesced");
+        Metrics.gauge("limiter.deepseek-llm.rate", () -> 4.5);
+
+        JsonNode json = Metrics.snapshot().toJson();
+
+        JsonNode latency = json.get("latencies").get(0);
+        assertThat(latency.get("stage").asText()).isEqualTo("cache-hit");
+        assertThat(latency.get("provider").asText()).isEqualTo("deepseek-chat");
+        assertThat(latency.get("count").asLong()).isEqualTo(1);
+        assertThat(latency.get("maxMs").asDouble()).isEqualTo(1.5);
+        assertThat(json.get("counters").get("llm.coalesced").asLong()).isEqualTo(1);
+        assertThat(json.get("gauges").get("limiter.deepseek-llm.rate").asDouble()).isEqualTo(4.5);
+    }
+}
@@ -0,0 +1,77 @@
+package com.zhlearn.infrastructure.minimax;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class HexAudioExtractorTest {
+
+    @TempDir Path tempDir;
+
+    @Test
+    void shouldDecodeAudioIntoFileAndKeepTheRestOfTheResponse() throws Exception {
+        byte[] clip = new byte[20000];
+        for (int i = 0; i < clip.length; i++) {
+            clip[i] = (byte) (i * 31);
+        }
+        String json =
+                "{\"data\": {\"status\": 2, \"extra\": [\"audio\"], \"audio\": \""
+                        + HexFormat.of().formatHex(clip)
+                        + "\"},\n \"trace_id\": \"t-\\\"1\\\"\", \"audio\": \"abc\","
+                        + " \"base_resp\": {\"status_code\": 0, \"status_msg\": \"成功\"}}";
+        Path output = tempDir.resolve("clip.mp3");
+
+        HexAudioExtractor.Result result = HexAudioExtractor.extract(stream(json), output);
+
+        assertThat(Files.readAllBytes(output)).isEqualTo(clip);
+        assertThat(result.audioBytes()).isEqualTo(clip.length);
+        JsonNode root = new ObjectMapper().readTree(result.json());
+        assertThat(root.path("data").path("audio").asText()).isEmpty();
+        assertThat(root.path("trace_id").asText()).isEqualTo("t-\"1\"");
+        assertThat(root.path("audio").asText()).isEqualTo("abc");
+        assertThat(root.path("base_resp").path("status_msg").asText()).isEqualTo("成功");
+    }
+
+    @Test
+    void shouldReportMissingAudio() throws Exception {
+        String json = "{\"data\": null, \"base_resp\": {\"status_code\": 1004}}";
+
+        HexAudioExtractor.Result result =
+                HexAudioExtractor.extract(stream(json), tempDir.resolve("clip.mp3"));
+
+        assertThat(result.audioBytes()).isZero();
+        assertThat(
+                        new ObjectMapper()
+                                .readTree(result.json())
+                                .path("base_resp")
+                                .path("status_code")
+                                .asInt())
+                .isEqualTo(1004);
+    }
+
+    @Test
+    void shouldRejectTruncatedAudio() {
+        String json = "{\"data\": {\"audio\": \"4944330";
+
+        assertThatThrownBy(
+                        () -> HexAudioExtractor.extract(stream(json), tempDir.resolve("clip.mp3")))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
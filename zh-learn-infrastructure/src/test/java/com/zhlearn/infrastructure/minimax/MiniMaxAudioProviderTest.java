@@ -119,12 +119,14 @@ class MiniMaxAudioProviderTest {
         }
 
         @Override
-        public MiniMaxTtsResult synthesize(String voiceId, String text) {
+        public MiniMaxTtsResult synthesize(String voiceId, String text, Path output)
+                throws IOException {
             callCount++;
-            // Return fake MP3 data (ID3 header + some bytes)
+            // Write fake MP3 data (ID3 header + some bytes)
             byte[] fakeMp3 = new byte[] {'I', 'D', '3', 0, 0, 0, 0, 0, 0, 0, 1, 2, 3, 4, 5};
             return new MiniMaxTtsResult(
-                    fakeMp3, "trace-" + voiceId.toLowerCase() + "-" + callCount);
+                    Files.write(output, fakeMp3),
+                    "trace-" + voiceId.toLowerCase() + "-" + callCount);
         }
     }
 
@@ -141,7 +143,8 @@ class MiniMaxAudioProviderTest {
         }
 
         @Override
-        public MiniMaxTtsResult synthesize(String voiceId, String text) throws IOException {
+        public MiniMaxTtsResult synthesize(String voiceId, String text, Path output)
+                throws IOException {
             throw new IOException("Simulated MiniMax failure for voice: " + voiceId);
         }
     }
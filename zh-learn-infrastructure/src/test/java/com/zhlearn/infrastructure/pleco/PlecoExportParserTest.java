@@ -3,7 +3,9 @@ package com.zhlearn.infrastructure.pleco;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.StringReader;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
 
@@ -147,4 +149,19 @@ class PlecoExportParserTest {
         assertEquals("zuò//yī", e4.pinyin());
         assertEquals("verb slight bow with hands clasped in front", e4.definitionText());
     }
+
+    @Test
+    void streamsEntriesLazily() throws Exception {
+        String data = "瞬\tshun4\tverb wink; twinkle\n" + "胸\txiong1\n" + "\t\n";
+        PlecoExportParser parser = new PlecoExportParser();
+
+        try (Stream<PlecoEntry> entries = parser.stream(new StringReader(data))) {
+            Iterator<PlecoEntry> it = entries.iterator();
+            assertEquals("瞬", it.next().hanzi());
+            assertEquals("胸", it.next().hanzi());
+            // The malformed third record only fails once it is reached
+            IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, it::next);
+            assertTrue(ex.getMessage().contains("Failed to parse record 3"));
+        }
+    }
 }
@@ -17,6 +17,9 @@ import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -25,9 +28,11 @@ import org.junit.jupiter.api.io.TempDir;
 import com.zhlearn.domain.model.Hanzi;
 import com.zhlearn.domain.model.Pinyin;
 import com.zhlearn.domain.model.ProviderInfo.ProviderType;
+import com.zhlearn.domain.provider.AudioProvider.PronunciationDescription;
 import com.zhlearn.infrastructure.audio.AudioCache;
 import com.zhlearn.infrastructure.audio.AudioNormalizer;
 import com.zhlearn.infrastructure.audio.AudioPaths;
+import com.zhlearn.infrastructure.audio.TtsStages;
 
 class QwenAudioProviderTest {
 
@@ -39,10 +44,15 @@ class QwenAudioProviderTest {
     }
 
     private QwenAudioProvider createProvider(QwenTtsClient client, HttpClient http) {
+        return createProvider(client, http, null);
+    }
+
+    private QwenAudioProvider createProvider(
+            QwenTtsClient client, HttpClient http, TtsStages stages) {
         AudioPaths audioPaths = new AudioPaths();
         AudioNormalizer normalizer = new AudioNormalizer();
         AudioCache audioCache = new AudioCache(audioPaths, normalizer);
-        return new QwenAudioProvider(audioCache, audioPaths, null, http, client, null);
+        return new QwenAudioProvider(audioCache, audioPaths, stages, http, client, null);
     }
 
     @Test
@@ -52,11 +62,11 @@ class QwenAudioProviderTest {
         FakeQwenClient client = new FakeQwenClient();
         HttpClient http = mock(HttpClient.class);
 
-        HttpResponse<byte[]> cherryResp = mockBinaryResponse(new byte[] {1, 2, 3});
-        HttpResponse<byte[]> ethanResp = mockBinaryResponse(new byte[] {4, 5});
-        HttpResponse<byte[]> nofishResp = mockBinaryResponse(new byte[] {6});
-        HttpResponse<byte[]> jenniferResp = mockBinaryResponse(new byte[] {7, 8});
-        HttpResponse<byte[]> eliasResp = mockBinaryResponse(new byte[] {12});
+        HttpResponse<Path> cherryResp = mockBinaryResponse(new byte[] {1, 2, 3});
+        HttpResponse<Path> ethanResp = mockBinaryResponse(new byte[] {4, 5});
+        HttpResponse<Path> nofishResp = mockBinaryResponse(new byte[] {6});
+        HttpResponse<Path> jenniferResp = mockBinaryResponse(new byte[] {7, 8});
+        HttpResponse<Path> eliasResp = mockBinaryResponse(new byte[] {12});
 
         when(http.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn((HttpResponse) cherryResp)
@@ -98,6 +108,39 @@ class QwenAudioProviderTest {
         verifyNoMoreInteractions(http);
     }
 
+    @Test
+    void fetchesLinkedAudioOnItsOwnStage() throws Exception {
+        System.setProperty("zhlearn.home", tmpHome.toString());
+
+        HttpClient http = mock(HttpClient.class);
+        List<String> fetchThreads = new CopyOnWriteArrayList<>();
+        when(http.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(
+                        invocation -> {
+                            fetchThreads.add(Thread.currentThread().getName());
+                            return mockBinaryResponse(new byte[] {1, 2, 3});
+                        });
+        ExecutorService executor =
+                Executors.newCachedThreadPool(Thread.ofPlatform().name("tts-worker-", 0).factory());
+        try {
+            QwenAudioProvider provider =
+                    createProvider(new FakeQwenClient(), http, new TtsStages(executor, 2, 2));
+
+            List<PronunciationDescription> descriptions =
+                    provider.getPronunciationsWithDescriptions(
+                            new Hanzi("声音"), new Pinyin("shēngyīn"));
+
+            assertThat(descriptions)
+                    .extracting(PronunciationDescription::description)
+                    .containsExactly(
+                            "Cherry 🤖", "Ethan 🤖", "Nofish 🤖", "Jennifer 🤖", "Elias 🤖");
+            assertThat(descriptions).allSatisfy(d -> assertThat(d.path()).exists());
+            assertThat(fetchThreads).hasSize(5).allMatch(name -> name.startsWith("tts-worker-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     void propagatesHttpFailure() throws Exception {
         System.setProperty("zhlearn.home", tmpHome.toString());
@@ -105,7 +148,7 @@ class QwenAudioProviderTest {
         FakeQwenClient client = new FakeQwenClient();
         HttpClient http = mock(HttpClient.class);
 
-        HttpResponse<byte[]> failure = mock(HttpResponse.class);
+        HttpResponse<Path> failure = mock(HttpResponse.class);
         when(failure.statusCode()).thenReturn(500);
         when(http.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
                 .thenReturn((HttpResponse) failure);
@@ -136,11 +179,13 @@ class QwenAudioProviderTest {
                 .contains("Elias");
     }
 
-    private HttpResponse<byte[]> mockBinaryResponse(byte[] data) {
+    /** A response whose body handler already streamed {@code data} to a file. */
+    private HttpResponse<Path> mockBinaryResponse(byte[] data) throws IOException {
         @SuppressWarnings("unchecked")
-        HttpResponse<byte[]> response = (HttpResponse<byte[]>) mock(HttpResponse.class);
+        HttpResponse<Path> response = (HttpResponse<Path>) mock(HttpResponse.class);
         when(response.statusCode()).thenReturn(200);
-        when(response.body()).thenReturn(data);
+        when(response.body())
+                .thenReturn(Files.write(Files.createTempFile(tmpHome, "clip-", ".mp3"), data));
         return response;
     }
 
@@ -220,4 +220,33 @@ class AdaptiveTokenBucketRateLimiterTest {
         assertThat(forvo.maxBurst()).isEqualTo(2);
         assertThat(forvo.baseRate()).isEqualTo(0.5);
     }
+
+    @Test
+    void shouldWaitForTokenBudgetToRefill() throws InterruptedException {
+        AdaptiveTokenBucketRateLimiter limiter =
+                new AdaptiveTokenBucketRateLimiter(
+                        "test",
+                        new RateLimiterConfig(
+                                3, 10.0, 0.1, 0.5, 1.5, Duration.ofMillis(100), 6_000));
+
+        assertThat(limiter.acquire(Duration.ofMillis(10))).isTrue();
+        limiter.recordTokens(6_100);
+
+        // 6000 tokens/minute refill 100 per second: the overdraft takes a second to pay back
+        assertThat(limiter.acquire(Duration.ofMillis(200))).isFalse();
+        assertThat(limiter.acquire(Duration.ofSeconds(2))).isTrue();
+    }
+
+    @Test
+    void shouldCapRequestsInFlight() throws InterruptedException {
+        InFlightLimit inFlight = new InFlightLimit(1);
+        AdaptiveTokenBucketRateLimiter limiter =
+                new AdaptiveTokenBucketRateLimiter("test", TEST_CONFIG, inFlight);
+
+        assertThat(limiter.acquire(Duration.ofMillis(10))).isTrue();
+        assertThat(limiter.acquire(Duration.ofMillis(50))).isFalse();
+
+        limiter.release();
+        assertThat(limiter.acquire(Duration.ofMillis(10))).isTrue();
+    }
 }
@@ -2,6 +2,8 @@ package com.zhlearn.infrastructure.ratelimit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 class RateLimiterRegistryTest {
@@ -62,4 +64,24 @@ class RateLimiterRegistryTest {
 
         assertThat(retrieved).isSameAs(created);
     }
+
+    @Test
+    void shouldShareInFlightCapAcrossProviders() throws InterruptedException {
+        RateLimiterRegistry registry = new RateLimiterRegistry(1);
+        ProviderRateLimiter qwen = registry.getOrCreate("qwen", RateLimiterConfig.forQwen());
+        ProviderRateLimiter tencent =
+                registry.getOrCreate("tencent", RateLimiterConfig.forTencent());
+
+        assertThat(qwen.acquire(Duration.ofMillis(10))).isTrue();
+        assertThat(tencent.acquire(Duration.ofMillis(50))).isFalse();
+        assertThat(registry.inFlight()).isEqualTo(1);
+
+        registry.configureMaxInFlight(2);
+        assertThat(tencent.acquire(Duration.ofMillis(10))).isTrue();
+        assertThat(registry.inFlight()).isEqualTo(2);
+
+        qwen.release();
+        tencent.release();
+        assertThat(registry.inFlight()).isZero();
+    }
 }